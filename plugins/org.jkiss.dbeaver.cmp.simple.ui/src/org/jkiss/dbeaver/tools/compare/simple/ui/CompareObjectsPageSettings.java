@@ -23,6 +23,7 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.tools.compare.simple.CompareDataSettings;
 import org.jkiss.dbeaver.tools.compare.simple.CompareObjectsSettings;
 import org.jkiss.dbeaver.tools.compare.simple.ui.internal.CompareUIMessages;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -34,8 +35,11 @@ class CompareObjectsPageSettings extends ActiveWizardPage<CompareObjectsWizard>
     private Table nodesTable;
     private Button skipSystemObjects;
     private Button compareLazyProperties;
+    private Button parallelCompare;
     private Button compareOnlyStructure;
     private Button compareScriptProperties;
+    private Button compareData;
+    private Composite dataSettingsGroup;
 
     CompareObjectsPageSettings() {
         super(CompareUIMessages.compare_objects_page_settings_page);
@@ -116,11 +120,92 @@ class CompareObjectsPageSettings extends ActiveWizardPage<CompareObjectsWizard>
                     settings.setCompareScripts(compareScriptProperties.getSelection());
                 }
             });
+            parallelCompare = UIUtils.createCheckbox(
+                compareSettings,
+                CompareUIMessages.compare_objects_page_settings_checkbox_parallel,
+                CompareUIMessages.compare_objects_page_settings_checkbox_parallel_tip,
+                settings.isParallelCompare(),
+                1);
+            parallelCompare.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setParallelCompare(parallelCompare.getSelection());
+                }
+            });
+            compareData = UIUtils.createCheckbox(
+                compareSettings,
+                CompareUIMessages.compare_objects_page_settings_checkbox_compare_data,
+                CompareUIMessages.compare_objects_page_settings_checkbox_compare_data_tip,
+                settings.isCompareData(),
+                1);
+            compareData.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setCompareData(compareData.getSelection());
+                    updateDataSettingsState();
+                }
+            });
+            compareData.setEnabled(getWizard().isDataCompareSupported());
+        }
+
+        CompareDataSettings dataSettings = getWizard().getDataSettings();
+        if (dataSettings != null) {
+            dataSettingsGroup = UIUtils.createControlGroup(
+                composite,
+                CompareUIMessages.compare_objects_page_settings_group_data,
+                2,
+                GridData.FILL_HORIZONTAL,
+                0);
+            Spinner rangeSizeSpinner = UIUtils.createLabelSpinner(
+                dataSettingsGroup,
+                CompareUIMessages.compare_objects_page_settings_data_range_size,
+                CompareUIMessages.compare_objects_page_settings_data_range_size_tip,
+                dataSettings.getRangeSize(),
+                1,
+                Integer.MAX_VALUE);
+            rangeSizeSpinner.addModifyListener(e -> dataSettings.setRangeSize(rangeSizeSpinner.getSelection()));
+            Spinner parallelQueriesSpinner = UIUtils.createLabelSpinner(
+                dataSettingsGroup,
+                CompareUIMessages.compare_objects_page_settings_data_parallel_queries,
+                CompareUIMessages.compare_objects_page_settings_data_parallel_queries_tip,
+                dataSettings.getMaxParallelQueries(),
+                1,
+                16);
+            parallelQueriesSpinner.addModifyListener(e -> dataSettings.setMaxParallelQueries(parallelQueriesSpinner.getSelection()));
+            Spinner maxDifferencesSpinner = UIUtils.createLabelSpinner(
+                dataSettingsGroup,
+                CompareUIMessages.compare_objects_page_settings_data_max_differences,
+                CompareUIMessages.compare_objects_page_settings_data_max_differences_tip,
+                dataSettings.getMaxDifferences(),
+                0,
+                Integer.MAX_VALUE);
+            maxDifferencesSpinner.addModifyListener(e -> dataSettings.setMaxDifferences(maxDifferencesSpinner.getSelection()));
+            Button serverHashesCheck = UIUtils.createCheckbox(
+                dataSettingsGroup,
+                CompareUIMessages.compare_objects_page_settings_data_server_hashes,
+                CompareUIMessages.compare_objects_page_settings_data_server_hashes_tip,
+                dataSettings.isUseServerHashes(),
+                2);
+            serverHashesCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    dataSettings.setUseServerHashes(serverHashesCheck.getSelection());
+                }
+            });
+            updateDataSettingsState();
         }
         
         setControl(composite);
     }
 
+    private void updateDataSettingsState() {
+        if (dataSettingsGroup != null) {
+            UIUtils.enableWithChildren(dataSettingsGroup, getWizard().getSettings().isCompareData());
+        }
+    }
+
     @Override
     public void activatePage() {
         UIUtils.packColumns(nodesTable, true);
@@ -22,15 +22,16 @@ import org.eclipse.jface.wizard.Wizard;
 import org.eclipse.swt.SWT;
 import org.eclipse.ui.IExportWizard;
 import org.eclipse.ui.IWorkbench;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
-import org.jkiss.dbeaver.tools.compare.simple.CompareObjectsExecutor;
-import org.jkiss.dbeaver.tools.compare.simple.CompareObjectsSettings;
-import org.jkiss.dbeaver.tools.compare.simple.CompareReport;
-import org.jkiss.dbeaver.tools.compare.simple.CompareReportRenderer;
+import org.jkiss.dbeaver.tools.compare.simple.*;
 import org.jkiss.dbeaver.tools.compare.simple.ui.internal.CompareUIMessages;
 import org.jkiss.dbeaver.ui.DialogSettingsDelegate;
 import org.jkiss.dbeaver.ui.ShellUtils;
@@ -39,11 +40,9 @@ import org.jkiss.dbeaver.ui.dialogs.DialogUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 public class CompareObjectsWizard extends Wizard implements IExportWizard {
@@ -53,6 +52,7 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
     private static final String RS_COMPARE_WIZARD_DIALOG_SETTINGS = "CompareWizard";//$NON-NLS-1$
 
     private CompareObjectsSettings settings;
+    private CompareDataSettings dataSettings;
 
     public CompareObjectsWizard(List<DBNDatabaseNode> nodes)
     {
@@ -63,6 +63,12 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
         setDialogSettings(section);
 
         settings.loadFrom(new DialogSettingsDelegate(section));
+        if (isDataCompareSupported()) {
+            dataSettings = new CompareDataSettings(
+                (DBSEntity) nodes.get(0).getObject(),
+                (DBSEntity) nodes.get(1).getObject());
+            dataSettings.loadFrom(new DialogSettingsDelegate(section));
+        }
     }
 
     @Override
@@ -76,6 +82,31 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
         return settings;
     }
 
+    /**
+     * Table data compare settings or null if data compare is not supported for the compared objects
+     */
+    @Nullable
+    CompareDataSettings getDataSettings() {
+        return dataSettings;
+    }
+
+    /**
+     * Data can be compared only for two tables
+     */
+    boolean isDataCompareSupported() {
+        List<DBNDatabaseNode> nodes = settings.getNodes();
+        if (nodes.size() != 2) {
+            return false;
+        }
+        for (DBNDatabaseNode node : nodes) {
+            DBSObject object = node.getObject();
+            if (!(object instanceof DBSEntity) || !(object instanceof DBSDataContainer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void addPages()
     {
@@ -102,6 +133,9 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
     {
         // Save settings
         getSettings().saveTo(new DialogSettingsDelegate(getDialogSettings()));
+        if (dataSettings != null) {
+            dataSettings.saveTo(new DialogSettingsDelegate(getDialogSettings()));
+        }
         showError(null);
 
         // Compare
@@ -111,6 +145,9 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
                 try {
                     CompareReport report = generateReport(monitor, executor);
                     renderReport(monitor, report);
+                    if (settings.isCompareData() && dataSettings != null) {
+                        compareData(monitor);
+                    }
                 } catch (DBException e) {
                     throw new InvocationTargetException(e);
                 }
@@ -143,6 +180,42 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
         return report;
     }
 
+    private void compareData(DBRProgressMonitor monitor) throws DBException, InterruptedException {
+        List<DBNDatabaseNode> nodes = settings.getNodes();
+        CompareDataReport dataReport = new CompareDataExecutor(dataSettings).compareData(monitor);
+
+        try {
+            String baseName = "compare-data-" + CommonUtils.escapeIdentifier(nodes.get(0).getName()) +
+                "-" + CommonUtils.escapeIdentifier(nodes.get(1).getName());
+            File parentFolder;
+            if (settings.getOutputType() == CompareObjectsSettings.OutputType.BROWSER) {
+                parentFolder = new File(System.getProperty("java.io.tmpdir"));
+            } else {
+                parentFolder = new File(settings.getOutputFolder());
+                if (!parentFolder.exists() && !parentFolder.mkdirs()) {
+                    throw new IOException("Can't create directory '" + parentFolder.getAbsolutePath() + "'");
+                }
+            }
+            CompareDataReportRenderer renderer = new CompareDataReportRenderer();
+            File reportFile = new File(parentFolder, baseName + ".txt");
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8)) {
+                renderer.renderReport(dataReport, writer);
+            }
+            if (dataReport.hasDifferences()) {
+                File scriptFile = new File(parentFolder, baseName + ".sql");
+                try (Writer writer = new OutputStreamWriter(new FileOutputStream(scriptFile), StandardCharsets.UTF_8)) {
+                    renderer.renderScript(dataReport, writer);
+                }
+            }
+            if (settings.getOutputType() == CompareObjectsSettings.OutputType.BROWSER) {
+                ShellUtils.launchProgram(reportFile.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            showError(e.getMessage());
+            log.error(e);
+        }
+    }
+
     private void renderReport(DBRProgressMonitor monitor, CompareReport report) {
         try {
             File reportFile;
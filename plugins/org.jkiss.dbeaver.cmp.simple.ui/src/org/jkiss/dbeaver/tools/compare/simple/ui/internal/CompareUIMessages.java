@@ -37,6 +37,19 @@ public class CompareUIMessages extends NLS {
     public static String compare_objects_page_settings_checkbox_compare_properties;
     public static String compare_objects_page_settings_checkbox_compare_structure;
     public static String compare_objects_page_settings_checkbox_scripts;
+    public static String compare_objects_page_settings_checkbox_parallel;
+    public static String compare_objects_page_settings_checkbox_parallel_tip;
+    public static String compare_objects_page_settings_checkbox_compare_data;
+    public static String compare_objects_page_settings_checkbox_compare_data_tip;
+    public static String compare_objects_page_settings_group_data;
+    public static String compare_objects_page_settings_data_range_size;
+    public static String compare_objects_page_settings_data_range_size_tip;
+    public static String compare_objects_page_settings_data_parallel_queries;
+    public static String compare_objects_page_settings_data_parallel_queries_tip;
+    public static String compare_objects_page_settings_data_max_differences;
+    public static String compare_objects_page_settings_data_max_differences_tip;
+    public static String compare_objects_page_settings_data_server_hashes;
+    public static String compare_objects_page_settings_data_server_hashes_tip;
     public static String compare_objects_page_checkbox_show_only_differences;
     public static String compare_objects_page_report_settings;
 
@@ -0,0 +1,67 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Row difference found by data compare.
+ * Describes how the target row must be changed to match the source row.
+ */
+public class CompareDataDifference {
+
+    public enum Type {
+        // Row exists only in source
+        INSERT,
+        // Row exists in both tables but values differ
+        UPDATE,
+        // Row exists only in target
+        DELETE
+    }
+
+    private final Type type;
+    private final Object[] keyValues;
+    private final Object[] values;
+
+    CompareDataDifference(@NotNull Type type, @NotNull Object[] keyValues, @Nullable Object[] values) {
+        this.type = type;
+        this.keyValues = keyValues;
+        this.values = values;
+    }
+
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Key values in the order of report key attributes
+     */
+    @NotNull
+    public Object[] getKeyValues() {
+        return keyValues;
+    }
+
+    /**
+     * Source values of non-key attributes. Null for deleted rows.
+     */
+    @Nullable
+    public Object[] getValues() {
+        return values;
+    }
+}
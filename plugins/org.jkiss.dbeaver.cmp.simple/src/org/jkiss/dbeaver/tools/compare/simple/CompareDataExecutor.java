@@ -0,0 +1,886 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares rows of two tables.
+ *
+ * Source table is split into chunks of the unique key. Chunk bounds are source keys found by
+ * {@code WHERE key > last ORDER BY key OFFSET n - 1 LIMIT 1}, so only bounds are transferred and
+ * chunks are compared while the following bounds are still being read.
+ * For each chunk row count and aggregated row hash are calculated in both databases.
+ * Chunks with equal hashes are skipped. Mismatching chunks are split into smaller chunks
+ * with their own hashes (Merkle-style) until they hold at most "range size" source rows,
+ * then they are compared row by row on the client side.
+ * If server-side hashes are not supported chunks of "range size" rows are compared row by row.
+ * Chunks are processed concurrently using separate connections.
+ * Rows with NULL key values are not compared. LOB and complex columns are not compared, they are listed in the report.
+ */
+public class CompareDataExecutor {
+
+    private static final Log log = Log.getLog(CompareDataExecutor.class);
+
+    private static final int MAX_PARALLEL_QUERIES = 16;
+    // Number of sub-chunks a mismatching chunk is split into
+    private static final int SPLIT_FACTOR = 8;
+    // Number of split levels above the row-by-row compare level. Top chunks are SPLIT_FACTOR^levels times larger.
+    private static final int SPLIT_LEVELS = 2;
+    // Wait time of an idle worker for new chunks
+    private static final long CHUNK_POLL_TIMEOUT = 100;
+    private static final int FETCH_SIZE = 1000;
+    private static final String NULL_MARKER = "#NULL#";
+    // Oracle concatenates per-column hashes (up to 11 chars each) into VARCHAR2 which is limited by 4000 bytes
+    private static final int MAX_ORACLE_HASH_COLUMNS = 300;
+
+    private final CompareDataSettings settings;
+    private final BlockingDeque<KeyChunk> chunkQueue = new LinkedBlockingDeque<>();
+    // Chunks which are queued or being compared
+    private final AtomicInteger activeChunks = new AtomicInteger();
+    // All top level chunks are queued
+    private volatile boolean chunksRead;
+    private volatile boolean stopped;
+    private volatile Throwable compareError;
+
+    private List<DBSEntityAttribute> sourceKeyAttributes;
+    private List<DBSEntityAttribute> sourceValueAttributes;
+    private List<DBSEntityAttribute> targetKeyAttributes;
+    private List<DBSEntityAttribute> targetValueAttributes;
+    private List<DBSEntityAttribute> skippedAttributes;
+    private String sourceHashExpression;
+    private String targetHashExpression;
+    private CompareDataReport report;
+
+    // Rows not found in the same chunk of the other table. Databases may order keys differently
+    // (e.g. because of different collations), so such rows are matched after all chunks are compared.
+    private final Map<List<String>, UnmatchedRow> unmatchedSourceRows = new HashMap<>();
+    private final Map<List<String>, UnmatchedRow> unmatchedTargetRows = new HashMap<>();
+
+    /**
+     * Key chunk. Lower key is exclusive, upper key is inclusive. Null bound means no bound.
+     */
+    static class KeyChunk {
+        final Object[] lowerKey;
+        final Object[] upperKey;
+
+        KeyChunk(@Nullable Object[] lowerKey, @Nullable Object[] upperKey) {
+            this.lowerKey = lowerKey;
+            this.upperKey = upperKey;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + (lowerKey == null ? "*" : Arrays.toString(lowerKey)) + ".." + (upperKey == null ? "*" : Arrays.toString(upperKey)) + "]";
+        }
+    }
+
+    private static class ChunkHash {
+        final long rowCount;
+        final Object hash;
+
+        ChunkHash(long rowCount, @Nullable Object hash) {
+            this.rowCount = rowCount;
+            this.hash = hash;
+        }
+
+        boolean matches(@NotNull ChunkHash other) {
+            return rowCount == other.rowCount && Objects.equals(normalizeValue(hash), normalizeValue(other.hash));
+        }
+    }
+
+    private static class TargetRow {
+        final Object[] keyValues;
+        final byte[] digest;
+
+        TargetRow(Object[] keyValues, byte[] digest) {
+            this.keyValues = keyValues;
+            this.digest = digest;
+        }
+    }
+
+    private static class UnmatchedRow {
+        final Object[] keyValues;
+        final Object[] values;
+        final byte[] digest;
+
+        UnmatchedRow(Object[] keyValues, @Nullable Object[] values, byte[] digest) {
+            this.keyValues = keyValues;
+            this.values = values;
+            this.digest = digest;
+        }
+    }
+
+    /**
+     * Query parameters with attributes used to bind them
+     */
+    private static class QueryParameters {
+        final List<DBSEntityAttribute> attributes = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        void add(@NotNull DBSEntityAttribute attribute, @Nullable Object value) {
+            attributes.add(attribute);
+            values.add(value);
+        }
+    }
+
+    public CompareDataExecutor(@NotNull CompareDataSettings settings) {
+        this.settings = settings;
+    }
+
+    @NotNull
+    public CompareDataReport compareData(@NotNull DBRProgressMonitor monitor) throws DBException, InterruptedException {
+        DBSEntity sourceEntity = settings.getSourceEntity();
+        DBSEntity targetEntity = settings.getTargetEntity();
+
+        monitor.beginTask("Compare data of " + sourceEntity.getName() + " and " + targetEntity.getName(), 1);
+        try {
+            resolveAttributes(monitor);
+            List<DBSEntityAttribute> sourceAttributes = getAllAttributes(sourceKeyAttributes, sourceValueAttributes);
+            List<DBSEntityAttribute> targetAttributes = getAllAttributes(targetKeyAttributes, targetValueAttributes);
+            if (settings.isUseServerHashes()) {
+                sourceHashExpression = getRowsHashExpression(sourceEntity.getDataSource(), sourceAttributes);
+                targetHashExpression = getRowsHashExpression(targetEntity.getDataSource(), targetAttributes);
+                if (sourceHashExpression == null || targetHashExpression == null ||
+                    !sourceEntity.getDataSource().getSQLDialect().getDialectId().equals(targetEntity.getDataSource().getSQLDialect().getDialectId())) {
+                    // Hashes calculated by different databases can't be compared
+                    sourceHashExpression = null;
+                    targetHashExpression = null;
+                }
+            }
+            report = new CompareDataReport(
+                settings,
+                sourceKeyAttributes,
+                sourceValueAttributes,
+                targetKeyAttributes,
+                targetValueAttributes,
+                skippedAttributes,
+                sourceHashExpression != null);
+
+            runWorkers(monitor);
+            if (compareError != null) {
+                if (compareError instanceof DBException dbe) {
+                    throw dbe;
+                }
+                throw new DBException("Error comparing table data", compareError);
+            }
+            if (monitor.isCanceled()) {
+                throw new InterruptedException();
+            }
+            addUnmatchedRows();
+            return report;
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private void resolveAttributes(@NotNull DBRProgressMonitor monitor) throws DBException {
+        DBSEntity sourceEntity = settings.getSourceEntity();
+        DBSEntity targetEntity = settings.getTargetEntity();
+
+        List<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, sourceEntity);
+        if (identifier.isEmpty()) {
+            throw new DBException("Table '" + sourceEntity.getName() + "' doesn't have a unique key");
+        }
+        sourceKeyAttributes = new ArrayList<>(identifier);
+        targetKeyAttributes = new ArrayList<>();
+        for (DBSEntityAttribute keyAttribute : sourceKeyAttributes) {
+            DBSEntityAttribute targetAttribute = DBUtils.findObject(targetEntity.getAttributes(monitor), keyAttribute.getName(), true);
+            if (targetAttribute == null) {
+                throw new DBException("Key column '" + keyAttribute.getName() + "' not found in table '" + targetEntity.getName() + "'");
+            }
+            targetKeyAttributes.add(targetAttribute);
+        }
+
+        sourceValueAttributes = new ArrayList<>();
+        targetValueAttributes = new ArrayList<>();
+        skippedAttributes = new ArrayList<>();
+        for (DBSEntityAttribute attribute : CommonUtils.safeCollection(sourceEntity.getAttributes(monitor))) {
+            if (DBUtils.isHiddenObject(attribute) || sourceKeyAttributes.contains(attribute)) {
+                continue;
+            }
+            DBPDataKind dataKind = attribute.getDataKind();
+            if (dataKind == DBPDataKind.CONTENT || dataKind == DBPDataKind.ROWID || dataKind.isComplex()) {
+                // LOBs and complex values can't be compared by hash
+                log.debug("Skip column '" + attribute.getName() + "' of type " + attribute.getTypeName() + " in data compare");
+                skippedAttributes.add(attribute);
+                continue;
+            }
+            DBSEntityAttribute targetAttribute = DBUtils.findObject(targetEntity.getAttributes(monitor), attribute.getName(), true);
+            if (targetAttribute == null) {
+                log.debug("Column '" + attribute.getName() + "' not found in table '" + targetEntity.getName() + "'");
+                skippedAttributes.add(attribute);
+                continue;
+            }
+            sourceValueAttributes.add(attribute);
+            targetValueAttributes.add(targetAttribute);
+        }
+    }
+
+    /**
+     * Adds chunks bounded by source keys found with the specified step.
+     * The last added chunk keeps the upper bound of the split chunk, so for the top chunk
+     * it also covers target rows after the last source key.
+     */
+    private void splitChunk(
+        @NotNull DBCSession session,
+        @NotNull KeyChunk chunk,
+        long step
+    ) throws DBException {
+        Object[] lowerKey = chunk.lowerKey;
+        while (!isStopped() && !session.getProgressMonitor().isCanceled()) {
+            Object[] bound = readKeyBound(session, lowerKey, chunk.upperKey, step);
+            if (bound == null || hasNullValues(bound) ||
+                (chunk.upperKey != null && makeRowKey(bound).equals(makeRowKey(chunk.upperKey)))
+            ) {
+                addChunk(new KeyChunk(lowerKey, chunk.upperKey));
+                break;
+            }
+            addChunk(new KeyChunk(lowerKey, bound));
+            lowerKey = bound;
+        }
+    }
+
+    /**
+     * Returns the source key which is {@code step} rows after the lower key or null if there are fewer rows.
+     */
+    @Nullable
+    private Object[] readKeyBound(
+        @NotNull DBCSession session,
+        @Nullable Object[] lowerKey,
+        @Nullable Object[] upperKey,
+        long step
+    ) throws DBException {
+        int keyCount = sourceKeyAttributes.size();
+        QueryParameters parameters = new QueryParameters();
+        StringBuilder query = new StringBuilder("SELECT ");
+        appendAttributeNames(query, sourceKeyAttributes);
+        query.append(" FROM ").append(DBUtils.getObjectFullName(settings.getSourceEntity(), DBPEvaluationContext.DML));
+        appendChunkCondition(query, parameters, sourceKeyAttributes, new KeyChunk(lowerKey, upperKey));
+        query.append(" ORDER BY ");
+        appendAttributeNames(query, sourceKeyAttributes);
+
+        Object[][] bound = new Object[1][];
+        executeQuery(session, query.toString(), parameters, step - 1, 1, resultSet -> bound[0] = readValues(resultSet, 0, keyCount));
+        return bound[0];
+    }
+
+    private void addChunk(@NotNull KeyChunk chunk) {
+        activeChunks.incrementAndGet();
+        chunkQueue.add(chunk);
+    }
+
+    /**
+     * Reads top level chunk bounds in the current thread while workers compare already found chunks.
+     * Then the current thread compares remaining chunks as well, using the default contexts.
+     */
+    private void runWorkers(@NotNull DBRProgressMonitor monitor) throws InterruptedException {
+        DBSEntity sourceEntity = settings.getSourceEntity();
+        long topChunkSize = settings.getRangeSize();
+        if (sourceHashExpression != null) {
+            for (int i = 0; i < SPLIT_LEVELS; i++) {
+                topChunkSize *= SPLIT_FACTOR;
+            }
+        }
+        int workerCount = Math.min(settings.getMaxParallelQueries(), MAX_PARALLEL_QUERIES) - 1;
+        ExecutorService executor = null;
+        if (workerCount > 0) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(
+                workerCount,
+                r -> {
+                    Thread thread = new Thread(r, "Data compare worker " + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        try {
+            if (executor != null) {
+                for (int i = 0; i < workerCount; i++) {
+                    executor.execute(new CompareWorker(monitor, true));
+                }
+            }
+            monitor.subTask("Read key chunks");
+            try (DBCSession session = DBUtils.openUtilSession(monitor, sourceEntity, "Read key chunks of " + sourceEntity.getName())) {
+                splitChunk(session, new KeyChunk(null, null), topChunkSize);
+            } catch (Throwable e) {
+                compareError = e;
+                stopped = true;
+            } finally {
+                chunksRead = true;
+            }
+            new CompareWorker(monitor, false).run();
+            if (executor != null) {
+                executor.shutdown();
+                while (!executor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                    if (monitor.isCanceled()) {
+                        stopped = true;
+                    }
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private class CompareWorker implements Runnable {
+        private final DBRProgressMonitor monitor;
+        private final boolean isolated;
+
+        CompareWorker(@NotNull DBRProgressMonitor monitor, boolean isolated) {
+            this.monitor = monitor;
+            this.isolated = isolated;
+        }
+
+        @Override
+        public void run() {
+            DBCExecutionContext sourceContext = null;
+            DBCExecutionContext targetContext = null;
+            try {
+                while (!isStopped()) {
+                    if (monitor.isCanceled()) {
+                        stopped = true;
+                        break;
+                    }
+                    KeyChunk chunk = chunkQueue.poll(CHUNK_POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                    if (chunk == null) {
+                        if (chunksRead && activeChunks.get() == 0) {
+                            break;
+                        }
+                        continue;
+                    }
+                    if (sourceContext == null) {
+                        // Contexts are opened on the first chunk, small tables don't need extra connections
+                        if (isolated) {
+                            try {
+                                sourceContext = openIsolatedContext(monitor, settings.getSourceEntity());
+                                targetContext = openIsolatedContext(monitor, settings.getTargetEntity());
+                            } catch (DBException e) {
+                                // Other workers will process the queue
+                                log.debug("Can't open isolated context for data compare", e);
+                                chunkQueue.addFirst(chunk);
+                                return;
+                            }
+                        } else {
+                            sourceContext = DBUtils.getDefaultContext(settings.getSourceEntity(), false);
+                            targetContext = DBUtils.getDefaultContext(settings.getTargetEntity(), false);
+                        }
+                    }
+                    try {
+                        compareChunk(monitor, sourceContext, targetContext, chunk);
+                    } catch (Throwable e) {
+                        compareError = e;
+                        stopped = true;
+                    } finally {
+                        activeChunks.decrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                stopped = true;
+            } finally {
+                if (isolated) {
+                    if (sourceContext != null) {
+                        sourceContext.close();
+                    }
+                    if (targetContext != null) {
+                        targetContext.close();
+                    }
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity) throws DBException {
+        DBSInstance instance = DBUtils.getObjectOwnerInstance(entity);
+        return instance.openIsolatedContext(monitor, "Data compare", DBUtils.getDefaultContext(entity, false));
+    }
+
+    private boolean isStopped() {
+        return stopped || compareError != null;
+    }
+
+    private void compareChunk(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext sourceContext,
+        @NotNull DBCExecutionContext targetContext,
+        @NotNull KeyChunk chunk
+    ) throws DBException {
+        if (sourceHashExpression != null) {
+            ChunkHash sourceHash = readChunkHash(monitor, sourceContext, settings.getSourceEntity(), sourceKeyAttributes, sourceHashExpression, chunk);
+            ChunkHash targetHash = readChunkHash(monitor, targetContext, settings.getTargetEntity(), targetKeyAttributes, targetHashExpression, chunk);
+            boolean matched = sourceHash.matches(targetHash);
+            report.addComparedRange(matched, sourceHash.rowCount);
+            if (matched) {
+                return;
+            }
+            if (sourceHash.rowCount > settings.getRangeSize()) {
+                // Narrow down the difference with hashes of smaller chunks
+                long step = (sourceHash.rowCount + SPLIT_FACTOR - 1) / SPLIT_FACTOR;
+                try (DBCSession session = sourceContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Split key chunk")) {
+                    splitChunk(session, chunk, step);
+                }
+                report.addSplitRange();
+                return;
+            }
+        }
+        compareChunkRows(monitor, sourceContext, targetContext, chunk);
+    }
+
+    @NotNull
+    private ChunkHash readChunkHash(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext context,
+        @NotNull DBSEntity entity,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull String hashExpression,
+        @NotNull KeyChunk chunk
+    ) throws DBException {
+        QueryParameters parameters = new QueryParameters();
+        StringBuilder query = new StringBuilder("SELECT COUNT(*), ").append(hashExpression)
+            .append(" FROM ").append(DBUtils.getObjectFullName(entity, DBPEvaluationContext.DML));
+        appendChunkCondition(query, parameters, keyAttributes, chunk);
+        Object[] result = new Object[2];
+        try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Calculate chunk hash")) {
+            executeQuery(session, query.toString(), parameters, 0, 0, resultSet -> {
+                result[0] = resultSet.getAttributeValue(0);
+                result[1] = resultSet.getAttributeValue(1);
+            });
+        }
+        return new ChunkHash(CommonUtils.toLong(result[0]), result[1]);
+    }
+
+    private void compareChunkRows(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext sourceContext,
+        @NotNull DBCExecutionContext targetContext,
+        @NotNull KeyChunk chunk
+    ) throws DBException {
+        synchronized (monitor) {
+            monitor.subTask("Compare rows in chunk " + chunk);
+        }
+        int keyCount = sourceKeyAttributes.size();
+        MessageDigest digest = createDigest();
+
+        // Read target rows first and keep only their keys and digests
+        Map<List<String>, TargetRow> targetRows = new HashMap<>();
+        try (DBCSession session = targetContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Read target rows")) {
+            QueryParameters parameters = new QueryParameters();
+            String query = makeRowsQuery(settings.getTargetEntity(), targetKeyAttributes, targetValueAttributes, chunk, parameters);
+            executeQuery(session, query, parameters, 0, 0, resultSet -> {
+                Object[] keyValues = readValues(resultSet, 0, keyCount);
+                Object[] values = readValues(resultSet, keyCount, targetValueAttributes.size());
+                targetRows.put(makeRowKey(keyValues), new TargetRow(keyValues, makeRowDigest(digest, values)));
+            });
+        }
+        report.addReadRows(targetRows.size());
+
+        // Stream source rows
+        long[] sourceRowCount = new long[1];
+        try (DBCSession session = sourceContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Read source rows")) {
+            QueryParameters parameters = new QueryParameters();
+            String query = makeRowsQuery(settings.getSourceEntity(), sourceKeyAttributes, sourceValueAttributes, chunk, parameters);
+            executeQuery(session, query, parameters, 0, 0, resultSet -> {
+                sourceRowCount[0]++;
+                Object[] keyValues = readValues(resultSet, 0, keyCount);
+                Object[] values = readValues(resultSet, keyCount, sourceValueAttributes.size());
+                List<String> rowKey = makeRowKey(keyValues);
+                byte[] rowDigest = makeRowDigest(digest, values);
+                TargetRow targetRow = targetRows.remove(rowKey);
+                if (targetRow == null) {
+                    addUnmatchedRow(true, rowKey, new UnmatchedRow(keyValues, values, rowDigest));
+                } else if (!Arrays.equals(targetRow.digest, rowDigest)) {
+                    addDifference(new CompareDataDifference(CompareDataDifference.Type.UPDATE, keyValues, values));
+                }
+            });
+        }
+        report.addReadRows(sourceRowCount[0]);
+
+        for (Map.Entry<List<String>, TargetRow> entry : targetRows.entrySet()) {
+            if (isStopped()) {
+                break;
+            }
+            TargetRow targetRow = entry.getValue();
+            addUnmatchedRow(false, entry.getKey(), new UnmatchedRow(targetRow.keyValues, null, targetRow.digest));
+        }
+    }
+
+    /**
+     * Matches row with unmatched rows of the other table found in other chunks or remembers it.
+     */
+    private synchronized void addUnmatchedRow(boolean source, @NotNull List<String> rowKey, @NotNull UnmatchedRow row) {
+        UnmatchedRow otherRow = (source ? unmatchedTargetRows : unmatchedSourceRows).remove(rowKey);
+        if (otherRow != null) {
+            if (!Arrays.equals(row.digest, otherRow.digest)) {
+                UnmatchedRow sourceRow = source ? row : otherRow;
+                addDifference(new CompareDataDifference(CompareDataDifference.Type.UPDATE, sourceRow.keyValues, sourceRow.values));
+            }
+            return;
+        }
+        (source ? unmatchedSourceRows : unmatchedTargetRows).put(rowKey, row);
+        int maxDifferences = settings.getMaxDifferences();
+        if (maxDifferences > 0 && unmatchedSourceRows.size() + unmatchedTargetRows.size() > maxDifferences * 2L) {
+            // Most of these rows are real differences, don't keep them all in memory
+            report.setTruncated();
+            stopped = true;
+        }
+    }
+
+    private void addUnmatchedRows() {
+        for (UnmatchedRow row : unmatchedSourceRows.values()) {
+            addDifference(new CompareDataDifference(CompareDataDifference.Type.INSERT, row.keyValues, row.values));
+        }
+        for (UnmatchedRow row : unmatchedTargetRows.values()) {
+            addDifference(new CompareDataDifference(CompareDataDifference.Type.DELETE, row.keyValues, null));
+        }
+        unmatchedSourceRows.clear();
+        unmatchedTargetRows.clear();
+    }
+
+    private void addDifference(@NotNull CompareDataDifference difference) {
+        if (!report.addDifference(difference)) {
+            stopped = true;
+        }
+    }
+
+    @NotNull
+    private static String makeRowsQuery(
+        @NotNull DBSEntity entity,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull List<DBSEntityAttribute> valueAttributes,
+        @NotNull KeyChunk chunk,
+        @NotNull QueryParameters parameters
+    ) {
+        StringBuilder query = new StringBuilder("SELECT ");
+        appendAttributeNames(query, getAllAttributes(keyAttributes, valueAttributes));
+        query.append(" FROM ").append(DBUtils.getObjectFullName(entity, DBPEvaluationContext.DML));
+        appendChunkCondition(query, parameters, keyAttributes, chunk);
+        return query.toString();
+    }
+
+    private static void appendChunkCondition(
+        @NotNull StringBuilder query,
+        @NotNull QueryParameters parameters,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull KeyChunk chunk
+    ) {
+        if (chunk.lowerKey == null && chunk.upperKey == null) {
+            return;
+        }
+        query.append(" WHERE ");
+        if (chunk.lowerKey != null) {
+            appendKeyCondition(query, parameters, keyAttributes, chunk.lowerKey, true);
+        }
+        if (chunk.upperKey != null) {
+            if (chunk.lowerKey != null) {
+                query.append(" AND ");
+            }
+            appendKeyCondition(query, parameters, keyAttributes, chunk.upperKey, false);
+        }
+    }
+
+    /**
+     * Appends row value comparison {@code (k1, k2) > (v1, v2)} (or {@code <=}) expanded into
+     * {@code k1 > v1 OR (k1 = v1 AND k2 > v2)} because not all databases support row values.
+     */
+    static void appendKeyCondition(
+        @NotNull StringBuilder query,
+        @NotNull QueryParameters parameters,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull Object[] keyValues,
+        boolean greater
+    ) {
+        int keyCount = keyAttributes.size();
+        query.append("(");
+        for (int i = 0; i < keyCount; i++) {
+            if (i > 0) query.append(" OR ");
+            query.append("(");
+            for (int k = 0; k < i; k++) {
+                query.append(DBUtils.getQuotedIdentifier(keyAttributes.get(k))).append(" = ? AND ");
+                parameters.add(keyAttributes.get(k), keyValues[k]);
+            }
+            boolean last = i == keyCount - 1;
+            query.append(DBUtils.getQuotedIdentifier(keyAttributes.get(i)))
+                .append(greater ? " > ?" : (last ? " <= ?" : " < ?"))
+                .append(")");
+            parameters.add(keyAttributes.get(i), keyValues[i]);
+        }
+        query.append(")");
+    }
+
+    private static void appendAttributeNames(@NotNull StringBuilder query, @NotNull List<DBSEntityAttribute> attributes) {
+        for (int i = 0; i < attributes.size(); i++) {
+            if (i > 0) query.append(", ");
+            query.append(DBUtils.getQuotedIdentifier(attributes.get(i)));
+        }
+    }
+
+    /**
+     * Returns aggregate expression which calculates order-independent hash of all rows in the group.
+     * Returns null if the database doesn't support server-side hashes.
+     */
+    @Nullable
+    static String getRowsHashExpression(@NotNull DBPDataSource dataSource, @NotNull List<DBSEntityAttribute> attributes) {
+        StringBuilder columns = new StringBuilder();
+        switch (dataSource.getSQLDialect().getDialectId()) {
+            case "postgresql": {
+                for (DBSEntityAttribute attribute : attributes) {
+                    if (columns.length() > 0) columns.append(", ");
+                    columns.append(DBUtils.getQuotedIdentifier(attribute));
+                }
+                // ROW() text representation distinguishes NULLs and empty strings
+                return "SUM(('x' || SUBSTR(MD5(ROW(" + columns + ")::TEXT), 1, 15))::BIT(60)::BIGINT)";
+            }
+            case "mysql": {
+                for (DBSEntityAttribute attribute : attributes) {
+                    columns.append(", COALESCE(CAST(").append(DBUtils.getQuotedIdentifier(attribute)).append(" AS CHAR), '").append(NULL_MARKER).append("')");
+                }
+                return "SUM(CAST(CONV(SUBSTRING(MD5(CONCAT_WS('|'" + columns + ")), 1, 15), 16, 10) AS UNSIGNED))";
+            }
+            case "oracle": {
+                if (attributes.size() > MAX_ORACLE_HASH_COLUMNS) {
+                    return null;
+                }
+                // Hash each column separately and hash concatenated column hashes.
+                // Concatenation of column values may exceed VARCHAR2 limit (ORA-01489).
+                for (DBSEntityAttribute attribute : attributes) {
+                    if (columns.length() > 0) columns.append(" || '|' || ");
+                    String columnName = DBUtils.getQuotedIdentifier(attribute);
+                    columns.append("ORA_HASH(NVL(").append(attribute.getDataKind() == DBPDataKind.BINARY ? "RAWTOHEX(" : "TO_CHAR(")
+                        .append(columnName).append("), '").append(NULL_MARKER).append("'), 4294967295)");
+                }
+                return "SUM(ORA_HASH(" + columns + ", 4294967295))";
+            }
+            case "h2": {
+                // Same as Oracle: H2 provides ORA_HASH and VARCHAR values are not limited
+                for (DBSEntityAttribute attribute : attributes) {
+                    if (columns.length() > 0) columns.append(" || '|' || ");
+                    String columnName = DBUtils.getQuotedIdentifier(attribute);
+                    columns.append("ORA_HASH(COALESCE(").append(attribute.getDataKind() == DBPDataKind.BINARY ?
+                            "RAWTOHEX(" + columnName + ")" :
+                            "CAST(" + columnName + " AS VARCHAR)")
+                        .append(", '").append(NULL_MARKER).append("'), 4294967295)");
+                }
+                return "SUM(ORA_HASH(" + columns + ", 4294967295))";
+            }
+            case "sqlserver": {
+                for (DBSEntityAttribute attribute : attributes) {
+                    if (columns.length() > 0) columns.append(", N'|', ");
+                    String columnName = DBUtils.getQuotedIdentifier(attribute);
+                    columns.append("COALESCE(").append(attribute.getDataKind() == DBPDataKind.BINARY ?
+                            "CONVERT(NVARCHAR(MAX), " + columnName + ", 2)" :
+                            "CONVERT(NVARCHAR(MAX), " + columnName + ")")
+                        .append(", N'").append(NULL_MARKER).append("')");
+                }
+                // First 7 bytes of SHA-256 fit into positive BIGINT, sum them as DECIMAL to avoid overflow
+                return "SUM(CAST(CAST(SUBSTRING(HASHBYTES('SHA2_256', CONCAT(N'', " + columns + ")), 1, 7) AS BIGINT) AS DECIMAL(38, 0)))";
+            }
+            default:
+                return null;
+        }
+    }
+
+    @NotNull
+    private static List<DBSEntityAttribute> getAllAttributes(
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull List<DBSEntityAttribute> valueAttributes
+    ) {
+        List<DBSEntityAttribute> attributes = new ArrayList<>(keyAttributes.size() + valueAttributes.size());
+        attributes.addAll(keyAttributes);
+        attributes.addAll(valueAttributes);
+        return attributes;
+    }
+
+    private interface RowHandler {
+        void handleRow(@NotNull DBCResultSet resultSet) throws DBException;
+    }
+
+    /**
+     * Executes query with key parameters.
+     * Positive max rows adds offset and limit to the query (using database specific syntax when possible).
+     */
+    private void executeQuery(
+        @NotNull DBCSession session,
+        @NotNull String query,
+        @NotNull QueryParameters parameters,
+        long offset,
+        long maxRows,
+        @NotNull RowHandler handler
+    ) throws DBException {
+        DBCQueryTransformer limitTransformer = null;
+        if (maxRows > 0) {
+            DBCQueryTransformProvider transformProvider = DBUtils.getAdapter(DBCQueryTransformProvider.class, session.getDataSource());
+            if (transformProvider != null) {
+                limitTransformer = transformProvider.createQueryTransformer(DBCQueryTransformType.RESULT_SET_LIMIT);
+            }
+            if (limitTransformer != null) {
+                limitTransformer.setParameters(offset, maxRows);
+                query = limitTransformer.transformQueryString(new SQLQuery(session.getDataSource(), query));
+            }
+        }
+        try (DBCStatement statement = session.prepareStatement(DBCStatementType.QUERY, query, false, false, false)) {
+            for (int i = 0; i < parameters.values.size(); i++) {
+                DBSEntityAttribute attribute = parameters.attributes.get(i);
+                DBUtils.findValueHandler(session, attribute).bindValueObject(session, statement, attribute, i, parameters.values.get(i));
+            }
+            if (limitTransformer != null) {
+                limitTransformer.transformStatement(statement, parameters.values.size());
+            } else if (maxRows > 0) {
+                statement.setLimit(offset, maxRows);
+            }
+            statement.setResultsFetchSize(FETCH_SIZE);
+            if (statement.executeStatement()) {
+                try (DBCResultSet resultSet = statement.openResultSet()) {
+                    while (resultSet.nextRow()) {
+                        if (session.getProgressMonitor().isCanceled() || isStopped()) {
+                            break;
+                        }
+                        handler.handleRow(resultSet);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean hasNullValues(@Nullable Object[] values) {
+        if (values == null) {
+            return true;
+        }
+        for (Object value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static Object[] readValues(@NotNull DBCResultSet resultSet, int offset, int count) throws DBCException {
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = resultSet.getAttributeValue(offset + i);
+        }
+        return values;
+    }
+
+    @NotNull
+    private static List<String> makeRowKey(@NotNull Object[] keyValues) {
+        String[] key = new String[keyValues.length];
+        for (int i = 0; i < keyValues.length; i++) {
+            key[i] = normalizeValue(keyValues[i]);
+        }
+        return Arrays.asList(key);
+    }
+
+    @NotNull
+    static byte[] makeRowDigest(@NotNull MessageDigest digest, @NotNull Object[] values) {
+        for (Object value : values) {
+            if (value == null) {
+                digest.update((byte) 0);
+                continue;
+            }
+            byte[] bytes = value instanceof byte[] binary ? binary : normalizeValue(value).getBytes(StandardCharsets.UTF_8);
+            // Length prefix makes value boundaries unambiguous
+            digest.update((byte) 1);
+            digest.update(new byte[] {(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length});
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Converts value to a string which doesn't depend on the exact Java type returned by the driver
+     * (e.g. Integer and Long, BigDecimal with different scale, Float and Double, Timestamp and LocalDateTime).
+     */
+    @Nullable
+    static String normalizeValue(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger || value instanceof Long ||
+            value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                return String.valueOf(number);
+            }
+            // Shortest decimal representation of the value of its own precision (Float 0.1f is "0.1", not 0.10000000149)
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp.toLocalDateTime());
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.toInstant().toString();
+        }
+        if (value instanceof ZonedDateTime dateTime) {
+            return dateTime.toInstant().toString();
+        }
+        if (value instanceof byte[] binary) {
+            StringBuilder hex = new StringBuilder(binary.length * 2);
+            for (byte b : binary) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        }
+        return value.toString();
+    }
+
+    @NotNull
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 digest is not available", e);
+        }
+    }
+}
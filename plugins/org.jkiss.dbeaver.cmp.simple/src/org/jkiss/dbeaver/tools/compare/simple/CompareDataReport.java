@@ -0,0 +1,194 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table data compare report
+ */
+public class CompareDataReport {
+
+    private final CompareDataSettings settings;
+    private final List<DBSEntityAttribute> sourceKeyAttributes;
+    private final List<DBSEntityAttribute> sourceValueAttributes;
+    private final List<DBSEntityAttribute> targetKeyAttributes;
+    private final List<DBSEntityAttribute> targetValueAttributes;
+    private final List<DBSEntityAttribute> skippedAttributes;
+    private final boolean serverHashes;
+
+    private final List<CompareDataDifference> differences = new ArrayList<>();
+    private final long[] differenceCounts = new long[CompareDataDifference.Type.values().length];
+    private volatile boolean truncated;
+    private final AtomicLong comparedRanges = new AtomicLong();
+    private final AtomicLong matchedRanges = new AtomicLong();
+    private final AtomicLong splitRanges = new AtomicLong();
+    private final AtomicLong matchedRows = new AtomicLong();
+    private final AtomicLong readRows = new AtomicLong();
+
+    CompareDataReport(
+        @NotNull CompareDataSettings settings,
+        @NotNull List<DBSEntityAttribute> sourceKeyAttributes,
+        @NotNull List<DBSEntityAttribute> sourceValueAttributes,
+        @NotNull List<DBSEntityAttribute> targetKeyAttributes,
+        @NotNull List<DBSEntityAttribute> targetValueAttributes,
+        @NotNull List<DBSEntityAttribute> skippedAttributes,
+        boolean serverHashes
+    ) {
+        this.settings = settings;
+        this.sourceKeyAttributes = sourceKeyAttributes;
+        this.sourceValueAttributes = sourceValueAttributes;
+        this.targetKeyAttributes = targetKeyAttributes;
+        this.targetValueAttributes = targetValueAttributes;
+        this.skippedAttributes = skippedAttributes;
+        this.serverHashes = serverHashes;
+    }
+
+    @NotNull
+    public CompareDataSettings getSettings() {
+        return settings;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getSourceKeyAttributes() {
+        return sourceKeyAttributes;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getSourceValueAttributes() {
+        return sourceValueAttributes;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getTargetKeyAttributes() {
+        return targetKeyAttributes;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getTargetValueAttributes() {
+        return targetValueAttributes;
+    }
+
+    /**
+     * Source columns which were not compared: LOB, complex and ROWID columns and columns missing in the target table
+     */
+    @NotNull
+    public List<DBSEntityAttribute> getSkippedAttributes() {
+        return skippedAttributes;
+    }
+
+    /**
+     * Whether range hashes were calculated by the database
+     */
+    public boolean isServerHashes() {
+        return serverHashes;
+    }
+
+    @NotNull
+    public synchronized List<CompareDataDifference> getDifferences() {
+        return new ArrayList<>(differences);
+    }
+
+    public synchronized long getDifferenceCount(@NotNull CompareDataDifference.Type type) {
+        return differenceCounts[type.ordinal()];
+    }
+
+    public synchronized boolean hasDifferences() {
+        return !differences.isEmpty();
+    }
+
+    /**
+     * Compare was stopped because the maximum number of differences was reached
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Number of key chunks which hashes were compared
+     */
+    public long getComparedRanges() {
+        return comparedRanges.get();
+    }
+
+    /**
+     * Number of key chunks with equal hashes
+     */
+    public long getMatchedRanges() {
+        return matchedRanges.get();
+    }
+
+    /**
+     * Number of mismatching key chunks which were split into smaller chunks
+     */
+    public long getSplitRanges() {
+        return splitRanges.get();
+    }
+
+    /**
+     * Number of rows skipped because their chunk hashes matched
+     */
+    public long getMatchedRows() {
+        return matchedRows.get();
+    }
+
+    /**
+     * Number of rows read from both tables for row-by-row compare
+     */
+    public long getReadRows() {
+        return readRows.get();
+    }
+
+    /**
+     * Adds difference. Returns false if maximum number of differences is reached and compare must stop.
+     */
+    synchronized boolean addDifference(@NotNull CompareDataDifference difference) {
+        int maxDifferences = settings.getMaxDifferences();
+        if (maxDifferences > 0 && differences.size() >= maxDifferences) {
+            truncated = true;
+            return false;
+        }
+        differences.add(difference);
+        differenceCounts[difference.getType().ordinal()]++;
+        return true;
+    }
+
+    void setTruncated() {
+        truncated = true;
+    }
+
+    void addComparedRange(boolean matched, long rowCount) {
+        comparedRanges.incrementAndGet();
+        if (matched) {
+            matchedRanges.incrementAndGet();
+            matchedRows.addAndGet(rowCount);
+        }
+    }
+
+    void addSplitRange() {
+        splitRanges.incrementAndGet();
+    }
+
+    void addReadRows(long rowCount) {
+        readRows.addAndGet(rowCount);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes data compare report as text or as SQL script which makes target table data equal to source.
+ */
+public class CompareDataReportRenderer {
+
+    public void renderReport(@NotNull CompareDataReport report, @NotNull Writer writer) throws IOException {
+        CompareDataSettings settings = report.getSettings();
+        List<DBSEntityAttribute> keyAttributes = report.getSourceKeyAttributes();
+        List<DBSEntityAttribute> valueAttributes = report.getSourceValueAttributes();
+
+        writer.write("Source: " + DBUtils.getObjectFullName(settings.getSourceEntity(), DBPEvaluationContext.UI) + "\n");
+        writer.write("Target: " + DBUtils.getObjectFullName(settings.getTargetEntity(), DBPEvaluationContext.UI) + "\n");
+        writer.write("Key: " + getAttributeNames(keyAttributes) + "\n");
+        if (!report.getSkippedAttributes().isEmpty()) {
+            writer.write("Not compared: " + getSkippedAttributeNames(report) + "\n");
+        }
+        if (report.isServerHashes()) {
+            writer.write("Key chunks compared by hash: " + report.getComparedRanges() + " (matched: " + report.getMatchedRanges() +
+                ", rows: " + report.getMatchedRows() + ", split: " + report.getSplitRanges() + ")\n");
+        }
+        writer.write("Rows compared: " + report.getReadRows() + "\n");
+        writer.write("Differences: " +
+            report.getDifferenceCount(CompareDataDifference.Type.INSERT) + " missing, " +
+            report.getDifferenceCount(CompareDataDifference.Type.UPDATE) + " changed, " +
+            report.getDifferenceCount(CompareDataDifference.Type.DELETE) + " extra" +
+            (report.isTruncated() ? " (compare stopped after " + settings.getMaxDifferences() + " differences)" : "") + "\n\n");
+
+        for (CompareDataDifference difference : report.getDifferences()) {
+            writer.write(difference.getType().name());
+            writer.write(" ");
+            writeValues(writer, keyAttributes, difference.getKeyValues());
+            Object[] values = difference.getValues();
+            if (values != null) {
+                writer.write(": ");
+                writeValues(writer, valueAttributes, values);
+            }
+            writer.write("\n");
+        }
+    }
+
+    public void renderScript(@NotNull CompareDataReport report, @NotNull Writer writer) throws IOException {
+        DBSEntity targetEntity = report.getSettings().getTargetEntity();
+        DBPDataSource dataSource = targetEntity.getDataSource();
+        String tableName = DBUtils.getObjectFullName(targetEntity, DBPEvaluationContext.DML);
+        List<DBSEntityAttribute> keyAttributes = report.getTargetKeyAttributes();
+        List<DBSEntityAttribute> valueAttributes = report.getTargetValueAttributes();
+        String delimiter = SQLUtils.getDefaultScriptDelimiter(dataSource.getSQLDialect());
+        if (!report.getSkippedAttributes().isEmpty()) {
+            writer.write(dataSource.getSQLDialect().getSingleLineComments()[0] +
+                " Columns were not compared and are not changed by this script: " + getSkippedAttributeNames(report) + "\n");
+        }
+
+        for (CompareDataDifference difference : report.getDifferences()) {
+            StringBuilder sql = new StringBuilder();
+            Object[] keyValues = difference.getKeyValues();
+            Object[] values = difference.getValues();
+            switch (difference.getType()) {
+                case INSERT: {
+                    StringBuilder columns = new StringBuilder();
+                    StringBuilder columnValues = new StringBuilder();
+                    for (int i = 0; i < keyAttributes.size(); i++) {
+                        appendValue(dataSource, columns, columnValues, keyAttributes.get(i), keyValues[i]);
+                    }
+                    for (int i = 0; i < valueAttributes.size(); i++) {
+                        appendValue(dataSource, columns, columnValues, valueAttributes.get(i), values[i]);
+                    }
+                    sql.append("INSERT INTO ").append(tableName).append(" (").append(columns)
+                        .append(") VALUES (").append(columnValues).append(")");
+                    break;
+                }
+                case UPDATE: {
+                    sql.append("UPDATE ").append(tableName).append(" SET ");
+                    for (int i = 0; i < valueAttributes.size(); i++) {
+                        if (i > 0) sql.append(", ");
+                        DBSEntityAttribute attribute = valueAttributes.get(i);
+                        sql.append(DBUtils.getQuotedIdentifier(attribute)).append(" = ")
+                            .append(SQLUtils.convertValueToSQL(dataSource, attribute, values[i]));
+                    }
+                    appendKeyCondition(dataSource, sql, keyAttributes, keyValues);
+                    break;
+                }
+                case DELETE: {
+                    sql.append("DELETE FROM ").append(tableName);
+                    appendKeyCondition(dataSource, sql, keyAttributes, keyValues);
+                    break;
+                }
+            }
+            writer.write(sql.toString());
+            writer.write(delimiter);
+            writer.write("\n");
+        }
+    }
+
+    private static void appendValue(
+        @NotNull DBPDataSource dataSource,
+        @NotNull StringBuilder columns,
+        @NotNull StringBuilder values,
+        @NotNull DBSEntityAttribute attribute,
+        Object value
+    ) {
+        if (columns.length() > 0) {
+            columns.append(", ");
+            values.append(", ");
+        }
+        columns.append(DBUtils.getQuotedIdentifier(attribute));
+        values.append(SQLUtils.convertValueToSQL(dataSource, attribute, value));
+    }
+
+    private static void appendKeyCondition(
+        @NotNull DBPDataSource dataSource,
+        @NotNull StringBuilder sql,
+        @NotNull List<DBSEntityAttribute> keyAttributes,
+        @NotNull Object[] keyValues
+    ) {
+        sql.append(" WHERE ");
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            if (i > 0) sql.append(" AND ");
+            DBSEntityAttribute attribute = keyAttributes.get(i);
+            sql.append(DBUtils.getQuotedIdentifier(attribute));
+            if (keyValues[i] == null) {
+                sql.append(" IS NULL");
+            } else {
+                sql.append(" = ").append(SQLUtils.convertValueToSQL(dataSource, attribute, keyValues[i]));
+            }
+        }
+    }
+
+    private static void writeValues(@NotNull Writer writer, @NotNull List<DBSEntityAttribute> attributes, @NotNull Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(", ");
+            writer.write(attributes.get(i).getName());
+            writer.write("=");
+            writer.write(String.valueOf(CompareDataExecutor.normalizeValue(values[i])));
+        }
+    }
+
+    @NotNull
+    private static String getSkippedAttributeNames(@NotNull CompareDataReport report) {
+        StringBuilder names = new StringBuilder();
+        for (DBSEntityAttribute attribute : report.getSkippedAttributes()) {
+            if (names.length() > 0) names.append(", ");
+            names.append(attribute.getName()).append(" (").append(attribute.getTypeName()).append(")");
+        }
+        return names.toString();
+    }
+
+    @NotNull
+    private static String getAttributeNames(@NotNull List<DBSEntityAttribute> attributes) {
+        StringBuilder names = new StringBuilder();
+        for (DBSEntityAttribute attribute : attributes) {
+            if (names.length() > 0) names.append(", ");
+            names.append(attribute.getName());
+        }
+        return names.toString();
+    }
+}
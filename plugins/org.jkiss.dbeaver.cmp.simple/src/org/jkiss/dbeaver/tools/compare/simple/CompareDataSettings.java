@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.preferences.DBPSettingsSection;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.CommonUtils;
+
+/**
+ * Table data compare settings
+ */
+public class CompareDataSettings {
+
+    public static final int DEFAULT_RANGE_SIZE = 10000;
+    public static final int DEFAULT_PARALLEL_QUERIES = 4;
+    public static final int DEFAULT_MAX_DIFFERENCES = 10000;
+
+    private final DBSEntity sourceEntity;
+    private final DBSEntity targetEntity;
+    // Maximum number of source rows in a key chunk which is compared row by row.
+    // With server-side hashes mismatching larger chunks are split until they fit this size.
+    private int rangeSize = DEFAULT_RANGE_SIZE;
+    // Number of concurrent queries (connections) for each side
+    private int maxParallelQueries = DEFAULT_PARALLEL_QUERIES;
+    private int maxDifferences = DEFAULT_MAX_DIFFERENCES;
+    private boolean useServerHashes = true;
+
+    public CompareDataSettings(@NotNull DBSEntity sourceEntity, @NotNull DBSEntity targetEntity) {
+        this.sourceEntity = sourceEntity;
+        this.targetEntity = targetEntity;
+    }
+
+    @NotNull
+    public DBSEntity getSourceEntity() {
+        return sourceEntity;
+    }
+
+    @NotNull
+    public DBSEntity getTargetEntity() {
+        return targetEntity;
+    }
+
+    public int getRangeSize() {
+        return rangeSize;
+    }
+
+    public void setRangeSize(int rangeSize) {
+        this.rangeSize = Math.max(1, rangeSize);
+    }
+
+    public int getMaxParallelQueries() {
+        return maxParallelQueries;
+    }
+
+    public void setMaxParallelQueries(int maxParallelQueries) {
+        this.maxParallelQueries = Math.max(1, maxParallelQueries);
+    }
+
+    /**
+     * Compare stops when this number of differences is found. Zero means no limit.
+     */
+    public int getMaxDifferences() {
+        return maxDifferences;
+    }
+
+    public void setMaxDifferences(int maxDifferences) {
+        this.maxDifferences = Math.max(0, maxDifferences);
+    }
+
+    /**
+     * Compute chunk hashes in the database when both tables use the same dialect which supports it.
+     * Otherwise rows are read and compared on the client side.
+     */
+    public boolean isUseServerHashes() {
+        return useServerHashes;
+    }
+
+    public void setUseServerHashes(boolean useServerHashes) {
+        this.useServerHashes = useServerHashes;
+    }
+
+    public void loadFrom(DBPSettingsSection dialogSettings) {
+        if (dialogSettings.get("dataRangeSize") != null) {
+            setRangeSize(CommonUtils.toInt(dialogSettings.get("dataRangeSize"), DEFAULT_RANGE_SIZE));
+        }
+        if (dialogSettings.get("dataParallelQueries") != null) {
+            setMaxParallelQueries(CommonUtils.toInt(dialogSettings.get("dataParallelQueries"), DEFAULT_PARALLEL_QUERIES));
+        }
+        if (dialogSettings.get("dataMaxDifferences") != null) {
+            setMaxDifferences(CommonUtils.toInt(dialogSettings.get("dataMaxDifferences"), DEFAULT_MAX_DIFFERENCES));
+        }
+        if (dialogSettings.get("dataServerHashes") != null) {
+            useServerHashes = dialogSettings.getBoolean("dataServerHashes");
+        }
+    }
+
+    public void saveTo(DBPSettingsSection dialogSettings) {
+        dialogSettings.put("dataRangeSize", rangeSize);
+        dialogSettings.put("dataParallelQueries", maxParallelQueries);
+        dialogSettings.put("dataMaxDifferences", maxDifferences);
+        dialogSettings.put("dataServerHashes", useServerHashes);
+    }
+
+}
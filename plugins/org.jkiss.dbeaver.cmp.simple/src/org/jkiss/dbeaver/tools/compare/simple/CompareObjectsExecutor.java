@@ -34,12 +34,19 @@ import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.runtime.properties.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class CompareObjectsExecutor {
 
     private static final Log log = Log.getLog(CompareObjectsExecutor.class);
 
+    private static final int MAX_COMPARE_THREADS = 16;
+
     private final Object PROPS_LOCK = new Object();
 
     private CompareObjectsSettings settings;
@@ -57,6 +64,7 @@ public class CompareObjectsExecutor {
     private final List<CompareReportLine> reportLines = new ArrayList<>();
     private int reportDepth = 0;
     private CompareReportLine lastLine;
+    private Map<String, Long> phaseTimes = Collections.emptyMap();
 
     private void reportObjectsCompareBegin(List<DBNDatabaseNode> objects)
     {
@@ -161,9 +169,14 @@ public class CompareObjectsExecutor {
     {
         reportLines.clear();
         lastLine = null;
+        phaseTimes = Collections.emptyMap();
 
-        compareNodes(monitor, nodes);
-        return new CompareReport(rootNodes, reportLines);
+        if (settings.isParallelCompare()) {
+            compareNodesParallel(monitor, nodes);
+        } else {
+            compareNodes(monitor, nodes);
+        }
+        return new CompareReport(rootNodes, reportLines, phaseTimes);
     }
 
     private void compareNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
@@ -365,7 +378,454 @@ public class CompareObjectsExecutor {
     }
 
 
-    private DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
+    ///////////////////////////////////////////////////////////////////////////
+    // Parallel compare
+
+    static class NodeSnapshot {
+        final DBNDatabaseNode node;
+        final String name;
+        final boolean folder;
+        // Values of non-lazy properties (by property ID)
+        final Map<String, Object> values = new HashMap<>();
+        List<NodeSnapshot> children = Collections.emptyList();
+        Map<String, NodeSnapshot> childrenByName = Collections.emptyMap();
+        boolean childrenReadError;
+        // Subtree has lazy properties or values of unknown types. Fingerprint doesn't describe it completely.
+        boolean partialFingerprint;
+        byte[] fingerprint;
+        // Number of all objects in the subtree, excluding this one
+        int descendantCount;
+
+        NodeSnapshot(DBNDatabaseNode node) {
+            this.node = node;
+            this.name = node.getNodeDisplayName();
+            this.folder = node instanceof DBNDatabaseFolder;
+        }
+    }
+
+    /**
+     * Properties of a particular object class which take part in compare.
+     * Mirrors the rules of {@link #compareProperties(DBRProgressMonitor, List)}.
+     */
+    private static class CompareProperties {
+        final List<ObjectPropertyDescriptor> allProperties;
+        final List<ObjectPropertyDescriptor> readProperties = new ArrayList<>();
+        final boolean loadLazy;
+        // Report doesn't include properties at all
+        final boolean skipped;
+        boolean hasLazyValues;
+
+        CompareProperties(List<ObjectPropertyDescriptor> allProperties, boolean loadLazy, boolean skipped) {
+            this.allProperties = allProperties;
+            this.loadLazy = loadLazy;
+            this.skipped = skipped;
+        }
+    }
+
+    private static class CompareTaskException extends RuntimeException {
+        CompareTaskException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private final Map<Object, CompareProperties> comparePropertiesCache = new ConcurrentHashMap<>();
+
+    private void compareNodesParallel(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+        throws DBException, InterruptedException
+    {
+        Map<String, Long> phaseTimes = new LinkedHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors() * 2, MAX_COMPARE_THREADS));
+        try {
+            // Prefetch structure of all root containers at once
+            long startTime = System.currentTimeMillis();
+            monitor.subTask("Read structure");
+            runParallel(pool, () -> nodes.parallelStream().forEach(node -> {
+                if (node.getObject() instanceof DBSObjectContainer container) {
+                    try {
+                        cacheStructure(monitor, node, container);
+                    } catch (DBException e) {
+                        throw new CompareTaskException(e);
+                    }
+                }
+            }));
+            phaseTimes.put("prefetch", System.currentTimeMillis() - startTime);
+
+            // Read all trees and calculate fingerprints
+            startTime = System.currentTimeMillis();
+            monitor.subTask("Read objects");
+            List<NodeSnapshot> snapshots = invokeParallel(pool, () -> {
+                List<ForkJoinTask<NodeSnapshot>> tasks = new ArrayList<>();
+                for (DBNDatabaseNode node : nodes) {
+                    tasks.add(ForkJoinTask.adapt(() -> readSnapshot(monitor, node)).fork());
+                }
+                List<NodeSnapshot> result = new ArrayList<>();
+                for (ForkJoinTask<NodeSnapshot> task : tasks) {
+                    result.add(task.join());
+                }
+                return result;
+            });
+            phaseTimes.put("read", System.currentTimeMillis() - startTime);
+
+            // Compare
+            startTime = System.currentTimeMillis();
+            monitor.subTask("Compare objects");
+            NodeSnapshot[] group = new NodeSnapshot[rootNodes.size()];
+            for (NodeSnapshot snapshot : snapshots) {
+                group[getRootIndex(snapshot.node)] = snapshot;
+            }
+            reportLines.addAll(invokeParallel(pool, () -> compareSnapshots(monitor, group, 1)));
+            phaseTimes.put("compare", System.currentTimeMillis() - startTime);
+        } finally {
+            pool.shutdownNow();
+        }
+        log.debug("Objects compare finished: " + phaseTimes);
+        this.phaseTimes = phaseTimes;
+    }
+
+    private <T> T invokeParallel(ForkJoinPool pool, Callable<T> task) throws DBException, InterruptedException {
+        try {
+            return pool.submit(task).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompareTaskException || cause instanceof ExecutionException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof InterruptedException ie) {
+                throw ie;
+            }
+            if (cause instanceof DBException dbe) {
+                throw dbe;
+            }
+            throw new DBException("Error comparing objects", cause);
+        }
+    }
+
+    private void runParallel(ForkJoinPool pool, Runnable task) throws DBException, InterruptedException {
+        invokeParallel(pool, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private NodeSnapshot readSnapshot(DBRProgressMonitor monitor, DBNDatabaseNode node) {
+        if (monitor.isCanceled()) {
+            throw new CompareTaskException(new InterruptedException());
+        }
+        NodeSnapshot snapshot = new NodeSnapshot(node);
+        DBNDatabaseNode[] children;
+        // Metadata is loaded lazily with a single connection, so objects of the same data source are read one at a time.
+        // Only reading is serialized, subtrees are still read in parallel for different data sources.
+        synchronized (node.getDataSourceContainer()) {
+            children = readNode(monitor, node, snapshot);
+        }
+        if (children != null) {
+            List<ForkJoinTask<NodeSnapshot>> tasks = new ArrayList<>(children.length);
+            for (DBNDatabaseNode child : children) {
+                if (isComparedChild(child)) {
+                    tasks.add(ForkJoinTask.adapt(() -> readSnapshot(monitor, child)).fork());
+                }
+            }
+            snapshot.children = new ArrayList<>(tasks.size());
+            snapshot.childrenByName = new HashMap<>();
+            for (ForkJoinTask<NodeSnapshot> task : tasks) {
+                NodeSnapshot childSnapshot = task.join();
+                snapshot.children.add(childSnapshot);
+                // Only the first child with the same name is compared
+                snapshot.childrenByName.putIfAbsent(childSnapshot.name, childSnapshot);
+            }
+        }
+        makeFingerprint(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Reads property values of the node and returns its children
+     */
+    private DBNDatabaseNode[] readNode(DBRProgressMonitor monitor, DBNDatabaseNode node, NodeSnapshot snapshot) {
+        try {
+            if (!node.initializeNode(monitor, null)) {
+                throw new CompareTaskException(new InterruptedException());
+            }
+            if (!snapshot.folder) {
+                CompareProperties properties = getCompareProperties(node);
+                // Lazy values are read during compare, they are not a part of the fingerprint
+                snapshot.partialFingerprint = properties.hasLazyValues;
+                if (!properties.skipped) {
+                    DBSObject databaseObject = node.getObject();
+                    PropertyCollector propertySource = new PropertyCollector(databaseObject, properties.loadLazy);
+                    for (ObjectPropertyDescriptor prop : properties.readProperties) {
+                        if (!prop.isLazy()) {
+                            snapshot.values.put(prop.getId(), getComparableValue(propertySource.getPropertyValue(monitor, databaseObject, prop, true)));
+                        }
+                    }
+                }
+            }
+            if (node.getObject() instanceof DBSObjectContainer container) {
+                cacheStructure(monitor, node, container);
+            }
+        } catch (DBException e) {
+            throw new CompareTaskException(e);
+        }
+
+        try {
+            return node.getChildren(monitor);
+        } catch (Exception e) {
+            log.warn("Error reading child nodes for compare", e);
+            snapshot.childrenReadError = true;
+            return null;
+        }
+    }
+
+    /**
+     * Structure caches read metadata with a single connection and aren't thread-safe,
+     * so caches of the same data source are filled one at a time.
+     */
+    private static void cacheStructure(DBRProgressMonitor monitor, DBNDatabaseNode node, DBSObjectContainer container) throws DBException {
+        synchronized (node.getDataSourceContainer()) {
+            container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        }
+    }
+
+    private boolean isComparedChild(DBNDatabaseNode child) {
+        if (child.getMeta().isVirtual()) {
+            return false;
+        }
+        return !settings.isSkipSystemObjects() || !DBUtils.isSystemObject(child.getObject());
+    }
+
+    private CompareProperties getCompareProperties(DBNDatabaseNode node) {
+        DBSObject object = node.getObject();
+        Class<?> objectClass = ObjectPropertyDescriptor.getObjectClass(object);
+        DataSourcePropertyFilter filter = getDataSourceFilter(node);
+        return comparePropertiesCache.computeIfAbsent(Arrays.asList(objectClass, filter), key -> {
+            List<ObjectPropertyDescriptor> properties = ObjectPropertyDescriptor.extractAnnotations(null, objectClass, filter, null);
+            boolean hasLazy = properties.stream().anyMatch(ObjectPropertyDescriptor::isLazy);
+            boolean compareScripts = hasLazy && settings.isCompareScripts();
+            boolean compareLazy = hasLazy && settings.isCompareLazyProperties();
+            boolean onlyStruct = settings.isCompareOnlyStructure();
+            CompareProperties result = new CompareProperties(properties, compareLazy || compareScripts, onlyStruct && !compareScripts);
+            if (!result.skipped) {
+                for (ObjectPropertyDescriptor prop : properties) {
+                    boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
+                    if (prop.isLazy()) {
+                        if (!compareLazy && !(compareScripts && isScriptProperty)) {
+                            continue;
+                        }
+                        result.hasLazyValues = true;
+                    } else if (prop.isHidden()) {
+                        continue;
+                    }
+                    if (onlyStruct && !isScriptProperty) {
+                        continue;
+                    }
+                    result.readProperties.add(prop);
+                }
+            }
+            return result;
+        });
+    }
+
+    private static Object getComparableValue(Object propertyValue) {
+        if (propertyValue instanceof DBPNamedObject namedObject) {
+            // Compare just object names
+            return namedObject.getName();
+        }
+        return propertyValue;
+    }
+
+    /**
+     * Digest of the object type, name, non-lazy property values and fingerprints of all children.
+     * Values are written with their types, so objects with equal fingerprints have equal values
+     * according to {@link CompareUtils#equalPropertyValues}. Values of other types make the fingerprint partial.
+     */
+    static void makeFingerprint(NodeSnapshot snapshot) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 digest is not available", e);
+        }
+        updateDigest(digest, snapshot.node.getObject() == null ? "" : snapshot.node.getObject().getClass().getName());
+        updateDigest(digest, snapshot.name);
+        for (Map.Entry<String, Object> entry : new TreeMap<>(snapshot.values).entrySet()) {
+            updateDigest(digest, entry.getKey());
+            Object value = entry.getValue();
+            if (value == null) {
+                updateDigest(digest, "");
+            } else if (value instanceof String || value instanceof Number || value instanceof Boolean ||
+                value instanceof Character || value instanceof Enum<?>)
+            {
+                updateDigest(digest, value.getClass().getName());
+                updateDigest(digest, value.toString());
+            } else {
+                snapshot.partialFingerprint = true;
+            }
+        }
+        digest.update((byte) (snapshot.childrenReadError ? 1 : 0));
+        for (NodeSnapshot child : snapshot.children) {
+            if (child.partialFingerprint) {
+                snapshot.partialFingerprint = true;
+            }
+            snapshot.descendantCount += child.descendantCount + 1;
+            digest.update(child.fingerprint);
+        }
+        snapshot.fingerprint = digest.digest();
+    }
+
+    private static void updateDigest(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    /**
+     * Compares group of objects with the same name (one per root node, null if missing).
+     * Returns report lines of the whole subtree.
+     */
+    List<CompareReportLine> compareSnapshots(DBRProgressMonitor monitor, NodeSnapshot[] group, int depth) {
+        if (monitor.isCanceled()) {
+            throw new CompareTaskException(new InterruptedException());
+        }
+        List<CompareReportLine> lines = new ArrayList<>();
+        CompareReportLine line = new CompareReportLine();
+        line.depth = depth;
+        line.nodes = new DBNDatabaseNode[group.length];
+        int presentCount = 0;
+        NodeSnapshot first = null;
+        for (int i = 0; i < group.length; i++) {
+            if (group[i] != null) {
+                line.nodes[i] = group[i].node;
+                presentCount++;
+                if (first == null) {
+                    first = group[i];
+                }
+            } else {
+                line.hasDifference = true;
+            }
+        }
+        line.structure = first.node;
+        lines.add(line);
+        if (presentCount <= 1) {
+            return lines;
+        }
+
+        if (!first.folder) {
+            compareSnapshotProperties(monitor, line, group, getCompareProperties(first.node));
+        }
+
+        if (isIdenticalSubtree(group)) {
+            // Equal complete fingerprints mean equal children, they are not compared one by one
+            line.identicalDescendants = first.descendantCount;
+            return lines;
+        }
+
+        Set<String> allChildNames = new LinkedHashSet<>();
+        for (NodeSnapshot snapshot : group) {
+            if (snapshot != null) {
+                for (NodeSnapshot child : snapshot.children) {
+                    allChildNames.add(child.name);
+                }
+            }
+        }
+        List<NodeSnapshot[]> childGroups = new ArrayList<>(allChildNames.size());
+        for (String childName : allChildNames) {
+            NodeSnapshot[] childGroup = new NodeSnapshot[group.length];
+            for (int i = 0; i < group.length; i++) {
+                if (group[i] != null) {
+                    childGroup[i] = group[i].childrenByName.get(childName);
+                }
+            }
+            childGroups.add(childGroup);
+        }
+
+        if (childGroups.size() > 1) {
+            // Compare different subtrees in parallel. Identical subtrees are cheap and compared in the current task.
+            List<ForkJoinTask<List<CompareReportLine>>> tasks = new ArrayList<>(childGroups.size());
+            for (NodeSnapshot[] childGroup : childGroups) {
+                tasks.add(ForkJoinTask.adapt(() -> compareSnapshots(monitor, childGroup, depth + 1)).fork());
+            }
+            for (ForkJoinTask<List<CompareReportLine>> task : tasks) {
+                lines.addAll(task.join());
+            }
+        } else {
+            for (NodeSnapshot[] childGroup : childGroups) {
+                lines.addAll(compareSnapshots(monitor, childGroup, depth + 1));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Checks that all objects are present and have equal complete fingerprints.
+     * Then whole subtrees have the same children in the same order and the same property values.
+     */
+    static boolean isIdenticalSubtree(NodeSnapshot[] group) {
+        NodeSnapshot first = group[0];
+        for (NodeSnapshot snapshot : group) {
+            if (snapshot == null || snapshot.partialFingerprint || !Arrays.equals(snapshot.fingerprint, first.fingerprint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compareSnapshotProperties(DBRProgressMonitor monitor, CompareReportLine line, NodeSnapshot[] group, CompareProperties properties) {
+        if (properties.skipped) {
+            return;
+        }
+        Map<String, Object>[] values = new Map[group.length];
+        for (int i = 0; i < group.length; i++) {
+            if (group[i] == null) {
+                continue;
+            }
+            values[i] = group[i].values;
+            if (properties.hasLazyValues) {
+                // Lazy properties are read on demand, one query at a time per connection
+                values[i] = new HashMap<>(values[i]);
+                DBSObject databaseObject = group[i].node.getObject();
+                PropertyCollector propertySource = new PropertyCollector(databaseObject, properties.loadLazy);
+                synchronized (group[i].node.getDataSourceContainer()) {
+                    for (ObjectPropertyDescriptor prop : properties.readProperties) {
+                        if (prop.isLazy()) {
+                            values[i].put(prop.getId(), getComparableValue(propertySource.getPropertyValue(monitor, databaseObject, prop, true)));
+                        }
+                    }
+                }
+            }
+        }
+
+        line.properties = new ArrayList<>(properties.allProperties.size());
+        for (ObjectPropertyDescriptor property : properties.allProperties) {
+            CompareReportProperty reportProperty = new CompareReportProperty(property);
+            reportProperty.values = new Object[group.length];
+            for (int i = 0; i < group.length; i++) {
+                if (values[i] != null) {
+                    reportProperty.values[i] = values[i].get(property.getId());
+                }
+            }
+            line.properties.add(reportProperty);
+
+            Object firstValue = reportProperty.values[0];
+            for (int i = 1; i < group.length; i++) {
+                if (!CompareUtils.equalPropertyValues(reportProperty.values[i], firstValue)) {
+                    line.hasDifference = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private int getRootIndex(DBNDatabaseNode node) {
+        for (int i = 0; i < rootNodes.size(); i++) {
+            if (node == rootNodes.get(i) || node.isChildOf(rootNodes.get(i))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private synchronized DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
     {
         DBPDataSource dataSource = node.getDataSourceContainer().getDataSource();
         if (dataSource == null) {
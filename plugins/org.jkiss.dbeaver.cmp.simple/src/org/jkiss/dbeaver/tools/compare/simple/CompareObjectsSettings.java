@@ -47,6 +47,8 @@ public class CompareObjectsSettings {
     private boolean compareOnlyStructure = false;
     private boolean compareScripts = false;
     private boolean showOnlyDifferences = false;
+    private boolean parallelCompare = false;
+    private boolean compareData = false;
     private OutputType outputType = OutputType.BROWSER;
     private String outputFolder;
 
@@ -98,6 +100,29 @@ public class CompareObjectsSettings {
         this.showOnlyDifferences = showOnlyDifferences;
     }
 
+    /**
+     * Read and compare trees in parallel threads. Subtrees with equal fingerprints
+     * (names, non-lazy property values and children) are reported as equal without comparing their children.
+     */
+    public boolean isParallelCompare() {
+        return parallelCompare;
+    }
+
+    public void setParallelCompare(boolean parallelCompare) {
+        this.parallelCompare = parallelCompare;
+    }
+
+    /**
+     * Compare rows of two tables after structure compare
+     */
+    public boolean isCompareData() {
+        return compareData;
+    }
+
+    public void setCompareData(boolean compareData) {
+        this.compareData = compareData;
+    }
+
     public OutputType getOutputType() {
         return outputType;
     }
@@ -130,6 +155,12 @@ public class CompareObjectsSettings {
         if (dialogSettings.get("compareScripts") != null) {
             compareScripts = dialogSettings.getBoolean("compareScripts");
         }
+        if (dialogSettings.get("parallelCompare") != null) {
+            parallelCompare = dialogSettings.getBoolean("parallelCompare");
+        }
+        if (dialogSettings.get("compareData") != null) {
+            compareData = dialogSettings.getBoolean("compareData");
+        }
         if (dialogSettings.get("outputType") != null) {
             outputType = OutputType.valueOf(dialogSettings.get("outputType"));
         }
@@ -144,6 +175,8 @@ public class CompareObjectsSettings {
         dialogSettings.put("compareStructure", compareOnlyStructure);
         dialogSettings.put("compareScripts", compareScripts);
         dialogSettings.put("showDifference", showOnlyDifferences);
+        dialogSettings.put("parallelCompare", parallelCompare);
+        dialogSettings.put("compareData", compareData);
         dialogSettings.put("outputType", outputType.name());
         dialogSettings.put("outputFolder", outputFolder);
     }
@@ -18,7 +18,9 @@ package org.jkiss.dbeaver.tools.compare.simple;
 
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
 * Report
@@ -26,11 +28,18 @@ import java.util.List;
 public class CompareReport {
     private List<DBNDatabaseNode> nodes;
     private List<CompareReportLine> reportLines;
+    private Map<String, Long> phaseTimes;
 
     CompareReport(List<DBNDatabaseNode> nodes, List<CompareReportLine> reportLines)
+    {
+        this(nodes, reportLines, Collections.emptyMap());
+    }
+
+    CompareReport(List<DBNDatabaseNode> nodes, List<CompareReportLine> reportLines, Map<String, Long> phaseTimes)
     {
         this.nodes = nodes;
         this.reportLines = reportLines;
+        this.phaseTimes = phaseTimes;
     }
 
     public List<DBNDatabaseNode> getNodes()
@@ -42,4 +51,12 @@ public class CompareReport {
     {
         return reportLines;
     }
+
+    /**
+     * Duration (in milliseconds) of compare phases. Empty if phases weren't measured.
+     */
+    public Map<String, Long> getPhaseTimes()
+    {
+        return phaseTimes;
+    }
 }
@@ -29,4 +29,6 @@ class CompareReportLine {
     List<CompareReportProperty> properties;
     int depth;
     boolean hasDifference;
+    // Number of objects in the identical subtree which are not reported separately
+    int identicalDescendants;
 }
@@ -26,6 +26,7 @@ import org.jkiss.utils.xml.XMLBuilder;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public class CompareReportRenderer {
 
@@ -151,7 +152,7 @@ public class CompareReportRenderer {
             }
             boolean onlyStructure = line.structure instanceof DBNDatabaseFolder && !line.hasDifference;
             // Skip empty folders
-            if (onlyStructure && (i >= reportLinesSize - 1 || reportLines.get(i + 1).depth <= line.depth)) {
+            if (onlyStructure && line.identicalDescendants == 0 && (i >= reportLinesSize - 1 || reportLines.get(i + 1).depth <= line.depth)) {
                 continue;
             }
 
@@ -164,7 +165,11 @@ public class CompareReportRenderer {
             if (onlyStructure) {
                 xml.startElement("td");
                 xml.addAttribute("colspan", line.nodes.length);
-                xml.addText("&nbsp;", false);
+                if (line.identicalDescendants > 0) {
+                    xml.addText(line.identicalDescendants + " identical object(s)");
+                } else {
+                    xml.addText("&nbsp;", false);
+                }
                 xml.endElement();
             } else {
                 for (int k = 0; k < objectCount; k++) {
@@ -235,6 +240,15 @@ public class CompareReportRenderer {
                     xml.endElement();
                 }
             }
+            if (!onlyStructure && line.identicalDescendants > 0) {
+                xml.startElement("tr");
+                xml.addAttribute("class", "property level" + (line.depth + 1));
+                xml.startElement("td");
+                xml.addAttribute("colspan", objectCount + 1);
+                xml.addText(line.identicalDescendants + " identical object(s)");
+                xml.endElement();
+                xml.endElement();
+            }
         }
 
         // Table footer
@@ -242,7 +256,22 @@ public class CompareReportRenderer {
         xml.addAttribute("class", "object");
         xml.startElement("td");
         xml.addAttribute("colspan", report.getNodes().size() + 1);
-        xml.addText("" + reportLines.size() + " objects compared");
+        int comparedCount = reportLines.size();
+        for (CompareReportLine line : reportLines) {
+            comparedCount += line.identicalDescendants;
+        }
+        StringBuilder summary = new StringBuilder().append(comparedCount).append(" objects compared");
+        if (!report.getPhaseTimes().isEmpty()) {
+            summary.append(" (");
+            boolean first = true;
+            for (Map.Entry<String, Long> phase : report.getPhaseTimes().entrySet()) {
+                if (!first) summary.append(", ");
+                summary.append(phase.getKey()).append(": ").append(phase.getValue()).append("ms");
+                first = false;
+            }
+            summary.append(")");
+        }
+        xml.addText(summary.toString());
         xml.endElement();
         xml.endElement();
 
@@ -58,10 +58,17 @@ public class DTUIMessages extends NLS {
     public static String database_consumer_wizard_checkbox_multi_insert_skip_bind_values_description;
     public static String database_consumer_wizard_disable_import_batches_label;
     public static String database_consumer_wizard_disable_import_batches_description;
+    public static String database_consumer_wizard_null_values_mode_label;
+    public static String database_consumer_wizard_null_values_mode_tip;
+    public static String database_consumer_wizard_null_values_mode_restart_batch;
+    public static String database_consumer_wizard_null_values_mode_statement_cache;
+    public static String database_consumer_wizard_null_values_mode_bind_nulls;
     public static String database_consumer_wizard_ignore_duplicate_rows_label;
     public static String database_consumer_wizard_ignore_duplicate_rows_tip;
     public static String database_consumer_wizard_use_bulk_load_label;
     public static String database_consumer_wizard_use_bulk_load_description;
+    public static String database_consumer_wizard_defer_index_creation_label;
+    public static String database_consumer_wizard_defer_index_creation_description;
     public static String database_consumer_wizard_on_duplicate_key_insert_method_text;
     public static String database_consumer_wizard_link_label_replace_method_wiki;
     public static String database_consumer_wizard_label_replace_method_not_supported;
@@ -71,8 +71,10 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
     private Text multiRowInsertBatch;
     private Button skipBindValues;
     private Button useBatchCheck;
+    private Combo nullValuesModeCombo;
     private Button ignoreDuplicateRows;
     private Button useBulkLoadCheck;
+    private Button deferIndexCreationCheck;
     private List<SQLDialectInsertReplaceMethod> availableInsertMethodsDescriptors;
     private final Map<String, EventProcessorComposite<?>> processors = new HashMap<>();
 
@@ -303,6 +305,23 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
                 }
             });
 
+            nullValuesModeCombo = UIUtils.createLabelCombo(
+                performanceSettings,
+                DTUIMessages.database_consumer_wizard_null_values_mode_label,
+                DTUIMessages.database_consumer_wizard_null_values_mode_tip,
+                SWT.DROP_DOWN | SWT.READ_ONLY);
+            ((GridData) nullValuesModeCombo.getLayoutData()).horizontalSpan = 3;
+            nullValuesModeCombo.add(DTUIMessages.database_consumer_wizard_null_values_mode_restart_batch);
+            nullValuesModeCombo.add(DTUIMessages.database_consumer_wizard_null_values_mode_statement_cache);
+            nullValuesModeCombo.add(DTUIMessages.database_consumer_wizard_null_values_mode_bind_nulls);
+            nullValuesModeCombo.select(settings.getNullValuesMode().ordinal());
+            nullValuesModeCombo.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setNullValuesMode(DBSDataManipulator.NullValuesMode.values()[nullValuesModeCombo.getSelectionIndex()]);
+                }
+            });
+
             ignoreDuplicateRows = UIUtils.createCheckbox(
                 performanceSettings,
                 DTUIMessages.database_consumer_wizard_ignore_duplicate_rows_label,
@@ -345,6 +364,21 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
                         }
                     }
                     onDuplicateKeyInsertMethods.setEnabled(!checkSelection);
+                    deferIndexCreationCheck.setEnabled(checkSelection);
+                }
+            });
+
+            deferIndexCreationCheck = UIUtils.createCheckbox(
+                performanceSettings,
+                DTUIMessages.database_consumer_wizard_defer_index_creation_label,
+                DTUIMessages.database_consumer_wizard_defer_index_creation_description,
+                settings.isDeferIndexCreation(),
+                4);
+            deferIndexCreationCheck.setEnabled(settings.isUseBulkLoad());
+            deferIndexCreationCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setDeferIndexCreation(deferIndexCreationCheck.getSelection());
                 }
             });
         }
@@ -436,6 +470,7 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
             if (DBUtils.getAdapter(DBSDataBulkLoader.class, dataSource) == null) {
                 disableButton(useBulkLoadCheck);
                 settings.setUseBulkLoad(false);
+                disableButton(deferIndexCreationCheck);
             }
         }
 
@@ -63,8 +63,10 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
     private int multiRowInsertBatch = 500;
     private boolean skipBindValues;
     private boolean disableUsingBatches = false;
+    private DBSDataManipulator.NullValuesMode nullValuesMode = DBSDataManipulator.NullValuesMode.RESTART_BATCH;
     private boolean ignoreDuplicateRows;
     private boolean useBulkLoad = false;
+    private boolean deferIndexCreation = false;
     private String onDuplicateKeyInsertMethodId;
     private boolean disableReferentialIntegrity;
     private final Map<String, Map<String, Object>> eventProcessors = new HashMap<>();
@@ -178,6 +180,15 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         this.disableUsingBatches = disableUsingBatches;
     }
 
+    @NotNull
+    public DBSDataManipulator.NullValuesMode getNullValuesMode() {
+        return nullValuesMode;
+    }
+
+    public void setNullValuesMode(@NotNull DBSDataManipulator.NullValuesMode nullValuesMode) {
+        this.nullValuesMode = nullValuesMode;
+    }
+
     public boolean isIgnoreDuplicateRows() {
         return ignoreDuplicateRows;
     }
@@ -210,6 +221,14 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         this.useBulkLoad = useBulkLoad;
     }
 
+    public boolean isDeferIndexCreation() {
+        return deferIndexCreation;
+    }
+
+    public void setDeferIndexCreation(boolean deferIndexCreation) {
+        this.deferIndexCreation = deferIndexCreation;
+    }
+
     @Nullable
     public DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping) {
         DBSObjectContainer container = getContainer();
@@ -236,10 +255,12 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         multiRowInsertBatch = CommonUtils.toInt(settings.get("multiRowInsertBatch"), multiRowInsertBatch);
         skipBindValues = CommonUtils.getBoolean(settings.get("skipBindValues"), skipBindValues);
         disableUsingBatches = CommonUtils.getBoolean(settings.get("disableUsingBatches"), disableUsingBatches);
+        nullValuesMode = CommonUtils.valueOf(DBSDataManipulator.NullValuesMode.class, CommonUtils.toString(settings.get("nullValuesMode"), null), nullValuesMode);
         ignoreDuplicateRows = CommonUtils.getBoolean(settings.get("ignoreDuplicateRows"), ignoreDuplicateRows);
         transferAutoGeneratedColumns = CommonUtils.getBoolean(settings.get("transferAutoGeneratedColumns"), transferAutoGeneratedColumns);
         disableReferentialIntegrity = CommonUtils.getBoolean(settings.get("disableReferentialIntegrity"), disableReferentialIntegrity);
         useBulkLoad = CommonUtils.getBoolean(settings.get("useBulkLoad"), useBulkLoad);
+        deferIndexCreation = CommonUtils.getBoolean(settings.get("deferIndexCreation"), deferIndexCreation);
         truncateBeforeLoad = CommonUtils.getBoolean(settings.get("truncateBeforeLoad"), truncateBeforeLoad);
         openTableOnFinish = CommonUtils.getBoolean(settings.get("openTableOnFinish"), openTableOnFinish);
 
@@ -308,11 +329,13 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("multiRowInsertBatch", multiRowInsertBatch);
         settings.put("skipBindValues", skipBindValues);
         settings.put("disableUsingBatches", disableUsingBatches);
+        settings.put("nullValuesMode", nullValuesMode.name());
         settings.put("ignoreDuplicateRows", ignoreDuplicateRows);
         settings.put("onDuplicateKeyMethod", onDuplicateKeyInsertMethodId);
         settings.put("transferAutoGeneratedColumns", transferAutoGeneratedColumns);
         settings.put("disableReferentialIntegrity", disableReferentialIntegrity);
         settings.put("useBulkLoad", useBulkLoad);
+        settings.put("deferIndexCreation", deferIndexCreation);
         settings.put("truncateBeforeLoad", truncateBeforeLoad);
         settings.put("openTableOnFinish", openTableOnFinish);
 
@@ -347,11 +370,15 @@ public class DatabaseConsumerSettings implements IDataTransferConsumerSettings {
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_multi_insert_batch, multiRowInsertBatch);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_skip_bind_values, skipBindValues);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_batches, disableUsingBatches);
+        DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_null_values_mode, nullValuesMode.name());
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_ignore_duplicate_rows, ignoreDuplicateRows);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_on_duplicate_key_method_label, onDuplicateKeyInsertMethodId);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_transfer_auto_generated_columns, transferAutoGeneratedColumns);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_referential_integrity, disableReferentialIntegrity);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_use_bulk_load, useBulkLoad);
+        if (useBulkLoad) {
+            DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_defer_index_creation, deferIndexCreation);
+        }
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_truncate_before_load, truncateBeforeLoad);
 
         return summary.toString();
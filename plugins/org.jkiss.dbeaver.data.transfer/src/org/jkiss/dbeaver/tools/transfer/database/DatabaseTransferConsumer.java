@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingCustom;
+import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDInsertReplaceMethod;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
@@ -95,6 +96,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private List<Object[]> previewRows;
     private DBDAttributeBinding[] rsAttributes;
     private DBSObjectContainer container;
+    // Source context which streams LOBs instead of precaching them
+    private DBPContextWithAttributes contentStreamSession;
 
     public void setContainer(DBSObjectContainer container) {
         this.container = container;
@@ -289,6 +292,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             if (settings.isUseBulkLoad()) {
                 DBSDataBulkLoader bulkLoader = DBUtils.getAdapter(DBSDataBulkLoader.class, targetContext.getDataSource());
                 if (bulkLoader != null) {
+                    options.put(DBSDataBulkLoader.OPTION_DEFER_INDEXES, settings.isDeferIndexCreation());
                     try {
                         bulkLoadManager = bulkLoader.createBulkLoad(
                             targetSession, targetObject, attributes, executionSource, settings.getCommitAfterRows(), options);
@@ -312,6 +316,24 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             previewRows = new ArrayList<>();
             executeBatch = new PreviewBatch();
         }
+        if (!isPreview && executeBatch != null && isSingleRowInsert() && session instanceof DBPContextWithAttributes attributes) {
+            // Each row is inserted before the next one is fetched, source LOBs may be streamed into the target.
+            // Batched rows are bound later, so their LOBs are still precached by the source.
+            // The flag is set on the producer session only, other readers of the same context keep precaching.
+            contentStreamSession = attributes;
+            contentStreamSession.setContextAttribute(DBDContent.ATTR_STREAM_CONTENTS, Boolean.TRUE);
+        }
+    }
+
+    private boolean isSingleRowInsert() {
+        return settings.isDisableUsingBatches() || settings.isIgnoreDuplicateRows() || settings.getCommitAfterRows() <= 1;
+    }
+
+    private void resetContentStreaming() {
+        if (contentStreamSession != null) {
+            contentStreamSession.removeContextAttribute(DBDContent.ATTR_STREAM_CONTENTS);
+            contentStreamSession = null;
+        }
     }
 
     private boolean isSkipColumn(DBDAttributeBinding attr) {
@@ -428,6 +450,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 options.put(DBSDataManipulator.OPTION_DISABLE_BATCHES, disableUsingBatches);
                 options.put(DBSDataManipulator.OPTION_MULTI_INSERT_BATCH_SIZE, settings.getMultiRowInsertBatch());
                 options.put(DBSDataManipulator.OPTION_SKIP_BIND_VALUES, settings.isSkipBindValues());
+                options.put(DBSDataManipulator.OPTION_NULL_VALUES_MODE, settings.getNullValuesMode());
 
                 boolean onDuplicateKeyCaseOn = settings.getOnDuplicateKeyInsertMethodId() != null &&
                     !settings.getOnDuplicateKeyInsertMethodId().equals(DBSDataManipulator.INSERT_NONE_METHOD);
@@ -522,6 +545,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 executeBatch = null;
             }
         } finally {
+            resetContentStreaming();
             DBSDataManipulator targetObject = getTargetObject();
             if (!isPreview && targetObject instanceof DBSDataManipulatorExt) {
                 ((DBSDataManipulatorExt) targetObject).afterDataChange(
@@ -535,6 +559,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
 
     @Override
     public void close() {
+        resetContentStreaming();
         closeExporter();
     }
 
@@ -590,6 +615,11 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     }
 
     private void closeExporter() {
+        // Bulk loader rolls back its own unfinished load, it must be done before the session transaction is reverted
+        if (bulkLoadManager != null) {
+            bulkLoadManager.close();
+            bulkLoadManager = null;
+        }
         if (!isPreview && targetSession != null && oldAutoCommit != null) {
             try {
                 DBCTransactionManager txnManager = DBUtils.getTransactionManager(targetSession.getExecutionContext());
@@ -617,11 +647,6 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             targetContext.close();
             targetContext = null;
         }
-
-        if (bulkLoadManager != null) {
-            bulkLoadManager.close();
-            bulkLoadManager = null;
-        }
     }
 
     @Override
@@ -136,11 +136,13 @@ public class DTMessages extends NLS {
     public static String database_consumer_settings_option_multi_insert_batch;
     public static String database_consumer_settings_option_skip_bind_values;
     public static String database_consumer_settings_option_disable_batches;
+    public static String database_consumer_settings_option_null_values_mode;
     public static String database_consumer_settings_option_ignore_duplicate_rows;
     public static String database_consumer_settings_option_on_duplicate_key_method_label;
     public static String database_consumer_settings_option_transfer_auto_generated_columns;
     public static String database_consumer_settings_option_disable_referential_integrity;
     public static String database_consumer_settings_option_use_bulk_load;
+    public static String database_consumer_settings_option_defer_index_creation;
     public static String database_consumer_settings_option_truncate_before_load;
 
     public static String data_transfer_settings_title_find_producer;
@@ -44,4 +44,9 @@ public class DB2ReorgIndexTool extends DB2ToolWithStatus<DB2TableBase, DB2ReorgI
                 "')";
         queries.add(new SQLDatabasePersistAction(sql));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
@@ -52,4 +52,9 @@ public class DB2RunstatsTool extends DB2ToolWithStatus<DB2TableBase, DB2Runstats
         sql += "')"; //$NON-NLS-1$
         queries.add(new SQLDatabasePersistAction(sql));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
@@ -28,14 +28,20 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCConstants;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCBasicDataTypeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCDataType;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.sql.format.SQLFormatUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataType;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
 import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Locale;
 import java.util.Map;
 
 public class DuckMetaModel extends GenericMetaModel {
@@ -105,6 +111,159 @@ public class DuckMetaModel extends GenericMetaModel {
         }
     }
 
+    /**
+     * Reads all tables and views of the schema with one query over DuckDB catalog functions
+     * instead of the generic DatabaseMetaData.getTables call.
+     */
+    @Override
+    public JDBCStatement prepareTableLoadStatement(
+        @NotNull JDBCSession session,
+        @NotNull GenericStructContainer owner,
+        @Nullable GenericTableBase object,
+        @Nullable String objectName
+    ) throws SQLException {
+        if (owner.getCatalog() == null || owner.getSchema() == null) {
+            return super.prepareTableLoadStatement(session, owner, object, objectName);
+        }
+        String tableName = object != null ? object.getName() : objectName;
+        String tableMask = null;
+        if (tableName == null) {
+            DBSObjectFilter tableFilters = session.getDataSource().getContainer().getObjectFilter(GenericTable.class, owner, false);
+            if (tableFilters != null && tableFilters.hasSingleMask() && !CommonUtils.isEmpty(tableFilters.getSingleMask())) {
+                tableMask = SQLUtils.makeSQLLike(tableFilters.getSingleMask());
+            }
+        }
+        String nameCondition = tableName != null ? " = ?" : tableMask != null ? " LIKE ?" : null;
+        JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT database_name AS TABLE_CAT, schema_name AS TABLE_SCHEM, table_name AS TABLE_NAME,\n" +
+            "CASE WHEN temporary THEN 'LOCAL TEMPORARY' ELSE 'BASE TABLE' END AS TABLE_TYPE, comment AS REMARKS\n" +
+            "FROM duckdb_tables() WHERE database_name = ? AND schema_name = ?" +
+            (nameCondition == null ? "" : " AND table_name" + nameCondition) + "\n" +
+            "UNION ALL\n" +
+            "SELECT database_name, schema_name, view_name,\n" +
+            "CASE WHEN temporary THEN 'LOCAL TEMPORARY VIEW' ELSE 'VIEW' END, comment\n" +
+            "FROM duckdb_views() WHERE database_name = ? AND schema_name = ?" +
+            (nameCondition == null ? "" : " AND view_name" + nameCondition));
+        int index = 1;
+        for (int i = 0; i < 2; i++) {
+            dbStat.setString(index++, owner.getCatalog().getName());
+            dbStat.setString(index++, owner.getSchema().getName());
+            if (nameCondition != null) {
+                dbStat.setString(index++, tableName != null ? tableName : tableMask);
+            }
+        }
+        return dbStat;
+    }
+
+    /**
+     * Reads columns of the table (or of all tables of the schema) with one query over duckdb_columns().
+     */
+    @Override
+    public JDBCStatement prepareTableColumnLoadStatement(
+        @NotNull JDBCSession session,
+        @NotNull GenericStructContainer owner,
+        @Nullable GenericTableBase forTable
+    ) throws SQLException {
+        if (owner.getCatalog() == null || owner.getSchema() == null) {
+            return super.prepareTableColumnLoadStatement(session, owner, forTable);
+        }
+        JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT table_name AS TABLE_NAME, column_name AS COLUMN_NAME, data_type AS TYPE_NAME,\n" +
+            "column_index AS ORDINAL_POSITION, is_nullable, column_default AS COLUMN_DEF, comment AS REMARKS,\n" +
+            "character_maximum_length, numeric_precision, numeric_precision_radix, numeric_scale\n" +
+            "FROM duckdb_columns() WHERE database_name = ? AND schema_name = ?" +
+            (forTable == null ? "" : " AND table_name = ?") + "\n" +
+            "ORDER BY table_name, column_index");
+        dbStat.setString(1, owner.getCatalog().getName());
+        dbStat.setString(2, owner.getSchema().getName());
+        if (forTable != null) {
+            dbStat.setString(3, forTable.getName());
+        }
+        return dbStat;
+    }
+
+    @Override
+    public GenericTableColumn fetchTableColumn(
+        @NotNull JDBCSession session,
+        @NotNull GenericStructContainer owner,
+        @NotNull GenericTableBase table,
+        @NotNull JDBCResultSet dbResult
+    ) throws DBException {
+        if (owner.getCatalog() == null || owner.getSchema() == null) {
+            return super.fetchTableColumn(session, owner, table, dbResult);
+        }
+        String columnName = JDBCUtils.safeGetString(dbResult, JDBCConstants.COLUMN_NAME);
+        String typeName = JDBCUtils.safeGetString(dbResult, JDBCConstants.TYPE_NAME);
+        if (CommonUtils.isEmpty(typeName)) {
+            typeName = getDefaultTypeName();
+        }
+        int valueType;
+        DBSDataType dataType = session.getDataSource().getLocalDataType(typeName);
+        if (dataType != null) {
+            valueType = dataType.getTypeID();
+        } else {
+            valueType = getValueType(typeName);
+        }
+        Integer precision = JDBCUtils.safeGetInteger(dbResult, "numeric_precision");
+        Integer scale = JDBCUtils.safeGetInteger(dbResult, "numeric_scale");
+        long charLength = JDBCUtils.safeGetLong(dbResult, "character_maximum_length");
+        int radix = JDBCUtils.safeGetInt(dbResult, "numeric_precision_radix");
+        return createTableColumnImpl(
+            session.getProgressMonitor(),
+            dbResult,
+            table,
+            columnName,
+            typeName,
+            valueType,
+            0,
+            JDBCUtils.safeGetInt(dbResult, JDBCConstants.ORDINAL_POSITION),
+            precision != null ? precision : charLength,
+            charLength,
+            scale,
+            precision,
+            radix == 0 ? 10 : radix,
+            !JDBCUtils.safeGetBoolean(dbResult, "is_nullable"),
+            JDBCUtils.safeGetString(dbResult, JDBCConstants.REMARKS),
+            JDBCUtils.safeGetString(dbResult, JDBCConstants.COLUMN_DEF),
+            false,
+            false
+        );
+    }
+
+    /**
+     * Maps DuckDB type name (as reported by duckdb_columns()) to the JDBC type.
+     */
+    private static int getValueType(@NotNull String typeName) {
+        String baseName = typeName.toUpperCase(Locale.ROOT);
+        if (baseName.endsWith("]")) {
+            return Types.ARRAY;
+        }
+        int divPos = baseName.indexOf('(');
+        if (divPos > 0) {
+            baseName = baseName.substring(0, divPos).trim();
+        }
+        return switch (baseName) {
+            case "BOOLEAN" -> Types.BOOLEAN;
+            case "TINYINT" -> Types.TINYINT;
+            case "SMALLINT", "UTINYINT" -> Types.SMALLINT;
+            case "INTEGER", "USMALLINT" -> Types.INTEGER;
+            case "BIGINT", "UINTEGER" -> Types.BIGINT;
+            case "HUGEINT", "UHUGEINT", "UBIGINT", "DECIMAL" -> Types.DECIMAL;
+            case "FLOAT" -> Types.FLOAT;
+            case "DOUBLE" -> Types.DOUBLE;
+            case "VARCHAR" -> Types.VARCHAR;
+            case DuckDBConstants.TYPE_BLOB -> Types.BLOB;
+            case "DATE" -> Types.DATE;
+            case "TIME" -> Types.TIME;
+            case "TIME WITH TIME ZONE" -> Types.TIME_WITH_TIMEZONE;
+            case "TIMESTAMP", "TIMESTAMP_S", "TIMESTAMP_MS", "TIMESTAMP_NS" -> Types.TIMESTAMP;
+            case "TIMESTAMP WITH TIME ZONE" -> Types.TIMESTAMP_WITH_TIMEZONE;
+            case "STRUCT" -> Types.STRUCT;
+            case "LIST" -> Types.ARRAY;
+            default -> Types.OTHER;
+        };
+    }
+
     @Override
     public boolean isTableCommentEditable() {
         return true;
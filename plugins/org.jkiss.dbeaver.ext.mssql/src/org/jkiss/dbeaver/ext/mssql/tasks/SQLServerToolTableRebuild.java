@@ -35,4 +35,9 @@ public class SQLServerToolTableRebuild extends SQLServerToolWithStatus<SQLServer
     public void generateObjectQueries(DBCSession session, SQLServerToolTableRebuildSettings settings, List<DBEPersistAction> queries, SQLServerTableBase object) throws DBCException {
         queries.add(new SQLDatabasePersistAction("ALTER INDEX ALL ON " + object.getFullyQualifiedName(DBPEvaluationContext.DDL) + " REBUILD "));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
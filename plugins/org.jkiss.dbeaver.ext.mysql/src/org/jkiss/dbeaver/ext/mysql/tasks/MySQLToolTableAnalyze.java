@@ -38,4 +38,9 @@ public class MySQLToolTableAnalyze extends MySQLToolWithStatus<MySQLTableBase, M
         String sql = "ANALYZE TABLE " + object.getFullyQualifiedName(DBPEvaluationContext.DDL);
         queries.add(new SQLDatabasePersistAction(sql));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
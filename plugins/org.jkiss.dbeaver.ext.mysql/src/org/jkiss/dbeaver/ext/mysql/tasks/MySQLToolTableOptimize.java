@@ -38,4 +38,9 @@ public class MySQLToolTableOptimize extends MySQLToolWithStatus<MySQLTableBase,
         String sql = "OPTIMIZE TABLE " + object.getFullyQualifiedName(DBPEvaluationContext.DDL);
         queries.add(new SQLDatabasePersistAction(sql));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
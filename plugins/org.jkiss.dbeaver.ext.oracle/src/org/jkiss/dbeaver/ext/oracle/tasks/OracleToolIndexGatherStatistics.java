@@ -37,4 +37,9 @@ public class OracleToolIndexGatherStatistics extends SQLToolExecuteHandler<Oracl
         String sql = "ALTER INDEX " + object.getFullyQualifiedName(DBPEvaluationContext.DDL) + " COMPUTE STATISTICS";
         queries.add(new SQLDatabasePersistAction(sql));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
@@ -64,4 +64,9 @@ public class OracleToolsTableGatherStatistics extends SQLToolExecuteHandler<DBSO
             queries.add(new SQLDatabasePersistAction(sql));
         }
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
@@ -48,6 +48,12 @@ public class PostgreMessages extends NLS {
     public static String wizard_backup_page_setting_checkbox_drop_objects_tip;
     public static String wizard_backup_page_setting_checkbox_create_database;
     public static String wizard_backup_page_setting_checkbox_create_database_tip;
+    public static String wizard_backup_page_setting_label_jobs;
+    public static String wizard_backup_page_setting_label_jobs_tip;
+    public static String wizard_backup_page_setting_label_parallel_processes;
+    public static String wizard_backup_page_setting_label_parallel_processes_tip;
+    public static String wizard_backup_page_setting_checkbox_stream_compression;
+    public static String wizard_backup_page_setting_checkbox_stream_compression_tip;
     public static String wizard_backup_page_setting_group_output;
     public static String wizard_backup_page_setting_group_security;
     public static String wizard_backup_page_setting_group_security_label_info;
@@ -81,6 +87,7 @@ public class PostgreMessages extends NLS {
     public static String wizard_restore_title;
     public static String wizard_restore_page_setting_btn_clean_first;
     public static String wizard_restore_page_setting_btn_clean_first_tip;
+    public static String wizard_restore_page_setting_label_jobs_tip;
     public static String wizard_backup_page_setting_checkbox_restore_no_owner_tip;
     public static String wizard_backup_page_setting_checkbox_restore_create_database;
     public static String wizard_backup_page_setting_checkbox_restore_create_database_tip;
@@ -25,6 +25,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.dbeaver.ext.postgresql.PostgreMessages;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUIUtils;
 import org.jkiss.dbeaver.ext.postgresql.tasks.PostgreBackupRestoreSettings;
@@ -43,6 +44,9 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
     private Button noOwnerCheck;
     private Button dropObjects;
     private Button createDatabase;
+    private Spinner jobsSpinner;
+    private Spinner parallelProcessesSpinner;
+    private Button streamCompressionCheck;
 
     PostgreBackupWizardPageSettings(PostgreBackupWizard wizard)
     {
@@ -94,6 +98,32 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
         }
         compressCombo.addSelectionListener(changeListener);
 
+        streamCompressionCheck = UIUtils.createCheckbox(formatGroup,
+            PostgreMessages.wizard_backup_page_setting_checkbox_stream_compression,
+            PostgreMessages.wizard_backup_page_setting_checkbox_stream_compression_tip,
+            settings.isStreamCompression(),
+            2
+        );
+        streamCompressionCheck.addSelectionListener(changeListener);
+
+        jobsSpinner = UIUtils.createLabelSpinner(formatGroup,
+            PostgreMessages.wizard_backup_page_setting_label_jobs,
+            PostgreMessages.wizard_backup_page_setting_label_jobs_tip,
+            Math.max(1, settings.getJobs()),
+            1,
+            64
+        );
+        jobsSpinner.addSelectionListener(changeListener);
+
+        parallelProcessesSpinner = UIUtils.createLabelSpinner(formatGroup,
+            PostgreMessages.wizard_backup_page_setting_label_parallel_processes,
+            PostgreMessages.wizard_backup_page_setting_label_parallel_processes_tip,
+            settings.getParallelProcesses(),
+            1,
+            16
+        );
+        parallelProcessesSpinner.addSelectionListener(changeListener);
+
         UIUtils.createControlLabel(formatGroup, PostgreMessages.wizard_backup_page_setting_label_encoding);
         encodingCombo = UIUtils.createEncodingCombo(formatGroup, null);
         encodingCombo.addSelectionListener(changeListener);
@@ -148,6 +178,7 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
 
         PostgreUIUtils.addCompatibilityInfoLabelForForks(composite, wizard, null);
 
+        updateFormatControls();
         setControl(composite);
     }
 
@@ -160,6 +191,7 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
     protected void updateState()
     {
         saveState();
+        updateFormatControls();
         updatePageCompletion();
         getContainer().updateButtons();
     }
@@ -182,6 +214,15 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
         settings.setNoOwner(noOwnerCheck.getSelection());
         settings.setDropObjects(dropObjects.getSelection());
         settings.setCreateDatabase(createDatabase.getSelection());
+        settings.setStreamCompression(streamCompressionCheck.getSelection());
+        settings.setJobs(jobsSpinner.getSelection());
+        settings.setParallelProcesses(parallelProcessesSpinner.getSelection());
+    }
+
+    private void updateFormatControls() {
+        PostgreBackupRestoreSettings.ExportFormat format = getChosenExportFormat();
+        jobsSpinner.setEnabled(format == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY);
+        streamCompressionCheck.setEnabled(format == PostgreBackupRestoreSettings.ExportFormat.PLAIN);
     }
 
     private PostgreBackupRestoreSettings.ExportFormat getChosenExportFormat() {
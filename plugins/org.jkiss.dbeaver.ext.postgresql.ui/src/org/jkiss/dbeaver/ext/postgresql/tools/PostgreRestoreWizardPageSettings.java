@@ -38,6 +38,7 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
     private Button cleanFirstButton;
     private Button noOwnerCheck;
     private Button createDatabase;
+    private Spinner jobsSpinner;
 
     PostgreRestoreWizardPageSettings(PostgreRestoreWizard wizard)
     {
@@ -72,6 +73,15 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
         formatCombo.select(settings.getFormat().ordinal());
         formatCombo.addListener(SWT.Selection, updateListener);
 
+        jobsSpinner = UIUtils.createLabelSpinner(formatGroup,
+            PostgreMessages.wizard_backup_page_setting_label_jobs,
+            PostgreMessages.wizard_restore_page_setting_label_jobs_tip,
+            Math.max(1, settings.getJobs()),
+            1,
+            64
+        );
+        jobsSpinner.addListener(SWT.Selection, updateListener);
+
         cleanFirstButton = UIUtils.createCheckbox(formatGroup,
         	PostgreMessages.wizard_restore_page_setting_btn_clean_first,
             PostgreMessages.wizard_restore_page_setting_btn_clean_first_tip,
@@ -152,6 +162,7 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
         settings.setCleanFirst(cleanFirstButton.getSelection());
         settings.setCreateDatabase(createDatabase.getSelection());
         settings.setNoOwner(noOwnerCheck.getSelection());
+        settings.setJobs(jobsSpinner.getSelection());
     }
 
     @Override
@@ -159,6 +170,9 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
         saveState();
 
         inputFileText.setOpenFolder(wizard.getSettings().getFormat() == PostgreDatabaseBackupSettings.ExportFormat.DIRECTORY);
+        jobsSpinner.setEnabled(
+            wizard.getSettings().getFormat() == PostgreDatabaseBackupSettings.ExportFormat.DIRECTORY ||
+            wizard.getSettings().getFormat() == PostgreDatabaseBackupSettings.ExportFormat.CUSTOM);
         updatePageCompletion();
         getContainer().updateButtons();
     }
@@ -0,0 +1,381 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataType;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreTypeType;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.data.JDBCCollection;
+import org.jkiss.dbeaver.model.struct.DBSDataType;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.jkiss.dbeaver.model.struct.DBSTypedObjectEx;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass parser of PostgreSQL array literals.
+ * Works directly on the original string and converts elements while reading them.
+ * Item value handler and converter are resolved once per array type, so the parser may be reused for all values of a column.
+ * <p>
+ * One-dimensional arrays are returned as arrays of element values,
+ * multidimensional arrays as arrays of {@link JDBCCollection} (same as {@link PostgreValueParser#convertStringToValue}).
+ *
+ * @see <a href="https://www.postgresql.org/docs/current/arrays.html#ARRAYS-IO">8.15.6. Array Input and Output Syntax</a>
+ */
+public class PostgreArrayParser {
+
+    private static final Log log = Log.getLog(PostgreArrayParser.class);
+
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    private final PostgreDataType itemType;
+    private final DBDValueHandler itemValueHandler;
+    private final PostgreElementConverter itemConverter;
+    private final char delimiter;
+    private final boolean structItems;
+
+    public PostgreArrayParser(@NotNull DBCSession session, @NotNull PostgreDataType itemType, @Nullable String delimiter) {
+        this.itemType = itemType;
+        this.itemValueHandler = DBUtils.findValueHandler(session, itemType);
+        this.itemConverter = new PostgreElementConverter(itemType);
+        this.delimiter = CommonUtils.isEmpty(delimiter) ? ',' : delimiter.charAt(0);
+        this.structItems = itemType.getDataKind() == DBPDataKind.STRUCT;
+    }
+
+    /**
+     * Creates parser for the specified array type or returns null if its component type can't be resolved
+     */
+    @Nullable
+    public static PostgreArrayParser create(@NotNull DBCSession session, @NotNull DBSTypedObject arrayType) {
+        DBSDataType arrayDataType = null;
+        if (arrayType instanceof DBSDataType dataType) {
+            arrayDataType = dataType;
+        } else if (arrayType instanceof DBSTypedObjectEx typedObject) {
+            arrayDataType = typedObject.getDataType();
+        }
+        if (arrayDataType == null) {
+            log.error("Can't get array type '" + arrayType.getFullTypeName() + "'");
+            return null;
+        }
+        try {
+            DBSDataType componentType = arrayDataType.getComponentType(session.getProgressMonitor());
+            if (componentType == null && arrayType instanceof PostgreDataType dataType && dataType.getTypeType() == PostgreTypeType.d) {
+                // Domains store component type information in another field
+                componentType = dataType.getBaseType(session.getProgressMonitor());
+            }
+            if (componentType == null) {
+                log.error("Can't get component type from array '" + arrayType.getFullTypeName() + "'");
+                return null;
+            }
+            if (!(componentType instanceof PostgreDataType)) {
+                log.error("Incorrect type '" + arrayType.getFullTypeName() + "'");
+                return null;
+            }
+            return new PostgreArrayParser(session, (PostgreDataType) componentType, PostgreUtils.getArrayDelimiter(arrayDataType));
+        } catch (DBException e) {
+            log.error("Error resolving component type of array '" + arrayType.getFullTypeName() + "'", e);
+            return null;
+        }
+    }
+
+    @NotNull
+    public PostgreDataType getItemType() {
+        return itemType;
+    }
+
+    @Nullable
+    public DBDValueHandler getItemValueHandler() {
+        return itemValueHandler;
+    }
+
+    /**
+     * Parses array literal. Optional dimensions decoration (e.g. <code>[0:2]=</code>) is skipped.
+     *
+     * @throws DBCException if the literal is malformed
+     */
+    @NotNull
+    public Object[] parse(@NotNull DBCSession session, @NotNull String text) throws DBCException {
+        final Cursor cursor = new Cursor(text);
+        if (cursor.length > 0 && text.charAt(0) == '[') {
+            // Non-default bounds are ignored
+            final int eqPos = text.indexOf('=');
+            if (eqPos < 0) {
+                throw cursor.error("Missing \"=\" after array dimensions");
+            }
+            cursor.pos = eqPos + 1;
+        }
+        cursor.skipWhitespace();
+        if (cursor.next() != '{') {
+            throw cursor.error("Array value must start with \"{\"");
+        }
+        final Object[] result = readArray(session, cursor, 0);
+        cursor.skipWhitespace();
+        if (cursor.pos < cursor.length) {
+            throw cursor.error("Junk after closing right brace");
+        }
+        return result;
+    }
+
+    private Object[] readArray(@NotNull DBCSession session, @NotNull Cursor cursor, int depth) throws DBCException {
+        cursor.skipWhitespace();
+        if (cursor.peek() == '}') {
+            cursor.pos++;
+            return EMPTY_ARRAY;
+        }
+        final List<Object> items = cursor.getLevel(depth);
+        boolean subArrays = false;
+        for (;;) {
+            cursor.skipWhitespace();
+            if (cursor.peek() == '{') {
+                if (!items.isEmpty() && !subArrays) {
+                    throw cursor.error("Unexpected \"{\" character");
+                }
+                subArrays = true;
+                cursor.pos++;
+                if (structItems) {
+                    items.add(readStruct(session, cursor));
+                } else {
+                    items.add(new JDBCCollection(
+                        session.getProgressMonitor(),
+                        itemType,
+                        itemValueHandler,
+                        readArray(session, cursor, depth + 1)));
+                }
+            } else {
+                if (subArrays) {
+                    throw cursor.error("Unexpected element after sub-array");
+                }
+                if (readToken(cursor)) {
+                    items.add(itemConverter.convert(session, cursor.token, cursor.tokenBegin, cursor.tokenEnd));
+                } else {
+                    items.add(itemConverter.convert(session, null));
+                }
+            }
+            cursor.skipWhitespace();
+            final char ch = cursor.next();
+            if (ch == '}') {
+                break;
+            }
+            if (ch != delimiter) {
+                throw cursor.error("Unexpected \"" + ch + "\" character");
+            }
+        }
+        final Object[] result = items.toArray();
+        items.clear();
+        return result;
+    }
+
+    private Object readStruct(@NotNull DBCSession session, @NotNull Cursor cursor) throws DBCException {
+        final List<Object> values = readRawArray(cursor);
+        try {
+            return PostgreValueParser.transformListOfValuesIntoStruct(session, itemType, values);
+        } catch (DBCException e) {
+            throw e;
+        } catch (DBException e) {
+            throw new DBCException("Error parsing composite value of array '" + itemType.getFullTypeName() + "'", e);
+        }
+    }
+
+    /**
+     * Reads sub-array as a tree of strings. Used for arrays of composite types.
+     */
+    private List<Object> readRawArray(@NotNull Cursor cursor) throws DBCException {
+        final List<Object> items = new ArrayList<>();
+        cursor.skipWhitespace();
+        if (cursor.peek() == '}') {
+            cursor.pos++;
+            return items;
+        }
+        for (;;) {
+            cursor.skipWhitespace();
+            if (cursor.peek() == '{') {
+                cursor.pos++;
+                items.add(readRawArray(cursor));
+            } else if (readToken(cursor)) {
+                items.add(cursor.token.substring(cursor.tokenBegin, cursor.tokenEnd));
+            } else {
+                items.add(null);
+            }
+            cursor.skipWhitespace();
+            final char ch = cursor.next();
+            if (ch == '}') {
+                break;
+            }
+            if (ch != delimiter) {
+                throw cursor.error("Unexpected \"" + ch + "\" character");
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Reads a single element into cursor's token.
+     * The token references the original string unless the element contains escaped characters.
+     *
+     * @return false for unquoted NULL
+     */
+    private boolean readToken(@NotNull Cursor cursor) throws DBCException {
+        final String text = cursor.text;
+        if (cursor.peek() == '"') {
+            cursor.pos++;
+            final int start = cursor.pos;
+            StringBuilder buffer = null;
+            for (;;) {
+                char ch = cursor.next();
+                if (ch == '"') {
+                    break;
+                }
+                if (ch == '\\') {
+                    if (buffer == null) {
+                        buffer = cursor.getBuffer();
+                        buffer.append(text, start, cursor.pos - 1);
+                    }
+                    ch = cursor.next();
+                }
+                if (buffer != null) {
+                    buffer.append(ch);
+                }
+            }
+            if (buffer == null) {
+                cursor.setToken(text, start, cursor.pos - 1);
+            } else {
+                cursor.setToken(buffer.toString());
+            }
+            return true;
+        }
+
+        final int start = cursor.pos;
+        StringBuilder buffer = null;
+        int end = start;
+        for (;;) {
+            char ch = cursor.peek();
+            if (ch == delimiter || ch == '}') {
+                break;
+            }
+            if (ch == '{' || ch == '"') {
+                throw cursor.error("Unexpected \"" + ch + "\" character");
+            }
+            cursor.pos++;
+            if (ch == '\\') {
+                if (buffer == null) {
+                    buffer = cursor.getBuffer();
+                    buffer.append(text, start, cursor.pos - 1);
+                }
+                buffer.append(cursor.next());
+                end = buffer.length();
+            } else if (buffer != null) {
+                buffer.append(ch);
+                if (!Character.isWhitespace(ch)) {
+                    end = buffer.length();
+                }
+            } else if (!Character.isWhitespace(ch)) {
+                end = cursor.pos;
+            }
+        }
+        if (buffer != null) {
+            buffer.setLength(end);
+            cursor.setToken(buffer.toString());
+            return true;
+        }
+        if (end == start) {
+            throw cursor.error("Unexpected \"" + cursor.peek() + "\" character");
+        }
+        if (end - start == 4 && text.regionMatches(true, start, "NULL", 0, 4)) {
+            return false;
+        }
+        cursor.setToken(text, start, end);
+        return true;
+    }
+
+    private static class Cursor {
+        private final String text;
+        private final int length;
+        private int pos;
+        private final List<List<Object>> levels = new ArrayList<>();
+        private StringBuilder buffer;
+
+        private String token;
+        private int tokenBegin;
+        private int tokenEnd;
+
+        Cursor(String text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        char peek() throws DBCException {
+            if (pos >= length) {
+                throw error("Unexpected end of input");
+            }
+            return text.charAt(pos);
+        }
+
+        char next() throws DBCException {
+            final char ch = peek();
+            pos++;
+            return ch;
+        }
+
+        void skipWhitespace() {
+            while (pos < length && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        // Element lists are reused by all sub-arrays of the same depth
+        List<Object> getLevel(int depth) {
+            while (levels.size() <= depth) {
+                levels.add(new ArrayList<>());
+            }
+            return levels.get(depth);
+        }
+
+        StringBuilder getBuffer() {
+            if (buffer == null) {
+                buffer = new StringBuilder();
+            } else {
+                buffer.setLength(0);
+            }
+            return buffer;
+        }
+
+        void setToken(String token) {
+            setToken(token, 0, token.length());
+        }
+
+        void setToken(String token, int begin, int end) {
+            this.token = token;
+            this.tokenBegin = begin;
+            this.tokenEnd = end;
+        }
+
+        DBCException error(String message) {
+            return new DBCException(message + " at position " + pos + " in '" + text + "'");
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+import java.sql.Types;
+
+/**
+ * Converts text representation of array elements and composite attributes into values.
+ * Conversion kind, value handler and nested array parser are resolved once,
+ * so the same converter may be used for all values of a column.
+ */
+public class PostgreElementConverter {
+
+    private static final Log log = Log.getLog(PostgreElementConverter.class);
+
+    private final DBSTypedObject type;
+    private final DBPDataKind dataKind;
+    private final int typeId;
+
+    // Converters are shared between sessions. Resolution may run twice in parallel, it gives the same result.
+    private volatile DBDValueHandler valueHandler;
+    private volatile PostgreArrayParser arrayParser;
+    private volatile boolean resolved;
+
+    public PostgreElementConverter(@NotNull DBSTypedObject type) {
+        this.type = type;
+        this.dataKind = type.getDataKind();
+        this.typeId = type.getTypeID();
+    }
+
+    @NotNull
+    public DBSTypedObject getType() {
+        return type;
+    }
+
+    @Nullable
+    public Object convert(@NotNull DBCSession session, @Nullable String text) throws DBCException {
+        if (text == null) {
+            return dataKind == DBPDataKind.ARRAY ? null : convertSimple(session, null);
+        }
+        return convert(session, text, 0, text.length());
+    }
+
+    /**
+     * Converts a region of the text without copying it when possible
+     */
+    @Nullable
+    public Object convert(@NotNull DBCSession session, @NotNull String text, int begin, int end) throws DBCException {
+        if (dataKind == DBPDataKind.ARRAY) {
+            return convertArray(session, text.substring(begin, end));
+        }
+        if (begin == end) {
+            return convertSimple(session, "");
+        }
+        try {
+            switch (typeId) {
+                case Types.BOOLEAN:
+                    return Character.toLowerCase(text.charAt(begin)) == 't'; //todo: add support of alternatives to "true/false"
+                case Types.TINYINT:
+                    return Byte.parseByte(text.substring(begin, end));
+                case Types.SMALLINT:
+                    return Short.parseShort(text.substring(begin, end));
+                case Types.INTEGER:
+                    return Integer.parseInt(text, begin, end, 10);
+                case Types.BIGINT:
+                    return Long.parseLong(text, begin, end, 10);
+                case Types.FLOAT:
+                    return Float.parseFloat(text.substring(begin, end));
+                case Types.REAL:
+                case Types.NUMERIC:
+                case Types.DOUBLE:
+                    return Double.parseDouble(text.substring(begin, end));
+                default:
+                    return convertSimple(session, text.substring(begin, end));
+            }
+        } catch (NumberFormatException e) {
+            return text.substring(begin, end);
+        }
+    }
+
+    private Object convertArray(@NotNull DBCSession session, @NotNull String string) {
+        if (!(string.startsWith("{") || string.startsWith("[")) || !string.endsWith("}")) {
+            // It can be already a string object as an element of parsed array
+            return string;
+        }
+        if (!resolved) {
+            arrayParser = PostgreArrayParser.create(session, type);
+            resolved = true;
+        }
+        if (arrayParser == null) {
+            return string;
+        }
+        try {
+            return arrayParser.parse(session, string);
+        } catch (Exception e) {
+            log.error("Array parsing failed " + e.getMessage());
+            return string;
+        }
+    }
+
+    private Object convertSimple(@NotNull DBCSession session, @Nullable String string) throws DBCException {
+        if (!resolved) {
+            valueHandler = DBUtils.findValueHandler(session, type);
+            resolved = true;
+        }
+        if (valueHandler != null) {
+            return valueHandler.getValueFromObject(session, type, string, false, false);
+        } else {
+            return string;
+        }
+    }
+
+}
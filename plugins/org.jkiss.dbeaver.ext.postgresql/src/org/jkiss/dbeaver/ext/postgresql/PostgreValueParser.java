@@ -21,31 +21,20 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataType;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataTypeAttribute;
-import org.jkiss.dbeaver.ext.postgresql.model.PostgreTypeType;
-import org.jkiss.dbeaver.model.DBPDataKind;
-import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDCollection;
-import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCStructImpl;
-import org.jkiss.dbeaver.model.impl.jdbc.data.JDBCCollection;
 import org.jkiss.dbeaver.model.impl.jdbc.data.JDBCComposite;
 import org.jkiss.dbeaver.model.impl.jdbc.data.JDBCCompositeStatic;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
-import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
-import org.jkiss.dbeaver.model.struct.DBSTypedObjectEx;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.csv.CSVReaderBuilder;
-import org.jkiss.utils.csv.CSVReaderNullFieldIndicator;
 import org.jkiss.utils.csv.CSVWriter;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.sql.Struct;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -57,133 +46,10 @@ public class PostgreValueParser {
     private static final Log log = Log.getLog(PostgreValueParser.class);
 
     public static Object convertStringToValue(DBCSession session, DBSTypedObject arrayType, String string) throws DBCException {
-        if (arrayType.getDataKind() == DBPDataKind.ARRAY) {
-            if (string != null && string.startsWith("{") && string.endsWith("}")) {
-                try {
-                    return prepareToParseArray(session, arrayType, string);
-                } catch (Exception e) {
-                    log.error("Array parsing failed " + e.getMessage());
-                    return string;
-                }
-            } else {
-                //log.error("Unsupported array string: '" + string + "'");
-                // It can be already a string object as an element of parsed array
-                return string;
-            }
-        }
-        if (CommonUtils.isEmpty(string)) {
-            return convertStringToSimpleValue(session, arrayType, string);
-        }
-        try {
-            switch (arrayType.getTypeID()) {
-                case Types.BOOLEAN:
-                    return string.length() > 0 && Character.toLowerCase(string.charAt(0)) == 't'; //todo: add support of alternatives to "true/false"
-                case Types.TINYINT:
-                    return Byte.parseByte(string);
-                case Types.SMALLINT:
-                    return Short.parseShort(string);
-                case Types.INTEGER:
-                    return Integer.parseInt(string);
-                case Types.BIGINT:
-                    return Long.parseLong(string);
-                case Types.FLOAT:
-                    return Float.parseFloat(string);
-                case Types.REAL:
-                case Types.NUMERIC:
-                case Types.DOUBLE:
-                    return Double.parseDouble(string);
-                default: {
-                    return convertStringToSimpleValue(session, arrayType, string);
-                }
-            }
-        } catch (NumberFormatException e) {
-            return string;
-        }
+        return new PostgreElementConverter(arrayType).convert(session, string);
     }
 
-    private static Object prepareToParseArray(DBCSession session, DBSTypedObject arrayType, String string) throws DBCException {
-        DBSDataType arrayDataType = arrayType instanceof DBSDataType ? (DBSDataType) arrayType : ((DBSTypedObjectEx) arrayType).getDataType();
-        try {
-            if (arrayDataType == null) {
-                log.error("Can't get array type '" + arrayType.getFullTypeName() + "'");
-                return string;
-            }
-            DBSDataType componentType = arrayDataType.getComponentType(session.getProgressMonitor());
-            if (componentType == null && arrayType instanceof PostgreDataType && ((PostgreDataType) arrayType).getTypeType() == PostgreTypeType.d) {
-                // Domains store component type information in another field
-                componentType = ((PostgreDataType) arrayType).getBaseType(session.getProgressMonitor());
-            }
-            if (componentType == null) {
-                log.error("Can't get component type from array '" + arrayType.getFullTypeName() + "'");
-                return string;
-            } else {
-                if (componentType instanceof PostgreDataType) {
-                    List<Object> itemStrings = parseArrayString(string, PostgreUtils.getArrayDelimiter(arrayDataType));
-                    return startTransformListOfValuesIntoArray(session, (PostgreDataType) componentType, itemStrings);
-                } else {
-                    log.error("Incorrect type '" + arrayType.getFullTypeName() + "'");
-                    return string;
-                }
-            }
-        } catch (Exception e) {
-            if (e instanceof DBCException) {
-                throw (DBCException) e;
-            }
-            throw new DBCException("Error parsing array '" + arrayType.getFullTypeName() + "' items", e);
-        }
-    }
-
-    private static Object startTransformListOfValuesIntoArray(
-        DBCSession session,
-        PostgreDataType itemType,
-        List<?> list) throws DBException
-    {
-        //If array is one dimensional, we will return array of that type. If array is multidimensional we will return array of JDBCCollections.
-        return transformListOfValuesIntoArray(session, itemType, list, true);
-    }
-
-    private static Object transformListOfValuesIntoArray(
-        DBCSession session,
-        PostgreDataType itemType,
-        List<?> list,
-        boolean firstAttempt)
-        throws DBException
-    { //transform into array
-        Object[] values = new Object[list.size()];
-        for (int index = 0; index < list.size(); index++) {
-            Object item = list.get(index);
-            if (item instanceof List) {
-                Object parsedValue;
-                if (itemType.getDataKind() == DBPDataKind.STRUCT) {
-                    parsedValue = transformListOfValuesIntoStruct(session, itemType, (List<?>) item);
-                } else {
-                    parsedValue = transformListOfValuesIntoArray(session, itemType, (List<?>) item, false);
-                }
-                values[index] = parsedValue;
-            } else {
-                Object[] itemValues = new Object[list.size()];
-                for (int i = 0; i < list.size(); i++) {
-                    itemValues[i] = convertStringToValue(session, itemType, (String) list.get(i));
-                }
-                if (firstAttempt){
-                    return itemValues;
-                } else {
-                    return new JDBCCollection(
-                        session.getProgressMonitor(),
-                        itemType,
-                        DBUtils.findValueHandler(session, itemType),
-                        itemValues);
-                }
-            }
-        }
-        if (firstAttempt) {
-            return values;
-        } else {
-            return new JDBCCollection(session.getProgressMonitor(), itemType, DBUtils.findValueHandler(session, itemType), values);
-        }
-    }
-
-    private static Object transformListOfValuesIntoStruct(
+    static Object transformListOfValuesIntoStruct(
         DBCSession session,
         PostgreDataType itemType,
         List<?> list)
@@ -220,29 +86,60 @@ public class PostgreValueParser {
         return new JDBCCompositeStatic(session, itemType, contents);
     }
 
-    private static Object convertStringToSimpleValue(DBCSession session, DBSTypedObject itemType, String string) throws DBCException {
-        DBDValueHandler valueHandler = DBUtils.findValueHandler(session, itemType);
-        if (valueHandler != null) {
-            return valueHandler.getValueFromObject(session, itemType, string, false, false);
-        } else {
-            return string;
-        }
-    }
-
+    /**
+     * Splits composite value (without enclosing parentheses) into attribute strings in a single pass.
+     * Empty separators are NULLs, empty quotes are empty strings.
+     *
+     * @see <a href="https://www.postgresql.org/docs/current/rowtypes.html#ROWTYPES-IO-SYNTAX">8.16.6. Composite Type Input and Output Syntax</a>
+     */
     public static String[] parseSingleObject(String string) throws DBCException { //only for objects(structures), not for arrays
-        if (string.isEmpty()) {
+        final int length = string.length();
+        if (length == 0) {
             return new String[0];
         }
-        try {
-            // Empty separators are NULLs, empty quotes are empty strings.
-            // https://www.postgresql.org/docs/current/rowtypes.html#id-1.5.7.24.6
-            return new CSVReaderBuilder(new StringReader(string))
-                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
-                .build()
-                .readNext();
-        } catch (IOException e) {
-            throw new DBCException("Error parsing PGObject", e);
+        final List<String> result = new ArrayList<>();
+        final StringBuilder buffer = new StringBuilder();
+        int offset = 0;
+        for (;;) {
+            boolean quoted = false;
+            boolean insideQuotes = false;
+            buffer.setLength(0);
+            while (offset < length) {
+                final char ch = string.charAt(offset++);
+                if (insideQuotes) {
+                    if (ch == '"') {
+                        if (offset < length && string.charAt(offset) == '"') {
+                            buffer.append('"');
+                            offset++;
+                        } else {
+                            insideQuotes = false;
+                        }
+                        continue;
+                    }
+                } else if (ch == ',') {
+                    offset--;
+                    break;
+                } else if (ch == '"') {
+                    quoted = insideQuotes = true;
+                    continue;
+                }
+                if (ch == '\\' && offset < length && (string.charAt(offset) == '"' || string.charAt(offset) == '\\')) {
+                    buffer.append(string.charAt(offset++));
+                } else {
+                    buffer.append(ch);
+                }
+            }
+            if (insideQuotes) {
+                throw new DBCException("Unterminated quoted string in '" + string + "'");
+            }
+            result.add(buffer.length() == 0 && !quoted ? null : buffer.toString());
+            if (offset >= length) {
+                break;
+            }
+            // Skip separator
+            offset++;
         }
+        return result.toArray(new String[0]);
     }
 
     public static String generateObjectString(Object[] values) {
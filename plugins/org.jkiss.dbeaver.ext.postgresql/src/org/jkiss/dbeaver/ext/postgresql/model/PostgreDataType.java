@@ -21,7 +21,9 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBDatabaseException;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreArrayParser;
 import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
+import org.jkiss.dbeaver.ext.postgresql.PostgreElementConverter;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
@@ -29,6 +31,7 @@ import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCFeatureNotSupportedException;
 import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -120,6 +123,10 @@ public class PostgreDataType extends JDBCDataType<PostgreSchema>
 
     private final AttributeCache attributeCache;
     private Object[] enumValues;
+    // Converters of composite values. Attributes list is kept to detect attributes re-read.
+    private volatile AttributeConverters attributeConverters;
+    // Parser of array values, created on first use
+    private volatile PostgreArrayParser arrayParser;
 
     public PostgreDataType(@NotNull JDBCSession session, @NotNull PostgreSchema schema, long typeId, int valueType, String name, int length, JDBCResultSet dbResult) throws DBException {
         super(schema, valueType, name, null, false, true, length, -1, -1);
@@ -607,6 +614,42 @@ public class PostgreDataType extends JDBCDataType<PostgreSchema>
         return attributeCache == null ? null : attributeCache.getAllObjects(monitor, this);
     }
 
+    /**
+     * Returns converters of composite type attribute values.
+     * Converters are created once for the type and re-created when attributes are re-read.
+     */
+    @NotNull
+    public PostgreElementConverter[] getAttributeConverters(@NotNull Collection<PostgreDataTypeAttribute> attributes) {
+        AttributeConverters converters = attributeConverters;
+        if (converters == null || converters.attributes != attributes) {
+            converters = new AttributeConverters(attributes);
+            attributeConverters = converters;
+        }
+        return converters.converters;
+    }
+
+    /**
+     * Returns parser of this array type values.
+     * Parser is created once for the type and re-created after refresh.
+     */
+    @NotNull
+    public PostgreArrayParser getArrayParser(@NotNull DBCSession session) throws DBCException {
+        PostgreArrayParser parser = arrayParser;
+        if (parser == null) {
+            PostgreDataType itemType = getElementType(session.getProgressMonitor());
+            if (itemType == null && typeType == PostgreTypeType.d) {
+                // Domains store component type information in another field
+                itemType = getBaseType(session.getProgressMonitor());
+            }
+            if (itemType == null) {
+                throw new DBCException("Array type " + getFullTypeName() + " doesn't have a component type");
+            }
+            parser = new PostgreArrayParser(session, itemType, PostgreUtils.getArrayDelimiter(this));
+            arrayParser = parser;
+        }
+        return parser;
+    }
+
     @Override
     public PostgreDataTypeAttribute getAttribute(@NotNull DBRProgressMonitor monitor, @NotNull String attributeName) throws DBException {
         return attributeCache == null ? null : attributeCache.getObject(monitor, this, attributeName);
@@ -666,6 +709,8 @@ public class PostgreDataType extends JDBCDataType<PostgreSchema>
         if (attributeCache != null) {
             attributeCache.clearCache();
         }
+        attributeConverters = null;
+        arrayParser = null;
         if (enumValues != null) {
             getDatabase().getEnumValueCache().clearCache();
             enumValues = null;
@@ -865,6 +910,20 @@ public class PostgreDataType extends JDBCDataType<PostgreSchema>
         throw new DBCFeatureNotSupportedException();
     }
 
+    private static class AttributeConverters {
+        final Collection<PostgreDataTypeAttribute> attributes;
+        final PostgreElementConverter[] converters;
+
+        AttributeConverters(@NotNull Collection<PostgreDataTypeAttribute> attributes) {
+            this.attributes = attributes;
+            this.converters = new PostgreElementConverter[attributes.size()];
+            int index = 0;
+            for (PostgreDataTypeAttribute attribute : attributes) {
+                converters[index++] = new PostgreElementConverter(attribute);
+            }
+        }
+    }
+
     class AttributeCache extends JDBCObjectCache<PostgreDataType, PostgreDataTypeAttribute> {
 
         @NotNull
@@ -19,12 +19,11 @@ package org.jkiss.dbeaver.ext.postgresql.model.data;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreArrayParser;
 import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
-import org.jkiss.dbeaver.ext.postgresql.PostgreValueParser;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataType;
-import org.jkiss.dbeaver.ext.postgresql.model.PostgreTypeType;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDCollection;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
@@ -60,50 +59,39 @@ public class PostgreArrayValueHandler extends JDBCArrayValueHandler {
     public Object getValueFromObject(@NotNull DBCSession session, @NotNull DBSTypedObject type, Object object, boolean copy, boolean validateValue) throws DBCException
     {
         if (object != null) {
-            final PostgreDataType arrayType = PostgreUtils.findDataType(session, (PostgreDataSource) session.getDataSource(), type);
-            if (arrayType == null) {
-                throw new DBCException("Can't resolve data type " + type.getFullTypeName());
-            }
-
-            PostgreDataType itemType = arrayType.getElementType(session.getProgressMonitor());
-            if (itemType == null && arrayType.getTypeType() == PostgreTypeType.d) {
-                // Domains store component type information in another field
-                itemType = arrayType.getBaseType(session.getProgressMonitor());
-            }
-            if (itemType == null) {
-                throw new DBCException("Array type " + arrayType.getFullTypeName() + " doesn't have a component type");
-            }
-
             String className = object.getClass().getName();
             if (object instanceof String ||
                 PostgreUtils.isPGObject(object) ||
                 className.equals(PostgreConstants.PG_ARRAY_CLASS))
             {
+                final PostgreArrayParser parser = getArrayParser(session, type);
                 if (className.equals(PostgreConstants.PG_ARRAY_CLASS)) {
                     // Convert arrays to string representation (#7468)
                     // Otherwise we may have problems with domain types decoding (as they come in form of PgObject)
                     String strValue = object.toString();
-                    return convertStringArrayToCollection(session, arrayType, itemType, strValue);
+                    return convertStringArrayToCollection(session, parser, strValue);
                 } else if (PostgreUtils.isPGObject(object)) {
                     final Object value = PostgreUtils.extractPGObjectValue(object);
                     if (value instanceof String) {
-                        return convertStringArrayToCollection(session, arrayType, itemType, (String) value);
+                        return convertStringArrayToCollection(session, parser, (String) value);
                     } else {
                         log.error("Can't parse array");
                         return new JDBCCollection(
-                                session.getProgressMonitor(), itemType,
-                            DBUtils.findValueHandler(session, itemType),
+                            session.getProgressMonitor(),
+                            parser.getItemType(),
+                            parser.getItemValueHandler(),
                             value == null ? null : new Object[]{value}
                         );
                     }
                 } else {
-                    return convertStringArrayToCollection(session, arrayType, itemType, (String) object);
+                    return convertStringArrayToCollection(session, parser, (String) object);
                 }
             } else if (object instanceof Object[]) {
+                final PostgreArrayParser parser = getArrayParser(session, type);
                 return new JDBCCollection(
                     session.getProgressMonitor(),
-                    itemType,
-                    DBUtils.findValueHandler(session, itemType),
+                    parser.getItemType(),
+                    parser.getItemValueHandler(),
                     (Object[]) object
                 );
             }
@@ -111,6 +99,19 @@ public class PostgreArrayValueHandler extends JDBCArrayValueHandler {
         return super.getValueFromObject(session, type, object, copy, validateValue);
     }
 
+    /**
+     * Returns parser of the column's array type.
+     * Parser is kept by the array data type, so item type, value handler and converter are resolved once per type.
+     */
+    @NotNull
+    private PostgreArrayParser getArrayParser(@NotNull DBCSession session, @NotNull DBSTypedObject type) throws DBCException {
+        final PostgreDataType arrayType = PostgreUtils.findDataType(session, (PostgreDataSource) session.getDataSource(), type);
+        if (arrayType == null) {
+            throw new DBCException("Can't resolve data type " + type.getFullTypeName());
+        }
+        return arrayType.getArrayParser(session);
+    }
+
     @Override
     protected void bindParameter(JDBCSession session, JDBCPreparedStatement statement, DBSTypedObject paramType, int paramIndex, Object value) throws DBCException, SQLException {
         if (value instanceof DBDCollection && !((DBDValue) value).isNull()) {
@@ -120,14 +121,15 @@ public class PostgreArrayValueHandler extends JDBCArrayValueHandler {
         }
     }
 
-    private JDBCCollection convertStringArrayToCollection(@NotNull DBCSession session, @NotNull PostgreDataType arrayType, @NotNull PostgreDataType itemType, @NotNull String strValue) throws DBCException {
-        Object parsedArray = PostgreValueParser.convertStringToValue(session, arrayType, strValue);
-        if (parsedArray instanceof Object[]){
-            return new JDBCCollection(session.getProgressMonitor(), itemType, DBUtils.findValueHandler(session, itemType), (Object[]) parsedArray);
-        } else {
-            log.error("Can't parse array");
-            return new JDBCCollection(session.getProgressMonitor(), itemType, DBUtils.findValueHandler(session, itemType), new Object[]{parsedArray});
+    private JDBCCollection convertStringArrayToCollection(@NotNull DBCSession session, @NotNull PostgreArrayParser parser, @NotNull String strValue) {
+        Object[] parsedArray;
+        try {
+            parsedArray = parser.parse(session, strValue);
+        } catch (Exception e) {
+            log.error("Can't parse array: " + e.getMessage());
+            parsedArray = new Object[]{strValue};
         }
+        return new JDBCCollection(session.getProgressMonitor(), parser.getItemType(), parser.getItemValueHandler(), parsedArray);
     }
 
     @NotNull
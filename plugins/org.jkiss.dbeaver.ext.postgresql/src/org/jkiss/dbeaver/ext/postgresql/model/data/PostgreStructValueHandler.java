@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreElementConverter;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.ext.postgresql.PostgreValueParser;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
@@ -45,7 +46,6 @@ import java.sql.SQLException;
 import java.sql.Struct;
 import java.sql.Types;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.StringJoiner;
 
 /**
@@ -187,12 +187,11 @@ public class PostgreStructValueHandler extends JDBCStructValueHandler {
         if (parsedValues.length != attributes.size()) {
             log.debug("Number of attributes (" + attributes.size() + ") doesn't match actual number of parsed strings (" + parsedValues.length + ")");
         }
+        final PostgreElementConverter[] converters = compType.getAttributeConverters(attributes);
         Object[] attrValues = new Object[attributes.size()];
 
-        Iterator<PostgreDataTypeAttribute> attrIter = attributes.iterator();
-        for (int i = 0; i < parsedValues.length && attrIter.hasNext(); i++) {
-            final PostgreDataTypeAttribute itemAttr = attrIter.next();
-            attrValues[i] = PostgreValueParser.convertStringToValue(session, itemAttr, parsedValues[i]);
+        for (int i = 0; i < parsedValues.length && i < converters.length; i++) {
+            attrValues[i] = converters[i].convert(session, parsedValues[i]);
         }
 
         Struct contents = new JDBCStructImpl(compType.getTypeName(), attrValues, value);
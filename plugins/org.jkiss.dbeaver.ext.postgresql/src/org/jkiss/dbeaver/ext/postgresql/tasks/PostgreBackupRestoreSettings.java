@@ -58,6 +58,7 @@ public class PostgreBackupRestoreSettings extends AbstractImportExportSettings<D
     }
 
     private ExportFormat format = ExportFormat.CUSTOM;
+    private int jobs;
 
     public PostgreBackupRestoreSettings() {
     }
@@ -73,9 +74,23 @@ public class PostgreBackupRestoreSettings extends AbstractImportExportSettings<D
     public void setFormat(ExportFormat format) {
         this.format = format;
     }
+
+    /**
+     * Number of parallel jobs of a single pg_dump/pg_restore process (--jobs).
+     * Values less than 2 disable the option.
+     */
+    public int getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(int jobs) {
+        this.jobs = jobs;
+    }
+
     @Override
     public void loadSettings(DBRRunnableContext runnableContext, DBPPreferenceStore store) throws DBException {
         this.format = CommonUtils.valueOf(ExportFormat.class, store.getString("pg.format"), ExportFormat.CUSTOM);
+        this.jobs = store.getInt("pg.jobs");
         super.loadSettings(runnableContext, store);
     }
 
@@ -84,6 +99,7 @@ public class PostgreBackupRestoreSettings extends AbstractImportExportSettings<D
         super.saveSettings(runnableContext, store);
 
         store.setValue("pg.format", format == null ? null : format.name());
+        store.setValue("pg.jobs", jobs);
     }
 
 }
@@ -37,11 +37,15 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<PostgreDatabaseBackupSettings, DBSObject, PostgreDatabaseBackupInfo> {
 
     private static final Log log = Log.getLog(PostgreDatabaseBackupHandler.class);
 
+    private static final int MAX_COMPRESSION_THREADS = 8;
+
     @Override
     public Collection<PostgreDatabaseBackupInfo> getRunInfo(PostgreDatabaseBackupSettings settings) {
         return settings.getExportObjects();
@@ -75,11 +79,23 @@ public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<Postg
         return true;
     }
 
+    private final Map<PostgreDatabaseBackupInfo, DumpJob> dumpJobs = new ConcurrentHashMap<>();
+
     @Override
     protected boolean needsModelRefresh() {
         return false;
     }
 
+    @Override
+    protected int getMaxParallelProcesses(PostgreDatabaseBackupSettings settings) {
+        return settings.getParallelProcesses();
+    }
+
+    @Override
+    protected String getProcessName(PostgreDatabaseBackupInfo arg) {
+        return arg.getDatabase().getName();
+    }
+
     @Override
     public boolean isVerbose() {
         return true;
@@ -104,9 +120,12 @@ public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<Postg
         super.fillProcessParameters(settings, arg, cmd);
 
         cmd.add("--format=" + settings.getFormat().getId());
-        if (!CommonUtils.isEmpty(settings.getCompression())) {
+        if (!CommonUtils.isEmpty(settings.getCompression()) && !settings.isStreamCompressionEnabled()) {
             cmd.add("--compress=" + settings.getCompression());
         }
+        if (settings.getFormat() == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY && settings.getJobs() > 1) {
+            cmd.add("--jobs=" + settings.getJobs());
+        }
         if (!CommonUtils.isEmpty(settings.getEncoding())) {
             cmd.add("--encoding=" + settings.getEncoding());
         }
@@ -126,9 +145,7 @@ public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<Postg
             cmd.add("--create");
         }
 
-        if (!isUseStreamTransfer(settings.getOutputFile(arg)) ||
-            settings.getFormat() == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY
-        ) {
+        if (!isStreamOutput(settings, arg)) {
             cmd.add("--file");
             cmd.add(settings.getOutputFile(arg));
         }
@@ -173,12 +190,52 @@ public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<Postg
         Log log
     ) throws IOException, DBException {
         super.startProcessHandler(monitor, task, settings, arg, processBuilder, process, log);
-        String outFileName = settings.getOutputFile(arg);
-        if (isUseStreamTransfer(outFileName) && settings.getFormat() != PostgreBackupRestoreSettings.ExportFormat.DIRECTORY) {
-            Path outFile = DBFUtils.resolvePathFromString(monitor, task.getProject(), outFileName);
+        if (isStreamOutput(settings, arg)) {
+            Path outFile = DBFUtils.resolvePathFromString(monitor, task.getProject(), settings.getOutputFile(arg));
             log.debug("Dump database into " + outFile.toUri());
-            DumpCopierJob job = new DumpCopierJob(monitor, "Export database", process.getInputStream(), outFile, log);
+            DumpCopierJob job = new DumpCopierJob(
+                monitor,
+                "Export database",
+                process.getInputStream(),
+                outFile,
+                settings.isStreamCompressionEnabled() ? getCompressionThreads() : 0,
+                log);
+            dumpJobs.put(arg, job);
             job.start();
         }
     }
+
+    @Override
+    public boolean executeProcess(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        PostgreDatabaseBackupSettings settings,
+        PostgreDatabaseBackupInfo arg,
+        Log log
+    ) throws IOException, InterruptedException {
+        try {
+            return super.executeProcess(monitor, task, settings, arg, log);
+        } finally {
+            DumpJob job = dumpJobs.remove(arg);
+            if (job != null) {
+                // Output may be still being written (and compressed) after the process exit
+                job.join();
+            }
+        }
+    }
+
+    /**
+     * Output is read from the process stdout if it is written to a remote file system or compressed by us.
+     * Directory format is always written by pg_dump itself.
+     */
+    private boolean isStreamOutput(PostgreDatabaseBackupSettings settings, PostgreDatabaseBackupInfo arg) {
+        if (settings.getFormat() == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY) {
+            return false;
+        }
+        return settings.isStreamCompressionEnabled() || isUseStreamTransfer(settings.getOutputFile(arg));
+    }
+
+    private static int getCompressionThreads() {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() / 2, MAX_COMPRESSION_THREADS));
+    }
 }
@@ -41,6 +41,8 @@ public class PostgreDatabaseBackupSettings extends PostgreBackupRestoreSettings
 
     private static final Log log = Log.getLog(PostgreDatabaseBackupSettings.class);
 
+    private static final String COMPRESSED_FILE_EXT = ".gz";
+
     private List<PostgreDatabaseBackupInfo> exportObjects = new ArrayList<>();
 
     private String compression;
@@ -51,6 +53,8 @@ public class PostgreDatabaseBackupSettings extends PostgreBackupRestoreSettings
     private boolean noOwner;
     private boolean dropObjects;
     private boolean createDatabase;
+    private int parallelProcesses = 1;
+    private boolean streamCompression;
 
     public PostgreDatabaseBackupSettings() {
     }
@@ -132,6 +136,32 @@ public class PostgreDatabaseBackupSettings extends PostgreBackupRestoreSettings
         this.createDatabase = createDatabase;
     }
 
+    /**
+     * Maximum number of databases dumped at the same time (one pg_dump process per database)
+     */
+    public int getParallelProcesses() {
+        return parallelProcesses;
+    }
+
+    public void setParallelProcesses(int parallelProcesses) {
+        this.parallelProcesses = parallelProcesses;
+    }
+
+    /**
+     * Compress plain format output with gzip while it is streamed to the output file
+     */
+    public boolean isStreamCompression() {
+        return streamCompression;
+    }
+
+    public void setStreamCompression(boolean streamCompression) {
+        this.streamCompression = streamCompression;
+    }
+
+    public boolean isStreamCompressionEnabled() {
+        return streamCompression && getFormat() == ExportFormat.PLAIN;
+    }
+
     public void fillExportObjectsFromInput() {
         Map<PostgreDatabase, PostgreDatabaseBackupInfo> objMap = new LinkedHashMap<>();
         for (DBSObject object : getDatabaseObjects()) {
@@ -184,6 +214,8 @@ public class PostgreDatabaseBackupSettings extends PostgreBackupRestoreSettings
         noOwner = store.getBoolean("pg.export.noOwner");
         dropObjects = store.getBoolean("pg.export.dropObjects");
         createDatabase = store.getBoolean("pg.export.createDatabase");
+        parallelProcesses = Math.max(1, store.getInt("pg.export.parallelProcesses"));
+        streamCompression = store.getBoolean("pg.export.streamCompression");
 
         super.loadSettings(runnableContext, store);
         if (store instanceof DBPPreferenceMap) {
@@ -263,6 +295,8 @@ public class PostgreDatabaseBackupSettings extends PostgreBackupRestoreSettings
         store.setValue("pg.export.noOwner", noOwner);
         store.setValue("pg.export.dropObjects", dropObjects);
         store.setValue("pg.export.createDatabase", createDatabase);
+        store.setValue("pg.export.parallelProcesses", parallelProcesses);
+        store.setValue("pg.export.streamCompression", streamCompression);
 
         if (store instanceof DBPPreferenceMap && !CommonUtils.isEmpty(exportObjects)) {
             // Save input objects to task properties
@@ -295,6 +329,9 @@ public class PostgreDatabaseBackupSettings extends PostgreBackupRestoreSettings
     public String getOutputFile(@NotNull PostgreDatabaseBackupInfo info) {
         String outputFileName = resolveVars(info.getDatabase(), info.getSchemas(), info.getTables(), getOutputFilePattern());
         String outputFolder = getOutputFolder(info);
+        if (isStreamCompressionEnabled() && !outputFileName.endsWith(COMPRESSED_FILE_EXT)) {
+            outputFileName += COMPRESSED_FILE_EXT;
+        }
         return makeOutFilePath(outputFolder, outputFileName);
     }
 
@@ -101,6 +101,9 @@ public class PostgreDatabaseRestoreHandler extends PostgreNativeToolHandler<Post
         if (settings.isCreateDatabase()) {
             cmd.add("--create");
         }
+        if (settings.getJobs() > 1 && isParallelRestoreSupported(settings)) {
+            cmd.add("--jobs=" + settings.getJobs());
+        }
     }
 
     @Override
@@ -108,6 +111,17 @@ public class PostgreDatabaseRestoreHandler extends PostgreNativeToolHandler<Post
         return false;
     }
 
+    /**
+     * pg_restore can run parallel jobs only for custom and directory archives read from a file (not from stdin)
+     */
+    private boolean isParallelRestoreSupported(PostgreDatabaseRestoreSettings settings) {
+        return switch (settings.getFormat()) {
+            case DIRECTORY -> true;
+            case CUSTOM -> !isUseStreamTransfer(settings.getInputFile());
+            default -> false;
+        };
+    }
+
     @Override
     protected List<String> getCommandLine(PostgreDatabaseRestoreSettings settings, PostgreDatabaseRestoreInfo arg) throws IOException {
         List<String> cmd = new ArrayList<>();
@@ -43,4 +43,9 @@ public class PostgreToolBaseAnalyze extends PostgreToolWithStatus<DBSObject, Pos
         }
         queries.add(new SQLDatabasePersistAction(sql));
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
@@ -55,4 +55,9 @@ public class PostgreToolBaseVacuum extends PostgreToolWithStatus<DBSObject, Post
     public boolean isRunInAutoCommit() {
         return true;
     }
+
+    @Override
+    public boolean isParallelExecutionSupported() {
+        return true;
+    }
 }
@@ -0,0 +1,299 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.sqlite.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.generic.model.GenericSchema;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk loader for local SQLite databases.
+ * Loads the whole dataset in a single transaction with one prepared statement.
+ * In auto-commit mode the load runs in its own exclusive transaction. In manual commit mode it runs
+ * in a savepoint of the current transaction, which is committed at the end of the load.
+ * Cache pragmas are raised for the time of the load and restored afterwards, journal and synchronous
+ * modes are left unchanged.
+ * Secondary indexes may be dropped before the load and re-created at the end of the same transaction,
+ * so a failed load rolls back index changes together with the data.
+ */
+public class SQLiteBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(SQLiteBulkLoader.class);
+
+    private static final String SAVEPOINT_NAME = "dbeaver_bulk_load";
+    private static final Pattern CREATE_INDEX_PATTERN = Pattern.compile(
+        "^\\s*CREATE\\s+(UNIQUE\\s+)?INDEX\\s+(IF\\s+NOT\\s+EXISTS\\s+)?", Pattern.CASE_INSENSITIVE);
+
+    // Pragmas applied during the load. Both can be changed inside a transaction, so they don't depend on the commit mode.
+    // Cache size is negative which means KiB (256MB).
+    private static final String[][] BULK_PRAGMAS = {
+        {"cache_size", "-262144"},
+        {"mmap_size", "268435456"},
+    };
+
+    private final SQLiteDataSource dataSource;
+    private JDBCSession session;
+    private JDBCPreparedStatement insertStatement;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private int batchSize;
+    private int batchRows;
+    private long totalRows;
+
+    private final Map<String, String> savedPragmas = new LinkedHashMap<>();
+    private final List<String> deferredIndexes = new ArrayList<>();
+    private boolean useSavepoint;
+    private boolean inTransaction;
+
+    public SQLiteBulkLoader(@NotNull SQLiteDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity table)) {
+            throw new DBCException("Bulk load is supported for tables only");
+        }
+        this.session = (JDBCSession) session;
+        this.attributes = attributes;
+        this.batchSize = batchSize > 0 ? batchSize : 10000;
+        String tableName = table.getFullyQualifiedName(DBPEvaluationContext.DML);
+        try {
+            applyBulkPragmas();
+
+            // In manual commit mode the driver keeps a transaction open, nested transactions are not allowed
+            useSavepoint = !this.session.getAutoCommit();
+            JDBCUtils.executeStatement(this.session, useSavepoint ? "SAVEPOINT " + SAVEPOINT_NAME : "BEGIN EXCLUSIVE TRANSACTION");
+            inTransaction = true;
+
+            if (CommonUtils.getBoolean(options == null ? null : options.get(OPTION_DEFER_INDEXES), false)) {
+                dropIndexes(table);
+            }
+
+            StringBuilder sql = new StringBuilder();
+            sql.append("INSERT INTO ").append(tableName).append(" (");
+            valueHandlers = new DBDValueHandler[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                if (i > 0) {
+                    sql.append(",");
+                }
+                sql.append(DBUtils.getQuotedIdentifier(dataSource, attributes[i].getName()));
+                valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+            }
+            sql.append(") VALUES (");
+            for (int i = 0; i < attributes.length; i++) {
+                sql.append(i > 0 ? ",?" : "?");
+            }
+            sql.append(")");
+            insertStatement = this.session.prepareStatement(sql.toString());
+        } catch (Exception e) {
+            close();
+            throw new DBCException("Can't start bulk load into " + tableName, e);
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i].bindValueObject(session, insertStatement, attributes[i], i, attributeValues[i]);
+        }
+        try {
+            insertStatement.addBatch();
+        } catch (SQLException e) {
+            throw new DBCException("Error adding row to the batch", e);
+        }
+        batchRows++;
+        if (batchRows >= batchSize) {
+            executeBatch();
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        // Rows are committed once in the end, here we only send the pending batch
+        executeBatch();
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        try {
+            executeBatch();
+            if (!deferredIndexes.isEmpty()) {
+                session.getProgressMonitor().subTask("Create indexes");
+                for (String indexDDL : deferredIndexes) {
+                    JDBCUtils.executeStatement(this.session, indexDDL);
+                }
+                deferredIndexes.clear();
+            }
+            session.getProgressMonitor().subTask("Commit bulk load");
+            if (useSavepoint) {
+                JDBCUtils.executeStatement(this.session, "RELEASE SAVEPOINT " + SAVEPOINT_NAME);
+                inTransaction = false;
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(this.session.getExecutionContext());
+                if (txnManager != null) {
+                    txnManager.commit(this.session);
+                } else {
+                    this.session.commit();
+                }
+            } else {
+                JDBCUtils.executeStatement(this.session, "COMMIT");
+                inTransaction = false;
+            }
+            log.debug("Bulk load finished (" + totalRows + " rows)");
+        } catch (SQLException e) {
+            throw new DBCException("Error finishing bulk load", e);
+        } finally {
+            // Rollback goes first, settings are restored in the original transaction state
+            rollbackLoad();
+            restoreSettings();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (insertStatement != null) {
+            insertStatement.close();
+            insertStatement = null;
+        }
+        rollbackLoad();
+        restoreSettings();
+    }
+
+    private void executeBatch() throws DBCException {
+        if (batchRows == 0) {
+            return;
+        }
+        try {
+            insertStatement.executeBatch();
+            insertStatement.clearBatch();
+        } catch (SQLException e) {
+            throw new DBCException("Error inserting rows", e);
+        }
+        totalRows += batchRows;
+        batchRows = 0;
+        session.getProgressMonitor().subTask("Insert rows (" + totalRows + ")");
+    }
+
+    private void rollbackLoad() {
+        if (!inTransaction) {
+            return;
+        }
+        // Load failed or was canceled. Dropped indexes are restored by the rollback.
+        inTransaction = false;
+        try {
+            if (useSavepoint) {
+                JDBCUtils.executeStatement(session, "ROLLBACK TO SAVEPOINT " + SAVEPOINT_NAME);
+                JDBCUtils.executeStatement(session, "RELEASE SAVEPOINT " + SAVEPOINT_NAME);
+            } else {
+                JDBCUtils.executeStatement(session, "ROLLBACK");
+            }
+        } catch (SQLException e) {
+            log.debug("Error rolling back bulk load", e);
+        }
+    }
+
+    private void applyBulkPragmas() throws SQLException {
+        for (String[] pragma : BULK_PRAGMAS) {
+            String name = pragma[0];
+            String currentValue = JDBCUtils.queryString(session, "PRAGMA " + name);
+            if (currentValue == null) {
+                continue;
+            }
+            savedPragmas.put(name, currentValue);
+            JDBCUtils.executeStatement(session, "PRAGMA " + name + " = " + pragma[1]);
+        }
+    }
+
+    private void dropIndexes(@NotNull DBSEntity table) throws SQLException {
+        // Tables of attached databases are in schemas, their indexes are in the schema's own master table
+        String schemaPrefix = table.getParentObject() instanceof GenericSchema schema ?
+            DBUtils.getQuotedIdentifier(schema) + "." : "";
+        Map<String, String> indexes = new LinkedHashMap<>();
+        // Automatic indexes (primary and unique keys) have no SQL and can't be dropped
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT name, sql FROM " + schemaPrefix + "sqlite_master WHERE type = 'index' AND tbl_name = ? AND sql IS NOT NULL"))
+        {
+            dbStat.setString(1, table.getName());
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    indexes.put(dbResult.getString(1), dbResult.getString(2));
+                }
+            }
+        }
+        for (Map.Entry<String, String> index : indexes.entrySet()) {
+            String indexDDL = index.getValue();
+            if (!schemaPrefix.isEmpty()) {
+                // Index DDL has no schema name, without it the index would be created in the main database
+                Matcher matcher = CREATE_INDEX_PATTERN.matcher(indexDDL);
+                if (!matcher.find()) {
+                    log.debug("Index " + index.getKey() + " is not deferred: unrecognized DDL");
+                    continue;
+                }
+                indexDDL = indexDDL.substring(0, matcher.end()) + schemaPrefix + indexDDL.substring(matcher.end());
+            }
+            JDBCUtils.executeStatement(session, "DROP INDEX " + schemaPrefix + DBUtils.getQuotedIdentifier(dataSource, index.getKey()));
+            deferredIndexes.add(indexDDL);
+        }
+    }
+
+    private void restoreSettings() {
+        if (session == null) {
+            return;
+        }
+        for (Map.Entry<String, String> pragma : savedPragmas.entrySet()) {
+            try {
+                JDBCUtils.executeStatement(session, "PRAGMA " + pragma.getKey() + " = " + pragma.getValue());
+            } catch (SQLException e) {
+                log.debug("Error restoring pragma " + pragma.getKey(), e);
+            }
+        }
+        savedPragmas.clear();
+    }
+}
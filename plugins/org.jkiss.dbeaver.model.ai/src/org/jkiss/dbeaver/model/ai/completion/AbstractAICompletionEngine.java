@@ -19,8 +19,10 @@ package org.jkiss.dbeaver.model.ai.completion;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.ai.AIConstants;
 import org.jkiss.dbeaver.model.ai.AIEngineSettings;
 import org.jkiss.dbeaver.model.ai.format.IAIFormatter;
+import org.jkiss.dbeaver.model.ai.metadata.MetadataProcessor;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
@@ -102,14 +104,60 @@ public abstract class AbstractAICompletionEngine<SERVICE, REQUEST> implements DA
             """;
     }
 
+    /**
+     * Builds metadata prompt for the completion scope, requests completion from the service
+     * and post-processes the result.
+     */
     @Nullable
-    abstract protected String requestCompletion(
+    protected String requestCompletion(
         @NotNull DBRProgressMonitor monitor,
         @NotNull DAICompletionContext context,
         @NotNull List<DAICompletionMessage> messages,
         @NotNull IAIFormatter formatter,
         boolean chatCompletion
-    ) throws DBException;
+    ) throws DBException {
+        final DBCExecutionContext executionContext = context.getExecutionContext();
+        DBSObjectContainer mainObject = getScopeObject(context, executionContext);
+
+        final DAICompletionMessage metadataMessage = MetadataProcessor.INSTANCE.createMetadataMessage(
+            monitor,
+            context,
+            mainObject,
+            formatter,
+            getInstructions(chatCompletion),
+            getMaxTokens() - AIConstants.MAX_RESPONSE_TOKENS,
+            getUserQuery(messages)
+        );
+
+        final List<DAICompletionMessage> mergedMessages = new ArrayList<>();
+        mergedMessages.add(metadataMessage);
+        mergedMessages.addAll(messages);
+
+        if (monitor.isCanceled()) {
+            return "";
+        }
+
+        SERVICE service = getServiceInstance(executionContext);
+        REQUEST completionRequest = createCompletionRequest(chatCompletion, mergedMessages);
+        String completionText = callCompletion(monitor, chatCompletion, mergedMessages, service, completionRequest);
+
+        return processCompletion(
+            mergedMessages,
+            monitor,
+            executionContext,
+            mainObject,
+            completionText,
+            formatter,
+            isChatAPI()
+        );
+    }
+
+    /**
+     * Whether the engine uses chat API. Completions of non-chat API return only the query body.
+     */
+    protected boolean isChatAPI() {
+        return true;
+    }
 
     @NotNull
     protected DAICompletionResponse createCompletionResponse(
@@ -190,6 +238,20 @@ public abstract class AbstractAICompletionEngine<SERVICE, REQUEST> implements DA
     }
 
 
+    /**
+     * Returns text of the latest user message. It is used to pick metadata relevant to the request.
+     */
+    @Nullable
+    protected static String getUserQuery(@NotNull List<DAICompletionMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            DAICompletionMessage message = messages.get(i);
+            if (message.getRole() == DAICompletionMessage.Role.USER) {
+                return message.getContent();
+            }
+        }
+        return null;
+    }
+
     @NotNull
     protected static List<DAICompletionMessage> truncateMessages(
         boolean chatMode,
@@ -0,0 +1,116 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.completion;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.ai.AIEngineSettings;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion engine which doesn't call any AI service.
+ * It builds the same metadata prompt as real engines and returns a fixed response.
+ * Used to measure and test prompt generation offline. It is not registered as a UI-visible engine.
+ */
+public class StubCompletionEngine extends AbstractAICompletionEngine<Object, List<DAICompletionMessage>> {
+
+    private static final String DEFAULT_RESPONSE = "```sql\nSELECT 1;\n```";
+
+    private final int maxTokens;
+    private final String response;
+    private final AIEngineSettings settings = new AIEngineSettings();
+    private volatile List<DAICompletionMessage> lastRequest = Collections.emptyList();
+
+    public StubCompletionEngine() {
+        this(4096, DEFAULT_RESPONSE);
+    }
+
+    public StubCompletionEngine(int maxTokens, @NotNull String response) {
+        this.maxTokens = maxTokens;
+        this.response = response;
+    }
+
+    @Override
+    public String getEngineName() {
+        return "Stub";
+    }
+
+    @Override
+    public boolean isValidConfiguration() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> getServiceMap() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Returns messages of the last completion request (including generated metadata message)
+     */
+    @NotNull
+    public List<DAICompletionMessage> getLastRequest() {
+        return lastRequest;
+    }
+
+    @Override
+    protected int getMaxTokens() {
+        return maxTokens;
+    }
+
+    @Nullable
+    @Override
+    protected String callCompletion(
+        @NotNull DBRProgressMonitor monitor,
+        boolean chatMode,
+        @NotNull List<DAICompletionMessage> messages,
+        @NotNull Object service,
+        @NotNull List<DAICompletionMessage> completionRequest
+    ) {
+        lastRequest = completionRequest;
+        return response;
+    }
+
+    @Override
+    protected List<DAICompletionMessage> createCompletionRequest(boolean chatMode, @NotNull List<DAICompletionMessage> messages) {
+        return createCompletionRequest(chatMode, messages, getMaxTokens());
+    }
+
+    @Override
+    protected List<DAICompletionMessage> createCompletionRequest(
+        boolean chatMode,
+        @NotNull List<DAICompletionMessage> messages,
+        int maxTokens
+    ) {
+        return truncateMessages(chatMode, messages, maxTokens);
+    }
+
+    @Override
+    protected Object getServiceInstance(@NotNull DBCExecutionContext executionContext) {
+        return this;
+    }
+
+    @Override
+    protected AIEngineSettings getSettings() {
+        return settings;
+    }
+}
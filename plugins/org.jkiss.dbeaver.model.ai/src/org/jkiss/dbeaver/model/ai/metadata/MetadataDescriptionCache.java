@@ -0,0 +1,183 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.DBPEventListener;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+
+import java.util.*;
+
+/**
+ * Cache of per-object AI prompt fragments and container search indexes.
+ * Entries are dropped when the object (or any of its parents) is changed, removed or its data source reconnects.
+ * Object keys are weak, so entries of refreshed (re-read) metadata objects disappear together with the objects.
+ */
+public class MetadataDescriptionCache implements DBPEventListener {
+
+    private static final int MAX_CACHED_INDEXES = 16;
+
+    private static final MetadataDescriptionCache INSTANCE = new MetadataDescriptionCache();
+
+    public static MetadataDescriptionCache getInstance() {
+        return INSTANCE;
+    }
+
+    static class ContainerIndex {
+        final List<DBSObject> children;
+        final MetadataSearchIndex<DBSEntity> index;
+
+        ContainerIndex(List<DBSObject> children, MetadataSearchIndex<DBSEntity> index) {
+            this.children = children;
+            this.index = index;
+        }
+
+        boolean isValidFor(List<DBSObject> actualChildren) {
+            if (actualChildren.size() != children.size()) {
+                return false;
+            }
+            for (int i = 0; i < children.size(); i++) {
+                if (actualChildren.get(i) != children.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Fragments don't reference their objects, so weak keys are enough to let refreshed metadata go
+    private final Map<DBSObject, Map<String, String>> fragments = new WeakHashMap<>();
+    // Indexes reference children which reference the container, so they are bounded explicitly
+    private final Map<DBSObjectContainer, ContainerIndex> indexes = new LinkedHashMap<>(MAX_CACHED_INDEXES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DBSObjectContainer, ContainerIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+    private final Set<DBPDataSourceRegistry> registries = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private MetadataDescriptionCache() {
+    }
+
+    @Nullable
+    public synchronized String getFragment(@NotNull DBSObject object, @NotNull String variant) {
+        Map<String, String> variants = fragments.get(object);
+        return variants == null ? null : variants.get(variant);
+    }
+
+    public synchronized void putFragment(@NotNull DBSObject object, @NotNull String variant, @NotNull String fragment) {
+        registerListener(object);
+        fragments.computeIfAbsent(object, o -> new HashMap<>(2)).put(variant, fragment);
+    }
+
+    @Nullable
+    synchronized MetadataSearchIndex<DBSEntity> getIndex(@NotNull DBSObjectContainer container, @NotNull List<DBSObject> children) {
+        ContainerIndex containerIndex = indexes.get(container);
+        if (containerIndex == null) {
+            return null;
+        }
+        if (!containerIndex.isValidFor(children)) {
+            // Container was refreshed
+            indexes.remove(container);
+            return null;
+        }
+        return containerIndex.index;
+    }
+
+    synchronized void putIndex(
+        @NotNull DBSObjectContainer container,
+        @NotNull List<DBSObject> children,
+        @NotNull MetadataSearchIndex<DBSEntity> index
+    ) {
+        registerListener(container);
+        indexes.put(container, new ContainerIndex(new ArrayList<>(children), index));
+    }
+
+    /**
+     * Removes all cached data
+     */
+    public synchronized void clear() {
+        fragments.clear();
+        indexes.clear();
+    }
+
+    /**
+     * Removes cached data of the specified object and all its children.
+     * Fragments and indexes of all parent objects are removed as well as they include this object
+     * (e.g. entity description contains its attributes).
+     */
+    public synchronized void invalidate(@NotNull DBSObject object) {
+        if (object instanceof DBPDataSourceContainer container) {
+            invalidateDataSource(container);
+            return;
+        }
+        fragments.keySet().removeIf(o -> isSameOrChild(o, object) || isSameOrChild(object, o));
+        indexes.keySet().removeIf(c -> isSameOrChild(c, object) || isSameOrChild(object, c));
+    }
+
+    private void invalidateDataSource(@NotNull DBPDataSourceContainer container) {
+        fragments.keySet().removeIf(o -> isOwnedBy(o, container));
+        indexes.keySet().removeIf(c -> isOwnedBy(c, container));
+    }
+
+    @Override
+    public void handleDataSourceEvent(DBPEvent event) {
+        DBSObject object = event.getObject();
+        if (object == null) {
+            return;
+        }
+        switch (event.getAction()) {
+            case OBJECT_ADD, OBJECT_UPDATE, OBJECT_REMOVE, AFTER_CONNECT -> invalidate(object);
+            default -> {
+                // Selection changes and other events don't affect metadata
+            }
+        }
+    }
+
+    private void registerListener(@NotNull DBSObject object) {
+        DBPDataSource dataSource = object.getDataSource();
+        if (dataSource == null) {
+            return;
+        }
+        DBPDataSourceRegistry registry = dataSource.getContainer().getRegistry();
+        if (registries.add(registry)) {
+            registry.addDataSourceListener(this);
+        }
+    }
+
+    private static boolean isOwnedBy(@NotNull DBSObject object, @NotNull DBPDataSourceContainer container) {
+        DBPDataSource dataSource = object.getDataSource();
+        return dataSource == null || dataSource.getContainer() == container;
+    }
+
+    private static boolean isSameOrChild(@NotNull DBSObject object, @NotNull DBSObject parent) {
+        for (DBSObject o = object; o != null; o = o.getParentObject()) {
+            if (o == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
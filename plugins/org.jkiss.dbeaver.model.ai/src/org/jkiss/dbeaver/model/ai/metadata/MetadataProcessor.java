@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.ai.AICompletionConstants;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionContext;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionMessage;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionScope;
@@ -29,6 +30,7 @@ import org.jkiss.dbeaver.model.ai.format.IAIFormatter;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
 import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
@@ -37,9 +39,10 @@ import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTablePartition;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.List;
+import java.util.*;
 
 public class MetadataProcessor {
     public static final MetadataProcessor INSTANCE = new MetadataProcessor();
@@ -47,6 +50,8 @@ public class MetadataProcessor {
 
     private static final boolean SUPPORTS_ATTRS = true;
 
+    private final MetadataDescriptionCache descriptionCache;
+
     public String generateObjectDescription(
         @NotNull DBRProgressMonitor monitor,
         @NotNull DBSObject object,
@@ -54,6 +59,23 @@ public class MetadataProcessor {
         @NotNull IAIFormatter formatter,
         int maxRequestLength,
         boolean useFullyQualifiedName
+    ) throws DBException {
+        return generateObjectDescription(monitor, object, context, formatter, maxRequestLength, useFullyQualifiedName, null);
+    }
+
+    /**
+     * Generates object description for the AI prompt.
+     * If user query is specified then container children are ordered by relevance to this query,
+     * so the most relevant entities fit into the request length limit.
+     */
+    public String generateObjectDescription(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObject object,
+        @Nullable DBCExecutionContext context,
+        @NotNull IAIFormatter formatter,
+        int maxRequestLength,
+        boolean useFullyQualifiedName,
+        @Nullable String userQuery
     ) throws DBException {
         if (DBNUtils.getNodeByObject(monitor, object, false) == null) {
             // Skip hidden objects
@@ -61,6 +83,11 @@ public class MetadataProcessor {
         }
         StringBuilder description = new StringBuilder();
         if (object instanceof DBSEntity entity) {
+            String variant = getFragmentVariant(formatter, useFullyQualifiedName && context != null);
+            String fragment = descriptionCache.getFragment(object, variant);
+            if (fragment != null) {
+                return fragment;
+            }
             String name = useFullyQualifiedName && context != null ? DBUtils.getObjectFullName(
                 context.getDataSource(),
                 object,
@@ -75,22 +102,25 @@ public class MetadataProcessor {
             DBSEntityAttribute firstAttr = addPromptAttributes(monitor, entity, description, formatter);
             formatter.addExtraDescription(monitor, entity, description, firstAttr);
             description.append(");");
+            descriptionCache.putFragment(object, variant, description.toString());
         } else if (object instanceof DBSObjectContainer objectContainer) {
             monitor.subTask("Load cache of " + object.getName());
             objectContainer.cacheStructure(
                 monitor,
                 DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ATTRIBUTES);
-            for (DBSObject child : objectContainer.getChildren(monitor)) {
-                if (DBUtils.isSystemObject(child) || DBUtils.isHiddenObject(child) || child instanceof DBSTablePartition) {
-                    continue;
-                }
+            List<DBSObject> children = getPromptChildren(monitor, objectContainer);
+            if (!CommonUtils.isEmptyTrimmed(userQuery)) {
+                children = rankChildren(monitor, objectContainer, children, userQuery);
+            }
+            for (DBSObject child : children) {
                 String childText = generateObjectDescription(
                     monitor,
                     child,
                     context,
                     formatter,
                     maxRequestLength,
-                    isRequiresFullyQualifiedName(child, context)
+                    isRequiresFullyQualifiedName(child, context),
+                    userQuery
                 );
                 if (description.length() + childText.length() > maxRequestLength * 3) {
                     log.debug("Trim AI metadata prompt  at table '" + child.getName() + "' - too long request");
@@ -102,6 +132,91 @@ public class MetadataProcessor {
         return description.toString();
     }
 
+    @NotNull
+    private List<DBSObject> getPromptChildren(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObjectContainer container
+    ) throws DBException {
+        Collection<? extends DBSObject> allChildren = container.getChildren(monitor);
+        if (allChildren == null) {
+            return Collections.emptyList();
+        }
+        List<DBSObject> children = new ArrayList<>(allChildren.size());
+        for (DBSObject child : allChildren) {
+            if (DBUtils.isSystemObject(child) || DBUtils.isHiddenObject(child) || child instanceof DBSTablePartition) {
+                continue;
+            }
+            children.add(child);
+        }
+        return children;
+    }
+
+    /**
+     * Orders children by relevance to the user query.
+     * Entities matching the query go first (best match first), the rest keep catalog order.
+     */
+    @NotNull
+    private List<DBSObject> rankChildren(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObjectContainer container,
+        @NotNull List<DBSObject> children,
+        @NotNull String userQuery
+    ) throws DBException {
+        MetadataSearchIndex<DBSEntity> index = descriptionCache.getIndex(container, children);
+        if (index == null) {
+            index = new MetadataSearchIndex<>();
+            for (DBSObject child : children) {
+                if (child instanceof DBSEntity entity) {
+                    index.addDocument(entity, entity.getName(), getIndexText(monitor, entity));
+                }
+            }
+            descriptionCache.putIndex(container, children, index);
+        }
+        List<MetadataSearchIndex.Hit<DBSEntity>> hits = index.search(userQuery, 0);
+        if (hits.isEmpty()) {
+            return children;
+        }
+        Set<DBSObject> ranked = new LinkedHashSet<>(children.size());
+        for (MetadataSearchIndex.Hit<DBSEntity> hit : hits) {
+            ranked.add(hit.getObject());
+        }
+        ranked.addAll(children);
+        return new ArrayList<>(ranked);
+    }
+
+    @NotNull
+    private static String getIndexText(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity) throws DBException {
+        StringBuilder text = new StringBuilder();
+        if (entity.getDescription() != null) {
+            text.append(entity.getDescription());
+        }
+        List<? extends DBSEntityAttribute> attributes = entity.getAttributes(monitor);
+        if (attributes != null) {
+            for (DBSEntityAttribute attribute : attributes) {
+                if (DBUtils.isHiddenObject(attribute)) {
+                    continue;
+                }
+                text.append(' ').append(attribute.getName());
+                if (attribute.getDescription() != null) {
+                    text.append(' ').append(attribute.getDescription());
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Fragment text depends on the formatter and on the settings it reads
+     */
+    @NotNull
+    private static String getFragmentVariant(@NotNull IAIFormatter formatter, boolean fullyQualifiedName) {
+        DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
+        return formatter.getClass().getName() +
+            ":" + fullyQualifiedName +
+            ":" + store.getBoolean(AICompletionConstants.AI_SEND_DESCRIPTION) +
+            ":" + store.getBoolean(AICompletionConstants.AI_SEND_TYPE_INFO);
+    }
+
     /**
      * Creates a new message containing completion metadata for the request
      */
@@ -113,6 +228,23 @@ public class MetadataProcessor {
         @NotNull IAIFormatter formatter,
         @NotNull String instructions,
         int maxRequestTokens
+    ) throws DBException {
+        return createMetadataMessage(monitor, context, mainObject, formatter, instructions, maxRequestTokens, null);
+    }
+
+    /**
+     * Creates a new message containing completion metadata for the request.
+     * Tables most relevant to the user query are placed first.
+     */
+    @NotNull
+    public DAICompletionMessage createMetadataMessage(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DAICompletionContext context,
+        @Nullable DBSObjectContainer mainObject,
+        @NotNull IAIFormatter formatter,
+        @NotNull String instructions,
+        int maxRequestTokens,
+        @Nullable String userQuery
     ) throws DBException {
         if (mainObject == null || mainObject.getDataSource() == null) {
             throw new DBException("Invalid completion request");
@@ -157,7 +289,8 @@ public class MetadataProcessor {
                 executionContext,
                 formatter,
                 remainingRequestTokens,
-                false
+                false,
+                userQuery
             ));
         }
 
@@ -206,6 +339,6 @@ public class MetadataProcessor {
     }
 
     private MetadataProcessor() {
-
+        this.descriptionCache = MetadataDescriptionCache.getInstance();
     }
 }
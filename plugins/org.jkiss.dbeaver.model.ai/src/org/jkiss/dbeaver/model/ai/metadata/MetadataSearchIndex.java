@@ -0,0 +1,192 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Local lexical index of metadata objects.
+ * Ranks documents against a free-text query using Okapi BM25.
+ * Object names get extra weight because users usually mention tables by name.
+ */
+public class MetadataSearchIndex<T> {
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+
+    private static class Document<T> {
+        final T object;
+        final Map<String, Integer> termFrequencies;
+        final int length;
+
+        Document(T object, Map<String, Integer> termFrequencies, int length) {
+            this.object = object;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+    }
+
+    public static class Hit<T> {
+        private final T object;
+        private final double score;
+
+        Hit(T object, double score) {
+            this.object = object;
+            this.score = score;
+        }
+
+        @NotNull
+        public T getObject() {
+            return object;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return object + ":" + score;
+        }
+    }
+
+    private final List<Document<T>> documents = new ArrayList<>();
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Adds document to the index.
+     *
+     * @param object  indexed object
+     * @param name    object name, weighted higher than other text
+     * @param text    additional text (column names, comments, etc)
+     */
+    public void addDocument(@NotNull T object, @NotNull String name, @Nullable String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        int length = 0;
+        List<String> nameTerms = tokenize(name);
+        for (int i = 0; i < NAME_WEIGHT; i++) {
+            for (String term : nameTerms) {
+                tf.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+        if (!CommonUtils.isEmpty(text)) {
+            for (String term : tokenize(text)) {
+                tf.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+        for (String term : tf.keySet()) {
+            documentFrequencies.merge(term, 1, Integer::sum);
+        }
+        documents.add(new Document<>(object, tf, length));
+        totalLength += length;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns documents matching the query ordered by relevance (best first).
+     * Documents which do not contain any query term are not returned.
+     */
+    @NotNull
+    public List<Hit<T>> search(@NotNull String query, int maxResults) {
+        if (documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        double avgLength = (double) totalLength / documents.size();
+        List<Hit<T>> hits = new ArrayList<>();
+        for (Document<T> doc : documents) {
+            double score = 0;
+            for (String term : queryTerms) {
+                Integer freq = doc.termFrequencies.get(term);
+                if (freq == null) {
+                    continue;
+                }
+                double idf = getInverseDocumentFrequency(term);
+                double norm = BM25_K1 * (1 - BM25_B + BM25_B * doc.length / avgLength);
+                score += idf * (freq * (BM25_K1 + 1)) / (freq + norm);
+            }
+            if (score > 0) {
+                hits.add(new Hit<>(doc.object, score));
+            }
+        }
+        hits.sort(Comparator.comparingDouble((Hit<T> h) -> h.score).reversed());
+        if (maxResults > 0 && hits.size() > maxResults) {
+            return new ArrayList<>(hits.subList(0, maxResults));
+        }
+        return hits;
+    }
+
+    private double getInverseDocumentFrequency(String term) {
+        int df = documentFrequencies.getOrDefault(term, 0);
+        return Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+    }
+
+    /**
+     * Splits text into lower-case terms.
+     * Identifiers are split by underscores and camel case (e.g. orderItems -> order, item).
+     */
+    @NotNull
+    static List<String> tokenize(@NotNull String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        char prev = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (!word.isEmpty() && Character.isUpperCase(c) && Character.isLowerCase(prev)) {
+                    addTerm(terms, word);
+                }
+                word.append(c);
+            } else {
+                addTerm(terms, word);
+            }
+            prev = c;
+        }
+        addTerm(terms, word);
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder word) {
+        if (word.isEmpty()) {
+            return;
+        }
+        String term = word.toString().toLowerCase(Locale.ENGLISH);
+        word.setLength(0);
+        // Trivial plural stemming: customers -> customer, addresses -> address
+        if (term.length() > 4 && term.endsWith("es") && (term.endsWith("sses") || term.endsWith("xes"))) {
+            term = term.substring(0, term.length() - 2);
+        } else if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss") && !term.endsWith("us")) {
+            term = term.substring(0, term.length() - 1);
+        }
+        terms.add(term);
+    }
+
+}
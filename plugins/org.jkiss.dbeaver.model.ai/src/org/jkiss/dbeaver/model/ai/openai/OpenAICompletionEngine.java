@@ -33,16 +33,12 @@ import org.jkiss.dbeaver.model.ai.AIConstants;
 import org.jkiss.dbeaver.model.ai.AIEngineSettings;
 import org.jkiss.dbeaver.model.ai.AISettingsRegistry;
 import org.jkiss.dbeaver.model.ai.completion.AbstractAICompletionEngine;
-import org.jkiss.dbeaver.model.ai.completion.DAICompletionContext;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionMessage;
-import org.jkiss.dbeaver.model.ai.format.IAIFormatter;
-import org.jkiss.dbeaver.model.ai.metadata.MetadataProcessor;
 import org.jkiss.dbeaver.model.ai.openai.service.AdaptedOpenAiService;
 import org.jkiss.dbeaver.model.ai.openai.service.GPTCompletionAdapter;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
@@ -136,56 +132,9 @@ public class OpenAICompletionEngine extends AbstractAICompletionEngine<GPTComple
         return clientInstances;
     }
 
-    /**
-     * Request completion from GPT API uses parameters from {@link AIConstants} for model settings\
-     * Adds current schema metadata to starting query
-     *
-     * @param monitor execution monitor
-     * @param context completion context
-     * @param messages request messages
-     * @return resulting string
-     */
-    @Nullable
-    protected String requestCompletion(
-        @NotNull DBRProgressMonitor monitor,
-        @NotNull DAICompletionContext context,
-        @NotNull List<DAICompletionMessage> messages,
-        @NotNull IAIFormatter formatter,
-        boolean chatCompletion
-    ) throws DBException {
-        final DBCExecutionContext executionContext = context.getExecutionContext();
-        DBSObjectContainer mainObject = getScopeObject(context, executionContext);
-
-        final DAICompletionMessage metadataMessage = MetadataProcessor.INSTANCE.createMetadataMessage(
-            monitor,
-            context,
-            mainObject,
-            formatter,
-            getInstructions(chatCompletion),
-            getMaxTokens() - AIConstants.MAX_RESPONSE_TOKENS
-        );
-
-        final List<DAICompletionMessage> mergedMessages = new ArrayList<>();
-        mergedMessages.add(metadataMessage);
-        mergedMessages.addAll(messages);
-
-        if (monitor.isCanceled()) {
-            return "";
-        }
-
-        GPTCompletionAdapter service = getServiceInstance(executionContext);
-        Object completionRequest = createCompletionRequest(chatCompletion, mergedMessages);
-        String completionText = callCompletion(monitor, chatCompletion, mergedMessages, service, completionRequest);
-
-        return processCompletion(
-            mergedMessages,
-            monitor,
-            executionContext,
-            mainObject,
-            completionText,
-            formatter,
-            getModel().isChatAPI()
-        );
+    @Override
+    protected boolean isChatAPI() {
+        return getModel().isChatAPI();
     }
 
     protected int getMaxTokens() {
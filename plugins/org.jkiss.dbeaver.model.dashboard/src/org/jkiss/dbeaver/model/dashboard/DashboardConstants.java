@@ -22,6 +22,9 @@ package org.jkiss.dbeaver.model.dashboard;
 public class DashboardConstants {
 
     public static final String PREF_OPEN_SEPARATE_CONNECTION = "dashboard.openSeparateConnection";
+    public static final String PREF_PERSIST_HISTORY = "dashboard.persistHistory";
+
+    public static final String HISTORY_FILE_NAME = "dashboard-history.dat"; //$NON-NLS-1$
 
     public static final String DS_PROP_DASHBOARDS = "dashboards";
 
@@ -0,0 +1,365 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.jkiss.code.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Time series of a single dashboard value.
+ * Raw values are kept in a fixed-size ring buffer of primitives.
+ * Older history is downsampled into per-minute and per-hour averages which are kept in their own ring buffers.
+ */
+public class DashboardTimeSeries {
+
+    // Half of hour of per-second updates (default dashboard maximum age)
+    public static final int RAW_CAPACITY = 1800;
+    // One day
+    public static final int MINUTE_CAPACITY = 24 * 60;
+    // One month
+    public static final int HOUR_CAPACITY = 31 * 24;
+
+    public enum Resolution {
+        RAW(0),
+        MINUTE(60 * 1000),
+        HOUR(60 * 60 * 1000);
+
+        private final long period;
+
+        Resolution(long period) {
+            this.period = period;
+        }
+
+        /**
+         * Bucket length in ms. Zero for raw values.
+         */
+        public long getPeriod() {
+            return period;
+        }
+    }
+
+    /**
+     * Values of the requested time range
+     */
+    public static class Points {
+        private final Resolution resolution;
+        private final long[] timestamps;
+        private final double[] values;
+
+        Points(Resolution resolution, long[] timestamps, double[] values) {
+            this.resolution = resolution;
+            this.timestamps = timestamps;
+            this.values = values;
+        }
+
+        @NotNull
+        public Resolution getResolution() {
+            return resolution;
+        }
+
+        public int getSize() {
+            return timestamps.length;
+        }
+
+        public long getTimestamp(int index) {
+            return timestamps[index];
+        }
+
+        public double getValue(int index) {
+            return values[index];
+        }
+    }
+
+    private static class Ring {
+        private final long[] timestamps;
+        private final double[] values;
+        private int start;
+        private int size;
+
+        Ring(int capacity) {
+            timestamps = new long[capacity];
+            values = new double[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long getTimestamp(int index) {
+            return timestamps[(start + index) % timestamps.length];
+        }
+
+        double getValue(int index) {
+            return values[(start + index) % values.length];
+        }
+
+        void add(long timestamp, double value) {
+            int pos;
+            if (size < timestamps.length) {
+                pos = (start + size) % timestamps.length;
+                size++;
+            } else {
+                // Overwrite the oldest value
+                pos = start;
+                start = (start + 1) % timestamps.length;
+            }
+            timestamps[pos] = timestamp;
+            values[pos] = value;
+        }
+
+        void setLastValue(double value) {
+            values[(start + size - 1) % values.length] = value;
+        }
+
+        /**
+         * Index of the first value with timestamp >= the specified one
+         */
+        int lowerBound(long timestamp) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getTimestamp(mid) < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void clear() {
+            start = 0;
+            size = 0;
+        }
+
+        void write(DataOutput out) throws IOException {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(getTimestamp(i));
+                out.writeDouble(getValue(i));
+            }
+        }
+
+        void read(DataInput in) throws IOException {
+            clear();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                add(in.readLong(), in.readDouble());
+            }
+        }
+    }
+
+    /**
+     * Not yet completed downsampling bucket
+     */
+    private static class Bucket {
+        private final Resolution resolution;
+        private final Ring target;
+        private long start = -1;
+        private double sum;
+        private int count;
+
+        Bucket(Resolution resolution, Ring target) {
+            this.resolution = resolution;
+            this.target = target;
+        }
+
+        void add(long timestamp, double value) {
+            long bucketStart = timestamp - Math.floorMod(timestamp, resolution.getPeriod());
+            if (bucketStart != start) {
+                if (count > 0) {
+                    target.add(start, sum / count);
+                }
+                start = bucketStart;
+                sum = 0;
+                count = 0;
+            }
+            sum += value;
+            count++;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        double getAverage() {
+            return sum / count;
+        }
+
+        void clear() {
+            start = -1;
+            sum = 0;
+            count = 0;
+        }
+
+        void write(DataOutput out) throws IOException {
+            out.writeLong(start);
+            out.writeDouble(sum);
+            out.writeInt(count);
+        }
+
+        void read(DataInput in) throws IOException {
+            start = in.readLong();
+            sum = in.readDouble();
+            count = in.readInt();
+        }
+    }
+
+    private final String name;
+    private final Ring rawValues = new Ring(RAW_CAPACITY);
+    private final Ring minuteValues = new Ring(MINUTE_CAPACITY);
+    private final Ring hourValues = new Ring(HOUR_CAPACITY);
+    private final Bucket minuteBucket = new Bucket(Resolution.MINUTE, minuteValues);
+    private final Bucket hourBucket = new Bucket(Resolution.HOUR, hourValues);
+
+    public DashboardTimeSeries(@NotNull String name) {
+        this.name = name;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public synchronized boolean isEmpty() {
+        return rawValues.size() == 0 && minuteValues.size() == 0 && hourValues.size() == 0;
+    }
+
+    public synchronized long getLastTimestamp() {
+        return rawValues.size() == 0 ? -1 : rawValues.getTimestamp(rawValues.size() - 1);
+    }
+
+    /**
+     * Adds a new value. Values with the same timestamp as the last one replace it, older values are ignored.
+     */
+    public synchronized void addValue(long timestamp, double value) {
+        int rawCount = rawValues.size();
+        if (rawCount > 0) {
+            long lastTimestamp = rawValues.getTimestamp(rawCount - 1);
+            if (timestamp < lastTimestamp) {
+                return;
+            }
+            if (timestamp == lastTimestamp) {
+                double delta = value - rawValues.getValue(rawCount - 1);
+                rawValues.setLastValue(value);
+                minuteBucket.sum += delta;
+                hourBucket.sum += delta;
+                return;
+            }
+        }
+        rawValues.add(timestamp, value);
+        minuteBucket.add(timestamp, value);
+        hourBucket.add(timestamp, value);
+    }
+
+    /**
+     * Returns values of the specified time range.
+     * The most detailed resolution which covers the range start and fits into the maximum number of points is used.
+     *
+     * @param maxPoints maximum number of returned points or 0 for unlimited
+     */
+    @NotNull
+    public synchronized Points getValues(long from, long to, int maxPoints) {
+        if (covers(rawValues, from, minuteValues, hourValues) && fits(rawValues, null, from, to, maxPoints)) {
+            return collect(Resolution.RAW, rawValues, null, from, to, maxPoints);
+        }
+        if (covers(minuteValues, from, hourValues) && fits(minuteValues, minuteBucket, from, to, maxPoints)) {
+            return collect(Resolution.MINUTE, minuteValues, minuteBucket, from, to, maxPoints);
+        }
+        return collect(Resolution.HOUR, hourValues, hourBucket, from, to, maxPoints);
+    }
+
+    public synchronized void clear() {
+        rawValues.clear();
+        minuteValues.clear();
+        hourValues.clear();
+        minuteBucket.clear();
+        hourBucket.clear();
+    }
+
+    private static boolean covers(Ring ring, long from, Ring... coarser) {
+        if (ring.size() > 0 && ring.getTimestamp(0) <= from) {
+            return true;
+        }
+        // Coarser resolutions don't have anything older
+        for (Ring c : coarser) {
+            if (c.size() > 0 && (ring.size() == 0 || c.getTimestamp(0) < ring.getTimestamp(0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fits(Ring ring, Bucket pending, long from, long to, int maxPoints) {
+        if (maxPoints <= 0) {
+            return true;
+        }
+        int count = ring.lowerBound(to + 1) - ring.lowerBound(from);
+        if (pending != null && !pending.isEmpty()) {
+            count++;
+        }
+        return count <= maxPoints;
+    }
+
+    private static Points collect(Resolution resolution, Ring ring, Bucket pending, long from, long to, int maxPoints) {
+        int first = ring.lowerBound(from);
+        int last = ring.lowerBound(to + 1);
+        boolean addPending = pending != null && !pending.isEmpty() && pending.start >= from && pending.start <= to;
+        int count = last - first + (addPending ? 1 : 0);
+        if (maxPoints > 0 && count > maxPoints) {
+            // Keep the most recent points
+            first += count - maxPoints;
+            count = maxPoints;
+        }
+        long[] timestamps = new long[count];
+        double[] values = new double[count];
+        int pos = 0;
+        for (int i = first; i < last; i++, pos++) {
+            timestamps[pos] = ring.getTimestamp(i);
+            values[pos] = ring.getValue(i);
+        }
+        if (addPending) {
+            timestamps[pos] = pending.start;
+            values[pos] = pending.getAverage();
+        }
+        return new Points(resolution, timestamps, values);
+    }
+
+    synchronized void write(@NotNull DataOutput out) throws IOException {
+        out.writeUTF(name);
+        rawValues.write(out);
+        minuteValues.write(out);
+        hourValues.write(out);
+        minuteBucket.write(out);
+        hourBucket.write(out);
+    }
+
+    @NotNull
+    static DashboardTimeSeries read(@NotNull DataInput in) throws IOException {
+        DashboardTimeSeries series = new DashboardTimeSeries(in.readUTF());
+        series.rawValues.read(in);
+        series.minuteValues.read(in);
+        series.hourValues.read(in);
+        series.minuteBucket.read(in);
+        series.hourBucket.read(in);
+        return series;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard time series history.
+ * Series are grouped by dashboard key (data source and dashboard identifiers) and survive dashboard view re-opening.
+ * History may be saved to and loaded from a file to keep it across restarts.
+ */
+public class DashboardTimeSeriesStore {
+
+    private static final Log log = Log.getLog(DashboardTimeSeriesStore.class);
+
+    private static final int FILE_MAGIC = 0x44425453; // DBTS
+    private static final int FILE_VERSION = 1;
+
+    private static final DashboardTimeSeriesStore INSTANCE = new DashboardTimeSeriesStore();
+
+    public static DashboardTimeSeriesStore getInstance() {
+        return INSTANCE;
+    }
+
+    private final Map<String, Map<String, DashboardTimeSeries>> dashboards = new LinkedHashMap<>();
+
+    /**
+     * Returns series of the dashboard. Creates a new one if it doesn't exist yet.
+     */
+    @NotNull
+    public synchronized DashboardTimeSeries getSeries(@NotNull String dashboardKey, @NotNull String seriesName) {
+        return dashboards
+            .computeIfAbsent(dashboardKey, k -> new LinkedHashMap<>())
+            .computeIfAbsent(seriesName, DashboardTimeSeries::new);
+    }
+
+    /**
+     * Returns all series of the dashboard in order of their creation
+     */
+    @NotNull
+    public synchronized List<DashboardTimeSeries> getDashboardSeries(@NotNull String dashboardKey) {
+        Map<String, DashboardTimeSeries> series = dashboards.get(dashboardKey);
+        return series == null ? List.of() : new ArrayList<>(series.values());
+    }
+
+    public synchronized void resetDashboard(@NotNull String dashboardKey) {
+        dashboards.remove(dashboardKey);
+    }
+
+    public synchronized void load(@NotNull Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Bad dashboard history file format");
+            }
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                log.debug("Unsupported dashboard history version " + version + ". History is ignored.");
+                return;
+            }
+            dashboards.clear();
+            int dashboardCount = in.readInt();
+            for (int i = 0; i < dashboardCount; i++) {
+                String dashboardKey = in.readUTF();
+                int seriesCount = in.readInt();
+                Map<String, DashboardTimeSeries> seriesMap = new LinkedHashMap<>();
+                for (int k = 0; k < seriesCount; k++) {
+                    DashboardTimeSeries series = DashboardTimeSeries.read(in);
+                    seriesMap.put(series.getName(), series);
+                }
+                dashboards.put(dashboardKey, seriesMap);
+            }
+        }
+    }
+
+    public synchronized void save(@NotNull Path file) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            List<Map.Entry<String, List<DashboardTimeSeries>>> toSave = new ArrayList<>();
+            for (Map.Entry<String, Map<String, DashboardTimeSeries>> entry : dashboards.entrySet()) {
+                List<DashboardTimeSeries> series = new ArrayList<>();
+                for (DashboardTimeSeries s : entry.getValue().values()) {
+                    if (!s.isEmpty()) {
+                        series.add(s);
+                    }
+                }
+                if (!series.isEmpty()) {
+                    toSave.add(Map.entry(entry.getKey(), series));
+                }
+            }
+            out.writeInt(toSave.size());
+            for (Map.Entry<String, List<DashboardTimeSeries>> entry : toSave) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (DashboardTimeSeries series : entry.getValue()) {
+                    series.write(out);
+                }
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+}
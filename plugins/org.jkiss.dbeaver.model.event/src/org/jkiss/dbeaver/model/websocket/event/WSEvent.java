@@ -40,4 +40,14 @@ public interface WSEvent {
     default boolean isForceProcessed() {
         return false;
     }
+
+    /**
+     * Key of the object this event is about.
+     * A queued event with the same id, session, user and coalescing key is replaced by the latest one in place.
+     * Null means that event is never coalesced.
+     */
+    @Nullable
+    default String getCoalescingKey() {
+        return null;
+    }
 }
@@ -19,23 +19,49 @@ package org.jkiss.dbeaver.model.websocket.event;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.websocket.WSEventHandler;
 import org.jkiss.dbeaver.model.websocket.registry.WSEventHandlersRegistry;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Dispatches events to the registered handlers.
+ * <p>
+ * Each topic has its own queue which is dispatched by a separate job, so topics are processed in parallel
+ * while events of the same topic are handled in the order they were added.
+ * The job is started by the first event added to an empty queue and waits for the max batch delay
+ * to collect bursts. A queued event is replaced in place by a later event with the same coalescing key
+ * unless other events of the same object were queued after it.
+ * <p>
+ * Calls of the same handler instance are serialized, so a handler subscribed to several topics
+ * never handles two events at once.
+ */
 public class WSEventController {
     private static final Log log = Log.getLog(WSEventController.class);
 
+    public static final long DEFAULT_MAX_BATCH_DELAY = 50;
+
     private final Map<String, List<WSEventHandler>> eventHandlersByType = new HashMap<>();
+    // Events added before dispatching is started
     protected final List<WSEvent> eventsPool = new ArrayList<>();
-    private boolean forceSkipEvents = false;
+    private final Map<String, TopicQueue> topicQueues = new HashMap<>();
+    private volatile boolean forceSkipEvents = false;
+    private boolean started = false;
+    private volatile long maxBatchDelay = DEFAULT_MAX_BATCH_DELAY;
+
+    // Statistics
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private final AtomicLong dispatchedEvents = new AtomicLong();
+    private final AtomicLong coalescedEvents = new AtomicLong();
+    private final AtomicLong handlerCalls = new AtomicLong();
+    private final AtomicLong handlerTimeNanos = new AtomicLong();
+    private final AtomicLong maxHandlerTimeNanos = new AtomicLong();
 
     public WSEventController() {
 
@@ -43,12 +69,17 @@ public class WSEventController {
 
         eventHandlerDescriptors.forEach(descriptor -> {
             var handler = descriptor.getInstance();
-            descriptor.getSupportedTopics().forEach(
-                topic -> eventHandlersByType.computeIfAbsent(topic, x -> new ArrayList<>()).add(handler)
-            );
+            descriptor.getSupportedTopics().forEach(topic -> addEventHandler(topic, handler));
         });
     }
 
+    /**
+     * Registers event handler of the topic. Must be called before events dispatching is started.
+     */
+    protected void addEventHandler(@NotNull String topicId, @NotNull WSEventHandler handler) {
+        eventHandlersByType.computeIfAbsent(topicId, x -> new ArrayList<>()).add(handler);
+    }
+
     /**
      * Add cb event to the event pool
      */
@@ -57,15 +88,35 @@ public class WSEventController {
             return;
         }
         synchronized (eventsPool) {
-            eventsPool.add(event);
+            if (!started) {
+                eventsPool.add(event);
+                return;
+            }
         }
+        queueEvent(event);
     }
 
     /**
-     * Add cb event to the event pool
+     * Starts events dispatching. Events added before the start are dispatched right away.
      */
     public void scheduleCheckJob() {
-        new CBEventCheckJob().schedule();
+        List<WSEvent> events;
+        synchronized (eventsPool) {
+            started = true;
+            events = List.copyOf(eventsPool);
+            eventsPool.clear();
+        }
+        for (WSEvent event : events) {
+            queueEvent(event);
+        }
+    }
+
+    private void queueEvent(@NotNull WSEvent event) {
+        TopicQueue queue;
+        synchronized (topicQueues) {
+            queue = topicQueues.computeIfAbsent(event.getTopicId(), TopicQueue::new);
+        }
+        queue.add(event);
     }
 
     /**
@@ -75,41 +126,165 @@ public class WSEventController {
         this.forceSkipEvents = forceSkipEvents;
     }
 
+    /**
+     * Sets the maximum time (in ms) events wait in the queue to be dispatched together with the following events
+     */
+    public void setMaxBatchDelay(long maxBatchDelay) {
+        this.maxBatchDelay = Math.max(0, maxBatchDelay);
+    }
+
+    /**
+     * Number of events waiting for dispatch
+     */
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
 
-    private class CBEventCheckJob extends AbstractJob {
-        private static final long CHECK_PERIOD = 1000;
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
 
-        protected CBEventCheckJob() {
-            super("CloudBeaver events job");
-            setUser(false);
-            setSystem(true);
+    public long getDispatchedEventCount() {
+        return dispatchedEvents.get();
+    }
+
+    /**
+     * Number of events which were replaced by later events with the same coalescing key
+     */
+    public long getCoalescedEventCount() {
+        return coalescedEvents.get();
+    }
+
+    /**
+     * Average time of a single handler call in ms
+     */
+    public double getAverageHandlerLatency() {
+        long calls = handlerCalls.get();
+        return calls == 0 ? 0 : handlerTimeNanos.get() / (calls * 1_000_000.0);
+    }
+
+    /**
+     * Maximum time of a single handler call in ms
+     */
+    public double getMaxHandlerLatency() {
+        return maxHandlerTimeNanos.get() / 1_000_000.0;
+    }
+
+    private void handleEvent(@NotNull WSEvent event) {
+        for (WSEventHandler handler : eventHandlersByType.getOrDefault(event.getTopicId(), List.of())) {
+            // Handlers are not required to be thread-safe, while topics are dispatched in parallel
+            synchronized (handler) {
+                long startTime = System.nanoTime();
+                try {
+                    handler.handleEvent(event);
+                } catch (Exception e) {
+                    log.error(
+                        "Error on event handle " + event.getTopicId(),
+                        e
+                    );
+                }
+                long handlerTime = System.nanoTime() - startTime;
+                handlerCalls.incrementAndGet();
+                handlerTimeNanos.addAndGet(handlerTime);
+                maxHandlerTimeNanos.accumulateAndGet(handlerTime, Math::max);
+            }
         }
+        dispatchedEvents.incrementAndGet();
+    }
 
-        @Override
-        protected IStatus run(DBRProgressMonitor monitor) {
-            List<WSEvent> events;
+    private record CoalescingKey(
+        @NotNull String eventId,
+        @Nullable String sessionId,
+        @Nullable String userId,
+        @NotNull String objectKey
+    ) {
+    }
+
+    /**
+     * Last queued event of an object and its position in the queue
+     */
+    private record QueuedObjectEvent(
+        @NotNull CoalescingKey key,
+        @NotNull Object position
+    ) {
+    }
+
+    /**
+     * Events of a single topic
+     */
+    private class TopicQueue {
+        // Queued events by their unique positions
+        private final LinkedHashMap<Object, WSEvent> events = new LinkedHashMap<>();
+        // Only the last queued event of an object may be replaced, otherwise the order of object events changes
+        private final Map<String, QueuedObjectEvent> lastObjectEvents = new HashMap<>();
+        private final TopicDispatchJob dispatchJob;
+        private boolean scheduled;
 
-            synchronized (eventsPool) {
-                events = List.copyOf(eventsPool);
-                eventsPool.clear();
+        TopicQueue(@NotNull String topicId) {
+            this.dispatchJob = new TopicDispatchJob(this, topicId);
+        }
+
+        void add(@NotNull WSEvent event) {
+            String objectKey = event.getCoalescingKey();
+            CoalescingKey key = objectKey == null ?
+                null :
+                new CoalescingKey(event.getId(), event.getSessionId(), event.getUserId(), objectKey);
+            synchronized (this) {
+                QueuedObjectEvent lastEvent = key == null ? null : lastObjectEvents.get(objectKey);
+                if (lastEvent != null && lastEvent.key().equals(key)) {
+                    // Coalesced event takes the place of the queued one
+                    events.put(lastEvent.position(), event);
+                    coalescedEvents.incrementAndGet();
+                } else {
+                    Object position = new Object();
+                    events.put(position, event);
+                    if (key != null) {
+                        lastObjectEvents.put(objectKey, new QueuedObjectEvent(key, position));
+                    }
+                    maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+                }
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
             }
+            dispatchJob.schedule(maxBatchDelay);
+        }
+
+        /**
+         * Returns queued events or null if queue is empty. Dispatch is finished in the latter case.
+         */
+        @Nullable
+        synchronized List<WSEvent> takeEvents() {
             if (events.isEmpty()) {
-                schedule(CHECK_PERIOD);
-                return Status.OK_STATUS;
+                scheduled = false;
+                return null;
             }
-            for (WSEvent event : events) {
-                eventHandlersByType.getOrDefault(event.getTopicId(), List.of()).forEach(handler -> {
-                    try {
-                        handler.handleEvent(event);
-                    } catch (Exception e) {
-                        log.error(
-                            "Error on event handle " + event.getTopicId(),
-                            e
-                        );
-                    }
-                });
+            List<WSEvent> result = new ArrayList<>(events.values());
+            events.clear();
+            lastObjectEvents.clear();
+            queueDepth.addAndGet(-result.size());
+            return result;
+        }
+    }
+
+    private class TopicDispatchJob extends AbstractJob {
+        private final TopicQueue queue;
+
+        TopicDispatchJob(@NotNull TopicQueue queue, @NotNull String topicId) {
+            super("CloudBeaver events job (" + topicId + ")");
+            this.queue = queue;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            for (List<WSEvent> events = queue.takeEvents(); events != null; events = queue.takeEvents()) {
+                for (WSEvent event : events) {
+                    handleEvent(event);
+                }
             }
-            schedule(CHECK_PERIOD);
             return Status.OK_STATUS;
         }
     }
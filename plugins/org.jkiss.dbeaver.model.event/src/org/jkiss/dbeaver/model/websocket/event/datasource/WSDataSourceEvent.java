@@ -102,4 +102,10 @@ public class WSDataSourceEvent extends WSProjectResourceEvent {
     public WSDataSourceProperty getProperty() {
         return property;
     }
+
+    @NotNull
+    @Override
+    public String getCoalescingKey() {
+        return getProjectId() + "/" + property + "/" + String.join(",", dataSourceIds);
+    }
 }
@@ -124,4 +124,11 @@ public class WSResourceUpdatedEvent extends WSProjectResourceEvent {
     public String getDetails() {
         return details;
     }
+
+    @Nullable
+    @Override
+    public String getCoalescingKey() {
+        // Details may differ for the same resource (e.g. changed properties)
+        return details == null ? projectId + "/" + property + "/" + resourcePath : null;
+    }
 }
@@ -200,35 +200,26 @@ public class JDBCContentBLOB extends JDBCContentLOB {
                     }
                 }
             } else if (blob != null) {
-                try {
-                    if (columnType.getDataKind() == DBPDataKind.BINARY) {
-                        preparedStatement.setBinaryStream(paramIndex, blob.getBinaryStream());
-                    } else {
+                boolean bound = false;
+                if (columnType.getDataKind() != DBPDataKind.BINARY && isSameConnection(session)) {
+                    try {
                         preparedStatement.setBlob(paramIndex, blob);
+                        bound = true;
+                    } catch (Throwable e) {
+                        log.debug("Error binding BLOB locator, bind its stream: " + e.getMessage());
                     }
                 }
-                catch (Throwable e0) {
-                    // Write new blob value
+                if (!bound) {
+                    // Pipe source stream directly into the statement, do not copy it into local storage
                     releaseTempStream();
                     tmpStream = blob.getBinaryStream();
                     try {
-                        preparedStatement.setBinaryStream(paramIndex, tmpStream);
-                    }
-                    catch (Throwable e) {
-                        if (e instanceof SQLException) {
-                            throw (SQLException)e;
-                        } else {
-                            try {
-                                preparedStatement.setBinaryStream(paramIndex, tmpStream, blob.length());
-                            }
-                            catch (Throwable e1) {
-                                if (e1 instanceof SQLException) {
-                                    throw (SQLException)e1;
-                                } else {
-                                    preparedStatement.setBinaryStream(paramIndex, tmpStream, (int)blob.length());
-                                }
-                            }
-                        }
+                        bindBinaryStream(preparedStatement, paramIndex, tmpStream, blob.length());
+                    } catch (SQLFeatureNotSupportedException e) {
+                        // Streams are not supported by the driver. Read the whole content and bind it as bytes.
+                        releaseTempStream();
+                        getContents(session.getProgressMonitor());
+                        bindParameter(session, preparedStatement, columnType, paramIndex);
                     }
                 }
             } else {
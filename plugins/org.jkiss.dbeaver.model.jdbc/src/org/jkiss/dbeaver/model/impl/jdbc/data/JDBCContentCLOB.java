@@ -202,7 +202,21 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
                     }
                 }
             } else if (clob != null) {
-                preparedStatement.setClob(paramIndex, clob);
+                if (isSameConnection(session)) {
+                    preparedStatement.setClob(paramIndex, clob);
+                } else {
+                    // Pipe source reader directly into the statement, do not copy it into local storage
+                    releaseTempStream();
+                    tmpReader = clob.getCharacterStream();
+                    try {
+                        bindCharacterStream(preparedStatement, paramIndex, tmpReader, clob.length());
+                    } catch (SQLFeatureNotSupportedException e) {
+                        // Streams are not supported by the driver. Read the whole content and bind it from storage.
+                        releaseTempStream();
+                        getContents(session.getProgressMonitor());
+                        bindParameter(session, preparedStatement, columnType, paramIndex);
+                    }
+                }
             } else {
                 preparedStatement.setNull(paramIndex, java.sql.Types.CLOB);
             }
@@ -24,12 +24,18 @@ import org.jkiss.dbeaver.model.data.DBDValueCloneable;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 
 /**
  * JDBCContentLOB
@@ -121,6 +127,68 @@ public abstract class JDBCContentLOB extends JDBCContentAbstract implements DBDC
 
     protected abstract JDBCContentLOB createNewContent();
 
+    /**
+     * Checks whether LOB was read by the same connection as the statement it is bound to.
+     * LOB locators can't be passed to the statements of other connections (e.g. in data transfer).
+     */
+    protected boolean isSameConnection(@NotNull JDBCSession session) {
+        return session.getExecutionContext() == executionContext;
+    }
+
+    /**
+     * Pipes LOB stream into the statement without a local copy.
+     * Stream length is passed only if the driver doesn't support streams of unknown length.
+     *
+     * @throws SQLFeatureNotSupportedException if the driver doesn't support binary streams at all
+     */
+    static void bindBinaryStream(
+        @NotNull JDBCPreparedStatement statement,
+        int paramIndex,
+        @NotNull InputStream stream,
+        long length
+    ) throws SQLException {
+        try {
+            statement.setBinaryStream(paramIndex, stream);
+        } catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e) {
+            try {
+                statement.setBinaryStream(paramIndex, stream, length);
+            } catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e1) {
+                try {
+                    statement.setBinaryStream(paramIndex, stream, (int) length);
+                } catch (UnsupportedOperationException | IncompatibleClassChangeError e2) {
+                    throw new SQLFeatureNotSupportedException("Binary streams are not supported", e2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pipes LOB reader into the statement without a local copy.
+     * Reader length is passed only if the driver doesn't support readers of unknown length.
+     *
+     * @throws SQLFeatureNotSupportedException if the driver doesn't support character streams at all
+     */
+    static void bindCharacterStream(
+        @NotNull JDBCPreparedStatement statement,
+        int paramIndex,
+        @NotNull Reader reader,
+        long length
+    ) throws SQLException {
+        try {
+            statement.setCharacterStream(paramIndex, reader);
+        } catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e) {
+            try {
+                statement.setCharacterStream(paramIndex, reader, length);
+            } catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e1) {
+                try {
+                    statement.setCharacterStream(paramIndex, reader, (int) length);
+                } catch (UnsupportedOperationException | IncompatibleClassChangeError e2) {
+                    throw new SQLFeatureNotSupportedException("Character streams are not supported", e2);
+                }
+            }
+        }
+    }
+
     void handleContentReadingException(DBCException e) throws DBCException {
         DBCTransactionManager transactionManager = DBUtils.getTransactionManager(executionContext);
         boolean errorMessageIsShown = CommonUtils.toBoolean(
@@ -20,10 +20,12 @@ import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBPContextWithAttributes;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
@@ -191,7 +193,8 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
         } else if (object instanceof Blob) {
             final JDBCContentBLOB blob = new JDBCContentBLOB(session.getExecutionContext(), (Blob) object);
             final DBPPreferenceStore preferenceStore = session.getDataSource().getContainer().getPreferenceStore();
-            if (preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_BLOB) &&
+            if (isContentPrecacheEnabled(session) &&
+                preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_BLOB) &&
                 blob.getLOBLength() < preferenceStore.getLong(ModelPreferences.CONTENT_CACHE_MAX_SIZE))
             {
                 // Precache content
@@ -201,7 +204,8 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
         } else if (object instanceof Clob) {
             JDBCContentCLOB clob = new JDBCContentCLOB(session.getExecutionContext(), (Clob) object);
             final DBPPreferenceStore preferenceStore = session.getDataSource().getContainer().getPreferenceStore();
-            if (preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_CLOB) &&
+            if (isContentPrecacheEnabled(session) &&
+                preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_CLOB) &&
                 clob.getLOBLength() < preferenceStore.getLong(ModelPreferences.CONTENT_CACHE_MAX_SIZE))
             {
                 // Precache content
@@ -245,6 +249,14 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
         }
     }
 
+    private static boolean isContentPrecacheEnabled(@NotNull DBCSession session) {
+        // Data transfer without batches binds each LOB before the next row is fetched, so it is streamed.
+        // Batched rows are bound later and need their own copy of the value.
+        return session.getPurpose() != DBCExecutionPurpose.UTIL ||
+            !(session instanceof DBPContextWithAttributes attributes) ||
+            !Boolean.TRUE.equals(attributes.getContextAttribute(DBDContent.ATTR_STREAM_CONTENTS));
+    }
+
     @NotNull
     @Override
     public String getValueDisplayString(@NotNull DBSTypedObject column, Object value, @NotNull DBDDisplayFormat format)
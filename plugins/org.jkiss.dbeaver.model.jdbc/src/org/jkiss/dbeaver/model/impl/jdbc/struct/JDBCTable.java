@@ -41,6 +41,7 @@ import org.jkiss.dbeaver.model.sql.SQLExpressionFormatter;
 import org.jkiss.dbeaver.model.sql.SQLQueryGeneratorUpdate;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.model.virtual.DBVEntity;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.utils.ArrayUtils;
@@ -1119,6 +1120,22 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         @NotNull
         @Override
         public List<DBDLabelValuePair> getValueEntry(@NotNull Object keyValue) throws DBException {
+            if (preceedingKeysInfo.isEmpty()) {
+                // Plain key lookups are shared between all editors of the connection
+                return DBVDictionaryCache.getInstance().getValueEntry(
+                    session.getProgressMonitor(),
+                    JDBCTable.this,
+                    keyColumn,
+                    keyValue,
+                    descColumns,
+                    monitor -> readValueEntry(keyValue)
+                );
+            }
+            return readValueEntry(keyValue);
+        }
+
+        @NotNull
+        private List<DBDLabelValuePair> readValueEntry(@NotNull Object keyValue) throws DBException {
             DBDDataFilter filter = new DBDDataFilter(this.filter);
             List<DBDAttributeConstraint> constraints = filter.getConstraints();
             DBDAttributeConstraint constraint = new DBDAttributeConstraint(keyColumn, constraints.size());
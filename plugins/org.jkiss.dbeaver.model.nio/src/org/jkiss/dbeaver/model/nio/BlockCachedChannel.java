@@ -0,0 +1,322 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.nio;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Seekable channel which reads file contents by fixed-size blocks on demand.
+ * Recently read blocks are kept in a bounded LRU cache. Sequential reads fetch several following blocks
+ * in a single range request, the read-ahead window grows while reads stay sequential.
+ * <p>
+ * Written data is spooled into a local temporary file which is passed to {@link #writeToFile(Path)} on close,
+ * so neither reading nor writing keeps the whole file in memory.
+ */
+public abstract class BlockCachedChannel implements SeekableByteChannel {
+
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    public static final int DEFAULT_MAX_CACHED_BLOCKS = 16;
+    public static final int DEFAULT_MAX_READ_AHEAD_BLOCKS = 8;
+
+    private final Set<? extends OpenOption> options;
+    private final int blockSize;
+    private final int maxReadAheadBlocks;
+    private final Map<Long, byte[]> blocks;
+
+    private long size;
+    private long position;
+    // Block which follows the last fetched range. Reading it means sequential access.
+    private long nextSequentialBlock = -1;
+    private int readAheadBlocks = 1;
+
+    @Nullable
+    private Path spoolFile;
+    @Nullable
+    private FileChannel spoolChannel;
+    private boolean closed;
+
+    protected BlockCachedChannel(long size, @NotNull Set<? extends OpenOption> options) {
+        this(size, options, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_CACHED_BLOCKS, DEFAULT_MAX_READ_AHEAD_BLOCKS);
+    }
+
+    /**
+     * @param size               current size of the file
+     * @param options            channel open options
+     * @param blockSize          size of a single cached block
+     * @param maxCachedBlocks    maximum number of blocks kept in memory
+     * @param maxReadAheadBlocks maximum number of blocks fetched at once during sequential reads
+     */
+    protected BlockCachedChannel(
+        long size,
+        @NotNull Set<? extends OpenOption> options,
+        int blockSize,
+        int maxCachedBlocks,
+        int maxReadAheadBlocks
+    ) {
+        if (blockSize <= 0 || maxCachedBlocks <= 0 || maxReadAheadBlocks <= 0) {
+            throw new IllegalArgumentException("Illegal block cache configuration");
+        }
+        this.options = options;
+        this.blockSize = blockSize;
+        this.maxReadAheadBlocks = Math.min(maxReadAheadBlocks, maxCachedBlocks);
+        this.blocks = new LinkedHashMap<>(maxCachedBlocks, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxCachedBlocks;
+            }
+        };
+        boolean overwrite = options.contains(StandardOpenOption.TRUNCATE_EXISTING) ||
+            options.contains(StandardOpenOption.CREATE_NEW);
+        this.size = isWritable() && overwrite ? 0 : size;
+        if (options.contains(StandardOpenOption.APPEND)) {
+            this.position = this.size;
+        }
+    }
+
+    /**
+     * Reads a range of the file. May read less bytes than requested.
+     *
+     * @return number of bytes read, 0 or -1 if nothing can be read at this position
+     */
+    protected abstract int readRange(long position, @NotNull byte[] buffer, int offset, int length) throws IOException;
+
+    protected abstract void createNewFile() throws IOException;
+
+    /**
+     * Replaces file contents with contents of the spool file.
+     */
+    protected abstract void writeToFile(@NotNull Path spoolFile) throws IOException;
+
+    protected abstract void deleteFile() throws IOException;
+
+    @Override
+    public synchronized boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Illegal position " + newPosition);
+        }
+        // Position may be set beyond the end. Reads return end of file there, writes extend the file.
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        ensureOpen();
+        return spoolChannel != null ? spoolChannel.size() : size;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (spoolChannel != null) {
+            int n = spoolChannel.read(dst, position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        int total = 0;
+        while (dst.hasRemaining() && position < size) {
+            long blockIndex = position / blockSize;
+            byte[] block = getBlock(blockIndex);
+            int offset = (int) (position - blockIndex * blockSize);
+            int n = Math.min(dst.remaining(), block.length - offset);
+            if (n <= 0) {
+                // File is shorter than expected
+                size = position;
+                break;
+            }
+            dst.put(block, offset, n);
+            position += n;
+            total += n;
+        }
+        return total == 0 ? -1 : total;
+    }
+
+    @Override
+    public synchronized int write(ByteBuffer src) throws IOException {
+        ensureOpen();
+        if (!isWritable()) {
+            throw new NonWritableChannelException();
+        }
+        FileChannel spool = openSpool();
+        if (options.contains(StandardOpenOption.APPEND)) {
+            position = spool.size();
+        }
+        int total = 0;
+        while (src.hasRemaining()) {
+            int n = spool.write(src, position);
+            position += n;
+            total += n;
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel truncate(long newSize) throws IOException {
+        ensureOpen();
+        if (!isWritable()) {
+            throw new NonWritableChannelException();
+        }
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Illegal size " + newSize);
+        }
+        if (newSize < size()) {
+            openSpool().truncate(newSize);
+        }
+        position = Math.min(position, newSize);
+        return this;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        blocks.clear();
+        try {
+            if (options.contains(StandardOpenOption.CREATE_NEW)) {
+                createNewFile();
+            }
+            if (isWritable() && (spoolChannel != null || size == 0)) {
+                // Empty spool is needed to overwrite existing contents
+                openSpool().close();
+                writeToFile(spoolFile);
+            }
+            if (options.contains(StandardOpenOption.DELETE_ON_CLOSE)) {
+                deleteFile();
+            }
+        } finally {
+            if (spoolChannel != null) {
+                spoolChannel.close();
+                spoolChannel = null;
+            }
+            if (spoolFile != null) {
+                Files.deleteIfExists(spoolFile);
+                spoolFile = null;
+            }
+        }
+    }
+
+    private boolean isWritable() {
+        return options.contains(StandardOpenOption.WRITE) || options.contains(StandardOpenOption.APPEND);
+    }
+
+    @NotNull
+    private byte[] getBlock(long blockIndex) throws IOException {
+        byte[] block = blocks.get(blockIndex);
+        if (block != null) {
+            return block;
+        }
+        if (blockIndex == nextSequentialBlock) {
+            readAheadBlocks = Math.min(readAheadBlocks * 2, maxReadAheadBlocks);
+        } else {
+            readAheadBlocks = 1;
+        }
+        long blockCount = (size + blockSize - 1) / blockSize;
+        int count = (int) Math.max(1, Math.min(readAheadBlocks, blockCount - blockIndex));
+        fetchBlocks(blockIndex, count);
+        nextSequentialBlock = blockIndex + count;
+        block = blocks.get(blockIndex);
+        return block == null ? new byte[0] : block;
+    }
+
+    private void fetchBlocks(long firstBlock, int count) throws IOException {
+        long offset = firstBlock * blockSize;
+        int length = (int) Math.min((long) count * blockSize, size - offset);
+        byte[] data = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = readRange(offset + read, data, read, length - read);
+            if (n <= 0) {
+                break;
+            }
+            read += n;
+        }
+        for (int i = 0; i < count; i++) {
+            int blockStart = i * blockSize;
+            if (blockStart >= read) {
+                break;
+            }
+            blocks.put(firstBlock + i, Arrays.copyOfRange(data, blockStart, Math.min(blockStart + blockSize, read)));
+        }
+    }
+
+    /**
+     * Opens the spool file. Current file contents are copied into it block by block unless they were truncated.
+     */
+    @NotNull
+    private FileChannel openSpool() throws IOException {
+        if (spoolChannel != null) {
+            return spoolChannel;
+        }
+        spoolFile = Files.createTempFile("dbeaver-channel-", ".spool");
+        spoolChannel = FileChannel.open(spoolFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        byte[] buffer = new byte[blockSize];
+        for (long offset = 0; offset < size; ) {
+            int n = readRange(offset, buffer, 0, (int) Math.min(blockSize, size - offset));
+            if (n <= 0) {
+                break;
+            }
+            ByteBuffer src = ByteBuffer.wrap(buffer, 0, n);
+            while (src.hasRemaining()) {
+                spoolChannel.write(src);
+            }
+            offset += n;
+        }
+        blocks.clear();
+        return spoolChannel;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+    }
+}
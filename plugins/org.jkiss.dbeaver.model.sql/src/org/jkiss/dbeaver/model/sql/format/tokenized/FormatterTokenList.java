@@ -0,0 +1,129 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Token list optimized for formatter edits.
+ * Formatter walks over tokens and inserts/removes tokens near the current position.
+ * Gap buffer makes such local edits O(1) (amortized) instead of O(n) for ArrayList,
+ * so formatting of large scripts takes linear time.
+ */
+class FormatterTokenList extends AbstractList<FormatterToken> implements RandomAccess {
+
+    private FormatterToken[] buffer;
+    private int gapStart;
+    private int gapEnd;
+
+    FormatterTokenList() {
+        this(16);
+    }
+
+    FormatterTokenList(int capacity) {
+        buffer = new FormatterToken[Math.max(capacity, 16)];
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public FormatterToken get(int index) {
+        return buffer[toBufferIndex(index)];
+    }
+
+    @Override
+    public FormatterToken set(int index, FormatterToken element) {
+        int bufferIndex = toBufferIndex(index);
+        FormatterToken oldValue = buffer[bufferIndex];
+        buffer[bufferIndex] = element;
+        return oldValue;
+    }
+
+    @Override
+    public void add(int index, FormatterToken element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        buffer[gapStart++] = element;
+        modCount++;
+    }
+
+    @Override
+    public FormatterToken remove(int index) {
+        checkIndex(index);
+        moveGap(index);
+        FormatterToken oldValue = buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buffer, null);
+        gapStart = 0;
+        gapEnd = buffer.length;
+        modCount++;
+    }
+
+    private int toBufferIndex(int index) {
+        checkIndex(index);
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            Arrays.fill(buffer, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            Arrays.fill(buffer, Math.max(gapEnd, gapStart + count), gapEnd + count, null);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void grow() {
+        int tailSize = buffer.length - gapEnd;
+        FormatterToken[] newBuffer = new FormatterToken[buffer.length * 2];
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newBuffer.length - tailSize, tailSize);
+        gapEnd = newBuffer.length - tailSize;
+        buffer = newBuffer;
+    }
+}
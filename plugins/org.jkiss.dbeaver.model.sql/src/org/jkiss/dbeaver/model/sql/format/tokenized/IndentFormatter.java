@@ -45,6 +45,10 @@ class IndentFormatter {
     private List<Boolean> conditionBracket = new ArrayList<>();
     private final String[] blockHeaderStrings;
     private boolean isFirstConditionInBrackets;
+    // Keywords seen before the current token. Tracked during the walk to avoid scanning back over the whole script.
+    private String prevKeyword;
+    private String prevDmlKeyword;
+    private boolean conditionKeywordSeen;
 
     private static final String[] JOIN_BEGIN = {"LEFT", "RIGHT", "INNER", "OUTER", "FULL", "CROSS", "NATURAL", "JOIN"};
     private static final String[] NO_SPACE_IN_COMPACT_KEYWORDS = { "SELECT", "UPDATE", "INSERT", "DELETE", "FROM", "WHERE" };
@@ -76,7 +80,7 @@ class IndentFormatter {
         switch (tokenString) {
             case "(":
                 functionBracket.add(formatterCfg.isFunction(prev.getString()) ? Boolean.TRUE : Boolean.FALSE);
-                conditionBracket.add(isCondition(argList, index) ? Boolean.TRUE : Boolean.FALSE);
+                conditionBracket.add(conditionKeywordSeen ? Boolean.TRUE : Boolean.FALSE);
                 isFirstConditionInBrackets = true;
                 bracketIndent.add(indent);
                 bracketsDepth++;
@@ -101,7 +105,7 @@ class IndentFormatter {
                 if (!isCompact) {
                     /*if (bracketsDepth <= 0 || "SELECT".equals(getPrevSpecialKeyword(argList, index)))*/
                     boolean isInsideAFunction = functionBracket.size() != 0 && functionBracket.get(functionBracket.size() - 1).equals(Boolean.TRUE);
-                    boolean isAfterInKeyword = bracketsDepth > 0 && SQLConstants.KEYWORD_IN.equalsIgnoreCase(getPrevKeyword(argList, index));
+                    boolean isAfterInKeyword = bracketsDepth > 0 && SQLConstants.KEYWORD_IN.equalsIgnoreCase(prevKeyword);
                     if (!isInsideAFunction && !isAfterInKeyword)
                     {
                         boolean lfBeforeComma = formatterCfg.getPreferenceStore().getBoolean(ModelPreferences.SQL_FORMAT_LF_BEFORE_COMMA);
@@ -131,7 +135,7 @@ class IndentFormatter {
             result += insertReturnAndIndent(argList, index + 1, indent);
         } else {
             if (blockHeaderStrings != null && ArrayUtils.contains(blockHeaderStrings, tokenString) || (SQLUtils.isBlockStartKeyword(dialect, tokenString) &&
-                !SQLConstants.KEYWORD_SELECT.equalsIgnoreCase(getPrevSpecialKeyword(argList, index, false)))) { // If SELECT is previous keyword, then we are already inside the block
+                !SQLConstants.KEYWORD_SELECT.equalsIgnoreCase(prevDmlKeyword))) { // If SELECT is previous keyword, then we are already inside the block
                 if (index > 0) {
                     result += insertReturnAndIndent(argList, index, indent - 1);
                 }
@@ -220,14 +224,14 @@ class IndentFormatter {
                     result += insertReturnAndIndent(argList, index, indent);
                     break;
                 case "OR":
-                    if ("CREATE".equalsIgnoreCase(getPrevKeyword(argList, index))) {
+                    if ("CREATE".equalsIgnoreCase(prevKeyword)) {
                         break;
                     }
                     if (isFirstConditionInBrackets) {
                         result = checkConditionDepth(result, argList, index);
                     }
                 case "WHEN":
-                    if ("CASE".equalsIgnoreCase(getPrevKeyword(argList, index))) {
+                    if ("CASE".equalsIgnoreCase(prevKeyword)) {
                         break;
                     }
                 case "ELSE":  //$NON-NLS-1$
@@ -235,7 +239,7 @@ class IndentFormatter {
                     break;
                 case "SET": {
                     if (index > 1) {
-                        if ("UPDATE".equalsIgnoreCase(getPrevKeyword(argList, index))) {
+                        if ("UPDATE".equalsIgnoreCase(prevKeyword)) {
                             // Extra line feed
                             result += insertReturnAndIndent(argList, index, indent - 1);
                         }
@@ -314,6 +318,14 @@ class IndentFormatter {
                         index += insertReturnAndIndent(argList, index + 1, indent);
                     }
             }
+            if (token.getType() == TokenType.KEYWORD) {
+                prevKeyword = token.getString();
+                if (ArrayUtils.contains(DML_KEYWORD, tokenString)) {
+                    prevDmlKeyword = prevKeyword;
+                } else if (ArrayUtils.contains(CONDITION_KEYWORDS, tokenString)) {
+                    conditionKeywordSeen = true;
+                }
+            }
             prev = token;
         }
     }
@@ -492,16 +504,6 @@ class IndentFormatter {
         return false;
     }
 
-    private String getPrevKeyword(List<FormatterToken> argList, int index) {
-        for (int i = index - 1; i >= 0; i--) {
-            FormatterToken token = argList.get(i);
-            if (token.getType() == TokenType.KEYWORD) {
-                return token.getString();
-            }
-        }
-        return null;
-    }
-
     private static int getNextKeywordIndex(List<FormatterToken> argList, int index) {
         for (int i = index + 1; i < argList.size(); i++) {
             if (argList.get(i).getType() == TokenType.KEYWORD) {
@@ -519,25 +521,6 @@ class IndentFormatter {
         return argList.get(ki).getString();
     }
 
-    private String getPrevSpecialKeyword(List<FormatterToken> argList, int index, boolean isCondition) {
-        for (int i = index - 1; i >= 0; i--) {
-            FormatterToken token = argList.get(i);
-            if (token.getType() == TokenType.KEYWORD) {
-                String upperCaseToken = token.getString().toUpperCase(Locale.ENGLISH);
-                if ((isCondition && ArrayUtils.contains(CONDITION_KEYWORDS, upperCaseToken)) ||
-                        (!isCondition && ArrayUtils.contains(DML_KEYWORD, upperCaseToken))) {
-                    return token.getString();
-                }
-            }
-        }
-        return null;
-    }
-
-
-    private boolean isCondition(List<FormatterToken> argList, int index) {
-        return getPrevSpecialKeyword(argList, index, true) != null;
-    }
-
     private int checkConditionDepth(int result, List<FormatterToken> argList, int index) {
         if (conditionBracket.size() != 0 && conditionBracket.get(conditionBracket.size() - 1).equals(Boolean.TRUE)) {
             // Add indent for first condition keyword in conditions expression in brackets
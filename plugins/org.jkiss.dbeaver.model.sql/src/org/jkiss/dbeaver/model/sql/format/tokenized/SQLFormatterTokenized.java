@@ -39,6 +39,11 @@ public class SQLFormatterTokenized implements SQLFormatter {
 
     private static final String[] DML_KEYWORD = { "SELECT", "UPDATE", "INSERT", "DELETE" };
 
+    private static final int SPACE_NONE = 0;
+    private static final int SPACE_INSERT = 1;
+    // Do not insert space here and between the current and the next token
+    private static final int SPACE_SKIP_NEXT = 2;
+
 
     private SQLFormatterConfiguration formatterCfg;
 
@@ -51,6 +56,7 @@ public class SQLFormatterTokenized implements SQLFormatter {
     public String format(final String argSql, SQLFormatterConfiguration configuration) {
         formatterCfg = configuration;
 
+        statementDelimiters.clear();
         for (String delim : formatterCfg.getSyntaxManager().getStatementDelimiters()) {
             if (!CommonUtils.isEmptyTrimmed(delim)) {
                 statementDelimiters.add(delim.toUpperCase(Locale.ENGLISH));
@@ -67,10 +73,8 @@ public class SQLFormatterTokenized implements SQLFormatter {
         List<FormatterToken> list = fParser.parse(argSql);
         list = format(list);
 
-        StringBuilder after = new StringBuilder(argSql.length() + 20);
-        for (FormatterToken token : list) {
-            after.append(token.getString());
-        }
+        StringBuilder after = new StringBuilder(argSql.length() + argSql.length() / 4);
+        writeTokens(list, after);
 
         if (isSqlEndsWithNewLine) {
             after.append(GeneralUtils.getDefaultLineSeparator());
@@ -111,55 +115,71 @@ public class SQLFormatterTokenized implements SQLFormatter {
 
         trimSpacesBetweenBraces(argList);
 
-        insertSpaces(argList);
-
         return argList;
     }
 
-    private void insertSpaces(List<FormatterToken> argList) {
-        FormatterToken token;
-        for (int index = 1; index < argList.size(); index++) {
-            FormatterToken prev = argList.get(index - 1);
-            token = argList.get(index);
-
-            String prevString = prev.getString();
-            String curString = token.getString();
-            if (prev.getType() != TokenType.SPACE &&
-                    token.getType() != TokenType.SPACE &&
-                    !prevString.equals("(") &&
-                    !curString.startsWith("(") &&
-                    !prevString.equals(")") &&
-                    !curString.equals(")")) {
-                if (curString.equals(",") || statementDelimiters.contains(curString)) { //$NON-NLS-1$
-                    continue;
-                }
-                if (formatterCfg.isFunction(prevString) && curString.equals("(")) { //$NON-NLS-1$
-                    continue;
-                }
-                if (token.getType() == TokenType.VALUE && prev.getType() == TokenType.NAME) {
-                    // Do not add space between name and value [JDBC:MSSQL]
-                    continue;
-                }
-                if (token.getType() == TokenType.SYMBOL && isEmbeddedToken(token) ||
-                        prev.getType() == TokenType.SYMBOL && isEmbeddedToken(prev)) {
-                    // Do not insert spaces around colons
-                    continue;
-                }
-                if (token.getType() == TokenType.SYMBOL && prev.getType() == TokenType.SYMBOL) {
-                    // Do not add space between symbols
-                    continue;
-                }
-                if ("+".equals(curString) &&
-                    prevString.length() > 1 && Character.isDigit(prevString.charAt(0)) &&
-                    (prevString.charAt(prevString.length() - 1) == 'E' || prevString.charAt(prevString.length() - 1) == 'e'))
-                {
-                    // Possible exponential numbers notation (5E+6)
-                    index++;
-                    continue;
+    /**
+     * Writes tokens to the output and inserts spaces between tokens where needed
+     */
+    private void writeTokens(List<FormatterToken> argList, StringBuilder output) {
+        FormatterToken prev = null;
+        boolean skipNext = false;
+        for (FormatterToken token : argList) {
+            if (prev != null) {
+                if (skipNext) {
+                    skipNext = false;
+                } else {
+                    int spaceMode = getSpaceMode(prev, token);
+                    if (spaceMode == SPACE_INSERT) {
+                        output.append(' ');
+                    } else if (spaceMode == SPACE_SKIP_NEXT) {
+                        skipNext = true;
+                    }
                 }
-                argList.add(index, new FormatterToken(TokenType.SPACE, " ")); //$NON-NLS-1$
             }
+            output.append(token.getString());
+            prev = token;
+        }
+    }
+
+    private int getSpaceMode(FormatterToken prev, FormatterToken token) {
+        String prevString = prev.getString();
+        String curString = token.getString();
+        if (prev.getType() != TokenType.SPACE &&
+                token.getType() != TokenType.SPACE &&
+                !prevString.equals("(") &&
+                !curString.startsWith("(") &&
+                !prevString.equals(")") &&
+                !curString.equals(")")) {
+            if (curString.equals(",") || statementDelimiters.contains(curString)) { //$NON-NLS-1$
+                return SPACE_NONE;
+            }
+            if (formatterCfg.isFunction(prevString) && curString.equals("(")) { //$NON-NLS-1$
+                return SPACE_NONE;
+            }
+            if (token.getType() == TokenType.VALUE && prev.getType() == TokenType.NAME) {
+                // Do not add space between name and value [JDBC:MSSQL]
+                return SPACE_NONE;
+            }
+            if (token.getType() == TokenType.SYMBOL && isEmbeddedToken(token) ||
+                    prev.getType() == TokenType.SYMBOL && isEmbeddedToken(prev)) {
+                // Do not insert spaces around colons
+                return SPACE_NONE;
+            }
+            if (token.getType() == TokenType.SYMBOL && prev.getType() == TokenType.SYMBOL) {
+                // Do not add space between symbols
+                return SPACE_NONE;
+            }
+            if ("+".equals(curString) &&
+                prevString.length() > 1 && Character.isDigit(prevString.charAt(0)) &&
+                (prevString.charAt(prevString.length() - 1) == 'E' || prevString.charAt(prevString.length() - 1) == 'e'))
+            {
+                // Possible exponential numbers notation (5E+6)
+                return SPACE_SKIP_NEXT;
+            }
+            return SPACE_INSERT;
         }
+        return SPACE_NONE;
     }
 
     private void trimSpacesBetweenBraces(List<FormatterToken> argList) {
@@ -178,7 +178,7 @@ class SQLTokensParser {
             fPos += commentString.length() - 1;
             while (fPos < fBefore.length()) {
                 fPos++;
-                if (fBefore.substring(fPos).startsWith(System.lineSeparator())) {
+                if (fBefore.startsWith(System.lineSeparator(), fPos)) {
                     break;
                 }
             }
@@ -323,7 +323,8 @@ class SQLTokensParser {
         fPos = 0;
         fBefore = argSql;
 
-        final List<FormatterToken> list = new ArrayList<>();
+        // Approximately one token per 4 characters
+        final List<FormatterToken> list = new FormatterTokenList(argSql.length() / 4);
         for (;;) {
             final FormatterToken token = nextToken();
             if (token.getType() == TokenType.END) {
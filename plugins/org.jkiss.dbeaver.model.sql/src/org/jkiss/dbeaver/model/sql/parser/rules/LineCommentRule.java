@@ -72,6 +72,11 @@ public class LineCommentRule extends EndOfLineRule
         return TPTokenAbstract.UNDEFINED;
     }
 
+    @Override
+    public boolean canStartWith(char ch) {
+        return fStartSequence.length == 0 || Character.toUpperCase(ch) == Character.toUpperCase(fStartSequence[0]);
+    }
+
     @Override
     public TPToken evaluate(TPCharacterScanner scanner, boolean resume) {
         if (fColumn == UNDEFINED)
@@ -22,14 +22,14 @@ import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
 import org.jkiss.dbeaver.model.sql.parser.tokens.SQLParameterToken;
 import org.jkiss.dbeaver.model.text.parser.TPCharacterScanner;
-import org.jkiss.dbeaver.model.text.parser.TPRule;
+import org.jkiss.dbeaver.model.text.parser.TPStartCharacterRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 
 /**
 * SQL parameter rule
 */
-public class ScriptParameterRule implements TPRule {
+public class ScriptParameterRule implements TPStartCharacterRule {
 
     private final SQLSyntaxManager syntaxManager;
     private final SQLParameterToken parameterToken;
@@ -48,6 +48,11 @@ public class ScriptParameterRule implements TPRule {
         this.quoteStrings = syntaxManager.getIdentifierQuoteStrings();
     }
 
+    @Override
+    public boolean canStartWith(char ch) {
+        return ch == anonymousParameterMark || ch == namedParameterPrefix.charAt(0);
+    }
+
     @Override
     public TPToken evaluate(TPCharacterScanner scanner)
     {
@@ -18,7 +18,7 @@ package org.jkiss.dbeaver.model.sql.parser.rules;
 
 import org.jkiss.dbeaver.model.sql.SQLQueryParameter;
 import org.jkiss.dbeaver.model.text.parser.TPCharacterScanner;
-import org.jkiss.dbeaver.model.text.parser.TPRule;
+import org.jkiss.dbeaver.model.text.parser.TPStartCharacterRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 
@@ -26,7 +26,7 @@ import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 * SQL variable rule.
 * ${varName}
 */
-public class ScriptVariableRule implements TPRule {
+public class ScriptVariableRule implements TPStartCharacterRule {
 
     private final TPToken parameterToken;
 
@@ -34,6 +34,11 @@ public class ScriptVariableRule implements TPRule {
         this.parameterToken = parameterToken;
     }
 
+    @Override
+    public boolean canStartWith(char ch) {
+        return ch == '$';
+    }
+
     @Override
     public TPToken evaluate(TPCharacterScanner scanner)
     {
@@ -24,9 +24,8 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistActionComment;
-import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
-import org.jkiss.dbeaver.model.runtime.PrintStreamProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.*;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -38,10 +37,10 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -99,122 +98,341 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
                 Throwable throwable = warnings.get(0);
                 throw new DBCException("Tool execution error: " + throwable.getMessage(), throwable);
             }
-            for (OBJECT_TYPE object : objectList) {
-                monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
-                try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
-                    List<DBEPersistAction> queries = new ArrayList<>();
-                    generateObjectQueries(session, settings, queries, object);
+            int parallelism = Math.min(settings.getParallelism(), objectList.size());
+            if (parallelism > 1 && isParallelExecutionSupported()) {
+                lastError = executeParallel(monitor, task, settings, log, outLog, listener, parallelism);
+            } else {
+                for (OBJECT_TYPE object : objectList) {
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                    try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
+                        Exception error = processObject(monitor, session, task, settings, object, log, outLog, listener);
+                        if (error != null) {
+                            lastError = error;
+                        }
+                    }
+                    monitor.worked(1);
+                }
+            }
+        } catch (Exception e) {
+            lastError = e;
+            log.debug(e);
+            outLog.println("Process error\n" + e.getMessage());
+        } finally {
+            monitor.done();
+        }
+        listener.taskFinished(task, null, lastError, settings);
 
-                    DBCExecutionContext context = session.getExecutionContext();
-                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
-                    boolean isAutoCommitModeSwitchedOn = true;
+        outLog.println("Tool execution finished");
+        outLog.flush();
+    }
 
-                    try {
-                        if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
-                            isAutoCommitModeSwitchedOn = false;
-                            txnManager.setAutoCommit(monitor, true);
-                        }
+    /**
+     * Processes objects in a pool of workers. Each worker opens its own isolated execution context
+     * for each database instance it meets, so queries of different objects run concurrently.
+     * Objects which could not be processed by workers (e.g. isolated context can't be opened) are processed
+     * sequentially in the default context.
+     */
+    private Exception executeParallel(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SETTINGS settings,
+        Log log,
+        PrintStream outLog,
+        DBTTaskExecutionListener listener,
+        int parallelism
+    ) throws DBException, InterruptedException {
+        Queue<OBJECT_TYPE> queue = new ConcurrentLinkedQueue<>(settings.getObjectList());
+        AtomicReference<Exception> lastError = new AtomicReference<>();
+        String title = "Execute " + task.getType().getName();
 
-                        for (DBEPersistAction action : queries) {
-                            if (monitor.isCanceled()) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "SQL tool worker " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<WorkerProgressMonitor> workerMonitors = new ArrayList<>();
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                WorkerProgressMonitor workerMonitor = new WorkerProgressMonitor(monitor);
+                workerMonitors.add(workerMonitor);
+                executor.execute(() -> {
+                    Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+                    try {
+                        for (OBJECT_TYPE object = queue.poll(); object != null; object = queue.poll()) {
+                            if (workerMonitor.isCanceled()) {
                                 break;
                             }
-                            if (!CommonUtils.isEmpty(action.getTitle())) {
-                                monitor.subTask(action.getTitle());
-                            }
+                            DBCExecutionContext context;
                             try {
-                                if (action instanceof SQLDatabasePersistActionComment) {
-                                    continue;
+                                context = getIsolatedContext(workerMonitor, contexts, object, title);
+                            } catch (DBException e) {
+                                // Return object to the queue, it will be processed in the default context
+                                log.debug("Can't open isolated context for '" + title + "'", e);
+                                queue.add(object);
+                                break;
+                            }
+                            workerMonitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                            try (DBCSession session = context.openSession(workerMonitor, DBCExecutionPurpose.UTIL, title)) {
+                                Exception error = processObject(workerMonitor, session, task, settings, object, log, outLog, listener);
+                                if (error != null) {
+                                    lastError.set(error);
                                 }
-                                String script = action.getScript();
-                                if (!CommonUtils.isEmpty(script)) {
-                                    try (final DBCStatement statement = session.prepareStatement(
-                                        DBCStatementType.SCRIPT,
-                                        script,
-                                        false,
-                                        false,
-                                        false
-                                    )) {
-                                        long startTime = System.currentTimeMillis();
-                                        statement.executeStatement();
-                                        long execTime = System.currentTimeMillis() - startTime;
-                                        if (listener instanceof SQLToolRunListener) {
-                                            if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
-                                                SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
-                                                if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
-                                                    List<? extends SQLToolStatistics> executeStatistics =
-                                                            ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
-                                                                    object,
-                                                                    settings,
-                                                                    action,
-                                                                    session,
-                                                                    statement);
-                                                    monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
-                                                    if (!CommonUtils.isEmpty(executeStatistics)) {
-                                                        for (SQLToolStatistics stat : executeStatistics) {
-                                                            stat.setExecutionTime(execTime);
-                                                        }
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, executeStatistics);
-                                                    } else {
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                    }
-                                                } else {
-                                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                }
-                                            }
-                                        }
+                            } catch (Exception e) {
+                                lastError.set(e);
+                                log.debug(e);
+                                outLog.println("Process error\n" + e.getMessage());
+                            }
+                            workerMonitor.worked(1);
+                        }
+                    } finally {
+                        for (DBCExecutionContext context : contexts.values()) {
+                            context.close();
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                // Job cancel interrupts blocks of the task monitor only, running queries of workers are cancelled here
+                if (monitor.isCanceled()) {
+                    for (WorkerProgressMonitor workerMonitor : workerMonitors) {
+                        workerMonitor.cancelActiveBlock(log);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (OBJECT_TYPE object = queue.poll(); object != null && !monitor.isCanceled(); object = queue.poll()) {
+            monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+            try (DBCSession session = DBUtils.openUtilSession(monitor, object, title)) {
+                Exception error = processObject(monitor, session, task, settings, object, log, outLog, listener);
+                if (error != null) {
+                    lastError.set(error);
+                }
+            }
+            monitor.worked(1);
+        }
+        return lastError.get();
+    }
+
+    @NotNull
+    private static DBCExecutionContext getIsolatedContext(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull Map<DBSInstance, DBCExecutionContext> contexts,
+        @NotNull DBSObject object,
+        @NotNull String purpose
+    ) throws DBException {
+        DBSInstance instance = DBUtils.getObjectOwnerInstance(object);
+        DBCExecutionContext context = contexts.get(instance);
+        if (context == null) {
+            context = instance.openIsolatedContext(monitor, purpose, DBUtils.getDefaultContext(object, false));
+            contexts.put(instance, context);
+        }
+        return context;
+    }
+
+    /**
+     * Executes queries of a single object. Returns the last query error or null.
+     */
+    private Exception processObject(
+        DBRProgressMonitor monitor,
+        DBCSession session,
+        DBTTask task,
+        SETTINGS settings,
+        OBJECT_TYPE object,
+        Log log,
+        PrintStream outLog,
+        DBTTaskExecutionListener listener
+    ) throws DBException {
+        Exception lastError = null;
+        List<DBEPersistAction> queries = new ArrayList<>();
+        generateObjectQueries(session, settings, queries, object);
+
+        DBCExecutionContext context = session.getExecutionContext();
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        boolean isAutoCommitModeSwitchedOn = true;
+
+        try {
+            if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
+                isAutoCommitModeSwitchedOn = false;
+                txnManager.setAutoCommit(monitor, true);
+            }
 
-                                        statistics.addStatementsCount();
-                                        statistics.addExecuteTime(execTime);
-                                        try {
-                                            long updateCount = statement.getUpdateRowCount();
-                                            if (updateCount >= 0) {
-                                                statistics.addRowsUpdated(updateCount);
+            for (DBEPersistAction action : queries) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (!CommonUtils.isEmpty(action.getTitle())) {
+                    monitor.subTask(action.getTitle());
+                }
+                try {
+                    if (action instanceof SQLDatabasePersistActionComment) {
+                        continue;
+                    }
+                    String script = action.getScript();
+                    if (!CommonUtils.isEmpty(script)) {
+                        try (final DBCStatement statement = session.prepareStatement(
+                            DBCStatementType.SCRIPT,
+                            script,
+                            false,
+                            false,
+                            false
+                        )) {
+                            long startTime = System.currentTimeMillis();
+                            statement.executeStatement();
+                            long execTime = System.currentTimeMillis() - startTime;
+                            if (listener instanceof SQLToolRunListener) {
+                                if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
+                                    SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
+                                    if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
+                                        List<? extends SQLToolStatistics> executeStatistics =
+                                                ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
+                                                        object,
+                                                        settings,
+                                                        action,
+                                                        session,
+                                                        statement);
+                                        monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
+                                        if (!CommonUtils.isEmpty(executeStatistics)) {
+                                            for (SQLToolStatistics stat : executeStatistics) {
+                                                stat.setExecutionTime(execTime);
                                             }
-                                        } catch (DBCException e) {
-                                            // In some cases we can't read update count
-                                            // This is bad but we can live with it
-                                            // Just print a warning
-                                            log.warn("Can't obtain update count", e);
+                                            handleActionStatistics(listener, object, action, session, executeStatistics);
+                                        } else {
+                                            handleActionStatistics(listener, object, action, session, Collections.singletonList(statisticsSimple));
                                         }
+                                    } else {
+                                        handleActionStatistics(listener, object, action, session, Collections.singletonList(statisticsSimple));
                                     }
                                 }
-                            } catch (Exception e) {
-                                lastError = e;
-                                log.debug("Error executing query", e);
-                                outLog.println("Error executing query\n" + e.getMessage());
-                                if(listener instanceof SQLToolRunListener) {
-                                    SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
-                                    errorStat.setStatusMessage(e.getMessage());
-                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(errorStat));
-                                }
-                            } finally {
-                                monitor.worked(1);
                             }
-                        }
-                    } finally {
-                        if (!isAutoCommitModeSwitchedOn) {
+
+                            long updateCount = -1;
                             try {
-                                txnManager.setAutoCommit(monitor, false);
+                                updateCount = statement.getUpdateRowCount();
                             } catch (DBCException e) {
-                                log.debug("Cannot set auto-commit status", e);
+                                // In some cases we can't read update count
+                                // This is bad but we can live with it
+                                // Just print a warning
+                                log.warn("Can't obtain update count", e);
+                            }
+                            synchronized (statistics) {
+                                statistics.addStatementsCount();
+                                statistics.addExecuteTime(execTime);
+                                if (updateCount >= 0) {
+                                    statistics.addRowsUpdated(updateCount);
+                                }
                             }
                         }
                     }
+                } catch (Exception e) {
+                    lastError = e;
+                    log.debug("Error executing query", e);
+                    outLog.println("Error executing query\n" + e.getMessage());
+                    if(listener instanceof SQLToolRunListener) {
+                        SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
+                        errorStat.setStatusMessage(e.getMessage());
+                        handleActionStatistics(listener, object, action, session, Collections.singletonList(errorStat));
+                    }
+                } finally {
+                    monitor.worked(1);
                 }
-                monitor.worked(1);
             }
-        } catch (Exception e) {
-            lastError = e;
-            log.debug(e);
-            outLog.println("Process error\n" + e.getMessage());
         } finally {
-            monitor.done();
+            if (!isAutoCommitModeSwitchedOn) {
+                try {
+                    txnManager.setAutoCommit(monitor, false);
+                } catch (DBCException e) {
+                    log.debug("Cannot set auto-commit status", e);
+                }
+            }
         }
-        listener.taskFinished(task, null, lastError, settings);
+        return lastError;
+    }
 
-        outLog.println("Tool execution finished");
-        outLog.flush();
+    /**
+     * Serializes progress reporting of workers. Blocks are tracked per worker,
+     * as blocks of concurrent workers can't be stacked in the shared monitor.
+     * They are cancelled by the coordinating thread when the task is cancelled.
+     */
+    private static class WorkerProgressMonitor extends ProxyProgressMonitor {
+        private final List<DBRBlockingObject> blocks = new ArrayList<>();
+        private final Set<DBRBlockingObject> canceledBlocks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        WorkerProgressMonitor(DBRProgressMonitor original) {
+            super(original);
+        }
+
+        @Override
+        public void subTask(String name) {
+            synchronized (original) {
+                original.subTask(name);
+            }
+        }
+
+        @Override
+        public void worked(int work) {
+            synchronized (original) {
+                original.worked(work);
+            }
+        }
+
+        @Override
+        public synchronized void startBlock(DBRBlockingObject object, String taskName) {
+            blocks.add(object);
+        }
+
+        @Override
+        public synchronized void endBlock() {
+            if (!blocks.isEmpty()) {
+                canceledBlocks.remove(blocks.remove(blocks.size() - 1));
+            }
+        }
+
+        @Override
+        public synchronized List<DBRBlockingObject> getActiveBlocks() {
+            return new ArrayList<>(blocks);
+        }
+
+        /**
+         * Cancels the innermost active block unless it was cancelled already
+         */
+        void cancelActiveBlock(Log log) {
+            DBRBlockingObject block;
+            synchronized (this) {
+                if (blocks.isEmpty()) {
+                    return;
+                }
+                block = blocks.get(blocks.size() - 1);
+                if (!canceledBlocks.add(block)) {
+                    return;
+                }
+            }
+            try {
+                BlockCanceler.cancelBlock(this, block);
+            } catch (Exception e) {
+                log.debug("Block cancel error", e);
+            }
+        }
+    }
+
+    private static void handleActionStatistics(
+        DBTTaskExecutionListener listener,
+        DBSObject object,
+        DBEPersistAction action,
+        DBCSession session,
+        List<? extends SQLToolStatistics> executeStatistics
+    ) {
+        // Listener may be called from several workers
+        synchronized (listener) {
+            ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, executeStatistics);
+        }
     }
 
     public String generateScript(DBRProgressMonitor monitor, SETTINGS settings) throws DBCException {
@@ -249,6 +467,15 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
         return false;
     }
 
+    /**
+     * Returns true if objects may be processed concurrently in separate execution contexts.
+     * Only independent maintenance tools (vacuum, analyze, index rebuild) opt in.
+     * Tools which change data or depend on the processing order must process objects one by one.
+     */
+    public boolean isParallelExecutionSupported() {
+        return false;
+    }
+
     public boolean isNeedConfirmation() {
         return false;
     }
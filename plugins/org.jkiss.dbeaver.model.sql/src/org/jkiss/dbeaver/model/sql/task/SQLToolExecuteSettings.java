@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTaskSettingsInput;
@@ -40,7 +41,10 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
 
     private static final Log log = Log.getLog(SQLToolExecuteSettings.class);
 
+    public static final int MAX_PARALLELISM = 64;
+
     private List<OBJECT_TYPE> objectList = new ArrayList<>();
+    private int parallelism = 1;
     private final List<Throwable> warnings = new ArrayList<>();
 
     protected SQLToolExecuteSettings() {
@@ -58,6 +62,18 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
         return warnings;
     }
 
+    /**
+     * Number of objects processed concurrently. Each concurrent worker uses its own isolated connection.
+     */
+    @Property(viewable = true, editable = true, updatable = true, order = 1000)
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, Math.min(parallelism, MAX_PARALLELISM));
+    }
+
         @Override
     public void loadSettingsFromInput(List<OBJECT_TYPE> inputObjects) {
         objectList.addAll(inputObjects);
@@ -81,6 +97,7 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
                 }
                 objectList.addAll(objList);
             });
+            setParallelism(JSONUtils.getInteger(config, "parallelism", 1));
         } catch (InvocationTargetException e) {
             log.error(e.getTargetException());
         } catch (InterruptedException e) {
@@ -97,6 +114,7 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
             objectInfo.put("objectId", DBUtils.getObjectFullId(obj));
             objectsConfig.add(objectInfo);
         }
+        config.put("parallelism", parallelism);
     }
 
 }
@@ -23,9 +23,17 @@ import org.eclipse.jface.text.IDocument;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.sql.parser.rules.SQLDelimiterRule;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
- * Rule based text scanner
+ * Rule based text scanner.
+ * Rules are dispatched by the current character: for ASCII characters only rules which
+ * can start with this character are evaluated (see {@link TPStartCharacterRule}).
+ * Rules order is preserved, so tokens are the same as if all rules were evaluated.
  */
 public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, TPEvalScanner {
 
@@ -35,10 +43,22 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
      * Internal setting for the un-initialized column cache.
      */
     private static final int UNDEFINED = -1;
+    /**
+     * Characters below this bound are dispatched using rule tables
+     */
+    private static final int DISPATCH_CHARS = 128;
+    /**
+     * Rule tables of rule sets. Rule sets (e.g. rules of SQL rule manager) are shared by many scanners.
+     */
+    private static final Map<TPRule[], TPRule[][]> ruleTablesCache = Collections.synchronizedMap(new WeakHashMap<>());
     /**
      * The list of rules of this scanner
      */
     private TPRule[] fRules;
+    /**
+     * Rules which may start with the character, indexed by character
+     */
+    private TPRule[][] fRuleTable;
     /**
      * The token to be returned by default if no rule fires
      */
@@ -84,8 +104,31 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
         if (rules != null) {
             fRules = new TPRule[rules.length];
             System.arraycopy(rules, 0, fRules, 0, rules.length);
-        } else
+            fRuleTable = ruleTablesCache.computeIfAbsent(rules, TPRuleBasedScanner::buildRuleTable);
+        } else {
             fRules = null;
+            fRuleTable = null;
+        }
+    }
+
+    private static TPRule[][] buildRuleTable(TPRule[] rules) {
+        TPRule[][] table = new TPRule[DISPATCH_CHARS][];
+        List<TPRule> charRules = new ArrayList<>(rules.length);
+        for (int ch = 0; ch < DISPATCH_CHARS; ch++) {
+            charRules.clear();
+            for (TPRule rule : rules) {
+                if (!(rule instanceof TPStartCharacterRule) || ((TPStartCharacterRule) rule).canStartWith((char) ch)) {
+                    charRules.add(rule);
+                }
+            }
+            if (ch > 0 && charRules.equals(List.of(table[ch - 1]))) {
+                // Share the same table row
+                table[ch] = table[ch - 1];
+            } else {
+                table[ch] = charRules.toArray(new TPRule[0]);
+            }
+        }
+        return table;
     }
 
     /**
@@ -191,7 +234,18 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
         fColumn = UNDEFINED;
 
         if (fRules != null) {
-            for (TPRule fRule : fRules) {
+            TPRule[] rules = fRules;
+            if (fOffset < fRangeEnd) {
+                try {
+                    char ch = fDocument.getChar(fOffset);
+                    if (ch < DISPATCH_CHARS) {
+                        rules = fRuleTable[ch];
+                    }
+                } catch (BadLocationException e) {
+                    // Evaluate all rules
+                }
+            }
+            for (TPRule fRule : rules) {
                 int offset = fOffset;
                 TPToken token = (fRule.evaluate(this));
                 if (!token.isUndefined()) {
@@ -0,0 +1,32 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.text.parser;
+
+/**
+ * Rule which can match only text starting with specific characters.
+ * Rule based scanner uses it to build per-character rule tables and to skip rules
+ * which can't match at the current position.
+ * Result of {@link #canStartWith(char)} must not change after the rule is created.
+ */
+public interface TPStartCharacterRule extends TPRule {
+
+    /**
+     * Returns false if text started with the specified character is never matched by this rule
+     */
+    boolean canStartWith(char ch);
+
+}
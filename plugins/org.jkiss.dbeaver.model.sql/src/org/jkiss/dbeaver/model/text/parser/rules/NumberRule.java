@@ -18,7 +18,7 @@ package org.jkiss.dbeaver.model.text.parser.rules;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.text.parser.TPCharacterScanner;
-import org.jkiss.dbeaver.model.text.parser.TPRule;
+import org.jkiss.dbeaver.model.text.parser.TPStartCharacterRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 import org.jkiss.utils.CommonUtils;
@@ -29,7 +29,7 @@ import org.jkiss.utils.CommonUtils;
  * with optional decimal part, scientific notation (<code>10e-3</code>)
  * and support for the hexadecimal base (16).
  */
-public class NumberRule implements TPRule {
+public class NumberRule implements TPStartCharacterRule {
 
     public static final int RADIX_DECIMAL = 10;
     public static final int RADIX_HEXADECIMAL = 16;
@@ -49,6 +49,11 @@ public class NumberRule implements TPRule {
         fToken = token;
     }
 
+    @Override
+    public boolean canStartWith(char ch) {
+        return CommonUtils.isDigit(ch, RADIX_DECIMAL);
+    }
+
     @Override
     public TPToken evaluate(TPCharacterScanner scanner) {
         int ch = scanner.read();
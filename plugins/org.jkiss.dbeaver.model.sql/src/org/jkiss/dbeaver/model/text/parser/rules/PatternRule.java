@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.model.text.parser.rules;
 
 import org.jkiss.dbeaver.model.text.parser.TPCharacterScanner;
 import org.jkiss.dbeaver.model.text.parser.TPPredicateRule;
+import org.jkiss.dbeaver.model.text.parser.TPStartCharacterRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 
@@ -34,7 +35,7 @@ import java.util.Comparator;
  * be used to check whether the text to scan covers half of the pattern, i.e. contains
  * the end sequence required by the rule.
  */
-public class PatternRule implements TPPredicateRule {
+public class PatternRule implements TPPredicateRule, TPStartCharacterRule {
 
     /**
      * Comparator that orders <code>char[]</code> in decreasing array lengths.
@@ -260,6 +261,11 @@ public class PatternRule implements TPPredicateRule {
         return TPTokenAbstract.UNDEFINED;
     }
 
+    @Override
+    public boolean canStartWith(char ch) {
+        return fStartSequence.length == 0 || ch == fStartSequence[0];
+    }
+
     @Override
     public TPToken evaluate(TPCharacterScanner scanner) {
         return evaluate(scanner, false);
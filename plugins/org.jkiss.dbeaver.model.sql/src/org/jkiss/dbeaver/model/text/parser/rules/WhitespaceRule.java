@@ -17,14 +17,14 @@
 package org.jkiss.dbeaver.model.text.parser.rules;
 
 import org.jkiss.dbeaver.model.text.parser.TPCharacterScanner;
-import org.jkiss.dbeaver.model.text.parser.TPRule;
+import org.jkiss.dbeaver.model.text.parser.TPStartCharacterRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 
 /**
  * Whitespace rule
  */
-public class WhitespaceRule implements TPRule {
+public class WhitespaceRule implements TPStartCharacterRule {
 
     private final TPToken fWhitespaceToken;
 
@@ -32,6 +32,11 @@ public class WhitespaceRule implements TPRule {
         fWhitespaceToken = token;
     }
 
+    @Override
+    public boolean canStartWith(char ch) {
+        return Character.isWhitespace(ch);
+    }
+
     @Override
     public TPToken evaluate(TPCharacterScanner scanner) {
         int c = scanner.read();
@@ -201,6 +201,8 @@ public final class ModelPreferences
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
     public static final String META_USE_SERVER_SIDE_FILTERS = "database.meta.server.side.filters"; //$NON-NLS-1$
     public static final String META_EXTRA_DDL_INFO = "database.meta.extra.ddl.info"; //$NON-NLS-1$
+    public static final String META_LOCAL_INDEX_ENABLED = "database.meta.local.index.enabled"; //$NON-NLS-1$
+    public static final String META_LOCAL_INDEX_DEFINITIONS = "database.meta.local.index.definitions"; //$NON-NLS-1$
 
     public static final String META_CLIENT_NAME_DISABLE = "database.meta.client.name.disable"; //$NON-NLS-1$
     public static final String META_CLIENT_NAME_OVERRIDE = "database.meta.client.name.override"; //$NON-NLS-1$
@@ -327,6 +329,8 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_DISABLE_EXTRA_READ, false);
         PrefUtils.setDefaultPreferenceValue(store, META_EXTRA_DDL_INFO, true);
         PrefUtils.setDefaultPreferenceValue(store, META_USE_SERVER_SIDE_FILTERS, true);
+        PrefUtils.setDefaultPreferenceValue(store, META_LOCAL_INDEX_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_LOCAL_INDEX_DEFINITIONS, false);
 
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_DISABLE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_OVERRIDE, false);
@@ -31,6 +31,12 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
  */
 public interface DBDContent extends DBDValue {
 
+    /**
+     * Session attribute. If set then a utility session does not precache LOBs:
+     * the reader consumes each value before the next row is fetched.
+     */
+    String ATTR_STREAM_CONTENTS = "content.stream-contents";
+
     @NotNull
     DBPDataSource getDataSource();
 
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.impl;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPContextWithAttributes;
 import org.jkiss.dbeaver.model.data.DBDDataFormatterProfile;
 import org.jkiss.dbeaver.model.data.DBDFormatSettingsExt;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
@@ -27,10 +28,13 @@ import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Abstract execution context
  */
-public abstract class AbstractSession implements DBCSession, DBDFormatSettingsExt, DBRBlockingObject {
+public abstract class AbstractSession implements DBCSession, DBDFormatSettingsExt, DBRBlockingObject, DBPContextWithAttributes {
 
     private DBRProgressMonitor monitor;
     private DBCExecutionPurpose purpose;
@@ -39,6 +43,7 @@ public abstract class AbstractSession implements DBCSession, DBDFormatSettingsEx
     private boolean holdsBlock = false;
     private boolean loggingEnabled = true;
     private byte useNativeDateTimeFormat = -1;
+    private final Map<String, Object> sessionAttributes = new LinkedHashMap<>();
 
     public AbstractSession(DBRProgressMonitor monitor, DBCExecutionPurpose purpose, String taskTitle) {
         this.monitor = monitor;
@@ -129,8 +134,30 @@ public abstract class AbstractSession implements DBCSession, DBDFormatSettingsEx
         return DefaultValueHandler.INSTANCE;
     }
 
+    @Override
+    public Map<String, ?> getContextAttributes() {
+        return new LinkedHashMap<>(sessionAttributes);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getContextAttribute(String attributeName) {
+        return (T) sessionAttributes.get(attributeName);
+    }
+
+    @Override
+    public <T> void setContextAttribute(String attributeName, T attributeValue) {
+        sessionAttributes.put(attributeName, attributeValue);
+    }
+
+    @Override
+    public void removeContextAttribute(String attributeName) {
+        sessionAttributes.remove(attributeName);
+    }
+
     @Override
     public void close() {
+        sessionAttributes.clear();
         if (holdsBlock) {
             monitor.endBlock();
             holdsBlock = false;
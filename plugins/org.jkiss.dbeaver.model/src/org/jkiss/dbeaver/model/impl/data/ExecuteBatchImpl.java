@@ -51,6 +51,8 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    // Statements include all columns, NULLs are bound as values
+    protected boolean bindNulls;
 
     /**
      * Constructs new batch
@@ -116,6 +118,14 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         if (skipBindValues) {
             useBatch = false;
         }
+        DBSDataManipulator.NullValuesMode nullValuesMode = getNullValuesMode(options);
+        bindNulls = nullValuesMode == DBSDataManipulator.NullValuesMode.BIND_NULLS && !skipBindValues && supportsNullsBinding();
+        if (nullValuesMode == DBSDataManipulator.NullValuesMode.STATEMENT_CACHE && useBatch && actions == null) {
+            DBCStatistics statistics = processBatchWithStatementCache(session, handlers, options);
+            if (statistics != null) {
+                return statistics;
+            }
+        }
 
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
@@ -140,7 +150,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                 }
 
                 boolean reuse = !skipBindValues && reuseStatement;
-                if (reuse) {
+                if (reuse && !bindNulls) {
                     for (int i = 0; i < rowValues.length; i++) {
                         nulls[i] = DBUtils.isNullValue(rowValues[i]);
                     }
@@ -226,8 +236,46 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
-    protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
-        return paramIndex + 1;
+    /**
+     * Executes batch keeping separate prepared statement for each combination of NULL values positions
+     * (see {@link DBSDataManipulator.NullValuesMode#STATEMENT_CACHE}).
+     * Returns null if this batch doesn't support statements cache, then regular batch processing is used.
+     */
+    @Nullable
+    protected DBCStatistics processBatchWithStatementCache(
+        @NotNull DBCSession session,
+        @NotNull DBDValueHandler[] handlers,
+        Map<String, Object> options
+    ) throws DBCException {
+        return null;
+    }
+
+    @NotNull
+    private static DBSDataManipulator.NullValuesMode getNullValuesMode(Map<String, Object> options) {
+        Object mode = options.get(DBSDataManipulator.OPTION_NULL_VALUES_MODE);
+        if (mode instanceof DBSDataManipulator.NullValuesMode nullValuesMode) {
+            return nullValuesMode;
+        }
+        return CommonUtils.valueOf(DBSDataManipulator.NullValuesMode.class, CommonUtils.toString(mode, null), DBSDataManipulator.NullValuesMode.RESTART_BATCH);
+    }
+
+    /**
+     * Returns true if statements of this batch can bind NULLs explicitly
+     * (see {@link DBSDataManipulator.NullValuesMode#BIND_NULLS})
+     */
+    protected boolean supportsNullsBinding() {
+        return false;
+    }
+
+    /**
+     * Returns flags of attributes which are bound as statement parameters for the specified row.
+     * Evaluated once per row.
+     */
+    @NotNull
+    protected boolean[] getUsedParameters(@NotNull Object[] attributeValues) {
+        boolean[] usedParameters = new boolean[attributes.length];
+        Arrays.fill(usedParameters, true);
+        return usedParameters;
     }
 
     String formatQueryParameters(DBCSession session, String queryString, DBDValueHandler[] handlers, Object[] rowValues) {
@@ -239,13 +287,16 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         }
         int length = queryString.length();
         StringBuilder formatted = new StringBuilder(length * 2);
+        boolean[] usedParameters = getUsedParameters(rowValues);
         int paramIndex = -1;
 
         for (int i = 0; i < length; i++) {
             char c = queryString.charAt(i);
             switch (c) {
                 case '?': {
-                    paramIndex = getNextUsedParamIndex(rowValues, paramIndex);
+                    do {
+                        paramIndex++;
+                    } while (paramIndex < usedParameters.length && !usedParameters[paramIndex]);
                     if (paramIndex >= handlers.length) {
                         log.error("Parameter index out of range (" + paramIndex + " > " + handlers.length + ")");
                         continue;
@@ -33,19 +33,28 @@ import org.jkiss.dbeaver.model.struct.DBStructUtils;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.StringJoiner;
+import java.util.*;
 
 public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
 
+    // Maximum number of prepared statements kept open in statement cache mode
+    private static final int MAX_CACHED_STATEMENTS = 8;
+
     private DBCSession session;
     private final DBCExecutionSource source;
     private DBSTable table;
     private boolean useUpsert;
-    private boolean allNulls;
-    private boolean allColumnsDefault;
+    // Rows with all NULLs are inserted with DEFAULT VALUES statement
+    private boolean defaultValuesInsert;
+
+    private static class CachedStatement {
+        final DBCStatement statement;
+        int statementsInBatch;
+
+        CachedStatement(DBCStatement statement) {
+            this.statement = statement;
+        }
+    }
 
     /**
      * Constructs new batch
@@ -62,13 +71,112 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         this.useUpsert = useUpsert;
     }
 
-    protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
-        paramIndex++;
-        DBSAttributeBase attribute = attributes[paramIndex];
-        while (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[paramIndex]))) {
-            paramIndex++;
+    @NotNull
+    @Override
+    protected boolean[] getUsedParameters(@NotNull Object[] attributeValues) {
+        boolean allNulls = isAllNulls(attributeValues);
+        boolean[] usedParameters = new boolean[attributes.length];
+        if (allNulls && defaultValuesInsert) {
+            // DEFAULT VALUES statement has no parameters
+            return usedParameters;
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            DBSAttributeBase attribute = attributes[i];
+            if (DBUtils.isPseudoAttribute(attribute) || (!bindNulls && !allNulls && DBUtils.isNullValue(attributeValues[i]))) {
+                continue;
+            }
+            if (allNulls && attributeHasDefaultValue(attribute)) {
+                continue;
+            }
+            usedParameters[i] = true;
+        }
+        return usedParameters;
+    }
+
+    @Override
+    protected boolean supportsNullsBinding() {
+        return true;
+    }
+
+    /**
+     * Checks whether all values of the (first) row are NULLs.
+     * Statement shape depends on this flag unless NULLs are bound explicitly.
+     */
+    private boolean isAllNulls(Object[] attributeValues) {
+        if (bindNulls) {
+            return false;
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            if (!DBUtils.isNullValue(attributeValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes batch keeping separate prepared statement and batch for each combination of NULL values positions.
+     * Least recently used statement is flushed and closed if there are too many different combinations.
+     */
+    @Nullable
+    @Override
+    protected DBCStatistics processBatchWithStatementCache(
+        @NotNull DBCSession session,
+        @NotNull DBDValueHandler[] handlers,
+        Map<String, Object> options
+    ) throws DBCException {
+        DBCStatistics statistics = new DBCStatistics();
+        Map<BitSet, CachedStatement> statements = new LinkedHashMap<>(MAX_CACHED_STATEMENTS * 2, 0.75f, true);
+        try {
+            for (Object[] rowValues : values) {
+                if (session.getProgressMonitor().isCanceled()) {
+                    break;
+                }
+                BitSet nulls = new BitSet(rowValues.length);
+                for (int i = 0; i < rowValues.length; i++) {
+                    if (DBUtils.isNullValue(rowValues[i])) {
+                        nulls.set(i);
+                    }
+                }
+                CachedStatement cachedStatement = statements.get(nulls);
+                if (cachedStatement == null) {
+                    if (statements.size() >= MAX_CACHED_STATEMENTS) {
+                        Iterator<CachedStatement> iterator = statements.values().iterator();
+                        CachedStatement eldest = iterator.next();
+                        iterator.remove();
+                        closeCachedStatement(statistics, eldest);
+                    }
+                    cachedStatement = new CachedStatement(prepareStatement(session, handlers, rowValues, options));
+                    statements.put(nulls, cachedStatement);
+                    statistics.setQueryText(cachedStatement.statement.getQueryString());
+                    statistics.addStatementsCount();
+                }
+                bindStatement(handlers, cachedStatement.statement, rowValues);
+                cachedStatement.statement.addToBatch();
+                cachedStatement.statementsInBatch++;
+            }
+            for (Iterator<CachedStatement> iterator = statements.values().iterator(); iterator.hasNext(); ) {
+                CachedStatement cachedStatement = iterator.next();
+                iterator.remove();
+                closeCachedStatement(statistics, cachedStatement);
+            }
+        } finally {
+            for (CachedStatement cachedStatement : statements.values()) {
+                cachedStatement.statement.close();
+            }
+            values.clear();
+        }
+        return statistics;
+    }
+
+    private void closeCachedStatement(@NotNull DBCStatistics statistics, @NotNull CachedStatement cachedStatement) throws DBCException {
+        try {
+            if (cachedStatement.statementsInBatch > 0) {
+                flushBatch(statistics, cachedStatement.statement);
+            }
+        } finally {
+            cachedStatement.statement.close();
         }
-        return paramIndex;
     }
 
     @NotNull
@@ -89,20 +197,14 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
 
     @Override
     protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) throws DBCException {
-        if (allColumnsDefault) {
-            // There is nothing to bind in this statement
-            return;
-        }
+        // Statements may be cached by NULL positions so used parameters are evaluated for each row
+        boolean[] usedParameters = getUsedParameters(attributeValues);
         int paramIndex = 0;
         for (int k = 0; k < handlers.length; k++) {
-            DBSAttributeBase attribute = attributes[k];
-            if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[k]))) {
-                continue;
-            }
-            if (allNulls && attributeHasDefaultValue(attribute)) {
+            if (!usedParameters[k]) {
                 continue;
             }
-            handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
+            handlers[k].bindValueObject(statement.getSession(), statement, attributes[k], paramIndex++, attributeValues[k]);
             if (session.getProgressMonitor().isCanceled()) {
                 break;
             }
@@ -118,8 +220,6 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         boolean useMultiRowInsert,
         Map<String, Object> options) throws DBCException {
 
-        allColumnsDefault = false;
-        
         Assert.isLegal(attributes.length == handlers.length);
         Assert.isLegal(useMultiRowInsert || attributes.length == attributeValues.length);
 
@@ -140,16 +240,10 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         query.append(" ").append(tableName).append(" ("); //$NON-NLS-1$ //$NON-NLS-2$
 
 
-        allNulls = true;
-        for (int i = 0; i < attributes.length; i++) {
-            if (!DBUtils.isNullValue(attributeValues[i])) {
-                allNulls = false;
-                break;
-            }
-        }
+        boolean allNulls = isAllNulls(attributeValues);
         DBPDataSource dataSource = session.getDataSource();
-        if (allNulls && !useMultiRowInsert && method instanceof BaseInsertMethod && !useUpsert && dataSource.getSQLDialect().supportsInsertAllDefaultValuesStatement()) {
-            allColumnsDefault = true;
+        defaultValuesInsert = !useMultiRowInsert && method instanceof BaseInsertMethod && !useUpsert && dataSource.getSQLDialect().supportsInsertAllDefaultValuesStatement();
+        if (allNulls && defaultValuesInsert) {
             query.setLength(0);
             query.append("INSERT INTO ").append(tableName).append(" DEFAULT VALUES");
             return query;
@@ -158,7 +252,7 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         List<Integer> usedAttributes = new ArrayList<Integer>();
         for (int i = 0; i < attributes.length; i++) {
             DBSAttributeBase attribute = attributes[i];
-            if (DBUtils.isPseudoAttribute(attribute) || (!useMultiRowInsert && (!allNulls && DBUtils.isNullValue(attributeValues[i])))) {
+            if (DBUtils.isPseudoAttribute(attribute) || (!useMultiRowInsert && !bindNulls && !allNulls && DBUtils.isNullValue(attributeValues[i]))) {
                 continue;
             }
             if (hasKey) query.append(","); //$NON-NLS-1$
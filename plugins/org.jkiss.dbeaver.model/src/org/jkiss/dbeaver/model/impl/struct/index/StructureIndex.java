@@ -0,0 +1,435 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.struct.index;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectType;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Local index of data source metadata objects.
+ * <p>
+ * Names and comments are indexed by trigrams, so LIKE masks with literal parts
+ * are resolved from posting lists and only candidate entries are checked against the mask.
+ * Definitions (source text) are kept as-is and scanned only when search in definitions is requested.
+ * <p>
+ * Removed entries are marked as deleted and purged when their number gets large.
+ */
+public class StructureIndex {
+
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final double COMPACT_RATIO = 0.3;
+
+    public static class Entry {
+        private final String[] path;
+        private final String name;
+        private final DBSObjectType type;
+        @Nullable
+        private final String description;
+        @Nullable
+        private final String definition;
+        private final WeakReference<DBSObject> object;
+
+        public Entry(
+            @NotNull String[] path,
+            @NotNull DBSObjectType type,
+            @Nullable String description,
+            @Nullable String definition,
+            @Nullable DBSObject object
+        ) {
+            this.path = path;
+            this.name = path[path.length - 1];
+            this.type = type;
+            this.description = CommonUtils.isEmpty(description) ? null : description;
+            this.definition = CommonUtils.isEmpty(definition) ? null : definition;
+            this.object = new WeakReference<>(object);
+        }
+
+        @NotNull
+        public String[] getPath() {
+            return path;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public DBSObjectType getType() {
+            return type;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+
+        @Nullable
+        public String getDefinition() {
+            return definition;
+        }
+
+        /**
+         * Returns indexed object if it is still alive
+         */
+        @Nullable
+        public DBSObject getObject() {
+            return object.get();
+        }
+
+        boolean isInside(@NotNull String[] parentPath) {
+            if (parentPath.length > path.length) {
+                return false;
+            }
+            for (int i = 0; i < parentPath.length; i++) {
+                if (!parentPath[i].equals(path[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(".", path) + " (" + type.getTypeName() + ")";
+        }
+    }
+
+    public static class SearchParams {
+        private final String mask;
+        @Nullable
+        private DBSObjectType[] objectTypes;
+        @Nullable
+        private String[] parentPath;
+        private boolean caseSensitive;
+        private boolean searchInComments;
+        private boolean searchInDefinitions;
+        private int maxResults = Integer.MAX_VALUE;
+
+        public SearchParams(@NotNull String mask) {
+            this.mask = mask;
+        }
+
+        public SearchParams setObjectTypes(@Nullable DBSObjectType[] objectTypes) {
+            this.objectTypes = objectTypes;
+            return this;
+        }
+
+        public SearchParams setParentPath(@Nullable String[] parentPath) {
+            this.parentPath = parentPath;
+            return this;
+        }
+
+        public SearchParams setCaseSensitive(boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+            return this;
+        }
+
+        public SearchParams setSearchInComments(boolean searchInComments) {
+            this.searchInComments = searchInComments;
+            return this;
+        }
+
+        public SearchParams setSearchInDefinitions(boolean searchInDefinitions) {
+            this.searchInDefinitions = searchInDefinitions;
+            return this;
+        }
+
+        public SearchParams setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+    }
+
+    // Match ranks, lower is better
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_NAME = 2;
+    private static final int RANK_COMMENT = 3;
+    private static final int RANK_DEFINITION = 4;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, IntList> nameTrigrams = new HashMap<>();
+    private final Map<String, IntList> commentTrigrams = new HashMap<>();
+    private int removedCount;
+    private long lastUpdateTime;
+
+    public synchronized int size() {
+        return entries.size() - removedCount;
+    }
+
+    public synchronized long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    public synchronized void addEntry(@NotNull Entry entry) {
+        addEntryInternal(entry);
+        lastUpdateTime = System.currentTimeMillis();
+    }
+
+    public synchronized void addEntries(@NotNull Collection<Entry> newEntries) {
+        for (Entry entry : newEntries) {
+            addEntryInternal(entry);
+        }
+        lastUpdateTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Removes object with specified path and all its children
+     */
+    public synchronized void removeEntries(@NotNull String[] path) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry != null && entry.isInside(path)) {
+                entries.set(i, null);
+                removedCount++;
+            }
+        }
+        if (removedCount > entries.size() * COMPACT_RATIO) {
+            compact();
+        }
+        lastUpdateTime = System.currentTimeMillis();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        nameTrigrams.clear();
+        commentTrigrams.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Finds entries matching SQL LIKE mask.
+     * Results are ordered by match quality: exact name, name prefix, name, comment, definition.
+     */
+    @NotNull
+    public List<Entry> search(@NotNull SearchParams params) {
+        Pattern namePattern = Pattern.compile(
+            SQLUtils.makeLikePattern(params.mask),
+            params.caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        String literal = getLongestLiteral(params.mask);
+        String literalKey = literal.toLowerCase(Locale.ROOT);
+        Pattern textPattern = literal.isEmpty() ? null : Pattern.compile(
+            Pattern.quote(literal),
+            params.caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+        Collection<Entry> candidates;
+        Set<Entry> commentCandidates = Collections.emptySet();
+        synchronized (this) {
+            if (params.searchInComments) {
+                commentCandidates = new HashSet<>(getCandidates(commentTrigrams, literalKey));
+            }
+            if (params.searchInDefinitions) {
+                // Definitions are not indexed, check all entries
+                candidates = getAllEntries();
+            } else if (params.searchInComments) {
+                candidates = new LinkedHashSet<>(getCandidates(nameTrigrams, literalKey));
+                candidates.addAll(commentCandidates);
+            } else {
+                candidates = getCandidates(nameTrigrams, literalKey);
+            }
+        }
+
+        List<Map.Entry<Entry, Integer>> matches = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (!isTypeMatches(entry, params.objectTypes) ||
+                (params.parentPath != null && !entry.isInside(params.parentPath))) {
+                continue;
+            }
+            int rank = -1;
+            if (namePattern.matcher(entry.name).matches()) {
+                if (params.caseSensitive ? entry.name.equals(literal) : entry.name.equalsIgnoreCase(literal)) {
+                    rank = RANK_EXACT;
+                } else if (entry.name.regionMatches(!params.caseSensitive, 0, literal, 0, literal.length())) {
+                    rank = RANK_PREFIX;
+                } else {
+                    rank = RANK_NAME;
+                }
+            } else if (params.searchInComments && entry.description != null && commentCandidates.contains(entry) &&
+                (textPattern == null || textPattern.matcher(entry.description).find())) {
+                rank = RANK_COMMENT;
+            } else if (params.searchInDefinitions && entry.definition != null &&
+                (textPattern == null || textPattern.matcher(entry.definition).find())) {
+                rank = RANK_DEFINITION;
+            }
+            if (rank >= 0) {
+                matches.add(new AbstractMap.SimpleEntry<>(entry, rank));
+            }
+        }
+        matches.sort(Comparator
+            .comparingInt((Map.Entry<Entry, Integer> m) -> m.getValue())
+            .thenComparingInt(m -> m.getKey().name.length())
+            .thenComparing(m -> m.getKey().name, String.CASE_INSENSITIVE_ORDER));
+
+        List<Entry> result = new ArrayList<>(Math.min(matches.size(), params.maxResults));
+        for (Map.Entry<Entry, Integer> match : matches) {
+            if (result.size() >= params.maxResults) {
+                break;
+            }
+            result.add(match.getKey());
+        }
+        return result;
+    }
+
+    private void addEntryInternal(@NotNull Entry entry) {
+        int id = entries.size();
+        entries.add(entry);
+        addTrigrams(nameTrigrams, entry.name, id);
+        if (entry.description != null) {
+            addTrigrams(commentTrigrams, entry.description, id);
+        }
+    }
+
+    private void compact() {
+        List<Entry> alive = new ArrayList<>(entries.size() - removedCount);
+        for (Entry entry : entries) {
+            if (entry != null) {
+                alive.add(entry);
+            }
+        }
+        clear();
+        for (Entry entry : alive) {
+            addEntryInternal(entry);
+        }
+    }
+
+    /**
+     * Returns entries containing all trigrams of the literal (or all entries if literal is too short)
+     */
+    @NotNull
+    private List<Entry> getCandidates(@NotNull Map<String, IntList> trigrams, @NotNull String literalKey) {
+        if (literalKey.length() < TRIGRAM_LENGTH) {
+            return getAllEntries();
+        }
+        List<Entry> result = new ArrayList<>();
+        IntList postings = null;
+        for (int i = 0; i <= literalKey.length() - TRIGRAM_LENGTH; i++) {
+            IntList list = trigrams.get(literalKey.substring(i, i + TRIGRAM_LENGTH));
+            if (list == null) {
+                return result;
+            }
+            postings = postings == null ? list : postings.intersect(list);
+            if (postings.size == 0) {
+                return result;
+            }
+        }
+        for (int i = 0; i < postings.size; i++) {
+            Entry entry = entries.get(postings.values[i]);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<Entry> getAllEntries() {
+        List<Entry> result = new ArrayList<>(entries.size() - removedCount);
+        for (Entry entry : entries) {
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static void addTrigrams(@NotNull Map<String, IntList> trigrams, @NotNull String text, int id) {
+        String key = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= key.length() - TRIGRAM_LENGTH; i++) {
+            IntList list = trigrams.computeIfAbsent(key.substring(i, i + TRIGRAM_LENGTH), k -> new IntList());
+            // Ids are added in ascending order, so the list stays sorted and duplicates are adjacent
+            if (list.size == 0 || list.values[list.size - 1] != id) {
+                list.add(id);
+            }
+        }
+    }
+
+    private static boolean isTypeMatches(@NotNull Entry entry, @Nullable DBSObjectType[] objectTypes) {
+        if (objectTypes == null || objectTypes.length == 0) {
+            return true;
+        }
+        for (DBSObjectType type : objectTypes) {
+            if (type == entry.type || type.equals(entry.type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Longest part of the LIKE mask without wildcards
+     */
+    @NotNull
+    static String getLongestLiteral(@NotNull String mask) {
+        String longest = "";
+        int start = 0;
+        for (int i = 0; i <= mask.length(); i++) {
+            if (i == mask.length() || isWildcard(mask.charAt(i))) {
+                if (i - start > longest.length()) {
+                    longest = mask.substring(start, i);
+                }
+                start = i + 1;
+            }
+        }
+        return longest;
+    }
+
+    private static boolean isWildcard(char c) {
+        return c == '%' || c == '_' || c == '*' || c == '?' || c == '\\';
+    }
+
+    /**
+     * Growable sorted list of entry ids
+     */
+    private static class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        IntList intersect(IntList other) {
+            IntList result = new IntList();
+            int i = 0, k = 0;
+            while (i < size && k < other.size) {
+                int a = values[i], b = other.values[k];
+                if (a == b) {
+                    result.add(a);
+                    i++;
+                    k++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    k++;
+                }
+            }
+            return result;
+        }
+    }
+}
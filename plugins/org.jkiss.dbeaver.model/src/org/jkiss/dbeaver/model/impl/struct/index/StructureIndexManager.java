@@ -0,0 +1,413 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.struct.index;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.navigator.DBNEvent;
+import org.jkiss.dbeaver.model.navigator.INavigatorListener;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.struct.rdb.DBSProcedure;
+import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureContainer;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTablePartition;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.util.*;
+
+/**
+ * Maintains local metadata indexes of connected data sources.
+ * <p>
+ * Index is built in background after connect and updated incrementally
+ * when objects are changed, created, deleted or refreshed in the navigator.
+ * Indexing is disabled unless {@link ModelPreferences#META_LOCAL_INDEX_ENABLED} is set.
+ */
+public class StructureIndexManager implements DBPEventListener, INavigatorListener {
+
+    private static final Log log = Log.getLog(StructureIndexManager.class);
+
+    private static StructureIndexManager instance;
+
+    public static synchronized StructureIndexManager getInstance() {
+        if (instance == null) {
+            instance = new StructureIndexManager();
+        }
+        return instance;
+    }
+
+    private static class IndexHolder {
+        final StructureIndex index = new StructureIndex();
+        // Objects waiting for re-index with the last change action. Null key means full rebuild.
+        final Map<DBSObject, DBPEvent.Action> pendingObjects = new LinkedHashMap<>();
+        boolean ready;
+        IndexUpdateJob job;
+    }
+
+    private final Map<DBPDataSourceContainer, IndexHolder> indexes = new HashMap<>();
+    private final Set<DBPDataSourceRegistry> registries = Collections.newSetFromMap(new WeakHashMap<>());
+    private boolean navigatorListenerAdded;
+
+    private StructureIndexManager() {
+    }
+
+    public boolean isEnabled() {
+        return DBWorkbench.getPlatform().getPreferenceStore().getBoolean(ModelPreferences.META_LOCAL_INDEX_ENABLED);
+    }
+
+    /**
+     * Returns index of the specified data source if it is fully built.
+     * Otherwise, schedules index build and returns null, so caller has to use the structure assistant.
+     */
+    @Nullable
+    public StructureIndex getIndex(@NotNull DBPDataSourceContainer container) {
+        if (!isEnabled() || !container.isConnected()) {
+            return null;
+        }
+        synchronized (indexes) {
+            IndexHolder holder = indexes.get(container);
+            if (holder == null) {
+                holder = new IndexHolder();
+                indexes.put(container, holder);
+                addListeners(container);
+                scheduleUpdate(container, holder, null, DBPEvent.Action.OBJECT_UPDATE);
+                return null;
+            }
+            return holder.ready ? holder.index : null;
+        }
+    }
+
+    /**
+     * Checks whether object definitions (source text) are indexed.
+     * Otherwise search in definitions must be performed by the database.
+     */
+    public static boolean isDefinitionsIndexed() {
+        return DBWorkbench.getPlatform().getPreferenceStore().getBoolean(ModelPreferences.META_LOCAL_INDEX_DEFINITIONS);
+    }
+
+    /**
+     * Checks whether index contains objects of the specified type.
+     * Child objects of entities (columns, keys, indexes) are not indexed.
+     */
+    public static boolean isTypeIndexed(@NotNull DBSObjectType objectType) {
+        Class<? extends DBSObject> typeClass = objectType.getTypeClass();
+        return typeClass != null && !DBSEntityElement.class.isAssignableFrom(typeClass);
+    }
+
+    /**
+     * Drops index of the data source. It will be rebuilt on next request.
+     */
+    public void resetIndex(@NotNull DBPDataSourceContainer container) {
+        synchronized (indexes) {
+            IndexHolder holder = indexes.remove(container);
+            if (holder != null && holder.job != null) {
+                holder.job.cancel();
+            }
+        }
+    }
+
+    @Override
+    public void handleDataSourceEvent(DBPEvent event) {
+        DBSObject object = event.getObject();
+        if (object instanceof DBPDataSourceContainer container) {
+            if (event.getAction() == DBPEvent.Action.OBJECT_UPDATE && Boolean.FALSE.equals(event.getEnabled())) {
+                // Disconnect
+                resetIndex(container);
+            } else if (event.getAction() == DBPEvent.Action.OBJECT_REMOVE) {
+                resetIndex(container);
+            }
+            return;
+        }
+        if (object == null || object.getDataSource() == null) {
+            return;
+        }
+        switch (event.getAction()) {
+            case OBJECT_ADD, OBJECT_UPDATE, OBJECT_REMOVE -> objectChanged(object, event.getAction());
+            default -> {
+                // Selection and connect events don't change metadata
+            }
+        }
+    }
+
+    @Override
+    public void nodeChanged(DBNEvent event) {
+        if (event.getNodeChange() == DBNEvent.NodeChange.REFRESH || event.getNodeChange() == DBNEvent.NodeChange.STRUCT_REFRESH) {
+            if (event.getNode() instanceof DBNDatabaseNode dbNode && dbNode.getObject() != null) {
+                objectChanged(dbNode.getObject(), DBPEvent.Action.OBJECT_UPDATE);
+            }
+        }
+    }
+
+    private void objectChanged(@NotNull DBSObject object, @NotNull DBPEvent.Action action) {
+        DBPDataSource dataSource = object.getDataSource();
+        if (dataSource == null) {
+            return;
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        synchronized (indexes) {
+            IndexHolder holder = indexes.get(container);
+            if (holder != null) {
+                scheduleUpdate(container, holder, object == dataSource ? null : object, action);
+            }
+        }
+    }
+
+    private void scheduleUpdate(
+        @NotNull DBPDataSourceContainer container,
+        @NotNull IndexHolder holder,
+        @Nullable DBSObject object,
+        @NotNull DBPEvent.Action action
+    ) {
+        holder.pendingObjects.put(object, action);
+        if (holder.job == null) {
+            holder.job = new IndexUpdateJob(container, holder);
+            holder.job.schedule(500);
+        }
+    }
+
+    private void addListeners(@NotNull DBPDataSourceContainer container) {
+        DBPDataSourceRegistry registry = container.getRegistry();
+        if (registries.add(registry)) {
+            registry.addDataSourceListener(this);
+        }
+        if (!navigatorListenerAdded && DBWorkbench.getPlatform().getNavigatorModel() != null) {
+            DBWorkbench.getPlatform().getNavigatorModel().addListener(this);
+            navigatorListenerAdded = true;
+        }
+    }
+
+    private class IndexUpdateJob extends AbstractJob {
+        private final DBPDataSourceContainer container;
+        private final IndexHolder holder;
+
+        IndexUpdateJob(@NotNull DBPDataSourceContainer container, @NotNull IndexHolder holder) {
+            super("Index metadata of " + container.getName());
+            setUser(false);
+            setSystem(true);
+            this.container = container;
+            this.holder = holder;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            while (!monitor.isCanceled()) {
+                Map<DBSObject, DBPEvent.Action> objects;
+                synchronized (indexes) {
+                    if (holder.pendingObjects.isEmpty() || indexes.get(container) != holder) {
+                        holder.job = null;
+                        break;
+                    }
+                    objects = new LinkedHashMap<>(holder.pendingObjects);
+                    holder.pendingObjects.clear();
+                }
+                DBPDataSource dataSource = container.getDataSource();
+                if (dataSource == null) {
+                    continue;
+                }
+                try {
+                    if (objects.containsKey(null)) {
+                        rebuildIndex(monitor, dataSource);
+                    } else {
+                        for (Map.Entry<DBSObject, DBPEvent.Action> entry : objects.entrySet()) {
+                            updateObject(monitor, dataSource, entry.getKey(), entry.getValue());
+                        }
+                    }
+                } catch (Exception e) {
+                    log.debug("Error indexing metadata of '" + container.getName() + "'", e);
+                }
+            }
+            synchronized (indexes) {
+                if (holder.job == this) {
+                    holder.job = null;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void rebuildIndex(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource dataSource) throws DBException {
+            long startTime = System.currentTimeMillis();
+            List<StructureIndex.Entry> entries = new ArrayList<>();
+            if (dataSource instanceof DBSObjectContainer root) {
+                new IndexBuilder(dataSource).indexChildren(monitor, root, new String[0], entries);
+            }
+            if (monitor.isCanceled()) {
+                return;
+            }
+            synchronized (holder.index) {
+                holder.index.clear();
+                holder.index.addEntries(entries);
+            }
+            synchronized (indexes) {
+                holder.ready = true;
+            }
+            log.debug("Metadata index of '" + container.getName() + "' built: " + entries.size() + " objects in " +
+                (System.currentTimeMillis() - startTime) + "ms");
+        }
+
+        private void updateObject(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBPDataSource dataSource,
+            @NotNull DBSObject object,
+            @NotNull DBPEvent.Action action
+        ) throws DBException {
+            String[] path = IndexBuilder.getObjectPath(object);
+            if (path == null) {
+                return;
+            }
+            List<StructureIndex.Entry> entries = new ArrayList<>();
+            // Removed objects stay persisted in memory, they must not be read back into the index
+            if (action != DBPEvent.Action.OBJECT_REMOVE && object.isPersisted() && object.getParentObject() != null) {
+                IndexBuilder builder = new IndexBuilder(dataSource);
+                builder.indexObject(monitor, object, path, entries);
+            }
+            synchronized (holder.index) {
+                holder.index.removeEntries(path);
+                holder.index.addEntries(entries);
+            }
+        }
+    }
+
+    /**
+     * Reads metadata objects into index entries
+     */
+    static class IndexBuilder {
+        private final DBSObjectType[] objectTypes;
+        private final boolean includeDefinitions;
+
+        IndexBuilder(@NotNull DBPDataSource dataSource) {
+            DBSStructureAssistant<?> assistant = DBUtils.getAdapter(DBSStructureAssistant.class, dataSource);
+            this.objectTypes = assistant == null ? new DBSObjectType[0] : assistant.getSearchObjectTypes();
+            this.includeDefinitions = isDefinitionsIndexed();
+        }
+
+        void indexObject(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBSObject object,
+            @NotNull String[] path,
+            @NotNull List<StructureIndex.Entry> entries
+        ) throws DBException {
+            if (monitor.isCanceled() || DBUtils.isHiddenObject(object) || object instanceof DBSTablePartition) {
+                return;
+            }
+            DBSObjectType type = findObjectType(object);
+            if (type != null) {
+                entries.add(new StructureIndex.Entry(
+                    path,
+                    type,
+                    object.getDescription(),
+                    includeDefinitions ? readDefinition(monitor, object) : null,
+                    object));
+            }
+            if (object instanceof DBSObjectContainer container && !(object instanceof DBSEntity)) {
+                indexChildren(monitor, container, path, entries);
+            }
+        }
+
+        void indexChildren(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBSObjectContainer container,
+            @NotNull String[] path,
+            @NotNull List<StructureIndex.Entry> entries
+        ) throws DBException {
+            monitor.subTask("Index " + (path.length == 0 ? "data source" : String.join(".", path)));
+            container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ENTITIES);
+            Collection<? extends DBSObject> children = container.getChildren(monitor);
+            if (children != null) {
+                for (DBSObject child : children) {
+                    indexObject(monitor, child, appendPath(path, child.getName()), entries);
+                }
+            }
+            if (container instanceof DBSProcedureContainer procedureContainer) {
+                Collection<? extends DBSProcedure> procedures = procedureContainer.getProcedures(monitor);
+                if (procedures != null) {
+                    for (DBSProcedure procedure : procedures) {
+                        if (children != null && children.contains(procedure)) {
+                            continue;
+                        }
+                        indexObject(monitor, procedure, appendPath(path, procedure.getName()), entries);
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        private DBSObjectType findObjectType(@NotNull DBSObject object) {
+            for (DBSObjectType type : objectTypes) {
+                Class<? extends DBSObject> typeClass = type.getTypeClass();
+                if (typeClass != null && typeClass.isInstance(object) && isTypeIndexed(type)) {
+                    if (object instanceof DBSTable table && isViewType(type) != table.isView()) {
+                        // Tables and views often share the same class
+                        continue;
+                    }
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        private static boolean isViewType(@NotNull DBSObjectType type) {
+            return type.getTypeName().toLowerCase(Locale.ENGLISH).contains("view");
+        }
+
+        @Nullable
+        private static String readDefinition(@NotNull DBRProgressMonitor monitor, @NotNull DBSObject object) {
+            boolean hasSource = object instanceof DBSProcedure || (object instanceof DBSTable table && table.isView());
+            if (!hasSource || !(object instanceof DBPScriptObject scriptObject)) {
+                return null;
+            }
+            try {
+                return scriptObject.getObjectDefinitionText(monitor, Collections.emptyMap());
+            } catch (Exception e) {
+                log.debug("Can't read definition of '" + object.getName() + "'", e);
+                return null;
+            }
+        }
+
+        @NotNull
+        private static String[] appendPath(@NotNull String[] path, @NotNull String name) {
+            String[] result = Arrays.copyOf(path, path.length + 1);
+            result[path.length] = name;
+            return result;
+        }
+
+        /**
+         * Returns names of object and its parents up to the data source (exclusive)
+         */
+        @Nullable
+        static String[] getObjectPath(@NotNull DBSObject object) {
+            List<String> names = new ArrayList<>();
+            for (DBSObject o = object; o != null; o = o.getParentObject()) {
+                if (o instanceof DBPDataSource || o instanceof DBPDataSourceContainer) {
+                    Collections.reverse(names);
+                    return names.toArray(new String[0]);
+                }
+                names.add(o.getName());
+            }
+            return null;
+        }
+    }
+
+}
@@ -29,6 +29,12 @@ import java.util.Map;
  */
 public interface DBSDataBulkLoader {
 
+    /**
+     * Boolean option. Drop secondary indexes before the load and create them again after all rows are loaded.
+     * Loaders which can't defer index creation ignore it.
+     */
+    String OPTION_DEFER_INDEXES = "deferIndexes";
+
     interface BulkLoadManager extends AutoCloseable {
         void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException;
 
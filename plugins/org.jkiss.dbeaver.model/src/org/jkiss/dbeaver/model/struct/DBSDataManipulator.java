@@ -48,6 +48,22 @@ public interface DBSDataManipulator extends DBSDataContainer {
     String OPTION_DISABLE_BATCHES = "data.manipulate.disableBatches";//$NON-NLS-1$
     String OPTION_INSERT_REPLACE_METHOD = "data.manipulate.insertReplaceMethod";//$NON-NLS-1$
     String OPTION_USE_CURRENT_DIALECT_SETTINGS = "data.manipulate.useCurrentDialect";//$NON-NLS-1$
+    String OPTION_NULL_VALUES_MODE = "data.manipulate.nullValuesMode";//$NON-NLS-1$
+
+    /**
+     * Defines how insert batches handle rows which have NULLs in different columns.
+     * By default NULL columns are omitted from insert statement (so column defaults apply) and thus
+     * statement text depends on positions of NULLs in a row.
+     */
+    enum NullValuesMode {
+        // Execute pending batch and prepare a new statement each time NULL positions change
+        RESTART_BATCH,
+        // Keep a few prepared statements (one per NULL positions) each with its own batch.
+        // Rows with different NULL positions may be inserted in a different order.
+        STATEMENT_CACHE,
+        // Include all columns in statement and bind NULLs explicitly. Column defaults are not applied to NULL values.
+        BIND_NULLS
+    }
 
     interface ExecuteBatch extends AutoCloseable {
         void add(@NotNull Object[] attributeValues) throws DBCException;
@@ -26,8 +26,7 @@ import org.jkiss.dbeaver.model.app.DBPProject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
-import java.util.Date;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Task configuration
@@ -64,6 +63,25 @@ public interface DBTTask extends DBPNamedObject, DBPObjectWithDescription {
     @NotNull
     DBTTaskRun[] getAllRuns();
 
+    /**
+     * Returns number of runs in the task history
+     */
+    default int getRunCount() {
+        return getAllRuns().length;
+    }
+
+    /**
+     * Reads a page of runs. Runs are ordered from the oldest to the newest.
+     * Negative limit means all runs starting from the offset.
+     */
+    @NotNull
+    default List<DBTTaskRun> getRuns(int offset, int limit) {
+        DBTTaskRun[] runs = getAllRuns();
+        int from = Math.max(0, Math.min(offset, runs.length));
+        int to = limit < 0 ? runs.length : Math.min(runs.length, from + limit);
+        return new ArrayList<>(Arrays.asList(runs).subList(from, to));
+    }
+
     @Nullable
     Path getRunLog(@NotNull DBTTaskRun run);
 
@@ -75,7 +93,8 @@ public interface DBTTask extends DBPNamedObject, DBPObjectWithDescription {
     void cleanRunStatistics();
 
     /**
-     * Refreshes run statistics. This is a <b>thread blocking operation</b>.
+     * Reads runs made by other processes. This is a <b>thread blocking operation</b>.
+     * Runs of this process are visible without refresh.
      */
     void refreshRunStatistics();
 }
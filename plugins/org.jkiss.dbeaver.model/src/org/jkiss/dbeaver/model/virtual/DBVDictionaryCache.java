@@ -0,0 +1,365 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.DBPEventListener;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.DBRRunnableWithReturn;
+import org.jkiss.dbeaver.model.struct.DBSDictionary;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Shared cache of dictionary (foreign key) values.
+ * Each connection has its own LRU of key values and their descriptions, so all result set viewers
+ * and editors of the same connection reuse them.
+ * Keys missing in cache are read with a single dictionary query per entity (split into batches of {@link #MAX_BATCH_SIZE}).
+ * Entries expire after {@link #DEFAULT_TIME_TO_LIVE} and are dropped when the dictionary entity is changed or its data is edited.
+ * Caches of a connection are dropped on connect and disconnect, so they don't keep metadata of closed connections.
+ */
+public class DBVDictionaryCache implements DBPEventListener {
+
+    public static final int MAX_CACHED_VALUES = 10000;
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final long DEFAULT_TIME_TO_LIVE = 5 * 60 * 1000L;
+
+    private static final DBVDictionaryCache INSTANCE = new DBVDictionaryCache();
+
+    public static DBVDictionaryCache getInstance() {
+        return INSTANCE;
+    }
+
+    private record EntryKey(
+        @NotNull DBSEntity dictionary,
+        @NotNull List<String> keyColumns,
+        @Nullable String descriptionColumns,
+        @NotNull List<Object> keyValue
+    ) {
+    }
+
+    // Null value means that there is no such key in the dictionary
+    private record CachedValue(@Nullable DBDLabelValuePair value, long loadTime) {
+    }
+
+    private static class ConnectionCache extends LinkedHashMap<EntryKey, CachedValue> {
+        ConnectionCache() {
+            super(256, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<EntryKey, CachedValue> eldest) {
+            return size() > MAX_CACHED_VALUES;
+        }
+    }
+
+    private final Map<DBPDataSourceContainer, ConnectionCache> connectionCaches = new IdentityHashMap<>();
+    private final Set<DBPDataSourceRegistry> registries = Collections.newSetFromMap(new WeakHashMap<>());
+    private volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+    private DBVDictionaryCache() {
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns dictionary values for the specified keys.
+     * Cached values are returned as is, all other keys are read from the dictionary in batches.
+     * Result order follows {@code sortByValue} and {@code sortAsc} like in {@link DBSDictionary#getDictionaryValues}.
+     *
+     * @param entity             dictionary entity. Entities which are not dictionaries have no values.
+     *                           Virtual entities are resolved to their real entities.
+     * @param descriptionColumns description columns expression. It is a part of the cache key, so changing
+     *                           dictionary description doesn't return stale labels.
+     */
+    @NotNull
+    public List<DBDLabelValuePair> getDictionaryValues(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSEntity entity,
+        @NotNull List<DBSEntityAttribute> keyColumns,
+        @NotNull List<Object[]> keyValues,
+        @Nullable String descriptionColumns,
+        boolean sortByValue,
+        boolean sortAsc
+    ) throws DBException {
+        if (entity instanceof DBVEntity virtualEntity) {
+            entity = virtualEntity.getRealEntity(monitor);
+        }
+        if (!(entity instanceof DBSDictionary dictionary)) {
+            return Collections.emptyList();
+        }
+        DBPDataSource dataSource = entity.getDataSource();
+        if (dataSource == null || keyColumns.isEmpty() || keyValues.isEmpty()) {
+            return dictionary.getDictionaryValues(monitor, keyColumns, keyValues, null, sortByValue, sortAsc, false);
+        }
+        registerListener(dataSource);
+        DBPDataSourceContainer container = dataSource.getContainer();
+        List<String> columnNames = keyColumns.stream().map(DBSEntityAttribute::getName).toList();
+
+        List<DBDLabelValuePair> result = new ArrayList<>();
+        List<Object[]> missingValues = new ArrayList<>();
+        List<EntryKey> missingKeys = new ArrayList<>();
+        Set<EntryKey> processedKeys = new HashSet<>();
+        long currentTime = System.currentTimeMillis();
+        synchronized (this) {
+            ConnectionCache cache = connectionCaches.get(container);
+            for (Object[] keyValue : keyValues) {
+                EntryKey key = makeKey(entity, columnNames, descriptionColumns, keyValue);
+                if (key != null) {
+                    if (!processedKeys.add(key)) {
+                        continue;
+                    }
+                    CachedValue cachedValue = cache == null ? null : cache.get(key);
+                    if (cachedValue != null && currentTime - cachedValue.loadTime < timeToLive) {
+                        if (cachedValue.value != null) {
+                            result.add(cachedValue.value);
+                        }
+                        continue;
+                    }
+                }
+                missingValues.add(keyValue);
+                missingKeys.add(key);
+            }
+        }
+
+        for (int offset = 0; offset < missingValues.size() && !monitor.isCanceled(); offset += MAX_BATCH_SIZE) {
+            int batchEnd = Math.min(offset + MAX_BATCH_SIZE, missingValues.size());
+            List<DBDLabelValuePair> batchResult = dictionary.getDictionaryValues(
+                monitor, keyColumns, missingValues.subList(offset, batchEnd), null, sortByValue, sortAsc, false);
+            result.addAll(batchResult);
+            if (monitor.isCanceled()) {
+                // Result may be incomplete
+                break;
+            }
+            List<EntryKey> batchKeys = missingKeys.subList(offset, batchEnd);
+            Set<List<Object>> requestedValues = new HashSet<>();
+            for (EntryKey key : batchKeys) {
+                if (key != null) {
+                    requestedValues.add(key.keyValue);
+                }
+            }
+            Map<List<Object>, DBDLabelValuePair> readValues = new HashMap<>();
+            // Dictionary may return keys in another form (e.g. padded or case-insensitive).
+            // Absent keys can't be told from them then, so only the found ones are cached.
+            boolean allKeysMatched = true;
+            for (DBDLabelValuePair pair : batchResult) {
+                EntryKey key = makeKey(entity, columnNames, descriptionColumns, getPairKey(pair, columnNames.size()));
+                if (key != null && requestedValues.contains(key.keyValue)) {
+                    readValues.put(key.keyValue, pair);
+                } else {
+                    allKeysMatched = false;
+                }
+            }
+            synchronized (this) {
+                ConnectionCache cache = connectionCaches.computeIfAbsent(container, c -> new ConnectionCache());
+                for (EntryKey key : batchKeys) {
+                    if (key != null) {
+                        DBDLabelValuePair value = readValues.get(key.keyValue);
+                        if (value != null || allKeysMatched) {
+                            cache.put(key, new CachedValue(value, currentTime));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (result.size() > 1) {
+            Comparator<DBDLabelValuePair> comparator = sortByValue ?
+                DBDLabelValuePair::compareTo :
+                Comparator.comparing(DBDLabelValuePair::getLabel, Comparator.nullsFirst(Comparator.naturalOrder()));
+            result.sort(sortAsc ? comparator : comparator.reversed());
+        }
+        return result;
+    }
+
+    /**
+     * Returns dictionary entries of a single key value.
+     * Cached entry is returned as is, otherwise entries are read by the loader and cached if they match the key.
+     *
+     * @param descriptionColumns description columns expression, a part of the cache key
+     * @param loader             reads entries of the key value from the dictionary
+     */
+    @NotNull
+    public List<DBDLabelValuePair> getValueEntry(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSEntity entity,
+        @NotNull DBSEntityAttribute keyColumn,
+        @NotNull Object keyValue,
+        @Nullable String descriptionColumns,
+        @NotNull DBRRunnableWithReturn<List<DBDLabelValuePair>> loader
+    ) throws DBException {
+        DBPDataSource dataSource = entity.getDataSource();
+        List<String> columnNames = List.of(keyColumn.getName());
+        EntryKey key = dataSource == null ? null : makeKey(entity, columnNames, descriptionColumns, new Object[] { keyValue });
+        if (key == null) {
+            return loader.runTask(monitor);
+        }
+        registerListener(dataSource);
+        DBPDataSourceContainer container = dataSource.getContainer();
+        long currentTime = System.currentTimeMillis();
+        synchronized (this) {
+            ConnectionCache cache = connectionCaches.get(container);
+            CachedValue cachedValue = cache == null ? null : cache.get(key);
+            if (cachedValue != null && currentTime - cachedValue.loadTime < timeToLive) {
+                List<DBDLabelValuePair> result = new ArrayList<>(1);
+                if (cachedValue.value != null) {
+                    result.add(cachedValue.value);
+                }
+                return result;
+            }
+        }
+        List<DBDLabelValuePair> values = loader.runTask(monitor);
+        if (monitor.isCanceled() || values.size() > 1) {
+            return values;
+        }
+        DBDLabelValuePair value = values.isEmpty() ? null : values.get(0);
+        if (value != null) {
+            EntryKey valueKey = makeKey(entity, columnNames, descriptionColumns, getPairKey(value, 1));
+            if (valueKey == null || !valueKey.keyValue.equals(key.keyValue)) {
+                // Returned key differs from the requested one, don't cache it
+                return values;
+            }
+        }
+        synchronized (this) {
+            connectionCaches.computeIfAbsent(container, c -> new ConnectionCache())
+                .put(key, new CachedValue(value, currentTime));
+        }
+        return values;
+    }
+
+    /**
+     * Removes all cached values
+     */
+    public synchronized void clear() {
+        connectionCaches.clear();
+    }
+
+    /**
+     * Removes cached values of the specified dictionary (or all dictionaries of the specified container or connection)
+     */
+    public synchronized void invalidate(@NotNull DBSObject object) {
+        if (object instanceof DBPDataSourceContainer container) {
+            connectionCaches.remove(container);
+            return;
+        }
+        DBPDataSource dataSource = object.getDataSource();
+        ConnectionCache cache = dataSource == null ? null : connectionCaches.get(dataSource.getContainer());
+        if (cache != null) {
+            cache.keySet().removeIf(key -> isSameOrChild(key.dictionary, object));
+        }
+    }
+
+    /**
+     * Removes cached values of all connections of the registry and stops listening to it.
+     * Called when the registry is disposed (e.g. project is closed).
+     */
+    public void invalidateRegistry(@NotNull DBPDataSourceRegistry registry) {
+        synchronized (registries) {
+            if (registries.remove(registry)) {
+                registry.removeDataSourceListener(this);
+            }
+        }
+        synchronized (this) {
+            connectionCaches.keySet().removeIf(container -> container.getRegistry() == registry);
+        }
+    }
+
+    @Override
+    public void handleDataSourceEvent(DBPEvent event) {
+        DBSObject object = event.getObject();
+        if (object == null) {
+            return;
+        }
+        switch (event.getAction()) {
+            case OBJECT_UPDATE, OBJECT_REMOVE, BEFORE_CONNECT, AFTER_CONNECT -> invalidate(object);
+            default -> {
+                // New objects and selection changes don't affect cached values
+            }
+        }
+    }
+
+    private void registerListener(@NotNull DBPDataSource dataSource) {
+        DBPDataSourceRegistry registry = dataSource.getContainer().getRegistry();
+        synchronized (registries) {
+            if (registries.add(registry)) {
+                registry.addDataSourceListener(this);
+            }
+        }
+    }
+
+    @Nullable
+    private static EntryKey makeKey(
+        @NotNull DBSEntity dictionary,
+        @NotNull List<String> columnNames,
+        @Nullable String descriptionColumns,
+        @NotNull Object[] keyValue
+    ) {
+        if (keyValue.length != columnNames.size()) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>(keyValue.length);
+        for (Object value : keyValue) {
+            if (value == null || value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof UUID) {
+                values.add(value);
+            } else if (value instanceof Number number && !(value instanceof Double) && !(value instanceof Float)) {
+                // Key and dictionary values may have different numeric types
+                try {
+                    values.add(new BigDecimal(number.toString()).stripTrailingZeros());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            } else {
+                // Dates are returned formatted and complex values have no value equality, don't cache them
+                return null;
+            }
+        }
+        return new EntryKey(dictionary, columnNames, descriptionColumns, values);
+    }
+
+    @NotNull
+    private static Object[] getPairKey(@NotNull DBDLabelValuePair pair, int keySize) {
+        Object pairValue = pair.getValue();
+        return keySize > 1 && pairValue instanceof Object[] array ? array : new Object[] { pairValue };
+    }
+
+    private static boolean isSameOrChild(@NotNull DBSObject object, @NotNull DBSObject parent) {
+        for (DBSObject o = object; o != null; o = o.getParentObject()) {
+            if (o == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -824,9 +824,22 @@ public class DBVEntity extends DBVObject implements DBSEntity, DBPQualifiedObjec
     @Override
     public List<DBDLabelValuePair> getDictionaryValues(@NotNull DBRProgressMonitor monitor, @NotNull List<DBSEntityAttribute> keyColumns, @NotNull List<Object[]> keyValues, @Nullable List<DBDAttributeValue[]> preceedingKeys, boolean sortByValue, boolean sortAsc, boolean omitNonDescriptive) throws DBException {
         DBSEntity realEntity = getRealEntity(monitor);
-        return realEntity instanceof DBSDictionary dictionary ?
-            dictionary.getDictionaryValues(monitor, keyColumns, keyValues, preceedingKeys, sortByValue, sortAsc, false) :
-            Collections.emptyList();
+        if (!(realEntity instanceof DBSDictionary dictionary)) {
+            return Collections.emptyList();
+        }
+        if (CommonUtils.isEmpty(preceedingKeys) && !keyColumns.isEmpty()) {
+            // Plain key lookups are shared between all viewers of the connection
+            return DBVDictionaryCache.getInstance().getDictionaryValues(
+                monitor,
+                realEntity,
+                keyColumns,
+                keyValues,
+                DBVUtils.getDictionaryDescriptionColumns(monitor, keyColumns.get(0)),
+                sortByValue,
+                sortAsc
+            );
+        }
+        return dictionary.getDictionaryValues(monitor, keyColumns, keyValues, preceedingKeys, sortByValue, sortAsc, false);
     }
 
     public DBVModel getModel() {
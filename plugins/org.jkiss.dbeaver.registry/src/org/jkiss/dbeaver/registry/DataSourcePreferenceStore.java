@@ -64,7 +64,12 @@ public class DataSourcePreferenceStore extends SimplePreferenceStore implements
     public void save()
         throws IOException
     {
-        dataSourceDescriptor.getRegistry().flushConfig();
+        if (dataSourceDescriptor.getRegistry() instanceof DataSourceRegistry<?> registry) {
+            // Only the storage of this data source needs to be rewritten
+            registry.flushConfig(dataSourceDescriptor.getStorage());
+        } else {
+            dataSourceDescriptor.getRegistry().flushConfig();
+        }
     }
 
     @Nullable
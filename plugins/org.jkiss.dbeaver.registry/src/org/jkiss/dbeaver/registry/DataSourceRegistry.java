@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.registry;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.jkiss.code.NotNull;
@@ -42,6 +43,7 @@ import org.jkiss.dbeaver.model.runtime.*;
 import org.jkiss.dbeaver.model.secret.DBSSecretController;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.model.virtual.DBVModel;
 import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
@@ -52,6 +54,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -61,6 +68,11 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     private static final Log log = Log.getLog(DataSourceRegistry.class);
 
     private static final long DISCONNECT_ALL_TIMEOUT = 5000;
+    // Changes made within this period are saved at once
+    private static final long CONFIG_SAVE_DELAY = 100;
+    // Max time error checks wait for the pending configuration save
+    private static final long CONFIG_SAVE_WAIT_TIMEOUT = 10000;
+    private static final int MAX_CONFIG_READ_THREADS = 4;
 
     private final DBPProject project;
     private final DataSourceConfigurationManager configurationManager;
@@ -78,6 +90,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
 
     private final DBVModel.ModelChangeListener modelChangeListener = new DBVModel.ModelChangeListener();
     private volatile ConfigSaver configSaver;
+    // Storages changed since the last save. All storages are saved if allStoragesModified is set.
+    private final Set<DBPDataSourceConfigurationStorage> modifiedStorages = new LinkedHashSet<>();
+    private boolean allStoragesModified;
     private DBACredentialsProvider authCredentialsProvider;
     protected Throwable lastError;
 
@@ -113,6 +128,7 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
             removeDataSourceListener(modelChangeListener);
             DataSourceProviderRegistry.getInstance().fireRegistryChange(this, false);
         }
+        DBVDictionaryCache.getInstance().invalidateRegistry(this);
         synchronized (dataSourceListeners) {
             if (!this.dataSourceListeners.isEmpty()) {
                 log.warn("Some data source listeners are still registered: " +
@@ -121,9 +137,24 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
             }
             this.dataSourceListeners.clear();
         }
+        // Save changes which are still waiting for the config saver
+        ConfigSaver saver = configSaver;
+        if (saver != null) {
+            if (!saver.cancel()) {
+                // Save is already running. Let it finish before descriptors are disposed.
+                try {
+                    saver.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                saveModifiedDataSources(new VoidProgressMonitor());
+            }
+        }
         // Disconnect in 5 seconds or die
         closeConnections(DISCONNECT_ALL_TIMEOUT);
-        // Do not save config on shutdown.
+        // Do not save the whole config on shutdown.
         // Some data source might be broken due to misconfiguration
         // and we don't want to lose their config just after restart
 //        if (getProjectNode().isOpen()) {
@@ -646,27 +677,50 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceUpdate(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        flushConfig(getStorage(container));
     }
 
     protected void persistDataFolderDelete(@NotNull String folderPath, boolean dropContents) {
-        saveDataSources();
+        // Folder contents may be moved to the parent folder in any storage
+        flushConfig();
     }
 
     protected void persistDataSourceDelete(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        flushConfig(getStorage(container));
     }
 
     @Override
     public void flushConfig() {
+        flushConfig(null);
+    }
+
+    /**
+     * Schedules asynchronous save of the specified storage.
+     * Only storages modified since the last save are written.
+     *
+     * @param storage modified storage or null if the whole configuration must be saved
+     */
+    void flushConfig(@Nullable DBPDataSourceConfigurationStorage storage) {
         if (project.isInMemory()) {
             return;
         }
+        synchronized (modifiedStorages) {
+            if (storage == null) {
+                allStoragesModified = true;
+            } else {
+                modifiedStorages.add(storage);
+            }
+        }
         // Use async config saver to avoid too frequent configuration re-save during some massive configuration update
         if (configSaver == null) {
             configSaver = new ConfigSaver();
         }
-        configSaver.schedule(100);
+        configSaver.schedule(CONFIG_SAVE_DELAY);
+    }
+
+    @Nullable
+    private static DBPDataSourceConfigurationStorage getStorage(@NotNull DBPDataSourceContainer container) {
+        return container instanceof DataSourceDescriptor descriptor ? descriptor.getStorage() : null;
     }
 
     @Override
@@ -691,6 +745,7 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     @Nullable
     @Override
     public Throwable getLastError() {
+        waitForConfigSave();
         Throwable error = this.lastError;
         this.lastError = null;
         return error;
@@ -701,6 +756,27 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         return this.lastError != null;
     }
 
+    /**
+     * Starts the pending configuration save without the debounce delay and waits for it,
+     * so save errors of the preceding changes are seen by {@link #getLastError()}.
+     * If the save takes longer than {@link #CONFIG_SAVE_WAIT_TIMEOUT} it proceeds in background
+     * and its error is reported by the next check.
+     */
+    private void waitForConfigSave() {
+        ConfigSaver saver = configSaver;
+        if (saver == null || saver.getState() == Job.NONE) {
+            return;
+        }
+        saver.wakeUp();
+        try {
+            if (!saver.join(CONFIG_SAVE_WAIT_TIMEOUT, new NullProgressMonitor())) {
+                log.debug("Data source configuration save is still in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     public void addDataSourceListener(@NotNull DBPEventListener listener) {
         synchronized (dataSourceListeners) {
@@ -811,16 +887,46 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
 
         // Parse datasources
         ParseResults parseResults = new ParseResults();
-        // Modern way - search json configs in metadata folder
-        for (DBPDataSourceConfigurationStorage cfgStorage : storages) {
-            if (loadDataSources(cfgStorage, manager, dataSourceIds, parseResults)) {
-                configChanged = true;
-            } else {
-                if (lastError != null) {
-                    return false;
+        // Configuration files are read in parallel but applied to the registry in their original order
+        ExecutorService readExecutor = null;
+        Map<DBPDataSourceConfigurationStorage, Future<DataSourceSerializer<T>>> preloadedSerializers = new HashMap<>();
+        if (storages.size() > 1) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            readExecutor = Executors.newFixedThreadPool(
+                Math.min(storages.size(), MAX_CONFIG_READ_THREADS),
+                r -> {
+                    Thread thread = new Thread(r, "Data source configuration reader " + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            for (DBPDataSourceConfigurationStorage cfgStorage : storages) {
+                DataSourceSerializer<T> serializer = createSerializer(cfgStorage);
+                if (serializer instanceof DataSourceSerializerModern<T> modernSerializer &&
+                    modernSerializer.canPreloadConfiguration(cfgStorage)
+                ) {
+                    preloadedSerializers.put(cfgStorage, readExecutor.submit(() -> {
+                        modernSerializer.preloadConfiguration(cfgStorage, manager, dataSourceIds);
+                        return serializer;
+                    }));
                 }
             }
         }
+        try {
+            // Modern way - search json configs in metadata folder
+            for (DBPDataSourceConfigurationStorage cfgStorage : storages) {
+                if (loadDataSources(cfgStorage, manager, dataSourceIds, parseResults, preloadedSerializers.get(cfgStorage))) {
+                    configChanged = true;
+                } else {
+                    if (lastError != null) {
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            if (readExecutor != null) {
+                readExecutor.shutdownNow();
+            }
+        }
 
         // Reflect changes
         if (refresh) {
@@ -877,18 +983,27 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         @NotNull DataSourceConfigurationManager manager,
         @Nullable Collection<String> dataSourceIds,
         @NotNull ParseResults parseResults
+    ) {
+        return loadDataSources(storage, manager, dataSourceIds, parseResults, null);
+    }
+
+    private boolean loadDataSources(
+        @NotNull DBPDataSourceConfigurationStorage storage,
+        @NotNull DataSourceConfigurationManager manager,
+        @Nullable Collection<String> dataSourceIds,
+        @NotNull ParseResults parseResults,
+        @Nullable Future<DataSourceSerializer<T>> preloadedSerializer
     ) {
         boolean configChanged = false;
         try {
-            DataSourceSerializer<T> serializer;
-            if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
-                serializer = new DataSourceSerializerLegacy<>(this);
-            } else {
-                serializer = createModernSerializer();
-            }
+            DataSourceSerializer<T> serializer = preloadedSerializer == null ?
+                createSerializer(storage) : preloadedSerializer.get();
             configChanged = serializer.parseDataSources(storage, manager, parseResults, dataSourceIds);
 
             lastError = null;
+        } catch (ExecutionException ex) {
+            lastError = ex.getCause();
+            log.error("Error reading datasource config from " + storage.getStorageId(), ex.getCause());
         } catch (Exception ex) {
             lastError = ex;
             log.error("Error loading datasource config from " + storage.getStorageId(), ex);
@@ -896,6 +1011,15 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         return configChanged;
     }
 
+    @NotNull
+    private DataSourceSerializer<T> createSerializer(@NotNull DBPDataSourceConfigurationStorage storage) {
+        if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
+            return new DataSourceSerializerLegacy<>(this);
+        } else {
+            return createModernSerializer();
+        }
+    }
+
     @NotNull
     protected DataSourceSerializer<T> createModernSerializer() {
         return new DataSourceSerializerModern<>(this);
@@ -907,6 +1031,22 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void saveDataSources(DBRProgressMonitor monitor) {
+        synchronized (modifiedStorages) {
+            modifiedStorages.clear();
+            allStoragesModified = false;
+        }
+        saveDataSources(monitor, null);
+    }
+
+    /**
+     * Saves data sources of the specified storages. Other storages are left intact.
+     *
+     * @param storagesToSave storages to save or null to save all of them
+     */
+    protected void saveDataSources(
+        @NotNull DBRProgressMonitor monitor,
+        @Nullable Collection<DBPDataSourceConfigurationStorage> storagesToSave
+    ) {
         if (project.isInMemory()) {
             return;
         }
@@ -915,6 +1055,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         saveInProgress = true;
         try {
             for (DBPDataSourceConfigurationStorage storage : storages) {
+                if (storagesToSave != null && !storagesToSave.contains(storage)) {
+                    continue;
+                }
                 if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
                     // Legacy storage. We must save it in the modern format
                     ((DataSourceFileStorage) storage).convertToModern(project);
@@ -950,6 +1093,20 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         }
     }
 
+    private void saveModifiedDataSources(@NotNull DBRProgressMonitor monitor) {
+        Set<DBPDataSourceConfigurationStorage> storagesToSave;
+        synchronized (modifiedStorages) {
+            storagesToSave = allStoragesModified ? null : new LinkedHashSet<>(modifiedStorages);
+            modifiedStorages.clear();
+            allStoragesModified = false;
+        }
+        if (storagesToSave == null) {
+            saveDataSources(monitor);
+        } else if (!storagesToSave.isEmpty()) {
+            saveDataSources(monitor, storagesToSave);
+        }
+    }
+
     private List<T> getDataSources(DBPDataSourceConfigurationStorage storage) {
         List<T> result = new ArrayList<>();
         synchronized (dataSources) {
@@ -1119,7 +1276,7 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         protected IStatus run(DBRProgressMonitor monitor) {
             synchronized (DataSourceRegistry.this) {
                 //log.debug("Save column config " + System.currentTimeMillis());
-                saveDataSources(monitor);
+                saveModifiedDataSources(monitor);
             }
             return Status.OK_STATUS;
         }
@@ -93,6 +93,12 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
     //  2 level: map of secured properties
     private final Map<String, Map<String, Map<String, String>>> secureProperties = new LinkedHashMap<>();
     private final boolean isDetachedProcess = DBWorkbench.getPlatform().getApplication().isDetachedProcess();
+    // Configuration read in advance by preloadConfiguration
+    @Nullable
+    private Map<String, Object> preloadedConfiguration;
+    @Nullable
+    private Exception preloadError;
+    private boolean configurationPreloaded;
 
    protected DataSourceSerializerModern(@NotNull DataSourceRegistry<T> registry) {
         this.registry = registry;
@@ -365,6 +371,45 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
     }
 
+    /**
+     * Checks whether storage configuration can be read outside of parseDataSources.
+     * Encrypted configuration may ask user for a password, so it is always read during parse.
+     */
+    boolean canPreloadConfiguration(@NotNull DBPDataSourceConfigurationStorage configurationStorage) {
+        DBPProject project = registry.getProject();
+        return !(configurationStorage instanceof DataSourceMemoryStorage) &&
+            !project.isEncryptedProject() &&
+            !CommonUtils.toBoolean(project.getProjectProperty(ENCRYPTED_CONFIGURATION));
+    }
+
+    /**
+     * Reads and parses storage configuration without modifying the registry.
+     * May be called from any thread, following parseDataSources uses the read configuration.
+     * Read errors are reported by parseDataSources.
+     */
+    void preloadConfiguration(
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @Nullable Collection<String> dataSourceIds
+    ) {
+        try {
+            preloadedConfiguration = readConfiguration(configurationStorage, configurationManager, dataSourceIds);
+        } catch (DBException | IOException e) {
+            preloadError = e;
+        }
+        configurationPreloaded = true;
+    }
+
+    @Nullable
+    private Map<String, Object> getPreloadedConfiguration() throws DBException, IOException {
+        if (preloadError instanceof DBException e) {
+            throw e;
+        } else if (preloadError instanceof IOException e) {
+            throw e;
+        }
+        return preloadedConfiguration;
+    }
+
     @Override
     public boolean parseDataSources(
         @NotNull DBPDataSourceConfigurationStorage configurationStorage,
@@ -390,7 +435,9 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
             throw new DBInterruptedException("Project secure credentials read canceled by user.");
         }
         try {
-            configurationMap = readConfiguration(configurationStorage, configurationManager, dataSourceIds);
+            configurationMap = configurationPreloaded ?
+                getPreloadedConfiguration() :
+                readConfiguration(configurationStorage, configurationManager, dataSourceIds);
         } catch (DBInterruptedException e) {
             throw e;
         } catch (DBException e) {
@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPDataSourceFolder;
 import org.jkiss.dbeaver.model.app.DBPProject;
@@ -33,6 +34,7 @@ import org.jkiss.dbeaver.registry.DataSourceFolder;
 import org.jkiss.dbeaver.registry.DataSourceRegistry;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 
 public class DataSourceRegistryRM<T extends DataSourceDescriptor> extends DataSourceRegistry<T> {
@@ -156,6 +158,15 @@ public class DataSourceRegistryRM<T extends DataSourceDescriptor> extends DataSo
         super.moveFolder(oldPath, newPath);
     }
 
+    @Override
+    protected void saveDataSources(
+        @NotNull DBRProgressMonitor monitor,
+        @Nullable Collection<DBPDataSourceConfigurationStorage> storagesToSave
+    ) {
+        // Remote configuration is always saved as a whole
+        saveDataSources(monitor);
+    }
+
     @Override
     protected void saveDataSources(DBRProgressMonitor monitor) {
         if (getProject().isInMemory()) {
@@ -30,11 +30,9 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -58,7 +56,7 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     private Date updateTime;
     private DBTTaskType type;
     private Map<String, Object> properties;
-    private volatile List<DBTTaskRun> runs;
+    private volatile TaskRunHistory runHistory;
     private DBTTaskFolder taskFolder;
     private int maxExecutionTime;
 
@@ -159,15 +157,24 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     @Nullable
     @Override
     public DBTTaskRun getLastRun() {
-        loadRunsIfNeeded();
-        return runs.isEmpty() ? null : runs.get(runs.size() - 1);
+        return getRunHistory().getLastRun();
     }
 
     @NotNull
     @Override
     public DBTTaskRun[] getAllRuns() {
-        loadRunsIfNeeded();
-        return runs.toArray(DBTTaskRun[]::new);
+        return getRunHistory().getRuns(0, -1).toArray(DBTTaskRun[]::new);
+    }
+
+    @Override
+    public int getRunCount() {
+        return getRunHistory().getRunCount();
+    }
+
+    @NotNull
+    @Override
+    public List<DBTTaskRun> getRuns(int offset, int limit) {
+        return new ArrayList<>(getRunHistory().getRuns(offset, limit));
     }
 
     @Nullable
@@ -184,24 +191,18 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
 
     @Override
     public void removeRun(DBTTaskRun taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            if (!runs.remove(taskRun)) {
-                return;
-            }
+        if (!getRunHistory().removeRun(taskRun.getId())) {
+            return;
+        }
 
-            Path runLog = getRunLog(taskRun);
+        Path runLog = getRunLog(taskRun);
 
-            if (runLog != null) {
-                try {
-                    Files.deleteIfExists(runLog);
-                } catch (IOException e) {
-                    log.error("Can't delete log file '" + runLog.toAbsolutePath() + "'", e);
-                }
+        if (runLog != null) {
+            try {
+                Files.deleteIfExists(runLog);
+            } catch (IOException e) {
+                log.error("Can't delete log file '" + runLog.toAbsolutePath() + "'", e);
             }
-
-            flushRunStatistics(runs);
         }
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
@@ -225,16 +226,13 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
                 log.error("Can't delete logs folder '" + statsFolder.toAbsolutePath() + "'", e);
             }
         }
-        if (runs != null) {
-            runs.clear();
-        }
-        flushRunStatistics(List.of());
+        getRunHistory().clear();
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
 
     @Override
     public void refreshRunStatistics() {
-        runs = new ArrayList<>(loadRunStatistics());
+        getRunHistory().refresh();
     }
 
     @Override
@@ -267,35 +265,14 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
         return taskStatsFolder;
     }
 
-    void addNewRun(@NotNull DBTTaskRun taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            runs.add(taskRun);
-
-            while (runs.size() > MAX_RUNS_IN_STATS) {
-                runs.remove(0);
-            }
-
-            flushRunStatistics(runs);
-        }
+    void addNewRun(@NotNull TaskRunImpl taskRun) {
+        getRunHistory().addRun(taskRun);
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
 
     void updateRun(@NotNull TaskRunImpl taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            for (int i = 0; i < runs.size(); i++) {
-                if (runs.get(i).getId().equals(taskRun.getId())) {
-                    runs.set(i, taskRun);
-                    break;
-                }
-            }
-
-            flushRunStatistics(runs);
-        }
+        getRunHistory().updateRun(taskRun);
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
@@ -306,30 +283,19 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     }
 
     @NotNull
-    protected List<? extends DBTTaskRun> loadRunStatistics() {
-        return TaskUtils.loadRunStatistics(getTaskStatsFolder(false).resolve(META_FILE_NAME), gson);
-    }
-
-    protected void flushRunStatistics(@NotNull List<? extends DBTTaskRun> runs) {
-        Path metaFile = getTaskStatsFolder(true).resolve(META_FILE_NAME);
-        try (Writer writer = Files.newBufferedWriter(metaFile)) {
-            final List<TaskRunImpl> filteredRuns = runs.stream()
-                .filter(run -> run instanceof TaskRunImpl)
-                .map(run -> (TaskRunImpl) run)
-                .collect(Collectors.toList());
-            writer.write(gson.toJson(new RunStatistics(filteredRuns)));
-        } catch (IOException e) {
-            log.error("Error writing task run statistics", e);
-        }
+    protected TaskRunHistory createRunHistory() {
+        return new TaskRunHistory(getTaskStatsFolder(false), gson, MAX_RUNS_IN_STATS);
     }
 
-    private void loadRunsIfNeeded() {
-        if (runs == null) {
+    @NotNull
+    private TaskRunHistory getRunHistory() {
+        if (runHistory == null) {
             synchronized (this) {
-                if (runs == null) {
-                    runs = new ArrayList<>(loadRunStatistics());
+                if (runHistory == null) {
+                    runHistory = createRunHistory();
                 }
             }
         }
+        return runHistory;
     }
 }
@@ -0,0 +1,558 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * Append-only task run history.
+ * <p>
+ * Each line of the history file is a record {@code <op>\t<runId>\t<json>}.
+ * Op {@code A} adds or replaces a run, op {@code D} removes it.
+ * Records are never rewritten in place, so adding or updating a run costs a single small append.
+ * <p>
+ * On load only record headers are scanned to build an index of the latest record offset of each live run.
+ * Run JSON is parsed lazily, when the run is actually requested.
+ * Records appended by other processes are picked up by {@link #refresh()}, which scans only the new tail of the file.
+ * A half-written last record (e.g. after a crash) is ignored by scans and cut off before the next append.
+ * Once the file accumulates too many stale records it is compacted down to the retained runs.
+ * Writes of different processes are serialized by a lock of a separate file (the history file itself is replaced
+ * by compaction). The index is synced with the file under the lock before each write.
+ * Legacy {@code meta.json} statistics are migrated on first load. The legacy file is kept for older versions.
+ */
+public class TaskRunHistory {
+
+    private static final Log log = Log.getLog(TaskRunHistory.class);
+
+    public static final String HISTORY_FILE_NAME = "runs.log";
+    public static final String LOCK_FILE_NAME = "runs.lock";
+
+    private static final char OP_ADD = 'A';
+    private static final char OP_DELETE = 'D';
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char RECORD_SEPARATOR = '\n';
+    // Compact when the file holds this many times more records than retained runs
+    private static final int COMPACTION_FACTOR = 4;
+
+    private final Path folder;
+    private final Gson gson;
+    private final int maxRuns;
+
+    // Live run ids in the order of addition and offsets of their latest records
+    private final List<String> runIds = new ArrayList<>();
+    private final Map<String, Long> runOffsets = new HashMap<>();
+    private int recordCount;
+    private boolean loaded;
+    // Length of the scanned part of the history file and its identity (null if not supported by file system)
+    private long scannedLength;
+    @Nullable
+    private Object scannedFileKey;
+    @Nullable
+    private TaskRunImpl lastRun;
+    // Lock of the history held by the current write
+    @Nullable
+    private FileLock historyLock;
+
+    public TaskRunHistory(@NotNull Path folder, @NotNull Gson gson, int maxRuns) {
+        this.folder = folder;
+        this.gson = gson;
+        this.maxRuns = maxRuns;
+    }
+
+    @NotNull
+    public Path getHistoryFile() {
+        return folder.resolve(HISTORY_FILE_NAME);
+    }
+
+    public synchronized int getRunCount() {
+        loadIfNeeded();
+        return runIds.size();
+    }
+
+    @Nullable
+    public synchronized TaskRunImpl getLastRun() {
+        loadIfNeeded();
+        if (lastRun == null && !runIds.isEmpty()) {
+            lastRun = readRun(runIds.get(runIds.size() - 1));
+        }
+        return lastRun;
+    }
+
+    /**
+     * Reads a page of runs. Runs are ordered from the oldest to the newest.
+     */
+    @NotNull
+    public synchronized List<TaskRunImpl> getRuns(int offset, int limit) {
+        loadIfNeeded();
+        int from = Math.max(0, offset);
+        int to = Math.min(runIds.size(), limit < 0 ? runIds.size() : from + limit);
+        if (from >= to) {
+            return new ArrayList<>();
+        }
+        List<TaskRunImpl> result = new ArrayList<>(to - from);
+        try (FileChannel channel = FileChannel.open(getHistoryFile(), StandardOpenOption.READ)) {
+            for (int i = from; i < to; i++) {
+                TaskRunImpl run = readRun(channel, runOffsets.get(runIds.get(i)));
+                if (run != null) {
+                    result.add(run);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+        }
+        return result;
+    }
+
+    public synchronized void addRun(@NotNull TaskRunImpl run) {
+        try {
+            runLocked(() -> {
+                appendRun(run);
+                // Oldest runs are dropped from the index now and from the file on the next compaction
+                trimToRetention();
+                compactIfNeeded();
+                return null;
+            });
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+        }
+    }
+
+    public synchronized void updateRun(@NotNull TaskRunImpl run) {
+        loadIfNeeded();
+        if (!runOffsets.containsKey(run.getId())) {
+            return;
+        }
+        try {
+            runLocked(() -> {
+                // Run may be removed or dropped by retention in another process
+                if (runOffsets.containsKey(run.getId())) {
+                    appendRun(run);
+                    compactIfNeeded();
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+        }
+    }
+
+    public synchronized boolean removeRun(@NotNull String runId) {
+        loadIfNeeded();
+        if (!runOffsets.containsKey(runId)) {
+            return false;
+        }
+        try {
+            return runLocked(() -> {
+                if (!runOffsets.containsKey(runId)) {
+                    return false;
+                }
+                applyRecord(OP_DELETE, runId, appendRecord(OP_DELETE, runId, ""));
+                if (lastRun != null && lastRun.getId().equals(runId)) {
+                    lastRun = null;
+                }
+                compactIfNeeded();
+                return true;
+            });
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes all history. History file is deleted.
+     */
+    public synchronized void clear() {
+        try {
+            Files.deleteIfExists(getHistoryFile());
+        } catch (IOException e) {
+            log.error("Can't delete task run history '" + getHistoryFile().toAbsolutePath() + "'", e);
+        }
+        resetIndex();
+        loaded = true;
+    }
+
+    /**
+     * Drops the index. It will be rebuilt from the file on the next access.
+     */
+    public synchronized void reset() {
+        resetIndex();
+        loaded = false;
+    }
+
+    /**
+     * Reads records appended by other processes since the last scan.
+     * The whole file is scanned again only if it was replaced (compacted or cleared) by another process.
+     */
+    public synchronized void refresh() {
+        if (!loaded) {
+            // Will be loaded on the next access
+            return;
+        }
+        Path historyFile = getHistoryFile();
+        try {
+            if (!Files.exists(historyFile)) {
+                if (scannedLength > 0) {
+                    resetIndex();
+                }
+                return;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(historyFile, BasicFileAttributes.class);
+            if (attributes.size() < scannedLength || !Objects.equals(attributes.fileKey(), scannedFileKey)) {
+                reset();
+                return;
+            }
+            if (attributes.size() == scannedLength) {
+                return;
+            }
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(historyFile))) {
+                is.skipNBytes(scannedLength);
+                scannedLength = scanHistory(is, scannedLength);
+            }
+            trimToRetention();
+            lastRun = null;
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+        }
+    }
+
+    /**
+     * Rewrites history file keeping only the latest records of retained runs
+     */
+    public synchronized void compact() {
+        try {
+            runLocked(() -> {
+                if (Files.exists(getHistoryFile())) {
+                    writeHistory(getRuns(0, -1));
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            log.error("Error compacting task run history", e);
+        }
+    }
+
+    /**
+     * Must be called under the history lock, so the record count includes records of other processes
+     */
+    private void compactIfNeeded() throws IOException {
+        if (recordCount > Math.max(runIds.size(), maxRuns) * COMPACTION_FACTOR && Files.exists(getHistoryFile())) {
+            writeHistory(getRuns(0, -1));
+        }
+    }
+
+    /**
+     * Runs the action holding an exclusive lock of the history.
+     * The index is synced with the file first: other processes could append, compact or clear it since the last scan.
+     * Nested calls reuse the lock.
+     */
+    private <T> T runLocked(@NotNull HistoryAction<T> action) throws IOException {
+        if (historyLock != null) {
+            return action.run();
+        }
+        Files.createDirectories(folder);
+        try (FileChannel lockChannel = FileChannel.open(
+            folder.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = lockChannel.lock()
+        ) {
+            historyLock = lock;
+            refresh();
+            loadIfNeeded();
+            return action.run();
+        } finally {
+            historyLock = null;
+        }
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path historyFile = getHistoryFile();
+        if (!Files.exists(historyFile)) {
+            migrateLegacyStatistics();
+            return;
+        }
+        try {
+            scannedFileKey = Files.readAttributes(historyFile, BasicFileAttributes.class).fileKey();
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(historyFile))) {
+                // Incomplete trailing record is cut off under the lock by the next append
+                scannedLength = scanHistory(is, 0);
+            }
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+        }
+        trimToRetention();
+    }
+
+    private void trimToRetention() {
+        while (runIds.size() > maxRuns) {
+            runOffsets.remove(runIds.remove(0));
+        }
+    }
+
+    /**
+     * Reads record headers only. JSON bodies are skipped.
+     *
+     * @param startPosition file position of the stream start
+     * @return file position after the last complete record
+     */
+    private long scanHistory(@NotNull InputStream is, long startPosition) throws IOException {
+        ByteArrayOutputStream idBuffer = new ByteArrayOutputStream(64);
+        long position = startPosition;
+        long recordStart = startPosition;
+        int field = 0;
+        char op = 0;
+        for (int b = is.read(); b != -1; b = is.read(), position++) {
+            if (b == RECORD_SEPARATOR) {
+                if (field >= 1) {
+                    // Record is complete
+                    applyRecord(op, idBuffer.toString(StandardCharsets.UTF_8), recordStart);
+                }
+                idBuffer.reset();
+                field = 0;
+                op = 0;
+                recordStart = position + 1;
+            } else if (b == FIELD_SEPARATOR) {
+                field++;
+            } else if (field == 0) {
+                op = (char) b;
+            } else if (field == 1) {
+                idBuffer.write(b);
+            }
+        }
+        // Incomplete trailing record (e.g. interrupted write) is ignored
+        return recordStart;
+    }
+
+    private void applyRecord(char op, @NotNull String runId, long offset) {
+        recordCount++;
+        if (op == OP_ADD) {
+            if (runOffsets.put(runId, offset) == null) {
+                runIds.add(runId);
+            }
+        } else if (op == OP_DELETE) {
+            if (runOffsets.remove(runId) != null) {
+                runIds.remove(runId);
+            }
+        }
+    }
+
+    private void migrateLegacyStatistics() {
+        Path metaFile = folder.resolve(TaskImpl.META_FILE_NAME);
+        if (!Files.exists(metaFile)) {
+            return;
+        }
+        List<TaskRunImpl> runs = TaskUtils.loadRunStatistics(metaFile, gson);
+        if (runs.size() > maxRuns) {
+            runs = runs.subList(runs.size() - maxRuns, runs.size());
+        }
+        List<TaskRunImpl> migratedRuns = runs;
+        try {
+            runLocked(() -> {
+                // Another process could migrate it already, then the index is loaded from its file
+                if (!Files.exists(getHistoryFile())) {
+                    // Legacy file stays for older versions, it isn't updated anymore
+                    writeHistory(migratedRuns);
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            log.error("Error migrating task run statistics '" + metaFile.toAbsolutePath() + "'", e);
+        }
+    }
+
+    private void writeHistory(@NotNull List<TaskRunImpl> runs) throws IOException {
+        Files.createDirectories(folder);
+        Path historyFile = getHistoryFile();
+        Path tempFile = folder.resolve(HISTORY_FILE_NAME + ".tmp");
+        resetIndex();
+        long position = 0;
+        try (OutputStream os = Files.newOutputStream(tempFile)) {
+            for (TaskRunImpl run : runs) {
+                byte[] record = buildRecord(OP_ADD, run.getId(), gson.toJson(run));
+                os.write(record);
+                applyRecord(OP_ADD, run.getId(), position);
+                position += record.length;
+            }
+        }
+        Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        scannedLength = position;
+        scannedFileKey = Files.readAttributes(historyFile, BasicFileAttributes.class).fileKey();
+    }
+
+    private void appendRun(@NotNull TaskRunImpl run) throws IOException {
+        long offset = appendRecord(OP_ADD, run.getId(), gson.toJson(run));
+        applyRecord(OP_ADD, run.getId(), offset);
+        lastRun = run.getId().equals(runIds.get(runIds.size() - 1)) ? run : null;
+    }
+
+    /**
+     * Must be called under the history lock, after the index was synced with the file
+     */
+    private long appendRecord(char op, @NotNull String runId, @NotNull String body) throws IOException {
+        byte[] record = buildRecord(op, runId, body);
+        try (FileChannel channel = FileChannel.open(
+            getHistoryFile(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+        ) {
+            long offset = truncateIncompleteRecord(channel);
+            if (offset == 0) {
+                scannedFileKey = Files.readAttributes(getHistoryFile(), BasicFileAttributes.class).fileKey();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            scannedLength = position;
+            return offset;
+        }
+    }
+
+    /**
+     * Cuts off a half-written last record, so new record doesn't get glued to it.
+     * Appends are made under the history lock, so under the lock an incomplete record can only be left by a crash.
+     *
+     * @return file size after the last complete record
+     */
+    private static long truncateIncompleteRecord(@NotNull FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0;
+        }
+        ByteBuffer lastByte = ByteBuffer.allocate(1);
+        if (channel.read(lastByte, size - 1) == 1 && lastByte.get(0) == RECORD_SEPARATOR) {
+            return size;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long end = size;
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == RECORD_SEPARATOR) {
+                    long validSize = start + i + 1;
+                    if (validSize < size) {
+                        log.debug("Truncate incomplete task run history record at " + validSize);
+                        channel.truncate(validSize);
+                    }
+                    return validSize;
+                }
+            }
+            end = start;
+        }
+        log.debug("Truncate incomplete task run history record at 0");
+        channel.truncate(0);
+        return 0;
+    }
+
+    @NotNull
+    private static byte[] buildRecord(char op, @NotNull String runId, @NotNull String body) {
+        // Gson escapes line breaks inside of strings, so the body never contains record separator
+        return (op + String.valueOf(FIELD_SEPARATOR) + runId + FIELD_SEPARATOR + body + RECORD_SEPARATOR)
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    private TaskRunImpl readRun(@NotNull String runId) {
+        Long offset = runOffsets.get(runId);
+        if (offset == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(getHistoryFile(), StandardOpenOption.READ)) {
+            return readRun(channel, offset);
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private TaskRunImpl readRun(@NotNull FileChannel channel, long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        long position = offset;
+        read:
+        while (true) {
+            buffer.clear();
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                break;
+            }
+            byte[] array = buffer.array();
+            for (int i = 0; i < count; i++) {
+                if (array[i] == RECORD_SEPARATOR) {
+                    record.write(array, 0, i);
+                    break read;
+                }
+            }
+            record.write(array, 0, count);
+            position += count;
+        }
+        String line = record.toString(StandardCharsets.UTF_8);
+        int bodyStart = line.indexOf(FIELD_SEPARATOR, line.indexOf(FIELD_SEPARATOR) + 1);
+        if (bodyStart < 0) {
+            log.debug("Corrupted task run history record at " + offset);
+            return null;
+        }
+        try {
+            return gson.fromJson(line.substring(bodyStart + 1), TaskRunImpl.class);
+        } catch (Exception e) {
+            log.debug("Error parsing task run history record at " + offset, e);
+            return null;
+        }
+    }
+
+    private void resetIndex() {
+        runIds.clear();
+        runOffsets.clear();
+        recordCount = 0;
+        lastRun = null;
+        scannedLength = 0;
+        scannedFileKey = null;
+    }
+
+    @FunctionalInterface
+    private interface HistoryAction<T> {
+        T run() throws IOException;
+    }
+}
@@ -35,6 +35,7 @@ import org.jkiss.dbeaver.model.impl.auth.AuthModelDatabaseNative;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -54,10 +55,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeToolSettings<BASE_OBJECT>, BASE_OBJECT extends DBSObject, PROCESS_ARG> implements DBTTaskHandler {
 
-    private String taskErrorMessage;
+    // Maximum time to wait for the rest of the process output after the process exit
+    private static final long LOG_READER_JOIN_TIMEOUT = 5000;
+
+    // Error of the last failed process, reported as the task error
+    private volatile String taskErrorMessage;
+    // Log readers of running processes. Processes may run in parallel, each has its own error state.
+    private final Map<Process, LogReaderJob> logReaders = new ConcurrentHashMap<>();
 
     @Override
     @NotNull
@@ -76,6 +86,7 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
             log.error("Task parameters validation failed");
             return new DBTTaskRunStatus();
         }
+        taskErrorMessage = null;
         try {
             runnableContext.run(true, true, monitor -> {
                 monitor.beginTask(task.getType().getName(), 1);
@@ -119,6 +130,20 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
         return true;
     }
 
+    /**
+     * Maximum number of tool processes (one per run info) executed at the same time
+     */
+    protected int getMaxParallelProcesses(SETTINGS settings) {
+        return 1;
+    }
+
+    /**
+     * Process name used in progress reporting of parallel processes
+     */
+    protected String getProcessName(PROCESS_ARG arg) {
+        return String.valueOf(arg);
+    }
+
     private void validateClientHome(DBRProgressMonitor monitor, SETTINGS settings) throws DBCException {
         DBPDataSourceContainer dataSourceContainer = settings.getDataSourceContainer();
         if (isNativeClientHomeRequired()) {
@@ -202,6 +227,7 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
             processBuilder,
             process,
             isLogInputStream());
+        logReaders.put(process, logReaderJob);
         logReaderJob.start();
     }
 
@@ -213,6 +239,8 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
         Log log
     ) throws IOException, InterruptedException {
         monitor.beginTask(task.getType().getName(), 1);
+        Process process = null;
+        LogReaderJob logReaderJob = null;
         try {
             monitor.subTask("Start native tool " + getClass().getSimpleName());
             final List<String> commandLine = getCommandLine(settings, arg);
@@ -224,7 +252,7 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
                 processBuilder.redirectErrorStream(true);
             }
             setupProcessParameters(monitor, settings, arg, processBuilder);
-            Process process = processBuilder.start();
+            process = processBuilder.start();
             startProcessHandler(monitor, task, settings, arg, processBuilder, process, log);
 
 
@@ -254,9 +282,18 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
             log.error("Process error: " + e.getMessage());
             throw new IOException(e);
         } finally {
+            if (process != null) {
+                logReaderJob = logReaders.remove(process);
+            }
             monitor.done();
         }
-        return CommonUtils.isEmpty(taskErrorMessage);
+        String errorMessage = null;
+        if (logReaderJob != null) {
+            // Error output may still be in the pipe
+            logReaderJob.join(LOG_READER_JOIN_TIMEOUT);
+            errorMessage = logReaderJob.errorMessage;
+        }
+        return CommonUtils.isEmpty(errorMessage);
     }
 
     public void validateErrorCode(int exitCode) throws IOException {
@@ -280,10 +317,16 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
 
         boolean isSuccess = true;
         try {
-            for (PROCESS_ARG arg : getRunInfo(settings)) {
-                if (monitor.isCanceled()) break;
-                if (!executeProcess(monitor, task, settings, arg, log)) {
-                    isSuccess = false;
+            List<PROCESS_ARG> runInfo = new ArrayList<>(getRunInfo(settings));
+            int parallelProcesses = Math.min(getMaxParallelProcesses(settings), runInfo.size());
+            if (parallelProcesses > 1) {
+                isSuccess = executeProcessesParallel(monitor, task, settings, runInfo, parallelProcesses, log);
+            } else {
+                for (PROCESS_ARG arg : runInfo) {
+                    if (monitor.isCanceled()) break;
+                    if (!executeProcess(monitor, task, settings, arg, log)) {
+                        isSuccess = false;
+                    }
                 }
             }
 
@@ -313,6 +356,90 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
         return isSuccess;
     }
 
+    private boolean executeProcessesParallel(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SETTINGS settings,
+        List<PROCESS_ARG> runInfo,
+        int parallelProcesses,
+        Log log
+    ) throws InterruptedException, IOException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelProcesses, r -> {
+            Thread thread = new Thread(r, task.getName() + " process " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (PROCESS_ARG arg : runInfo) {
+                results.add(executor.submit(() -> {
+                    if (monitor.isCanceled()) {
+                        return false;
+                    }
+                    return executeProcess(new ProcessProgressMonitor(monitor, getProcessName(arg)), task, settings, arg, log);
+                }));
+            }
+            boolean isSuccess = true;
+            IOException lastError = null;
+            for (Future<Boolean> result : results) {
+                try {
+                    if (!result.get()) {
+                        isSuccess = false;
+                    }
+                } catch (ExecutionException e) {
+                    isSuccess = false;
+                    Throwable cause = e.getCause();
+                    if (cause instanceof InterruptedException ie) {
+                        throw ie;
+                    }
+                    lastError = cause instanceof IOException ioe ? ioe : new IOException(cause);
+                }
+            }
+            if (lastError != null) {
+                throw lastError;
+            }
+            return isSuccess;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Progress monitor of a single tool process executed in parallel with others.
+     * Reports sub-tasks to the main monitor prefixed with the process name.
+     */
+    private static class ProcessProgressMonitor extends ProxyProgressMonitor {
+        private final String processName;
+
+        ProcessProgressMonitor(DBRProgressMonitor original, String processName) {
+            super(original);
+            this.processName = processName;
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            subTask(name);
+        }
+
+        @Override
+        public void done() {
+            // Main monitor is finished by the handler
+        }
+
+        @Override
+        public void subTask(String name) {
+            synchronized (original) {
+                original.subTask("[" + processName + "] " + name);
+            }
+        }
+
+        @Override
+        public void worked(int work) {
+            // Overall progress is not measured in process steps
+        }
+    }
+
     public static abstract class DumpJob extends Thread {
         protected DBRProgressMonitor monitor;
         protected InputStream input;
@@ -341,8 +468,18 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
     }
 
     public static class DumpCopierJob extends DumpJob {
+        private final int compressionThreads;
+
         public DumpCopierJob(DBRProgressMonitor monitor, String name, InputStream stream, Path outFile, Log log) {
+            this(monitor, name, stream, outFile, 0, log);
+        }
+
+        /**
+         * @param compressionThreads if positive then output is gzip-compressed using the specified number of threads
+         */
+        public DumpCopierJob(DBRProgressMonitor monitor, String name, InputStream stream, Path outFile, int compressionThreads, Log log) {
             super(name, monitor, stream, outFile, log);
+            this.compressionThreads = compressionThreads;
         }
 
         @Override
@@ -354,7 +491,10 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
             try {
                 NumberFormat numberFormat = NumberFormat.getInstance();
 
-                try (OutputStream output = Files.newOutputStream(outFile)) {
+                try (OutputStream output = compressionThreads > 0 ?
+                    new ParallelGzipOutputStream(Files.newOutputStream(outFile), compressionThreads) :
+                    Files.newOutputStream(outFile)
+                ) {
                     for (; ; ) {
                         int count = input.read(buffer);
                         if (count <= 0) {
@@ -447,12 +587,7 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
 
         @Override
         public void run() {
-            try (InputStream scriptStream = new ProgressStreamReader(
-                monitor,
-                task.getName(),
-                Files.newInputStream(inputFile),
-                Files.size(inputFile))
-            ) {
+            try (InputStream scriptStream = openInputStream()) {
                 byte[] buffer = new byte[100000];
                 while (!monitor.isCanceled()) {
                     int readSize = scriptStream.read(buffer);
@@ -473,6 +608,25 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
                 }
             }
         }
+
+        /**
+         * Opens input file. Gzip-compressed files are decompressed on the fly,
+         * progress is reported in compressed bytes.
+         */
+        private InputStream openInputStream() throws IOException {
+            InputStream stream = new BufferedInputStream(new ProgressStreamReader(
+                monitor,
+                task.getName(),
+                Files.newInputStream(inputFile),
+                Files.size(inputFile)));
+            stream.mark(2);
+            int magic = stream.read() | (stream.read() << 8);
+            stream.reset();
+            if (magic == GZIPInputStream.GZIP_MAGIC) {
+                return new GZIPInputStream(stream, 64 * 1024);
+            }
+            return stream;
+        }
     }
 
     private class LogReaderJob extends Thread {
@@ -482,6 +636,7 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
         private final ProcessBuilder processBuilder;
         private final Process input;
         private final boolean isLogInputStream;
+        private volatile String errorMessage;
 
         protected LogReaderJob(DBTTask task, SETTINGS settings, ProcessBuilder processBuilder, Process stream, boolean isLogInputStream) {
             super("Log reader for " + task.getName());
@@ -531,6 +686,7 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
                     readInputThread.start();
                     String errorMessage = readStream(input.getErrorStream());
                     if (!CommonUtils.isEmpty(errorMessage)) {
+                        this.errorMessage = errorMessage;
                         taskErrorMessage = errorMessage;
                     }
                     try {
@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tasks.nativetool;
+
+import org.jkiss.code.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip output stream which compresses blocks of data in parallel.
+ * <p>
+ * Each block is written as a separate gzip member. Concatenated members form a valid gzip file
+ * which can be read by gunzip and {@link java.util.zip.GZIPInputStream}.
+ * Compressed blocks are written in the original order. Number of blocks in flight is bounded,
+ * so memory usage doesn't depend on the stream size.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final OutputStream out;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final ExecutorService executor;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    private byte[] block;
+    private int blockLength;
+    private boolean closed;
+
+    public ParallelGzipOutputStream(@NotNull OutputStream out, int threads) {
+        this(out, threads, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ParallelGzipOutputStream(@NotNull OutputStream out, int threads, int blockSize) {
+        this.out = out;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = Math.max(1, threads) * 2;
+        this.block = new byte[blockSize];
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "Gzip compressor " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        block[blockLength++] = (byte) b;
+        if (blockLength == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(@NotNull byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int count = Math.min(len, blockSize - blockLength);
+            System.arraycopy(b, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+            if (blockLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Compresses buffered data and writes all pending blocks
+     */
+    @Override
+    public void flush() throws IOException {
+        if (blockLength > 0) {
+            submitBlock();
+        }
+        while (!pendingBlocks.isEmpty()) {
+            writeBlock(pendingBlocks.poll());
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+        } finally {
+            executor.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = Arrays.copyOf(block, blockLength);
+        blockLength = 0;
+        pendingBlocks.add(executor.submit(() -> compress(data)));
+        while (pendingBlocks.size() >= maxPendingBlocks || (!pendingBlocks.isEmpty() && pendingBlocks.peek().isDone())) {
+            writeBlock(pendingBlocks.poll());
+        }
+    }
+
+    private void writeBlock(@NotNull Future<byte[]> future) throws IOException {
+        try {
+            out.write(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compression interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Error compressing data", e.getCause());
+        }
+    }
+
+    @NotNull
+    private static byte[] compress(@NotNull byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 64 * 1024)) {
+            gzip.write(data);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -90,6 +90,7 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
     public static final String GROUP_TASK_CMD_ID = "org.jkiss.dbeaver.task.group";
 
     private static final ArrayList<Object> EMPTY_TASK_RUN_LIST = new ArrayList<>();
+    private static final int MAX_VISIBLE_RUNS = 1000;
 
     private DatabaseTasksTree tasksTree;
 
@@ -430,8 +431,12 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
             protected IStatus run(DBRProgressMonitor monitor) {
                 monitor.beginTask("Refresh task runs", IProgressMonitor.UNKNOWN);
                 try {
-                    selectedTask.refreshRunStatistics();
-                    List<DBTTaskRun> runs = Arrays.stream(selectedTask.getAllRuns())
+                    if (force) {
+                        // Reads only records appended by other processes since the last scan
+                        selectedTask.refreshRunStatistics();
+                    }
+                    int runCount = selectedTask.getRunCount();
+                    List<DBTTaskRun> runs = selectedTask.getRuns(Math.max(0, runCount - MAX_VISIBLE_RUNS), MAX_VISIBLE_RUNS).stream()
                         .sorted(Comparator.comparing(DBTTaskRun::getStartTime).reversed())
                         .toList();
                     UIUtils.asyncExec(() -> taskRunViewer.setInput(runs));
@@ -29,11 +29,14 @@ import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.data.time.*;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardFetchType;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardInterval;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardValueType;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDataset;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDatasetRow;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeries;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeriesStore;
 import org.jkiss.dbeaver.model.dashboard.registry.DashboardItemConfiguration;
 import org.jkiss.dbeaver.ui.AWTUtils;
 import org.jkiss.dbeaver.ui.UIStyles;
@@ -178,6 +181,10 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
         //plot.setRangeGridlineStroke(gridStroke);
         plot.setRangeGridlinesVisible(viewConfig == null || viewConfig.isGridVisible());
 
+        if (dashboard.getFetchType() != DBDashboardFetchType.stats) {
+            loadHistory(container, plot, dataset);
+        }
+
         DashboardChartComposite chartComposite = createChartComposite(composite, container, viewContainer, preferredSize);
         chartComposite.setChart(histogramChart);
 
@@ -195,10 +202,13 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
         TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
 
         DashboardItemConfiguration dashboard = container.getItemDescriptor();
+        boolean keepHistory = true;
         if (dashboard.getFetchType() == DBDashboardFetchType.stats) {
             // Clean previous data before stats update
             chartDataset.removeAllSeries();
+            keepHistory = false;
         }
+        String historyKey = keepHistory ? getHistoryKey(container) : null;
 
         long currentTime = System.currentTimeMillis();
         long secondsPassed = lastUpdateTime == null ? 1 : (currentTime - lastUpdateTime.getTime()) / 1000;
@@ -216,12 +226,9 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
 
             TimeSeries series = chartDataset.getSeries(seriesName);
             if (series == null) {
-                series = new TimeSeries(seriesName);
-                series.setMaximumItemCount(container.getDashboardMaxItems());
-                series.setMaximumItemAge(container.getDashboardMaxAge());
-                chartDataset.addSeries(series);
-                plot.getRenderer().setSeriesStroke(chartDataset.getSeriesCount() - 1, plot.getRenderer().getDefaultStroke());
+                series = createSeries(container, plot, chartDataset, seriesName);
             }
+            DashboardTimeSeries history = historyKey == null ? null : DashboardTimeSeriesStore.getInstance().getSeries(historyKey, seriesName);
 
             switch (dashboard.getCalcType()) {
                 case value: {
@@ -243,6 +250,9 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
                         Object value = row.getValues()[i];
                         if (value instanceof Number) {
                             series.addOrUpdate(makeDataItem(container, row), (Number) value);
+                            if (history != null) {
+                                history.addValue(row.getTimestamp().getTime(), ((Number) value).doubleValue());
+                            }
                         }
                     }
                     break;
@@ -265,6 +275,9 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
                                 series.addOrUpdate(
                                     makeDataItem(container, row),
                                     deltaValue);
+                                if (history != null) {
+                                    history.addValue(row.getTimestamp().getTime(), deltaValue);
+                                }
                             }
                         }
                     }
@@ -278,21 +291,66 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
         }
     }
 
+    private TimeSeries createSeries(DashboardItemContainer container, XYPlot plot, TimeSeriesCollection chartDataset, String seriesName) {
+        TimeSeries series = new TimeSeries(seriesName);
+        series.setMaximumItemCount(container.getDashboardMaxItems());
+        series.setMaximumItemAge(container.getDashboardMaxAge());
+        chartDataset.addSeries(series);
+        plot.getRenderer().setSeriesStroke(chartDataset.getSeriesCount() - 1, plot.getRenderer().getDefaultStroke());
+        return series;
+    }
+
+    /**
+     * Fills chart with values collected before the dashboard was (re)opened.
+     * Only the visible range is read, at the resolution which fits into the chart.
+     */
+    private void loadHistory(DashboardItemContainer container, XYPlot plot, TimeSeriesCollection chartDataset) {
+        List<DashboardTimeSeries> historySeries = DashboardTimeSeriesStore.getInstance().getDashboardSeries(getHistoryKey(container));
+        if (historySeries.isEmpty()) {
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        for (DashboardTimeSeries history : historySeries) {
+            DashboardTimeSeries.Points points = history.getValues(
+                currentTime - container.getDashboardMaxAge(),
+                currentTime,
+                container.getDashboardMaxItems());
+            if (points.getSize() == 0) {
+                continue;
+            }
+            TimeSeries series = createSeries(container, plot, chartDataset, history.getName());
+            for (int i = 0; i < points.getSize(); i++) {
+                series.addOrUpdate(makeDataItem(container, new Date(points.getTimestamp(i))), points.getValue(i));
+            }
+        }
+    }
+
+    private static String getHistoryKey(DashboardItemContainer container) {
+        DBPDataSourceContainer dataSourceContainer = container.getDataSourceContainer();
+        String ownerId = dataSourceContainer != null ? dataSourceContainer.getId() : container.getProject().getName();
+        return ownerId + "/" + container.getItemDescriptor().getId();
+    }
+
     private RegularTimePeriod makeDataItem(DashboardItemContainer container, DashboardDatasetRow row) {
+        return makeDataItem(container, row.getTimestamp());
+    }
+
+    private RegularTimePeriod makeDataItem(DashboardItemContainer container, Date timestamp) {
         return switch (container.getItemDescriptor().getInterval()) {
-            case second -> new FixedMillisecond(row.getTimestamp().getTime());
-            case minute -> new Minute(row.getTimestamp());
-            case hour -> new Hour(row.getTimestamp());
-            case day -> new Day(row.getTimestamp());
-            case week -> new Week(row.getTimestamp());
-            case month -> new Month(row.getTimestamp());
-            case year -> new Year(row.getTimestamp());
-            default -> new FixedMillisecond(row.getTimestamp().getTime());
+            case second -> new FixedMillisecond(timestamp.getTime());
+            case minute -> new Minute(timestamp);
+            case hour -> new Hour(timestamp);
+            case day -> new Day(timestamp);
+            case week -> new Week(timestamp);
+            case month -> new Month(timestamp);
+            case year -> new Year(timestamp);
+            default -> new FixedMillisecond(timestamp.getTime());
         };
     }
 
     @Override
     public void resetDashboardData(@NotNull DashboardItemContainer container, Date lastUpdateTime) {
+        DashboardTimeSeriesStore.getInstance().resetDashboard(getHistoryKey(container));
         XYPlot plot = getDashboardPlot(container);
         if (plot != null) {
             TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
@@ -18,13 +18,22 @@ package org.jkiss.dbeaver.ui.dashboard.internal;
 
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.dashboard.DashboardConstants;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeriesStore;
 import org.jkiss.dbeaver.model.impl.preferences.BundlePreferenceStore;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.dashboard.view.DashboardUpdateJob;
+import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.osgi.framework.BundleContext;
 
+import java.nio.file.Path;
+
 public class UIDashboardActivator extends AbstractUIPlugin {
 
+    private static final Log log = Log.getLog(UIDashboardActivator.class);
+
     // The plug-in ID
     public static final String PLUGIN_ID = "org.jkiss.dbeaver.ui.dashboard";
 
@@ -41,15 +50,38 @@ public class UIDashboardActivator extends AbstractUIPlugin {
         plugin = this;
         preferences = new BundlePreferenceStore(getBundle());
 
+        if (isHistoryPersisted()) {
+            try {
+                DashboardTimeSeriesStore.getInstance().load(getHistoryFile());
+            } catch (Exception e) {
+                log.warn("Error loading dashboard history", e);
+            }
+        }
+
         DashboardUpdateJob.startUpdating();
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        if (isHistoryPersisted()) {
+            try {
+                DashboardTimeSeriesStore.getInstance().save(getHistoryFile());
+            } catch (Exception e) {
+                log.warn("Error saving dashboard history", e);
+            }
+        }
         plugin = null;
         super.stop(context);
     }
 
+    private static boolean isHistoryPersisted() {
+        return DBWorkbench.getPlatform().getPreferenceStore().getBoolean(DashboardConstants.PREF_PERSIST_HISTORY);
+    }
+
+    private static Path getHistoryFile() {
+        return GeneralUtils.getMetadataFolder().resolve(DashboardConstants.HISTORY_FILE_NAME);
+    }
+
     public static UIDashboardActivator getDefault() {
         return plugin;
     }
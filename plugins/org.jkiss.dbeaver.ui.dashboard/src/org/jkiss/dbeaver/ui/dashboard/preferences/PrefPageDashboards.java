@@ -40,6 +40,7 @@ public class PrefPageDashboards extends TargetPrefPage
     public static final String PAGE_ID = "org.jkiss.dbeaver.preferences.main.dashboards"; //$NON-NLS-1$
 
     private Button openSeparateConnectionCheck;
+    private Button persistHistoryCheck;
 
     public PrefPageDashboards()
     {
@@ -71,6 +72,12 @@ public class PrefPageDashboards extends TargetPrefPage
             Composite commonGroup = UIUtils.createControlGroup(composite, UIDashboardMessages.pref_page_dashboards_group_common, 2, GridData.FILL_HORIZONTAL | GridData.VERTICAL_ALIGN_BEGINNING, 0);
             {
                 openSeparateConnectionCheck = UIUtils.createCheckbox(commonGroup, UIDashboardMessages.pref_page_dashboards_open_separate_connection_label, null, false, 2);
+                persistHistoryCheck = UIUtils.createCheckbox(
+                    commonGroup,
+                    UIDashboardMessages.pref_page_dashboards_persist_history_label,
+                    UIDashboardMessages.pref_page_dashboards_persist_history_tip,
+                    false,
+                    2);
             }
         }
 
@@ -82,6 +89,7 @@ public class PrefPageDashboards extends TargetPrefPage
     {
         try {
             openSeparateConnectionCheck.setSelection(store.getBoolean(DashboardConstants.PREF_OPEN_SEPARATE_CONNECTION));
+            persistHistoryCheck.setSelection(store.getBoolean(DashboardConstants.PREF_PERSIST_HISTORY));
         } catch (Exception e) {
             log.warn(e);
         }
@@ -92,6 +100,7 @@ public class PrefPageDashboards extends TargetPrefPage
     {
         try {
             store.setValue(DashboardConstants.PREF_OPEN_SEPARATE_CONNECTION, openSeparateConnectionCheck.getText());
+            store.setValue(DashboardConstants.PREF_PERSIST_HISTORY, persistHistoryCheck.getSelection());
         } catch (Exception e) {
             log.warn(e);
         }
@@ -102,6 +111,7 @@ public class PrefPageDashboards extends TargetPrefPage
     protected void clearPreferences(DBPPreferenceStore store)
     {
         store.setToDefault(DashboardConstants.PREF_OPEN_SEPARATE_CONNECTION);
+        store.setToDefault(DashboardConstants.PREF_PERSIST_HISTORY);
     }
 
     @Override
@@ -18,15 +18,22 @@ package org.jkiss.dbeaver.ui.dashboard.view;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.dashboard.model.DashboardItemContainer;
 
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Job which runs every second and updates necessary dashboards
+ * Job which runs every second and schedules update of necessary dashboards.
+ * Dashboards of each data source are updated by a separate job, so slow data sources do not delay others.
+ * Data source is not polled again until its previous update finishes.
  */
 public class DashboardUpdateJob extends AbstractJob {
 
@@ -37,6 +44,28 @@ public class DashboardUpdateJob extends AbstractJob {
     private static DashboardUpdateJob updateJob;
     
     private final AtomicBoolean isSchedule = new AtomicBoolean(true);
+    private final Map<DBPDataSourceContainer, DataSourceUpdateJob> dataSourceJobs = new HashMap<>();
+
+    private static class DataSourceUpdateJob extends AbstractJob {
+        private final DashboardUpdater updater;
+        private volatile List<DashboardItemContainer> dashboards = Collections.emptyList();
+
+        DataSourceUpdateJob(@NotNull DBPDataSourceContainer dataSourceContainer) {
+            super("Dashboard update (" + dataSourceContainer.getName() + ")");
+            this.updater = new DashboardUpdater(dataSourceContainer);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                updater.updateDashboards(monitor, dashboards);
+            } catch (Exception e) {
+                log.error("Error updating dashboards of '" + updater.getDataSourceContainer().getName() + "'", e);
+            }
+            return Status.OK_STATUS;
+        }
+    }
 
     private DashboardUpdateJob() {
         super("Dashboard update");
@@ -46,9 +75,11 @@ public class DashboardUpdateJob extends AbstractJob {
     protected IStatus run(DBRProgressMonitor monitor) {
 
         try {
-            if (new DashboardUpdater().updateDashboards(monitor)) {
+            List<DashboardItemContainer> dashboards = new ArrayList<>();
+            if (DashboardUpdater.getDashboardsToUpdate(dashboards)) {
                 pauseDashboardUpdate();
             }
+            scheduleDataSourceUpdates(dashboards);
         } catch (Exception e) {
             log.error("Error running dashboard updater", e);
         }
@@ -60,6 +91,26 @@ public class DashboardUpdateJob extends AbstractJob {
         return Status.OK_STATUS;
     }
 
+    private void scheduleDataSourceUpdates(@NotNull List<DashboardItemContainer> dashboards) {
+        Map<DBPDataSourceContainer, List<DashboardItemContainer>> dsDashboards = new LinkedHashMap<>();
+        for (DashboardItemContainer dashboard : dashboards) {
+            dsDashboards.computeIfAbsent(dashboard.getDataSourceContainer(), ds -> new ArrayList<>()).add(dashboard);
+        }
+        // Drop jobs (and their query statistics) of data sources without due dashboards
+        // which are not connected anymore
+        dataSourceJobs.keySet().removeIf(ds -> !dsDashboards.containsKey(ds) && !ds.isConnected());
+
+        for (Map.Entry<DBPDataSourceContainer, List<DashboardItemContainer>> entry : dsDashboards.entrySet()) {
+            DataSourceUpdateJob job = dataSourceJobs.computeIfAbsent(entry.getKey(), DataSourceUpdateJob::new);
+            if (job.getState() != Job.NONE) {
+                // Previous update is still running
+                continue;
+            }
+            job.dashboards = entry.getValue();
+            job.schedule();
+        }
+    }
+
     public static void startUpdating() {
         updateJob = new DashboardUpdateJob();
         updateJob.schedule(JOB_DELAY);
@@ -19,11 +19,11 @@ package org.jkiss.dbeaver.ui.dashboard.view;
 import org.apache.commons.jexl3.JexlContext;
 import org.eclipse.ui.*;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
-import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardDataType;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardMapQuery;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardQuery;
@@ -43,85 +43,121 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
+/**
+ * Reads data of dashboards of a single data source.
+ * Updater is long-lived: it keeps map query values and query execution statistics between updates.
+ * Identical queries of different dashboards are executed once per update.
+ * Queries which run almost as long as their update period are polled less often (adaptive backoff).
+ */
 public class DashboardUpdater {
 
     private static final Log log = Log.getLog(DashboardUpdater.class);
-    private final Map<DBPDataSourceContainer, List<MapQueryInfo>> mapQueries = new HashMap<>();
+
+    // Query runtime/period ratio which increases backoff
+    private static final double BACKOFF_RAISE_RATIO = 0.75;
+    // Query runtime/period ratio which decreases backoff
+    private static final double BACKOFF_DROP_RATIO = 0.25;
+    private static final int MAX_BACKOFF = 16;
+
+    private final DBPDataSourceContainer dataSourceContainer;
+    private final Map<MapQueryKey, MapQueryInfo> mapQueries = new HashMap<>();
+    private final Map<String, QueryStatistics> queryStatistics = new HashMap<>();
+
+    /**
+     * Map query values are kept per execution context because dashboard views may use different contexts
+     */
+    private record MapQueryKey(@NotNull DBDashboardMapQuery mapQuery, @NotNull DBCExecutionContext executionContext) {
+    }
 
     private static class MapQueryInfo {
-        private final DashboardItemContainer dashboard;
-        private final DashboardContainer viewContainer;
-        private final DBDashboardMapQuery mapQuery;
+        // Dashboards of the current update which use this map query
+        private final List<DashboardItemContainer> dashboards = new ArrayList<>();
+        private long period = Long.MAX_VALUE;
         public Date timestamp;
         private final Map<String, Object> mapValue = new HashMap<>();
-
-        public MapQueryInfo(DashboardItemContainer dashboard, DashboardContainer viewContainer, DBDashboardMapQuery mapQuery) {
-            this.dashboard = dashboard;
-            this.viewContainer = viewContainer;
-            this.mapQuery = mapQuery;
-        }
     }
 
-    public DashboardUpdater() {
+    private static class QueryStatistics {
+        private long lastRunTime;
+        private int backoff = 1;
     }
 
     /**
-     * 
-     * @return true if need pause to update dashboard, false if not
+     * Query results shared by all dashboards with the same query text
      */
-    public boolean updateDashboards(@NotNull DBRProgressMonitor monitor) {
-        List<DashboardItemContainer> dashboards = new ArrayList<>();
-        if (getDashboardsToUpdate(dashboards)) {
-            return true;
-        }
+    private static class QueryResult {
+        private final List<String> columnNames = new ArrayList<>();
+        private String timestampColumn;
+        private final List<Date> timestamps = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+    }
+
+    public DashboardUpdater(@NotNull DBPDataSourceContainer dataSourceContainer) {
+        this.dataSourceContainer = dataSourceContainer;
+    }
 
-        updateDashboards(monitor, dashboards);
-        
-        return false;
+    @NotNull
+    public DBPDataSourceContainer getDataSourceContainer() {
+        return dataSourceContainer;
     }
 
-    private void updateDashboards(@NotNull DBRProgressMonitor monitor, @NotNull List<DashboardItemContainer> dashboards) {
+    public void updateDashboards(@NotNull DBRProgressMonitor monitor, @NotNull List<DashboardItemContainer> dashboards) {
         monitor.beginTask("Update dashboards", dashboards.size());
 
-        // Get all map queries used by dashboards
+        DBPDataSource dataSource = dataSourceContainer.getDataSource();
+        if (dataSource == null) {
+            monitor.done();
+            return;
+        }
+
+        // Bind map queries to the dashboards of this update. Values of closed dashboards are forgotten.
+        Map<MapQueryKey, MapQueryInfo> usedMapQueries = new LinkedHashMap<>();
         for (DashboardItemContainer dashboard : dashboards) {
-            DBDashboardMapQuery mapQuery = dashboard.getMapQuery();
-            if (mapQuery != null) {
-                List<MapQueryInfo> queryList = mapQueries.computeIfAbsent(
-                    dashboard.getDataSourceContainer(), k -> new ArrayList<>());
-                boolean found = false;
-                for (MapQueryInfo mqi : queryList) {
-                    if (mqi.mapQuery == mapQuery) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    queryList.add(new MapQueryInfo(dashboard, dashboard.getGroup().getView(), mapQuery));
+            MapQueryKey key = getMapQueryKey(dashboard);
+            if (key == null) {
+                continue;
+            }
+            MapQueryInfo mqi = usedMapQueries.get(key);
+            if (mqi == null) {
+                // Keep values read by previous updates
+                mqi = mapQueries.get(key);
+                if (mqi == null) {
+                    mqi = new MapQueryInfo();
+                } else {
+                    mqi.dashboards.clear();
+                    mqi.period = Long.MAX_VALUE;
                 }
+                usedMapQueries.put(key, mqi);
+            }
+            if (dashboard.isAutoUpdateEnabled()) {
+                mqi.dashboards.add(dashboard);
+                mqi.period = Math.min(mqi.period, dashboard.getUpdatePeriod());
             }
         }
+        mapQueries.clear();
+        mapQueries.putAll(usedMapQueries);
 
-        for (Map.Entry<DBPDataSourceContainer, List<MapQueryInfo>> mqEntry : mapQueries.entrySet()) {
+        if (!mapQueries.isEmpty()) {
             monitor.subTask("Read dashboard data");
-            DBPDataSourceContainer dsContainer = mqEntry.getKey();
-            DBPDataSource dataSource = dsContainer.getDataSource();
-            if (dataSource == null) {
-                continue;
-            }
             try {
                 DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
                     try {
-                        for (MapQueryInfo mqi : mqEntry.getValue()) {
-                            if (!mqi.dashboard.isAutoUpdateEnabled()) {
+                        for (Map.Entry<MapQueryKey, MapQueryInfo> entry : mapQueries.entrySet()) {
+                            MapQueryKey key = entry.getKey();
+                            MapQueryInfo mqi = entry.getValue();
+                            if (mqi.dashboards.isEmpty() || isBackedOff(key.mapQuery().getQueryText(), mqi.period)) {
                                 continue;
                             }
 
                             try {
-                                readMapQueryData(monitor, mqi);
+                                long startTime = System.currentTimeMillis();
+                                readMapQueryData(monitor, key, mqi);
+                                updateStatistics(key.mapQuery().getQueryText(), mqi.period, startTime);
                             } catch (DBCException e) {
-                                log.debug("Datasource '" + mqi.dashboard.getDataSourceContainer().getName() + "' dashboard query failed. Stopping update of dashboard queries for this datasource.");
-                                mqi.dashboard.disableAutoUpdate();
+                                log.debug("Datasource '" + dataSourceContainer.getName() + "' dashboard query failed. Stopping update of dashboard queries for this datasource.");
+                                for (DashboardItemContainer dashboard : mqi.dashboards) {
+                                    dashboard.disableAutoUpdate();
+                                }
                                 throw e;
                             }
                         }
@@ -130,22 +166,32 @@ public class DashboardUpdater {
                     }
                 });
             } catch (DBException e) {
-                log.debug("Error reading map query data for '" + dsContainer.getName() + "'", e);
+                log.debug("Error reading map query data for '" + dataSourceContainer.getName() + "'", e);
             }
         }
 
+        // Collect periods and row limits of regular queries
+        Map<String, Long> queryPeriods = new HashMap<>();
+        Map<String, Integer> queryMaxRows = new HashMap<>();
         for (DashboardItemContainer dashboard : dashboards) {
-            if (!dashboard.isAutoUpdateEnabled()) {
+            if (dashboard.getMapQuery() != null || dashboard.getQueryList() == null) {
                 continue;
             }
-            DBPDataSource dataSource = dashboard.getDataSourceContainer().getDataSource();
-            if (dataSource == null) {
+            for (DBDashboardQuery query : dashboard.getQueryList()) {
+                queryPeriods.merge(query.getQueryText(), dashboard.getUpdatePeriod(), Math::min);
+                queryMaxRows.merge(query.getQueryText(), dashboard.getDashboardMaxItems(), Math::max);
+            }
+        }
+        Map<String, QueryResult> queryResults = new HashMap<>();
+
+        for (DashboardItemContainer dashboard : dashboards) {
+            if (!dashboard.isAutoUpdateEnabled()) {
                 continue;
             }
             try {
                 DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
                     try {
-                        updateDashboard(monitor, dashboard);
+                        updateDashboard(monitor, dashboard, queryPeriods, queryMaxRows, queryResults);
                     } catch (Throwable e) {
                         log.debug("Datasource '" + dashboard.getDataSourceContainer().getName() + "' dashboard query failed. Stopping update of dashboards for this datasource.");
                         dashboard.disableAutoUpdate();
@@ -160,15 +206,30 @@ public class DashboardUpdater {
         monitor.done();
     }
 
-    private void readMapQueryData(DBRProgressMonitor monitor, MapQueryInfo mqInfo) throws DBCException {
-        DBCExecutionContext executionContext = mqInfo.viewContainer.getExecutionContext();
-        if (executionContext == null) {
-            return;
+    private boolean isBackedOff(@NotNull String queryText, long period) {
+        QueryStatistics statistics = queryStatistics.get(queryText);
+        return statistics != null && statistics.backoff > 1 &&
+            System.currentTimeMillis() - statistics.lastRunTime < period * statistics.backoff;
+    }
+
+    private void updateStatistics(@NotNull String queryText, long period, long startTime) {
+        QueryStatistics statistics = queryStatistics.computeIfAbsent(queryText, k -> new QueryStatistics());
+        long duration = System.currentTimeMillis() - startTime;
+        long effectivePeriod = period * statistics.backoff;
+        statistics.lastRunTime = startTime;
+        if (duration >= effectivePeriod * BACKOFF_RAISE_RATIO && statistics.backoff < MAX_BACKOFF) {
+            statistics.backoff *= 2;
+            log.debug("Dashboard query on '" + dataSourceContainer.getName() + "' took " + duration + "ms, poll period increased to " + (period * statistics.backoff) + "ms");
+        } else if (statistics.backoff > 1 && duration < effectivePeriod * BACKOFF_DROP_RATIO) {
+            statistics.backoff /= 2;
         }
-        try (DBCSession session = executionContext.openSession(
-            monitor, DBCExecutionPurpose.UTIL, "Read map query '" + mqInfo.mapQuery.getId() + "' data")) {
+    }
+
+    private void readMapQueryData(DBRProgressMonitor monitor, MapQueryKey key, MapQueryInfo mqInfo) throws DBCException {
+        try (DBCSession session = key.executionContext().openSession(
+            monitor, DBCExecutionPurpose.UTIL, "Read map query '" + key.mapQuery().getId() + "' data")) {
             session.enableLogging(false);
-            try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, mqInfo.mapQuery.getQueryText(), false, false, false)) {
+            try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, key.mapQuery().getQueryText(), false, false, false)) {
                 if (dbStat.executeStatement()) {
                     try (DBCResultSet dbResults = dbStat.openResultSet()) {
                         mqInfo.timestamp = new Date();
@@ -185,7 +246,13 @@ public class DashboardUpdater {
         }
     }
 
-    private void updateDashboard(DBRProgressMonitor monitor, DashboardItemContainer dashboard) throws DBCException {
+    private void updateDashboard(
+        DBRProgressMonitor monitor,
+        DashboardItemContainer dashboard,
+        Map<String, Long> queryPeriods,
+        Map<String, Integer> queryMaxRows,
+        Map<String, QueryResult> queryResults
+    ) throws DBCException {
         if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
             return;
         }
@@ -195,48 +262,92 @@ public class DashboardUpdater {
             return;
         }
         List<? extends DBDashboardQuery> queries = dashboard.getQueryList();
-        if (queries.isEmpty()) {
+        if (CommonUtils.isEmpty(queries)) {
             return;
         }
+        for (DBDashboardQuery query : queries) {
+            QueryResult result = queryResults.get(query.getQueryText());
+            if (result == null && !queryResults.containsKey(query.getQueryText())) {
+                // Not executed in this update yet
+                long period = queryPeriods.getOrDefault(query.getQueryText(), dashboard.getUpdatePeriod());
+                if (!isBackedOff(query.getQueryText(), period)) {
+                    long startTime = System.currentTimeMillis();
+                    result = executeQuery(monitor, dashboard, query, queryMaxRows.getOrDefault(query.getQueryText(), dashboard.getDashboardMaxItems()));
+                    updateStatistics(query.getQueryText(), period, startTime);
+                }
+                queryResults.put(query.getQueryText(), result);
+            }
+            if (result != null) {
+                fetchDashboardData(dashboard, result);
+            }
+        }
+    }
+
+    @Nullable
+    private QueryResult executeQuery(
+        DBRProgressMonitor monitor,
+        DashboardItemContainer dashboard,
+        DBDashboardQuery query,
+        int maxRows
+    ) throws DBCException {
         DashboardContainer view = dashboard.getGroup().getView();
         DBCExecutionContext executionContext = view.getExecutionContext();
         if (executionContext == null) {
-            return;
+            return null;
         }
         try (DBCSession session = executionContext.openSession(
             monitor, DBCExecutionPurpose.UTIL, "Read dashboard '" + dashboard.getItemDescriptor().getName() + "' data")) {
             session.enableLogging(false);
 
-            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
-            boolean revertTxn = false;
-            if (false) {
-                // FIXME: dashboards must be queued in auto-commit mode?
-                // FIXME: we can't switch to auto-commit because connection may be used by another tasks (e.g. SQL editor)
-                if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
-                    txnManager.setAutoCommit(monitor, true);
-                    revertTxn = true;
-                }
-            }
-            try {
-                for (DBDashboardQuery query : queries) {
-                    try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
-                        if (dbStat.executeStatement()) {
-                            try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                                if (dbResults != null) {
-                                    fetchDashboardData(dashboard, dbResults);
-                                }
-                            }
+            try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
+                if (dbStat.executeStatement()) {
+                    try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                        if (dbResults != null) {
+                            return readQueryResult(dbResults, maxRows);
                         }
-                    } catch (Exception e) {
-                        throw new DBCException("Error updating dashboard " + dashboard.getItemDescriptor().getId(), e, session.getExecutionContext());
                     }
                 }
-            } finally {
-                if (revertTxn) {
-                    txnManager.setAutoCommit(monitor, false);
-                }
+            } catch (Exception e) {
+                throw new DBCException("Error updating dashboard " + dashboard.getItemDescriptor().getId(), e, session.getExecutionContext());
+            }
+        }
+        return null;
+    }
+
+    private QueryResult readQueryResult(DBCResultSet dbResults, int maxRows) throws DBCException {
+        QueryResult result = new QueryResult();
+        DBCResultSetMetaData meta = dbResults.getMeta();
+        List<? extends DBCAttributeMetaData> rsAttrs = meta.getAttributes();
+        for (DBCAttributeMetaData rsAttr : rsAttrs) {
+            String colName = rsAttr.getLabel();
+            if (CommonUtils.isEmpty(colName)) {
+                colName = rsAttr.getName();
+            }
+            if (DashboardConstants.RS_COL_TIMESTAMP.equalsIgnoreCase(colName)) {
+                result.timestampColumn = colName;
+            } else {
+                result.columnNames.add(colName);
+            }
+        }
+
+        while (dbResults.nextRow()) {
+            Object[] values = new Object[result.columnNames.size()];
+            Date timestamp;
+            if (result.timestampColumn != null) {
+                timestamp = (Date) dbResults.getAttributeValue(result.timestampColumn);
+            } else {
+                timestamp = new Date();
+            }
+            for (int i = 0; i < result.columnNames.size(); i++) {
+                values[i] = dbResults.getAttributeValue(result.columnNames.get(i));
+            }
+            result.timestamps.add(timestamp);
+            result.rows.add(values);
+            if (result.rows.size() >= maxRows) {
+                break;
             }
         }
+        return result;
     }
 
     private void fetchDashboardMapData(DBRProgressMonitor monitor, DashboardItemContainer dashboard) {
@@ -314,39 +425,13 @@ public class DashboardUpdater {
         }
     }
 
-    private void fetchDashboardData(DashboardItemContainer dashboardContainer, DBCResultSet dbResults) throws DBCException {
-        DBCResultSetMetaData meta = dbResults.getMeta();
-        List<? extends DBCAttributeMetaData> rsAttrs = meta.getAttributes();
-        List<String> colNames = new ArrayList<>();
-        String tsColName = null;
-        for (DBCAttributeMetaData rsAttr : rsAttrs) {
-            String colName = rsAttr.getLabel();
-            if (CommonUtils.isEmpty(colName)) {
-                colName = rsAttr.getName();
-            }
-            if (DashboardConstants.RS_COL_TIMESTAMP.equalsIgnoreCase(colName)) {
-                tsColName = colName;
-            } else {
-                colNames.add(colName);
-            }
-        }
-        DashboardDataset dataset = new DashboardDataset(colNames.toArray(new String[0]));
+    private void fetchDashboardData(DashboardItemContainer dashboardContainer, QueryResult result) {
+        DashboardDataset dataset = new DashboardDataset(result.columnNames.toArray(new String[0]));
 
-        while (dbResults.nextRow()) {
-            Object[] values = new Object[colNames.size()];
-            Date timestamp;
-            if (tsColName != null) {
-                timestamp = (Date) dbResults.getAttributeValue(tsColName);
-            } else {
-                timestamp = new Date();
-            }
-            for (int i = 0; i < colNames.size(); i++) {
-                values[i] = dbResults.getAttributeValue(colNames.get(i));
-            }
-            dataset.addRow(new DashboardDatasetRow(timestamp, values));
-            if (dataset.getRows().size() >= dashboardContainer.getDashboardMaxItems()) {
-                break;
-            }
+        int maxRows = Math.min(result.rows.size(), dashboardContainer.getDashboardMaxItems());
+        for (int i = 0; i < maxRows; i++) {
+            // Rows may be shared with other dashboards, so copy values
+            dataset.addRow(new DashboardDatasetRow(result.timestamps.get(i), result.rows.get(i).clone()));
         }
 
         switch (dashboardContainer.getItemDescriptor().getFetchType()) {
@@ -391,7 +476,7 @@ public class DashboardUpdater {
         return newDataset;
     }
 
-    public boolean getDashboardsToUpdate(List<DashboardItemContainer> dashboards) {
+    public static boolean getDashboardsToUpdate(List<DashboardItemContainer> dashboards) {
         boolean pauseDashboardUpdate = true;
         for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
             for (IWorkbenchPage page : window.getPages()) {
@@ -409,12 +494,12 @@ public class DashboardUpdater {
         return pauseDashboardUpdate;
     }
     
-    private boolean checkViewDashboards(DataSourceDashboardView view) {
+    private static boolean checkViewDashboards(DataSourceDashboardView view) {
         DashboardListViewer viewManager = view.getDashboardListViewer();
         return viewManager != null && viewManager.getDataSourceContainer().isConnected();
     }
 
-    private void getViewDashboards(DataSourceDashboardView view, List<DashboardItemContainer> dashboards) {
+    private static void getViewDashboards(DataSourceDashboardView view, List<DashboardItemContainer> dashboards) {
         long currentTime = System.currentTimeMillis();
         DashboardListViewer viewManager = view.getDashboardListViewer();
         for (DashboardGroupContainer group : viewManager.getGroups()) {
@@ -431,16 +516,20 @@ public class DashboardUpdater {
         }
     }
 
+    @Nullable
     private MapQueryInfo getMapQueryData(DashboardItemContainer dashboard) {
-        List<MapQueryInfo> mapQueryInfos = mapQueries.get(dashboard.getDataSourceContainer());
-        if (mapQueryInfos != null) {
-            for (MapQueryInfo mqi : mapQueryInfos) {
-                if (mqi.mapQuery == dashboard.getMapQuery()) {
-                    return mqi;
-                }
-            }
+        MapQueryKey key = getMapQueryKey(dashboard);
+        return key == null ? null : mapQueries.get(key);
+    }
+
+    @Nullable
+    private static MapQueryKey getMapQueryKey(DashboardItemContainer dashboard) {
+        DBDashboardMapQuery mapQuery = dashboard.getMapQuery();
+        if (mapQuery == null) {
+            return null;
         }
-        return null;
+        DBCExecutionContext executionContext = dashboard.getGroup().getView().getExecutionContext();
+        return executionContext == null ? null : new MapQueryKey(mapQuery, executionContext);
     }
 
 }
\ No newline at end of file
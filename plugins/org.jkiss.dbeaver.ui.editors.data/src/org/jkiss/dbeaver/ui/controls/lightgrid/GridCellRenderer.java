@@ -24,7 +24,6 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.UIIcon;
-import org.jkiss.dbeaver.ui.UITextUtils;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.utils.CommonUtils;
 
@@ -166,10 +165,8 @@ public class GridCellRenderer extends AbstractRenderer {
 
         // Get cell text
         if (!text.isEmpty()) {
-            // Get shortern version of string
-            text = UITextUtils.getShortString(grid.fontMetrics, text, width);
-            // Replace linefeeds with space
-            text = CommonUtils.getSingleLineString(text);
+            // Get shortern single-line version of string
+            text = grid.getRenderCache().getDisplayText(grid.fontMetrics, col, row, text, width);
 
             final Font font = cellInfo.font;
             gc.setFont(font != null ? font : grid.normalFont);
@@ -178,10 +175,10 @@ public class GridCellRenderer extends AbstractRenderer {
             switch (columnAlign) {
                 // Center
                 case IGridContentProvider.ALIGN_CENTER: {
-                    Point textSize = gc.textExtent(text);
+                    int textWidth = grid.getRenderCache().getDisplayTextWidth(gc, col, row, text);
                     gc.drawString(
                         text,
-                        bounds.x + (bounds.width - textSize.x) / 2,
+                        bounds.x + (bounds.width - textWidth) / 2,
                         textTopPos,
                         isTransparent
                     );
@@ -189,8 +186,8 @@ public class GridCellRenderer extends AbstractRenderer {
                 }
                 case IGridContentProvider.ALIGN_RIGHT: {
                     // Right (numbers, datetimes)
-                    Point textSize = gc.textExtent(text);
-                    int valueWidth = textSize.x + INSIDE_MARGIN;
+                    int textWidth = grid.getRenderCache().getDisplayTextWidth(gc, col, row, text);
+                    int valueWidth = textWidth + INSIDE_MARGIN;
                     if (imageBounds != null) {
                         valueWidth += imageBounds.width + INSIDE_MARGIN;
                     }
@@ -211,7 +208,7 @@ public class GridCellRenderer extends AbstractRenderer {
                     }
                     gc.drawString(
                         text,
-                        bounds.x + bounds.width - (textSize.x + RIGHT_MARGIN + imageMargin),
+                        bounds.x + bounds.width - (textWidth + RIGHT_MARGIN + imageMargin),
                         bounds.y + TEXT_TOP_MARGIN + TOP_MARGIN,
                         isTransparent
                     );
@@ -281,8 +278,8 @@ public class GridCellRenderer extends AbstractRenderer {
         }
 
         boolean textHintRendered = false;
-        Point textSize = gc.textExtent(text);
-        int hintLeftPos = bounds.x + x + textSize.x + LEFT_MARGIN;
+        int textWidth = grid.getRenderCache().getDisplayTextWidth(gc, col, row, text);
+        int hintLeftPos = bounds.x + x + textWidth + LEFT_MARGIN;
         // Render text
         for (IGridHint hint : cellHints) {
             if (x > bounds.x + bounds.width) {
@@ -293,7 +290,7 @@ public class GridCellRenderer extends AbstractRenderer {
                 String hintText = hint.getText();
                 if (!CommonUtils.isEmpty(hintText)) {
                     textHintRendered = true;
-                    if (textSize.x < bounds.width - LEFT_MARGIN) {
+                    if (textWidth < bounds.width - LEFT_MARGIN) {
                         final Color foreground;
 
                         if (hint.isError()) {
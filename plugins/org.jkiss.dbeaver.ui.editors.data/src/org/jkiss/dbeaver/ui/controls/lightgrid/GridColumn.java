@@ -49,6 +49,15 @@ public class GridColumn implements IGridColumn {
     private static final int imageSpacing = 3;
     private static final int insideMargin = 3;
 
+    /**
+     * Maximum number of visible rows used to compute column width
+     */
+    private static final int MAX_PACK_SAMPLE_ROWS = 50;
+    /**
+     * Number of the longest sampled texts which are really measured. Widths of other texts are estimated.
+     */
+    private static final int MAX_PACK_MEASURED_CELLS = 5;
+
     private final LightGrid grid;
     private final Object element;
     private final GridColumn parent;
@@ -64,6 +73,9 @@ public class GridColumn implements IGridColumn {
         boolean readOnly;
     }
 
+    private record CellSample(IGridRow row, String text, int decorationWidth) {
+    }
+
     public GridColumn(LightGrid grid, Object element) {
         this.grid = grid;
         this.element = element;
@@ -284,12 +296,16 @@ public class GridColumn implements IGridColumn {
             int topIndex = grid.getTopIndex();
             int bottomIndex = grid.getBottomIndex();
             int maxValueWidth = 0;
-            if (topIndex >= 0 && bottomIndex >= topIndex) {
-                int itemCount = grid.getItemCount();
-                for (int i = topIndex; i <= bottomIndex && i < itemCount; i++) {
-                    maxValueWidth = Math.max(maxValueWidth, computeCellWidth(gc, grid.getRow(i)));
-                    newWidth = Math.max(newWidth, maxValueWidth);
+            int lastIndex = Math.min(bottomIndex, grid.getItemCount() - 1);
+            if (topIndex >= 0 && lastIndex >= topIndex) {
+                int rowCount = lastIndex - topIndex + 1;
+                int step = (rowCount + MAX_PACK_SAMPLE_ROWS - 1) / MAX_PACK_SAMPLE_ROWS;
+                List<CellSample> samples = new ArrayList<>();
+                for (int i = topIndex; i <= lastIndex; i += step) {
+                    samples.add(sampleCell(grid.getRow(i)));
                 }
+                maxValueWidth = computeCellsWidth(gc, samples);
+                newWidth = Math.max(newWidth, maxValueWidth);
             }
             // Respect hints
             int columnHintsWidth = grid.getContentProvider().getColumnHintsWidth(this);
@@ -322,7 +338,27 @@ public class GridColumn implements IGridColumn {
         }
     }
 
-    private int computeCellWidth(GC gc, IGridRow row) {
+    private int computeCellsWidth(GC gc, List<CellSample> samples) {
+        // Measure only the longest texts, other texts can't be much wider
+        samples.sort((s1, s2) -> Integer.compare(s2.text.length(), s1.text.length()));
+        double avgCharWidth = grid.fontMetrics.getAverageCharWidth();
+        int maxTextWidth = 0;
+        int maxWidth = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            CellSample sample = samples.get(i);
+            int textWidth;
+            if (i < MAX_PACK_MEASURED_CELLS) {
+                textWidth = grid.getRenderCache().getTextWidth(gc, this, sample.row, sample.text);
+                maxTextWidth = Math.max(maxTextWidth, textWidth);
+            } else {
+                textWidth = Math.min(maxTextWidth, (int) (sample.text.length() * avgCharWidth));
+            }
+            maxWidth = Math.max(maxWidth, sample.decorationWidth + textWidth + rightMargin);
+        }
+        return maxWidth;
+    }
+
+    private CellSample sampleCell(IGridRow row) {
         int x = 0;
 
         x += leftMargin;
@@ -343,8 +379,7 @@ public class GridColumn implements IGridColumn {
             x += imageBounds.width + insideMargin;
         }
 
-        x += gc.textExtent(cellText).x + rightMargin;
-        return x;
+        return new CellSample(row, cellText, x);
     }
 
     /**
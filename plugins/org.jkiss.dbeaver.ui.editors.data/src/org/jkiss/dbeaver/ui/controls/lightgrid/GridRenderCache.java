@@ -0,0 +1,167 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.GC;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ui.UITextUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Render cache of grid cells.
+ * Keeps formatted cell text, its shortened single-line form and measured text widths, so repaints
+ * and scrolling don't format and measure the same values again.
+ * Entries are keyed by grid column and row (which are re-created on each grid refresh) and hold the cell value
+ * they were made for, so a changed value is formatted again. The cache is bounded to a few screens of cells.
+ */
+public class GridRenderCache {
+
+    private static final int MIN_CACHED_CELLS = 1000;
+    private static final int CACHED_SCREENS = 4;
+
+    private record CellKey(@NotNull IGridColumn column, @NotNull IGridRow row) {
+    }
+
+    private static class CellEntry {
+        private Object value;
+        private Object formattedText;
+        private boolean formatted;
+
+        // Shortened single-line text for the given width
+        private String sourceText;
+        private int availableWidth = -1;
+        private String displayText;
+        private Font displayFont;
+        private int displayTextWidth = -1;
+
+        // Width of full text (used to pack columns)
+        private String measuredText;
+        private Font measuredFont;
+        private int measuredWidth = -1;
+    }
+
+    private int maxCells = MIN_CACHED_CELLS;
+    private final Map<CellKey, CellEntry> cells = new LinkedHashMap<>(MIN_CACHED_CELLS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CellKey, CellEntry> eldest) {
+            return size() > maxCells;
+        }
+    };
+
+    /**
+     * Returns cached formatted text of the cell or null if it wasn't cached for this value
+     */
+    @Nullable
+    public Object getFormattedText(@NotNull IGridColumn column, @NotNull IGridRow row, @Nullable Object value) {
+        CellEntry entry = cells.get(new CellKey(column, row));
+        if (entry == null || !entry.formatted || entry.value != value) {
+            return null;
+        }
+        return entry.formattedText;
+    }
+
+    public void putFormattedText(@NotNull IGridColumn column, @NotNull IGridRow row, @Nullable Object value, @Nullable Object text) {
+        CellEntry entry = getEntry(column, row);
+        if (entry.formatted && entry.value != value) {
+            // Value was changed - measured texts are obsolete
+            entry.sourceText = null;
+            entry.measuredText = null;
+        }
+        entry.value = value;
+        entry.formattedText = text;
+        entry.formatted = true;
+    }
+
+    /**
+     * Returns single-line text shortened to fit the specified width
+     */
+    @NotNull
+    String getDisplayText(
+        @NotNull FontMetrics fontMetrics,
+        @NotNull IGridColumn column,
+        @NotNull IGridRow row,
+        @NotNull String text,
+        int availableWidth
+    ) {
+        CellEntry entry = getEntry(column, row);
+        if (entry.availableWidth != availableWidth || !isSameText(entry.sourceText, text)) {
+            entry.sourceText = text;
+            entry.availableWidth = availableWidth;
+            entry.displayText = CommonUtils.getSingleLineString(UITextUtils.getShortString(fontMetrics, text, availableWidth));
+            entry.displayFont = null;
+            entry.displayTextWidth = -1;
+        }
+        return entry.displayText;
+    }
+
+    /**
+     * Returns width of the display text (see {@link #getDisplayText}) measured with the current GC font
+     */
+    int getDisplayTextWidth(@NotNull GC gc, @NotNull IGridColumn column, @NotNull IGridRow row, @NotNull String displayText) {
+        CellEntry entry = getEntry(column, row);
+        if (!isSameText(entry.displayText, displayText)) {
+            return gc.textExtent(displayText).x;
+        }
+        Font font = gc.getFont();
+        if (entry.displayTextWidth < 0 || entry.displayFont != font) {
+            entry.displayFont = font;
+            entry.displayTextWidth = gc.textExtent(displayText).x;
+        }
+        return entry.displayTextWidth;
+    }
+
+    /**
+     * Returns width of the full cell text measured with the current GC font
+     */
+    int getTextWidth(@NotNull GC gc, @NotNull IGridColumn column, @NotNull IGridRow row, @NotNull String text) {
+        CellEntry entry = getEntry(column, row);
+        Font font = gc.getFont();
+        if (entry.measuredWidth < 0 || entry.measuredFont != font || !isSameText(entry.measuredText, text)) {
+            entry.measuredText = text;
+            entry.measuredFont = font;
+            entry.measuredWidth = gc.textExtent(text).x;
+        }
+        return entry.measuredWidth;
+    }
+
+    /**
+     * Sets number of cells visible on the screen. Cache keeps a few screens of cells.
+     */
+    void setVisibleCells(int visibleCells) {
+        maxCells = Math.max(MIN_CACHED_CELLS, visibleCells * CACHED_SCREENS);
+    }
+
+    public void clear() {
+        cells.clear();
+    }
+
+    @NotNull
+    private CellEntry getEntry(@NotNull IGridColumn column, @NotNull IGridRow row) {
+        return cells.computeIfAbsent(new CellKey(column, row), k -> new CellEntry());
+    }
+
+    private static boolean isSameText(@Nullable String cached, @NotNull String text) {
+        return cached == text || text.equals(cached);
+    }
+
+}
@@ -226,6 +226,7 @@ public abstract class LightGrid extends Canvas {
     private final GridColumnRenderer columnHeaderRenderer;
     private final GridRowRenderer rowHeaderRenderer;
     private final GridCellRenderer cellRenderer;
+    private final GridRenderCache renderCache = new GridRenderCache();
 
     /**
      * Are row headers visible?
@@ -498,6 +499,11 @@ public abstract class LightGrid extends Canvas {
         return cellRenderer;
     }
 
+    @NotNull
+    public GridRenderCache getRenderCache() {
+        return renderCache;
+    }
+
     public void setMaxColumnDefWidth(int maxColumnDefWidth) {
         this.maxColumnDefWidth = maxColumnDefWidth;
     }
@@ -732,6 +738,8 @@ public abstract class LightGrid extends Canvas {
         List<IGridRow> rows = new ArrayList<>(initialElements.length);
         collectRowsFromElements(rows, initialElements);
         this.gridRows = rows.toArray(new IGridRow[0]);
+        // Values and their formats may be changed
+        this.renderCache.clear();
     }
 
     /**
@@ -2395,6 +2403,7 @@ public abstract class LightGrid extends Canvas {
         final GridPos testPos = new GridPos(-1, -1);
         final Rectangle cellBounds = new Rectangle(0, 0, 0, 0);
         int pinnedColumnsWidth = getPinnedColumnsWidth();
+        int paintedCells = 0;
 
         for (int i = 0; i < visibleRows; i++) {
             if (isSingleCellPaint && redrawRow != row) {
@@ -2436,6 +2445,7 @@ public abstract class LightGrid extends Canvas {
 
                             testPos.col = k;
                             testPos.row = row;
+                            paintedCells++;
                             cellRenderer.paint(
                                 gc,
                                 cellBounds,
@@ -2500,6 +2510,7 @@ public abstract class LightGrid extends Canvas {
                             cellBounds.height++;
                             gc.setClipping(cellBounds);
                             cellBounds.height--;
+                            paintedCells++;
                             try {
                                 cellRenderer.paint(
                                     gc,
@@ -2550,6 +2561,9 @@ public abstract class LightGrid extends Canvas {
             row++;
             y += itemHeight + 1;
         }
+        if (!isSingleCellPaint) {
+            renderCache.setVisibleCells(paintedCells);
+        }
 
         // Draw lines in the end. Do not paint lines to grid cell to optimize performance
         if (this.isLinesVisible() && !isSingleCellPaint) {
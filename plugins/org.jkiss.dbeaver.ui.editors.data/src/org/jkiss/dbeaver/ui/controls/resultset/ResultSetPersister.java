@@ -35,6 +35,7 @@ import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.struct.rdb.DBSForeignKeyModifyRule;
 import org.jkiss.dbeaver.model.struct.rdb.DBSManipulationType;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTableForeignKey;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.ISmartTransactionManager;
@@ -727,6 +728,7 @@ class ResultSetPersister {
             }
 
             if (!generateScript) {
+                invalidateDictionaries();
                 // Reflect changes
                 UIUtils.syncExec(() -> {
                     boolean rowsChanged = false;
@@ -762,6 +764,19 @@ class ResultSetPersister {
             return Status.OK_STATUS;
         }
 
+        private void invalidateDictionaries() {
+            // Edited entities may be dictionaries of other result sets
+            Set<DBSEntity> changedEntities = new LinkedHashSet<>();
+            for (List<DataStatementInfo> statements : List.of(deleteStatements, insertStatements, updateStatements)) {
+                for (DataStatementInfo statement : statements) {
+                    changedEntities.add(statement.entity);
+                }
+            }
+            for (DBSEntity entity : changedEntities) {
+                DBVDictionaryCache.getInstance().invalidate(entity);
+            }
+        }
+
         private Throwable executeStatements(DBRProgressMonitor monitor) {
             monitor.beginTask(
                 ResultSetMessages.controls_resultset_viewer_monitor_aply_changes,
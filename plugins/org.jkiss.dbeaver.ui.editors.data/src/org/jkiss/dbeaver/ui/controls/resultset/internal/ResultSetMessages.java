@@ -44,6 +44,8 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_grouping_clear;
     public static String controls_resultset_grouping_default_sorting;
     public static String controls_resultset_grouping_show_duplicates_only;
+    public static String controls_resultset_grouping_local;
+    public static String controls_resultset_grouping_local_tip;
     
     public static String controls_resultset_virtual_edit_action;
     public static String controls_resultset_virtual_add_virtual_foreign_key;
@@ -430,6 +432,7 @@ public class ResultSetMessages extends NLS {
     public static String grouping_panel_error_title;
     public static String grouping_panel_error_change_sort_message;
     public static String grouping_panel_error_change_duplicate_presentation_message;
+    public static String grouping_panel_error_change_local_message;
 
     public static String refs_label;
     public static String refs_no_refs_text;
@@ -44,6 +44,7 @@ public class GroupingDataContainer implements DBSDataContainer {
     private IResultSetController parentController;
     private String query;
     private SQLGroupingAttribute[] attributes;
+    private volatile GroupingLocalProcessor localProcessor;
 
     public GroupingDataContainer(IResultSetController parentController) {
         this.parentController = parentController;
@@ -100,6 +101,17 @@ public class GroupingDataContainer implements DBSDataContainer {
 
         DBRProgressMonitor monitor = session.getProgressMonitor();
 
+        GroupingLocalProcessor processor = this.localProcessor;
+        if (processor != null && (dataFilter == null || !dataFilter.hasConditions())) {
+            long startTime = System.currentTimeMillis();
+            DBCResultSet localResult = processor.createResultSet(session, query, dataFilter);
+            if (localResult != null) {
+                statistics.setExecuteTime(System.currentTimeMillis() - startTime);
+                readLocalData(localResult, session, dataReceiver, firstRow, maxRows, statistics);
+                return statistics;
+            }
+        }
+
         StringBuilder sqlQuery = new StringBuilder(this.query);
         DBPDataSource dataSource = getDataSource();
         if (dataSource != null) {
@@ -170,6 +182,44 @@ public class GroupingDataContainer implements DBSDataContainer {
         }
     }
 
+    private void readLocalData(
+        @NotNull DBCResultSet localResult,
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver dataReceiver,
+        long firstRow,
+        long maxRows,
+        @NotNull DBCStatistics statistics
+    ) throws DBCException {
+        // Grouping of the fetched rows doesn't touch the database
+        statistics.setQueryText(query);
+        try (DBCResultSet dbResult = localResult) {
+            try {
+                dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
+                long startTime = System.currentTimeMillis();
+                long rowCount = 0;
+                if (firstRow <= 0 || dbResult.moveTo((int) firstRow - 1)) {
+                    while (dbResult.nextRow()) {
+                        if (session.getProgressMonitor().isCanceled() || (maxRows > 0 && rowCount >= maxRows)) {
+                            break;
+                        }
+                        dataReceiver.fetchRow(session, dbResult);
+                        rowCount++;
+                    }
+                }
+                statistics.setFetchTime(System.currentTimeMillis() - startTime);
+                statistics.setRowsFetched(rowCount);
+            } finally {
+                try {
+                    dataReceiver.fetchEnd(session, dbResult);
+                } catch (Throwable e) {
+                    log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
+                }
+            }
+        } finally {
+            dataReceiver.close();
+        }
+    }
+
     @Override
     public long countData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @Nullable DBDDataFilter dataFilter, long flags) throws DBCException {
         return 0;
@@ -184,6 +234,18 @@ public class GroupingDataContainer implements DBSDataContainer {
         this.query = sql;
     }
 
+    /**
+     * Sets processor which groups rows fetched by the parent viewer.
+     * If set then grouping doesn't query the database unless additional filter conditions are specified.
+     */
+    void setLocalProcessor(@Nullable GroupingLocalProcessor localProcessor) {
+        this.localProcessor = localProcessor;
+    }
+
+    public boolean isLocalGrouping() {
+        return localProcessor != null;
+    }
+
     public void setGroupingAttributes(@Nullable SQLGroupingAttribute[] attributes) {
         this.attributes = attributes;
     }
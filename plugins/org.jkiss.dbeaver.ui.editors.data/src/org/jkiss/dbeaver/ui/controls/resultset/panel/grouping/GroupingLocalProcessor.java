@@ -0,0 +1,438 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.grouping;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.sql.SQLGroupingAttribute;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes grouping over the rows already fetched by the parent result set viewer.
+ * Used instead of the grouping query when the whole result set is fetched and all
+ * grouping attributes are result set columns and all functions are simple aggregates.
+ * String comparison depends on the database collation (case sensitivity, trailing spaces)
+ * and null ordering differs between databases, so in these cases the grouping query is used.
+ * Rows are copied when the processor is created, so it doesn't depend on further changes of the parent model.
+ */
+class GroupingLocalProcessor {
+
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile("(\\w+)\\s*\\(\\s*(DISTINCT\\s+)?(.+?)\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_PATTERN = Pattern.compile("(.+?)(?:\\s+(ASC|DESC))?", Pattern.CASE_INSENSITIVE);
+
+    private enum AggregateKind {
+        COUNT,
+        SUM,
+        MIN,
+        MAX,
+        AVG
+    }
+
+    private static class Aggregate {
+        final AggregateKind kind;
+        final boolean distinct;
+        // Index of the argument in the copied row or -1 for COUNT(*)
+        final int argument;
+        final String label;
+        @Nullable
+        final DBDAttributeBinding argumentBinding;
+
+        Aggregate(AggregateKind kind, boolean distinct, int argument, String label, @Nullable DBDAttributeBinding argumentBinding) {
+            this.kind = kind;
+            this.distinct = distinct;
+            this.argument = argument;
+            this.label = label;
+            this.argumentBinding = argumentBinding;
+        }
+    }
+
+    private static class Accumulator {
+        long count;
+        BigDecimal sum;
+        Object extremum;
+        Set<Object> distinctValues;
+    }
+
+    private final DBDAttributeBinding[] groupBindings;
+    private final String[] groupLabels;
+    private final Aggregate[] aggregates;
+    private final List<Object[]> rows;
+    private final boolean duplicatesOnly;
+
+    private GroupingLocalProcessor(
+        DBDAttributeBinding[] groupBindings,
+        Aggregate[] aggregates,
+        List<Object[]> rows,
+        boolean duplicatesOnly
+    ) {
+        this.groupBindings = groupBindings;
+        this.groupLabels = new String[groupBindings.length];
+        for (int i = 0; i < groupBindings.length; i++) {
+            groupLabels[i] = groupBindings[i].getLabel();
+        }
+        this.aggregates = aggregates;
+        this.rows = rows;
+        this.duplicatesOnly = duplicatesOnly;
+    }
+
+    /**
+     * Creates processor for the specified grouping.
+     * Returns null if grouping can't be computed locally, e.g. because of custom expressions or unsupported functions.
+     */
+    @Nullable
+    static GroupingLocalProcessor create(
+        @NotNull ResultSetModel model,
+        @NotNull List<SQLGroupingAttribute> groupAttributes,
+        @NotNull List<String> groupFunctions,
+        @NotNull String[] funcAliases,
+        boolean duplicatesOnly
+    ) {
+        if (model.isDirty() || groupAttributes.isEmpty() || groupFunctions.size() != funcAliases.length) {
+            return null;
+        }
+        List<DBDAttributeBinding> attributes = Arrays.asList(model.getAttributes());
+        List<DBDAttributeBinding> sourceBindings = new ArrayList<>();
+        DBDAttributeBinding[] groupBindings = new DBDAttributeBinding[groupAttributes.size()];
+        for (int i = 0; i < groupBindings.length; i++) {
+            if (!(groupAttributes.get(i) instanceof SQLGroupingAttribute.BoundAttribute boundAttribute)) {
+                return null;
+            }
+            DBDAttributeBinding binding = boundAttribute.getBinding();
+            if (!attributes.contains(binding) || !isExactKind(binding.getDataKind())) {
+                return null;
+            }
+            groupBindings[i] = binding;
+            sourceBindings.add(binding);
+        }
+        Aggregate[] aggregates = new Aggregate[groupFunctions.size()];
+        for (int i = 0; i < aggregates.length; i++) {
+            Matcher matcher = FUNCTION_PATTERN.matcher(groupFunctions.get(i).trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+            AggregateKind kind = CommonUtils.valueOf(AggregateKind.class, matcher.group(1).toUpperCase(Locale.ENGLISH), null);
+            if (kind == null) {
+                return null;
+            }
+            boolean distinct = matcher.group(2) != null;
+            String argument = matcher.group(3);
+            if (argument.equals(SQLConstants.COLUMN_ASTERISK)) {
+                if (kind != AggregateKind.COUNT || distinct) {
+                    return null;
+                }
+                aggregates[i] = new Aggregate(kind, false, -1, funcAliases[i], null);
+                continue;
+            }
+            DBDAttributeBinding binding = findAttribute(model, argument);
+            if (binding == null || !isSupportedKind(binding.getDataKind())) {
+                return null;
+            }
+            if ((kind == AggregateKind.SUM || kind == AggregateKind.AVG) && binding.getDataKind() != DBPDataKind.NUMERIC) {
+                return null;
+            }
+            // Only the number of non-null values doesn't depend on the collation
+            if (!isExactKind(binding.getDataKind()) && (kind != AggregateKind.COUNT || distinct)) {
+                return null;
+            }
+            int argIndex = sourceBindings.indexOf(binding);
+            if (argIndex < 0) {
+                argIndex = sourceBindings.size();
+                sourceBindings.add(binding);
+            }
+            aggregates[i] = new Aggregate(kind, distinct, argIndex, funcAliases[i], binding);
+        }
+
+        List<ResultSetRow> allRows = model.getAllRows();
+        List<Object[]> rows = new ArrayList<>(allRows.size());
+        for (ResultSetRow row : allRows) {
+            Object[] values = new Object[sourceBindings.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = normalizeValue(model.getCellValue(sourceBindings.get(i), row));
+            }
+            rows.add(values);
+        }
+        // Duplicates are filtered for the default COUNT(*) grouping only, the same way as the grouping query does
+        boolean isDefaultGrouping = aggregates.length == 1 && aggregates[0].kind == AggregateKind.COUNT && aggregates[0].argument < 0;
+        return new GroupingLocalProcessor(groupBindings, aggregates, rows, duplicatesOnly && isDefaultGrouping);
+    }
+
+    /**
+     * Groups copied rows and returns them as a result set ordered according to the data filter.
+     * Returns null if the order can't be reproduced locally, then the grouping query must be used.
+     */
+    @Nullable
+    LocalResultSet<LocalStatement> createResultSet(@NotNull DBCSession session, @NotNull String queryText, @Nullable DBDDataFilter dataFilter) {
+        Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Object[] key = new Object[groupBindings.length];
+            System.arraycopy(row, 0, key, 0, key.length);
+            Accumulator[] accumulators = groups.computeIfAbsent(Arrays.asList(key), k -> newAccumulators());
+            for (int i = 0; i < aggregates.length; i++) {
+                accumulate(aggregates[i], accumulators[i], aggregates[i].argument < 0 ? null : row[aggregates[i].argument]);
+            }
+        }
+
+        List<Object[]> resultRows = new ArrayList<>(groups.size());
+        for (Map.Entry<List<Object>, Accumulator[]> group : groups.entrySet()) {
+            Accumulator[] accumulators = group.getValue();
+            if (duplicatesOnly && accumulators[0].count <= 1) {
+                continue;
+            }
+            Object[] resultRow = new Object[groupBindings.length + aggregates.length];
+            for (int i = 0; i < groupBindings.length; i++) {
+                resultRow[i] = group.getKey().get(i);
+            }
+            for (int i = 0; i < aggregates.length; i++) {
+                resultRow[groupBindings.length + i] = getResult(aggregates[i], accumulators[i]);
+            }
+            resultRows.add(resultRow);
+        }
+        if (dataFilter != null && !sortRows(resultRows, dataFilter)) {
+            return null;
+        }
+
+        LocalResultSet<LocalStatement> resultSet = new LocalResultSet<>(session, new LocalStatement(session, queryText));
+        for (int i = 0; i < groupBindings.length; i++) {
+            resultSet.addColumn(groupLabels[i], groupBindings[i]);
+        }
+        for (Aggregate aggregate : aggregates) {
+            if (aggregate.argumentBinding != null && (aggregate.kind == AggregateKind.MIN || aggregate.kind == AggregateKind.MAX)) {
+                resultSet.addColumn(aggregate.label, aggregate.argumentBinding);
+            } else {
+                resultSet.addColumn(aggregate.label, DBPDataKind.NUMERIC);
+            }
+        }
+        for (Object[] resultRow : resultRows) {
+            resultSet.addRow(resultRow);
+        }
+        return resultSet;
+    }
+
+    private Accumulator[] newAccumulators() {
+        Accumulator[] accumulators = new Accumulator[aggregates.length];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = new Accumulator();
+            if (aggregates[i].distinct) {
+                accumulators[i].distinctValues = new HashSet<>();
+            }
+        }
+        return accumulators;
+    }
+
+    private static void accumulate(@NotNull Aggregate aggregate, @NotNull Accumulator accumulator, @Nullable Object value) {
+        if (aggregate.argument < 0) {
+            accumulator.count++;
+            return;
+        }
+        if (value == null) {
+            return;
+        }
+        if (accumulator.distinctValues != null && !accumulator.distinctValues.add(value)) {
+            return;
+        }
+        accumulator.count++;
+        switch (aggregate.kind) {
+            case SUM, AVG -> {
+                BigDecimal number = toDecimal(value);
+                if (number != null) {
+                    accumulator.sum = accumulator.sum == null ? number : accumulator.sum.add(number);
+                }
+            }
+            case MIN, MAX -> {
+                if (accumulator.extremum == null) {
+                    accumulator.extremum = value;
+                } else {
+                    int cmp = compareValues(value, accumulator.extremum);
+                    if (aggregate.kind == AggregateKind.MIN ? cmp < 0 : cmp > 0) {
+                        accumulator.extremum = value;
+                    }
+                }
+            }
+            default -> {
+                // Counter is already updated
+            }
+        }
+    }
+
+    @Nullable
+    private static Object getResult(@NotNull Aggregate aggregate, @NotNull Accumulator accumulator) {
+        return switch (aggregate.kind) {
+            case COUNT -> accumulator.count;
+            case SUM -> accumulator.sum;
+            case AVG -> accumulator.sum == null || accumulator.count == 0 ? null :
+                accumulator.sum.divide(BigDecimal.valueOf(accumulator.count), MathContext.DECIMAL64);
+            case MIN, MAX -> accumulator.extremum;
+        };
+    }
+
+    private boolean sortRows(@NotNull List<Object[]> resultRows, @NotNull DBDDataFilter dataFilter) {
+        List<Integer> orderColumns = new ArrayList<>();
+        Comparator<Object[]> comparator = null;
+        for (DBDAttributeConstraint constraint : dataFilter.getOrderConstraints()) {
+            int index = getColumnIndex(constraint.getAttributeLabel());
+            orderColumns.add(index);
+            comparator = appendOrder(comparator, index, constraint.isOrderDescending());
+        }
+        String order = dataFilter.getOrder();
+        if (!CommonUtils.isEmpty(order)) {
+            for (String orderItem : order.split(",")) {
+                Matcher matcher = ORDER_PATTERN.matcher(orderItem.trim());
+                if (!matcher.matches()) {
+                    return false;
+                }
+                int index = getColumnIndex(matcher.group(1));
+                orderColumns.add(index);
+                comparator = appendOrder(comparator, index, "DESC".equalsIgnoreCase(matcher.group(2)));
+            }
+        }
+        for (int index : orderColumns) {
+            if (index < 0) {
+                return false;
+            }
+            // Position of nulls depends on the database
+            for (Object[] row : resultRows) {
+                if (row[index] == null) {
+                    return false;
+                }
+            }
+        }
+        if (comparator != null) {
+            resultRows.sort(comparator);
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Comparator<Object[]> appendOrder(@Nullable Comparator<Object[]> comparator, int index, boolean descending) {
+        if (index < 0) {
+            return comparator;
+        }
+        Comparator<Object[]> columnComparator = (r1, r2) -> compareValues(r1[index], r2[index]);
+        if (descending) {
+            columnComparator = columnComparator.reversed();
+        }
+        return comparator == null ? columnComparator : comparator.thenComparing(columnComparator);
+    }
+
+    private int getColumnIndex(@NotNull String name) {
+        for (int i = 0; i < groupLabels.length; i++) {
+            if (isSameName(groupBindings[i].getDataSource(), groupLabels[i], name)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < aggregates.length; i++) {
+            if (isSameName(groupBindings[0].getDataSource(), aggregates[i].label, name)) {
+                return groupLabels.length + i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSameName(@Nullable DBPDataSource dataSource, @NotNull String label, @NotNull String name) {
+        name = name.trim();
+        return label.equalsIgnoreCase(name) ||
+            (dataSource != null && label.equalsIgnoreCase(DBUtils.getUnQuotedIdentifier(dataSource, name)));
+    }
+
+    @Nullable
+    private static DBDAttributeBinding findAttribute(@NotNull ResultSetModel model, @NotNull String name) {
+        for (DBDAttributeBinding binding : model.getAttributes()) {
+            if (isSameName(binding.getDataSource(), binding.getLabel(), name) ||
+                isSameName(binding.getDataSource(), binding.getName(), name))
+            {
+                return binding;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isExactKind(@NotNull DBPDataKind dataKind) {
+        return switch (dataKind) {
+            case NUMERIC, BOOLEAN, DATETIME -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isSupportedKind(@NotNull DBPDataKind dataKind) {
+        return switch (dataKind) {
+            case STRING, NUMERIC, BOOLEAN, DATETIME -> true;
+            default -> false;
+        };
+    }
+
+    @Nullable
+    private static Object normalizeValue(@Nullable Object value) {
+        // Numbers of different scale must fall into the same group, as they do in the database
+        if (value instanceof BigDecimal decimal) {
+            return decimal.signum() == 0 ? BigDecimal.ZERO : decimal.stripTrailingZeros();
+        }
+        return value;
+    }
+
+    @Nullable
+    private static BigDecimal toDecimal(@NotNull Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        } else if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        } else if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            return Double.isFinite(doubleValue) ? BigDecimal.valueOf(doubleValue) : null;
+        } else if (value instanceof Number number) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(@Nullable Object value1, @Nullable Object value2) {
+        // Nulls are never compared with values of the result order, see sortRows
+        if (value1 == null || value2 == null) {
+            return value1 == null ? (value2 == null ? 0 : -1) : 1;
+        }
+        if (value1 instanceof Number n1 && value2 instanceof Number n2 && value1.getClass() != value2.getClass()) {
+            BigDecimal d1 = toDecimal(n1);
+            BigDecimal d2 = toDecimal(n2);
+            if (d1 != null && d2 != null) {
+                return d1.compareTo(d2);
+            }
+        }
+        if (value1 instanceof Comparable comparable && value1.getClass().isInstance(value2)) {
+            return comparable.compareTo(value2);
+        }
+        return CommonUtils.toString(value1).compareTo(CommonUtils.toString(value2));
+    }
+}
@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.sql.SQLGroupingAttribute;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -37,6 +38,7 @@ import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
 import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+import org.jkiss.dbeaver.utils.PrefUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
@@ -174,6 +176,7 @@ public class GroupingPanel implements IResultSetPanel {
     {
         contributionManager.add(new DefaultSortingAction());
         contributionManager.add(new DuplicatesOnlyAction());
+        contributionManager.add(new LocalGroupingAction());
         contributionManager.add(new Separator());
         contributionManager.add(new EditColumnsAction(getGroupingResultsContainer()));
         contributionManager.add(new DeleteColumnAction(getGroupingResultsContainer()));
@@ -360,6 +363,32 @@ public class GroupingPanel implements IResultSetPanel {
         }
     }
 
+    class LocalGroupingAction extends Action {
+        LocalGroupingAction() {
+            super(ResultSetMessages.controls_resultset_grouping_local, Action.AS_CHECK_BOX);
+            setToolTipText(ResultSetMessages.controls_resultset_grouping_local_tip);
+            setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.PAGE_STACK));
+        }
+
+        @Override
+        public boolean isChecked() {
+            return DBWorkbench.getPlatform().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_LOCAL);
+        }
+
+        @Override
+        public void run() {
+            // Global setting, it doesn't depend on the connection
+            DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
+            store.setValue(ResultSetPreferences.RS_GROUPING_LOCAL, !isChecked());
+            PrefUtils.savePreferenceStore(store);
+            try {
+                getGroupingResultsContainer().rebuildGrouping();
+            } catch (DBException e) {
+                DBWorkbench.getPlatformUI().showError(ResultSetMessages.grouping_panel_error_title, ResultSetMessages.grouping_panel_error_change_local_message, e);
+            }
+        }
+    }
+
     private class PresentationToggleAction extends Action {
         private final ResultSetPresentationDescriptor presentationDescriptor;
 
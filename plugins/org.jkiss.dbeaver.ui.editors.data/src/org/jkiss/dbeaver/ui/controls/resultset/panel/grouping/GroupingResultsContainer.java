@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.DataEditorFeatures;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
 import org.jkiss.dbeaver.ui.controls.resultset.view.EmptyPresentation;
@@ -186,6 +187,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
         groupingViewer.resetHistory();
         dataContainer.setGroupingQuery(null);
         dataContainer.setGroupingAttributes(null);
+        dataContainer.setLocalProcessor(null);
         if (!(groupingViewer.getActivePresentation() instanceof EmptyPresentation)) {
             groupingViewer.showEmptyPresentation();
         }
@@ -215,6 +217,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
         var groupingQueryGenerator = new SQLGroupingQueryGenerator(dataSource, dbsDataContainer, dialect, syntaxManager, groupAttributes, groupFunctions, isShowDuplicatesOnly);
         dataContainer.setGroupingQuery(groupingQueryGenerator.generateGroupingQuery(queryText));
         dataContainer.setGroupingAttributes(groupAttributes.toArray(SQLGroupingAttribute[]::new));
+        dataContainer.setLocalProcessor(createLocalProcessor(dataSource, groupingQueryGenerator.getFuncAliases(), isShowDuplicatesOnly));
         DBDDataFilter dataFilter;
         if (presentation.getController().getModel().isMetadataChanged()) {
             dataFilter = new DBDDataFilter();
@@ -242,11 +245,33 @@ public class GroupingResultsContainer implements IResultSetContainer {
         DataEditorFeatures.RESULT_SET_PANEL_GROUPING.use(Map.of(
             "custom", isCustomQuery,
             "default", isDefaultGrouping,
-            "dups", isShowDuplicatesOnly));
+            "dups", isShowDuplicatesOnly,
+            "local", dataContainer.isLocalGrouping()));
         groupingViewer.setDataFilter(dataFilter, true);
         //groupingViewer.refresh();
     }
 
+    @Nullable
+    private GroupingLocalProcessor createLocalProcessor(
+        @NotNull DBPDataSource dataSource,
+        @NotNull String[] funcAliases,
+        boolean isShowDuplicatesOnly
+    ) {
+        if (!DBWorkbench.getPlatform().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_LOCAL)) {
+            return null;
+        }
+        // Fetched rows are the whole result only if there is nothing more to fetch
+        if (!(presentation.getController() instanceof ResultSetViewer parentViewer) || parentViewer.isHasMoreData()) {
+            return null;
+        }
+        return GroupingLocalProcessor.create(
+            parentViewer.getModel(),
+            groupAttributes,
+            groupFunctions,
+            funcAliases,
+            isShowDuplicatesOnly);
+    }
+
     void setGrouping(List<SQLGroupingAttribute> attributes, List<String> functions) {
         groupAttributes.clear();
         addGroupingAttributes(attributes);
@@ -940,6 +940,8 @@ public class SpreadsheetPresentation extends AbstractPresentation
 
     @Override
     public void updateValueView() {
+        // Values may be changed in place
+        spreadsheet.getRenderCache().clear();
         spreadsheet.redrawGrid();
         spreadsheet.updateScrollbars();
 
@@ -2211,7 +2213,14 @@ public class SpreadsheetPresentation extends AbstractPresentation
             Object cellValue = row == null || attr == null ? null : getCellValue(colElement, rowElement, false);
 
             info.value = cellValue;
-            info.text = formatValue(colElement, rowElement, info.value);
+            // Formatting is expensive and the same visible cells are painted many times
+            GridRenderCache renderCache = spreadsheet.getRenderCache();
+            Object text = renderCache.getFormattedText(colElement, rowElement, cellValue);
+            if (text == null) {
+                text = formatValue(colElement, rowElement, cellValue);
+                renderCache.putFormattedText(colElement, rowElement, cellValue, text);
+            }
+            info.text = text;
             info.state = STATE_NONE;
 
             if (attr != null && cellValue != DBDVoid.INSTANCE) {
@@ -43,6 +43,8 @@ import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
+import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.UIWidgets;
 import org.jkiss.dbeaver.ui.controls.ListContentProvider;
@@ -294,6 +296,7 @@ class GenericFilterValueEdit {
     }
 
     private void loadConstraintEnum(final DBSEntityReferrer refConstraint, @Nullable Consumer<Result> onFinish) {
+        final List<Object> rowValues = getRowValues();
         loadJob = new KeyLoadJob("Load constraint '" + refConstraint.getName() + "' values", onFinish) {
             @Override
             List<DBDLabelValuePair> readEnumeration(DBRProgressMonitor monitor) throws DBException {
@@ -319,7 +322,7 @@ class GenericFilterValueEdit {
                 final DBSEntityConstraint refConstraint = association.getReferencedConstraint();
                 final DBSDictionary enumConstraint = refConstraint == null ? null : (DBSDictionary) refConstraint.getParentObject();
                 if (fkAttribute != null && enumConstraint != null) {
-                    return enumConstraint.getDictionaryEnumeration(
+                    List<DBDLabelValuePair> values = enumConstraint.getDictionaryEnumeration(
                         monitor,
                         refColumn,
                         null,
@@ -330,6 +333,10 @@ class GenericFilterValueEdit {
                         caseInsensitiveSearch,
                         0,
                         MAX_MULTI_VALUES);
+                    if (enumConstraint instanceof DBSEntity dictionaryEntity) {
+                        values = addRowValueLabels(monitor, dictionaryEntity, refColumn, values, rowValues);
+                    }
+                    return values;
                 }
                 return null;
             }
@@ -338,6 +345,64 @@ class GenericFilterValueEdit {
         loadJob.schedule();
     }
 
+    /**
+     * Distinct values of the attribute in fetched rows
+     */
+    @NotNull
+    private List<Object> getRowValues() {
+        Set<Object> values = new LinkedHashSet<>();
+        for (ResultSetRow row : viewer.getModel().getAllRows()) {
+            Object cellValue = viewer.getModel().getCellValue(attribute, row);
+            if (!DBUtils.isNullValue(cellValue)) {
+                values.add(cellValue);
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    /**
+     * Adds labels of fetched values which are not in the enumeration page.
+     * They are looked up with batched dictionary queries shared by all viewers of the connection.
+     */
+    @NotNull
+    private static List<DBDLabelValuePair> addRowValueLabels(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSEntity dictionary,
+        @NotNull DBSEntityAttribute keyColumn,
+        @NotNull List<DBDLabelValuePair> values,
+        @NotNull List<Object> rowValues
+    ) throws DBException {
+        Set<Object> enumValues = new HashSet<>();
+        for (DBDLabelValuePair pair : values) {
+            enumValues.add(pair.getValue());
+        }
+        List<Object[]> missingKeys = new ArrayList<>();
+        for (Object value : rowValues) {
+            if (!enumValues.contains(value)) {
+                missingKeys.add(new Object[] { value });
+            }
+        }
+        if (missingKeys.isEmpty() || monitor.isCanceled()) {
+            return values;
+        }
+        List<DBDLabelValuePair> result = new ArrayList<>(values);
+        for (DBDLabelValuePair pair : DBVDictionaryCache.getInstance().getDictionaryValues(
+            monitor,
+            dictionary,
+            List.of(keyColumn),
+            missingKeys,
+            DBVUtils.getDictionaryDescriptionColumns(monitor, keyColumn),
+            true,
+            true)
+        ) {
+            // Row values may have another type than dictionary keys
+            if (enumValues.add(pair.getValue())) {
+                result.add(pair);
+            }
+        }
+        return result;
+    }
+
     private void loadAttributeEnum(final DBSAttributeEnumerable attributeEnumerable, @Nullable Consumer<Result> onFinish) {
         loadJob = new KeyLoadJob("Load '" + attribute.getName() + "' values", onFinish) {
 
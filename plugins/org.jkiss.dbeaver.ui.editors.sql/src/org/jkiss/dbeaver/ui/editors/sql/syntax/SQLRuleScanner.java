@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.ui.editors.sql.syntax;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.rules.*;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
@@ -35,8 +36,10 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditorBase;
 import org.jkiss.dbeaver.ui.editors.sql.SQLPreferenceConstants;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -44,6 +47,7 @@ import java.util.Map;
  *
  * Contains information about some concrete datasource underlying database syntax.
  * Support runtime change of datasource (reloads syntax information)
+ * Rules are dispatched by the current character in the same way as in {@link TPRuleBasedScanner}.
  */
 public class SQLRuleScanner extends RuleBasedScanner implements TPCharacterScanner {
 
@@ -57,6 +61,11 @@ public class SQLRuleScanner extends RuleBasedScanner implements TPCharacterScann
     private int keywordStyle = SWT.NORMAL;
 
     private static final boolean DEBUG = false;
+    // Characters below this bound are dispatched using the rule table
+    private static final int DISPATCH_CHARS = 128;
+
+    // Rules which may start with the character, indexed by character
+    private IRule[][] ruleTable;
 
     public SQLRuleScanner() {
         this.themeManager = PlatformUI.getWorkbench().getThemeManager();
@@ -81,10 +90,39 @@ public class SQLRuleScanner extends RuleBasedScanner implements TPCharacterScann
             result[i] = adaptRule(allRules[i]);
         }
         setRules(result);
+        ruleTable = buildRuleTable(allRules, result);
         this.editor = editor;
         this.extraSyntaxTokens.clear();
     }
 
+    @Override
+    public void setRules(IRule[] rules) {
+        super.setRules(rules);
+        // Rules set directly are not dispatched, the table is built by refreshRules
+        ruleTable = null;
+    }
+
+    @NotNull
+    private static IRule[][] buildRuleTable(@NotNull TPRule[] rules, @NotNull IRule[] adaptedRules) {
+        IRule[][] table = new IRule[DISPATCH_CHARS][];
+        List<IRule> charRules = new ArrayList<>(rules.length);
+        for (int ch = 0; ch < DISPATCH_CHARS; ch++) {
+            charRules.clear();
+            for (int i = 0; i < rules.length; i++) {
+                if (!(rules[i] instanceof TPStartCharacterRule startRule) || startRule.canStartWith((char) ch)) {
+                    charRules.add(adaptedRules[i]);
+                }
+            }
+            if (ch > 0 && charRules.equals(List.of(table[ch - 1]))) {
+                // Share the same table row
+                table[ch] = table[ch - 1];
+            } else {
+                table[ch] = charRules.toArray(new IRule[0]);
+            }
+        }
+        return table;
+    }
+
     private IRule adaptRule(TPRule rule) {
         if (rule instanceof TPPredicateRule) {
             return new PredicateRuleAdapter((TPPredicateRule)rule);
@@ -182,8 +220,41 @@ public class SQLRuleScanner extends RuleBasedScanner implements TPCharacterScann
         if (!token.isUndefined()) {
             return token;
         }
-        
-        return super.nextToken();
+
+        return nextRuleToken();
+    }
+
+    /**
+     * Same as {@link RuleBasedScanner#nextToken()}, but only rules which can start with the current character are evaluated
+     */
+    private IToken nextRuleToken() {
+        fTokenOffset = fOffset;
+        fColumn = UNDEFINED;
+
+        IRule[] rules = fRules;
+        if (rules != null && ruleTable != null && fOffset < fRangeEnd) {
+            try {
+                char ch = fDocument.getChar(fOffset);
+                if (ch < DISPATCH_CHARS) {
+                    rules = ruleTable[ch];
+                }
+            } catch (BadLocationException e) {
+                // Evaluate all rules
+            }
+        }
+        if (rules != null) {
+            for (IRule rule : rules) {
+                IToken token = rule.evaluate(this);
+                if (!token.isUndefined()) {
+                    return token;
+                }
+            }
+        }
+
+        if (read() == EOF) {
+            return Token.EOF;
+        }
+        return fDefaultReturnToken;
     }
 
     private class SimpleRuleAdapter<RULE extends TPRule> implements IRule {
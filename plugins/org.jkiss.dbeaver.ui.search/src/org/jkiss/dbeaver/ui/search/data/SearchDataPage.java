@@ -60,11 +60,15 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
     private static final String PROP_SEARCH_FOREIGN = "search.data.search-foreign"; //$NON-NLS-1$
+    private static final String PROP_PARALLEL_QUERIES = "search.data.parallel-queries"; //$NON-NLS-1$
+    private static final String PROP_MAX_MATCHED_OBJECTS = "search.data.max-matched-objects"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
 
     private static final String PROP_SOURCES = "search.data.object-source"; //$NON-NLS-1$
     private static final String PROP_SHOW_CONNECTED = "search.data.show-connected-only"; //$NON-NLS-1$
 
+    private static final int MAX_PARALLEL_QUERIES = 16;
+
     private Combo searchText;
 
     private SearchDataParams params = new SearchDataParams();
@@ -216,6 +220,27 @@ public class SearchDataPage extends AbstractSearchPage {
             maxResultsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             maxResultsSpinner.addModifyListener(e -> params.maxResults = maxResultsSpinner.getSelection());
 
+            if (params.maxParallelQueries <= 0) {
+                params.maxParallelQueries = 1;
+            }
+            final Spinner parallelQueriesSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_parallel_queries,
+                UISearchMessages.dialog_data_search_spinner_parallel_queries_tip, params.maxParallelQueries,
+                1,
+                MAX_PARALLEL_QUERIES);
+            parallelQueriesSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            parallelQueriesSpinner.addModifyListener(e -> params.maxParallelQueries = parallelQueriesSpinner.getSelection());
+
+            final Spinner maxMatchedSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_max_matched_objects,
+                UISearchMessages.dialog_data_search_spinner_max_matched_objects_tip, params.maxMatchedObjects,
+                0,
+                Integer.MAX_VALUE);
+            maxMatchedSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            maxMatchedSpinner.addModifyListener(e -> params.maxMatchedObjects = maxMatchedSpinner.getSelection());
+
             final Button caseCheckbox = UIUtils.createCheckbox(
                 optionsGroup2,
                 UISearchMessages.dialog_search_objects_case_sensitive,
@@ -321,6 +346,8 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.searchForeignObjects = store.getBoolean(PROP_SEARCH_FOREIGN);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
+        params.maxParallelQueries = store.getInt(PROP_PARALLEL_QUERIES);
+        params.maxMatchedObjects = store.getInt(PROP_MAX_MATCHED_OBJECTS);
         for (int i = 0; ; i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
             if (CommonUtils.isEmpty(history)) {
@@ -345,6 +372,8 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_MASK, params.searchString);
         store.setValue(PROP_CASE_SENSITIVE, params.caseSensitive);
         store.setValue(PROP_SAMPLE_ROWS, params.maxResults);
+        store.setValue(PROP_PARALLEL_QUERIES, params.maxParallelQueries);
+        store.setValue(PROP_MAX_MATCHED_OBJECTS, params.maxMatchedObjects);
         store.setValue(PROP_FAST_SEARCH, params.fastSearch);
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
@@ -35,6 +35,8 @@ public class SearchDataParams {
     boolean searchLOBs;
     boolean searchForeignObjects;
     int maxResults;
+    int maxParallelQueries = 1; // Per data source
+    int maxMatchedObjects; // Stop search after this number of tables was found. 0 means no limit
     List<DBNNode> selectedNodes = new ArrayList<>();
 
     public SearchDataParams()
@@ -105,6 +107,22 @@ public class SearchDataParams {
         this.maxResults = maxResults;
     }
 
+    public int getMaxParallelQueries() {
+        return maxParallelQueries;
+    }
+
+    public void setMaxParallelQueries(int maxParallelQueries) {
+        this.maxParallelQueries = maxParallelQueries;
+    }
+
+    public int getMaxMatchedObjects() {
+        return maxMatchedObjects;
+    }
+
+    public void setMaxMatchedObjects(int maxMatchedObjects) {
+        this.maxMatchedObjects = maxMatchedObjects;
+    }
+
     public List<DBNNode> getSelectedNodes() {
         return selectedNodes;
     }
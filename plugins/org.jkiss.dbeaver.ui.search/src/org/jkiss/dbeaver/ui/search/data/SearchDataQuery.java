@@ -42,6 +42,7 @@ import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
@@ -55,13 +56,20 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchDataQuery implements ISearchQuery {
 
     private static final Log log = Log.getLog(SearchDataQuery.class);
 
+    private static final int MAX_SEARCH_THREADS = 32;
+
     private final SearchDataParams params;
     private SearchDataResult searchResult;
+    private final AtomicInteger matchedObjects = new AtomicInteger();
+    private volatile Object numericSearchValue;
+    private volatile String uuidSearchValue;
 
     private SearchDataQuery(SearchDataParams params)
     {
@@ -96,11 +104,23 @@ public class SearchDataQuery implements ISearchQuery {
     public IStatus run(IProgressMonitor m) throws OperationCanceledException {
         try {
             String searchString = params.getSearchString();
-
-            //monitor.subTask("Collect tables");
-            Set<DBPDataSource> dataSources = new HashSet<>();
+            numericSearchValue = params.searchNumbers ? parseNumber(searchString) : null;
+            uuidSearchValue = parseUUID(searchString);
+            matchedObjects.set(0);
+
+            // Tables of the same instance share the worker queue.
+            // Number of workers which hold a context (and so of concurrent queries) is limited per data source.
+            final int parallelQueries = Math.max(1, params.maxParallelQueries);
+            Map<DBSInstance, Queue<DBSDataContainer>> instanceQueues = new LinkedHashMap<>();
+            Map<DBPDataSource, Semaphore> dataSourceLimits = new HashMap<>();
             for (DBSDataContainer searcher : params.sources) {
-                dataSources.add(searcher.getDataSource());
+                DBSInstance instance = DBUtils.getObjectOwnerInstance(searcher);
+                if (instance == null) {
+                    log.debug("Can't find owner instance of '" + searcher.getName() + "'");
+                    continue;
+                }
+                instanceQueues.computeIfAbsent(instance, i -> new ConcurrentLinkedQueue<>()).add(searcher);
+                dataSourceLimits.computeIfAbsent(searcher.getDataSource(), ds -> new Semaphore(parallelQueries));
             }
 
             // Search
@@ -108,26 +128,30 @@ public class SearchDataQuery implements ISearchQuery {
 
             DBRProgressMonitor monitor = new DefaultProgressMonitor(m);
 
-            int totalObjects = 0;
-
             monitor.beginTask(
-                "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
+                "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSourceLimits.size() + " database(s)",
                 params.sources.size());
             try {
-                for (DBSDataContainer dataContainer : params.sources) {
-                    if (monitor.isCanceled()) {
-                        break;
+                List<SearchWorker> workers = new ArrayList<>();
+                for (Map.Entry<DBSInstance, Queue<DBSDataContainer>> entry : instanceQueues.entrySet()) {
+                    Queue<DBSDataContainer> queue = entry.getValue();
+                    Semaphore limit = dataSourceLimits.get(queue.peek().getDataSource());
+                    int workerCount = Math.min(parallelQueries, queue.size());
+                    for (int i = 0; i < workerCount; i++) {
+                        // The first worker uses the default utility context, others open isolated ones
+                        workers.add(new SearchWorker(monitor, dbnModel, entry.getKey(), queue, limit, i > 0));
                     }
-                    if (searchDataInContainer(monitor, dbnModel, dataContainer)) {
-                        totalObjects++;
-                    }
-                    monitor.worked(1);
+                }
+                if (workers.size() == 1) {
+                    workers.get(0).run();
+                } else if (!workers.isEmpty()) {
+                    runWorkers(monitor, workers);
                 }
             } finally {
                 monitor.done();
             }
 
-            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, totalObjects));
+            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, matchedObjects.get()));
 
             return Status.OK_STATUS;
         } catch (Exception e) {
@@ -135,24 +159,160 @@ public class SearchDataQuery implements ISearchQuery {
         }
     }
 
-    private boolean searchDataInContainer(DBRProgressMonitor monitor, DBNModel dbnModel, DBSDataContainer dataContainer) {
+    private void runWorkers(@NotNull DBRProgressMonitor monitor, @NotNull List<SearchWorker> workers) throws InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(workers.size(), MAX_SEARCH_THREADS),
+            r -> {
+                Thread thread = new Thread(r, "Data search worker " + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            for (SearchWorker worker : workers) {
+                executor.execute(worker);
+            }
+            executor.shutdown();
+            boolean cancelLogged = false;
+            while (!executor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                if (monitor.isCanceled() && !cancelLogged) {
+                    // Workers check cancel state themselves, just wait for running queries
+                    log.debug("Data search canceled, wait for running queries");
+                    cancelLogged = true;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isSearchStopped(@NotNull DBRProgressMonitor monitor) {
+        return monitor.isCanceled() || (params.maxMatchedObjects > 0 && matchedObjects.get() >= params.maxMatchedObjects);
+    }
+
+    private class SearchWorker implements Runnable {
+        private final DBRProgressMonitor monitor;
+        private final DBNModel dbnModel;
+        private final DBSInstance instance;
+        private final Queue<DBSDataContainer> queue;
+        private final Semaphore dataSourceLimit;
+        private final boolean isolated;
+
+        SearchWorker(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBNModel dbnModel,
+            @NotNull DBSInstance instance,
+            @NotNull Queue<DBSDataContainer> queue,
+            @NotNull Semaphore dataSourceLimit,
+            boolean isolated
+        ) {
+            this.monitor = monitor;
+            this.dbnModel = dbnModel;
+            this.instance = instance;
+            this.queue = queue;
+            this.dataSourceLimit = dataSourceLimit;
+            this.isolated = isolated;
+        }
+
+        @Override
+        public void run() {
+            // Take the data source permit before a connection is opened and keep it until the connection is closed
+            if (!acquireDataSourceLimit()) {
+                return;
+            }
+            DBCExecutionContext isolatedContext = null;
+            try {
+                if (queue.isEmpty() || isSearchStopped(monitor)) {
+                    // Other workers of this instance have already processed the queue
+                    return;
+                }
+                if (isolated) {
+                    try {
+                        isolatedContext = instance.openIsolatedContext(
+                            new SearchTableMonitor(monitor),
+                            "Data search",
+                            DBUtils.getDefaultContext(instance, false));
+                    } catch (DBException e) {
+                        // Other workers will process the queue
+                        log.debug("Can't open isolated context for data search", e);
+                        return;
+                    }
+                }
+                for (DBSDataContainer dataContainer = queue.poll(); dataContainer != null; dataContainer = queue.poll()) {
+                    if (isSearchStopped(monitor)) {
+                        break;
+                    }
+                    if (searchDataInContainer(monitor, dbnModel, dataContainer, isolatedContext)) {
+                        matchedObjects.incrementAndGet();
+                    }
+                    synchronized (monitor) {
+                        monitor.worked(1);
+                    }
+                }
+            } finally {
+                if (isolatedContext != null) {
+                    isolatedContext.close();
+                }
+                dataSourceLimit.release();
+            }
+        }
+
+        private boolean acquireDataSourceLimit() {
+            try {
+                while (!dataSourceLimit.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    if (isSearchStopped(monitor)) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+    }
+
+    private boolean searchDataInContainer(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBNModel dbnModel,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBCExecutionContext executionContext
+    ) {
         if (!params.searchForeignObjects && dataContainer instanceof DBPForeignObject && ((DBPForeignObject) dataContainer).isForeignObject()) {
             return false;
         }
+        if (!(dataContainer instanceof DBSEntity entity)) {
+            log.warn("Data container " + dataContainer + " isn't entity");
+            return false;
+        }
 
         String objectName = DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
-        DBNDatabaseNode node = dbnModel.getNodeByObject(monitor, dataContainer, false);
+        SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
+        DBNDatabaseNode node = dbnModel.getNodeByObject(searchMonitor, dataContainer, false);
         if (node == null) {
             log.warn("Can't find tree node for object \"" + objectName + "\"");
             return false;
         }
-        monitor.subTask("Search in '" + objectName + "'");
+        DBDDataFilter dataFilter;
+        try {
+            dataFilter = makeSearchFilter(searchMonitor, dataContainer, entity);
+        } catch (DBException e) {
+            log.debug("Can't build search filter for '" + dataContainer.getName() + "'", e);
+            return false;
+        }
+        if (dataFilter == null) {
+            // None of columns may contain search value
+            return false;
+        }
+        synchronized (monitor) {
+            monitor.subTask("Search in '" + objectName + "'");
+        }
         log.debug("Search in '" + objectName + "'");
-        SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
-        try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName)) {
+        try (DBCSession session = openSearchSession(searchMonitor, dataContainer, executionContext, "Search rows in " + objectName)) {
             TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
+            dataReceiver.filter = dataFilter;
             try {
-                findRows(session, dataContainer, dataReceiver);
+                DBCExecutionSource searchSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this);
+                dataContainer.readData(searchSource, session, dataReceiver, dataFilter, -1, -1, 0, 0);
             } catch (DBCException e) {
                 // Search failed in some container - just write an error in log.
                 // We don't want to break whole search because of one single table.
@@ -170,134 +330,149 @@ public class SearchDataQuery implements ISearchQuery {
         return false;
     }
 
-    private DBCStatistics findRows(
-        @NotNull DBCSession session,
+    @NotNull
+    private static DBCSession openSearchSession(
+        @NotNull DBRProgressMonitor monitor,
         @NotNull DBSDataContainer dataContainer,
-        @NotNull TestDataReceiver dataReceiver) throws DBCException
-    {
-        DBSEntity entity;
-        if (dataContainer instanceof DBSEntity) {
-            entity = (DBSEntity) dataContainer;
-        } else {
-            log.warn("Data container " + dataContainer + " isn't entity");
-            return null;
+        @Nullable DBCExecutionContext executionContext,
+        @NotNull String task
+    ) throws DBCException {
+        if (executionContext != null) {
+            return executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, task);
         }
-        try {
+        return DBUtils.openUtilSession(monitor, dataContainer, task);
+    }
 
-            List<DBDAttributeConstraint> constraints = new ArrayList<>();
-            DBDDataFilter dataFilter = searchDataFilterForContainer(dataContainer, session.getProgressMonitor());
-            for (DBSEntityAttribute attribute : CommonUtils.safeCollection(entity.getAttributes(session.getProgressMonitor()))) {
-                if (params.fastSearch) {
-                    if (DBUtils.findAttributeIndex(session.getProgressMonitor(), attribute) == null) {
+    /**
+     * Makes filter which matches rows containing search string in any column.
+     * Returns null if none of entity columns can contain search value.
+     */
+    @Nullable
+    private DBDDataFilter makeSearchFilter(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSEntity entity
+    ) throws DBException {
+        List<DBDAttributeConstraint> constraints = new ArrayList<>();
+        DBDDataFilter dataFilter = null;
+        for (DBSEntityAttribute attribute : CommonUtils.safeCollection(entity.getAttributes(monitor))) {
+            if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
+                continue;
+            }
+            DBCLogicalOperator[] supportedOperators = DBUtils.getAttributeOperators(attribute);
+            DBCLogicalOperator operator;
+            Object value;
+            switch (attribute.getDataKind()) {
+                case BOOLEAN:
+                    continue;
+                case NUMERIC:
+                    if (numericSearchValue == null) {
+                        // Not a number
                         continue;
                     }
-                }
-                if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
-                    continue;
-                }
-                DBCLogicalOperator[] supportedOperators = DBUtils.getAttributeOperators(attribute);
-                DBCLogicalOperator operator;
-                Object value;
-                switch (attribute.getDataKind()) {
-                    case BOOLEAN:
+                    if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
                         continue;
-                    case NUMERIC:
-                        if (!params.searchNumbers) {
-                            continue;
-                        }
-                        if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
-                            continue;
-                        }
-                        operator = DBCLogicalOperator.EQUALS;
-                        try {
-                            value = Integer.valueOf(params.searchString);
-                        } catch (NumberFormatException e) {
-                            try {
-                                value = Long.valueOf(params.searchString);
-                            } catch (NumberFormatException e1) {
-                                try {
-                                    value = Double.valueOf(params.searchString);
-                                } catch (NumberFormatException e2) {
-                                    try {
-                                        value = new BigDecimal(params.searchString);
-                                    } catch (Exception e3) {
-                                        // Not a number
-                                        continue;
-                                    }
-                                }
-                            }
-                        }
-                        break;
-                    case CONTENT:
-                    case BINARY:
-                        if (!params.searchLOBs) {
-                            continue;
-                        }
-                    case STRING:
-                        // Do not check value length. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
+                    }
+                    operator = DBCLogicalOperator.EQUALS;
+                    value = numericSearchValue;
+                    break;
+                case CONTENT:
+                case BINARY:
+                    if (!params.searchLOBs) {
+                        continue;
+                    }
+                case STRING:
+                    // Do not check value length. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
 //                        if (attribute.getMaxLength() > 0 && attribute.getMaxLength() < params.searchString.length()) {
 //                            continue;
 //                        }
 
-                        if (!params.isCaseSensitive() && ArrayUtils.contains(supportedOperators, DBCLogicalOperator.ILIKE)) {
-                            operator = DBCLogicalOperator.ILIKE;
-                            value = "%" + params.searchString + "%";
-                        } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.LIKE)) {
-                            operator = DBCLogicalOperator.LIKE;
-                            value = "%" + params.searchString + "%";
-                        } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
-                            operator = DBCLogicalOperator.EQUALS;
-                            value = params.searchString;
-                        } else {
-                            continue;
-                        }
-                        break;
-                    default: {
-                        // Try to convert string to attribute type
-                        // On success search by exact match
-                        if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
-                            continue;
-                        }
-                        String typeName = attribute.getTypeName();
-                        if (typeName.equals(DBConstants.TYPE_NAME_UUID) || typeName.equals(DBConstants.TYPE_NAME_UUID2)) {
-                            try {
-                                UUID uuid = UUID.fromString(params.searchString);
-                                operator = DBCLogicalOperator.EQUALS;
-                                value = uuid.toString();
-                            } catch (Exception e) {
-                                // No a UUID
-                                continue;
-                            }
-                        } else {
-                            continue;
-                        }
+                    if (!params.isCaseSensitive() && ArrayUtils.contains(supportedOperators, DBCLogicalOperator.ILIKE)) {
+                        operator = DBCLogicalOperator.ILIKE;
+                        value = "%" + params.searchString + "%";
+                    } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.LIKE)) {
+                        operator = DBCLogicalOperator.LIKE;
+                        value = "%" + params.searchString + "%";
+                    } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
+                        operator = DBCLogicalOperator.EQUALS;
+                        value = params.searchString;
+                    } else {
+                        continue;
+                    }
+                    break;
+                default: {
+                    // Try to convert string to attribute type
+                    // On success search by exact match
+                    if (uuidSearchValue == null || !ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
+                        continue;
+                    }
+                    String typeName = attribute.getTypeName();
+                    if (typeName.equals(DBConstants.TYPE_NAME_UUID) || typeName.equals(DBConstants.TYPE_NAME_UUID2)) {
+                        operator = DBCLogicalOperator.EQUALS;
+                        value = uuidSearchValue;
+                    } else {
+                        continue;
                     }
                 }
-                DBDAttributeConstraint constraint = null;
-                if (dataFilter != null) {
-                    constraint = dataFilter.getConstraint(attribute, true);
-                }
-                if (constraint == null) {
-                    constraint = new DBDAttributeConstraint(attribute, constraints.size());
-                    constraint.setVisible(true);
-                }
-                constraint.setOperator(operator);
-                constraint.setValue(value);
-                constraints.add(constraint);
+            }
+            // Index lookup may read metadata so do it only for matching columns
+            if (params.fastSearch && DBUtils.findAttributeIndex(monitor, attribute) == null) {
+                continue;
             }
             if (constraints.isEmpty()) {
-                return null;
+                dataFilter = searchDataFilterForContainer(dataContainer, monitor);
             }
+            DBDAttributeConstraint constraint = null;
             if (dataFilter != null) {
-                dataReceiver.filter = dataFilter;
-            } else {
-                dataReceiver.filter = new DBDDataFilter(constraints);
+                constraint = dataFilter.getConstraint(attribute, true);
             }
-            dataReceiver.filter.setAnyConstraint(true);
-            DBCExecutionSource searchSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this);
-            return dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, -1, -1, 0, 0);
-        } catch (DBException e) {
-            throw new DBCException("Error finding rows", e);
+            if (constraint == null) {
+                constraint = new DBDAttributeConstraint(attribute, constraints.size());
+                constraint.setVisible(true);
+            }
+            constraint.setOperator(operator);
+            constraint.setValue(value);
+            constraints.add(constraint);
+        }
+        if (constraints.isEmpty()) {
+            return null;
+        }
+        if (dataFilter == null) {
+            dataFilter = new DBDDataFilter(constraints);
+        }
+        dataFilter.setAnyConstraint(true);
+        return dataFilter;
+    }
+
+    @Nullable
+    private static Object parseNumber(@NotNull String searchString) {
+        try {
+            return Integer.valueOf(searchString);
+        } catch (NumberFormatException e) {
+            try {
+                return Long.valueOf(searchString);
+            } catch (NumberFormatException e1) {
+                try {
+                    return Double.valueOf(searchString);
+                } catch (NumberFormatException e2) {
+                    try {
+                        return new BigDecimal(searchString);
+                    } catch (Exception e3) {
+                        // Not a number
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static String parseUUID(@NotNull String searchString) {
+        try {
+            return UUID.fromString(searchString).toString();
+        } catch (Exception e) {
+            // No a UUID
+            return null;
         }
     }
 
@@ -342,7 +517,7 @@ public class SearchDataQuery implements ISearchQuery {
 
         @Override
         public boolean isCanceled() {
-            return canceled || baseMonitor.isCanceled();
+            return canceled || isSearchStopped(baseMonitor);
         }
     }
 
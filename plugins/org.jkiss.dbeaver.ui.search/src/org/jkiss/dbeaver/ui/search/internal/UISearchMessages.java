@@ -40,6 +40,8 @@ public class UISearchMessages extends NLS {
     public static String dialog_search_objects_case_sensitive;
     public static String dialog_search_objects_search_in_comments;
     public static String dialog_search_objects_search_in_definitions;
+    public static String dialog_search_objects_use_local_index;
+    public static String dialog_search_objects_use_local_index_tip;
     public static String dialog_search_objects_title;
 
     public static String dialog_data_search_hint_text_string_to_search;
@@ -47,6 +49,10 @@ public class UISearchMessages extends NLS {
     public static String dialog_data_search_control_group_settings;
     public static String dialog_data_search_spinner_max_results;
     public static String dialog_data_search_spinner_max_results_tip;
+    public static String dialog_data_search_spinner_parallel_queries;
+    public static String dialog_data_search_spinner_parallel_queries_tip;
+    public static String dialog_data_search_spinner_max_matched_objects;
+    public static String dialog_data_search_spinner_max_matched_objects_tip;
     public static String dialog_data_search_checkbox_case_sensitive_tip;
     public static String dialog_data_search_checkbox_fast_search;
     public static String dialog_data_search_checkbox_fast_search_tip;
@@ -27,6 +27,7 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPPlatform;
@@ -72,6 +73,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
     private boolean caseSensitive;
     private boolean searchInComments;
     private boolean searchInDefinitions;
+    private boolean useLocalIndex;
     private int maxResults;
     private int matchTypeIndex;
     private Set<DBSObjectType> checkedTypes = new HashSet<>();
@@ -279,6 +281,21 @@ public class SearchMetadataPage extends AbstractSearchPage {
                     }
                 });
                 searchInDefinitionsCheckbox.setEnabled(false);
+
+                Button localIndexCheckbox = UIUtils.createCheckbox(
+                    settingsGroup,
+                    UISearchMessages.dialog_search_objects_use_local_index,
+                    UISearchMessages.dialog_search_objects_use_local_index_tip,
+                    useLocalIndex,
+                    2
+                );
+                localIndexCheckbox.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        // Global preference, it is saved along with other settings when search starts
+                        useLocalIndex = localIndexCheckbox.getSelection();
+                    }
+                });
             }
 
             Label otLabel = UIUtils.createControlLabel(settingsGroup, UISearchMessages.dialog_search_objects_group_object_types);
@@ -511,6 +528,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
         caseSensitive = store.getBoolean(PROP_CASE_SENSITIVE);
         searchInComments = store.getBoolean(PROP_SEARCH_IN_COMMENTS);
         searchInDefinitions = store.getBoolean(PROP_SEARCH_IN_DEFINITIONS);
+        useLocalIndex = store.getBoolean(ModelPreferences.META_LOCAL_INDEX_ENABLED);
         maxResults = store.getInt(PROP_MAX_RESULT);
         matchTypeIndex = store.getInt(PROP_MATCH_INDEX);
         for (int i = 0; ;i++) {
@@ -539,6 +557,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
         store.setValue(PROP_CASE_SENSITIVE, caseSensitive);
         store.setValue(PROP_SEARCH_IN_COMMENTS, searchInComments);
         store.setValue(PROP_SEARCH_IN_DEFINITIONS, searchInDefinitions);
+        store.setValue(ModelPreferences.META_LOCAL_INDEX_ENABLED, useLocalIndex);
         store.setValue(PROP_MAX_RESULT, maxResults);
         store.setValue(PROP_MATCH_INDEX, matchTypeIndex);
         saveTreeState(store, PROP_SOURCES, dataSourceTree);
@@ -23,24 +23,28 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.struct.DirectObjectReference;
+import org.jkiss.dbeaver.model.impl.struct.index.StructureIndex;
+import org.jkiss.dbeaver.model.impl.struct.index.StructureIndexManager;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.navigator.DBNNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.struct.DBSObject;
-import org.jkiss.dbeaver.model.struct.DBSObjectReference;
-import org.jkiss.dbeaver.model.struct.DBSStructureAssistant;
+import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.search.AbstractSearchResult;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 public class SearchMetadataQuery implements ISearchQuery {
     private static final Log log = Log.getLog(SearchMetadataQuery.class);
@@ -93,7 +97,10 @@ public class SearchMetadataQuery implements ISearchQuery {
             DBNModel navigatorModel = DBWorkbench.getPlatform().getNavigatorModel();
             DBRProgressMonitor localMonitor = RuntimeUtils.makeMonitor(monitor);
 
-            Collection<DBSObjectReference> objects = structureAssistant.findObjectsByMask(localMonitor, executionContext, params);
+            Collection<DBSObjectReference> objects = findObjectsInIndex(localMonitor);
+            if (objects == null) {
+                objects = structureAssistant.findObjectsByMask(localMonitor, executionContext, params);
+            }
             for (DBSObjectReference reference : objects) {
                 if (monitor.isCanceled()) {
                     break;
@@ -119,4 +126,77 @@ public class SearchMetadataQuery implements ISearchQuery {
             return GeneralUtils.makeExceptionStatus(e);
         }
     }
+
+    /**
+     * Searches objects in the local metadata index.
+     * Returns null if index is disabled, not built yet or doesn't contain requested object types or definitions.
+     */
+    @Nullable
+    private List<DBSObjectReference> findObjectsInIndex(@NotNull DBRProgressMonitor monitor) throws DBException {
+        DBPDataSource dataSource = executionContext.getDataSource();
+        StructureIndex index = StructureIndexManager.getInstance().getIndex(dataSource.getContainer());
+        if (index == null) {
+            return null;
+        }
+        if (params.isSearchInDefinitions() && !StructureIndexManager.isDefinitionsIndexed()) {
+            return null;
+        }
+        for (DBSObjectType objectType : params.getObjectTypes()) {
+            if (!StructureIndexManager.isTypeIndexed(objectType)) {
+                return null;
+            }
+        }
+        String[] parentPath = null;
+        DBSObject parentObject = params.getParentObject();
+        if (!params.isGlobalSearch() && parentObject != null && parentObject != dataSource) {
+            parentPath = getObjectPath(parentObject);
+        }
+        List<StructureIndex.Entry> entries = index.search(
+            new StructureIndex.SearchParams(params.getMask())
+                .setObjectTypes(params.getObjectTypes())
+                .setParentPath(parentPath)
+                .setCaseSensitive(params.isCaseSensitive())
+                .setSearchInComments(params.isSearchInComments())
+                .setSearchInDefinitions(params.isSearchInDefinitions())
+                .setMaxResults(params.getMaxResults()));
+        List<DBSObjectReference> result = new ArrayList<>(entries.size());
+        for (StructureIndex.Entry entry : entries) {
+            DBSObject object = entry.getObject();
+            if (object == null) {
+                object = resolveObject(monitor, dataSource, entry.getPath());
+            }
+            if (object != null) {
+                result.add(new DirectObjectReference(object.getParentObject(), entry.getType(), object));
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static DBSObject resolveObject(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBPDataSource dataSource,
+        @NotNull String[] path
+    ) throws DBException {
+        DBSObject object = dataSource;
+        for (String name : path) {
+            if (!(object instanceof DBSObjectContainer container)) {
+                return null;
+            }
+            object = container.getChild(monitor, name);
+            if (object == null) {
+                return null;
+            }
+        }
+        return object;
+    }
+
+    @NotNull
+    private static String[] getObjectPath(@NotNull DBSObject object) {
+        List<String> names = new ArrayList<>();
+        for (DBSObject o = object; o != null && !(o instanceof DBPDataSource); o = o.getParentObject()) {
+            names.add(0, o.getName());
+        }
+        return names.toArray(new String[0]);
+    }
 }
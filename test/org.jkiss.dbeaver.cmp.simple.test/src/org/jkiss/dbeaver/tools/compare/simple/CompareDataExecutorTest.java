@@ -0,0 +1,230 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.generic.model.GenericTableBase;
+import org.jkiss.dbeaver.ext.h2.model.H2DataSource;
+import org.jkiss.dbeaver.ext.h2.model.H2MetaModel;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.registry.DataSourceNavigatorSettings;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+public class CompareDataExecutorTest extends DBeaverUnitTest {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:compare_data;DB_CLOSE_DELAY=-1";
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private Connection connection;
+    private H2DataSource dataSource;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = new org.h2.Driver().connect(DATABASE_URL, new Properties());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"SOURCE_DATA", "TARGET_DATA"}) {
+                statement.execute("CREATE TABLE " + table + " (" +
+                    "ID INT NOT NULL, " +
+                    "CODE VARCHAR(10) NOT NULL, " +
+                    "NAME VARCHAR(64), " +
+                    "RATIO DOUBLE, " +
+                    "CREATED TIMESTAMP, " +
+                    "NOTES CLOB, " +
+                    "PRIMARY KEY (ID, CODE))");
+                for (int i = 1; i <= 20; i++) {
+                    statement.execute("INSERT INTO " + table + " VALUES (" +
+                        i + ", 'C" + (i % 3) + "', 'Name " + i + "', " + (i / 10.0) + ", TIMESTAMP '2024-01-01 10:00:00', 'Notes')");
+                }
+            }
+            // Row only in source
+            statement.execute("INSERT INTO SOURCE_DATA VALUES (21, 'C0', 'Name 21', 2.1, NULL, NULL)");
+            // Rows only in target
+            statement.execute("DELETE FROM SOURCE_DATA WHERE ID IN (5, 12)");
+            // Changed values
+            statement.execute("UPDATE TARGET_DATA SET NAME = NULL WHERE ID = 3");
+            statement.execute("UPDATE TARGET_DATA SET RATIO = 0.75 WHERE ID = 8");
+            statement.execute("UPDATE TARGET_DATA SET CREATED = TIMESTAMP '2024-01-01 10:00:01' WHERE ID = 17");
+            // LOB columns are not compared
+            statement.execute("UPDATE TARGET_DATA SET NOTES = 'Other notes' WHERE ID = 1");
+        }
+
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        connectionConfiguration.setUrl(DATABASE_URL);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.lenient().when(container.getId()).thenReturn("compare-h2");
+        Mockito.lenient().when(container.getName()).thenReturn("Compare H2");
+        Mockito.lenient().when(container.getDriver()).thenReturn(
+            DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver("h2_embedded_v2"));
+        Mockito.lenient().when(container.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+        Mockito.lenient().when(container.getNavigatorSettings()).thenReturn(new DataSourceNavigatorSettings());
+        Mockito.lenient().when(container.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.lenient().when(container.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.lenient().when(container.getDataFormatterProfile()).thenReturn(
+            DBWorkbench.getPlatform().getDataFormatterRegistry().getGlobalProfile());
+        Mockito.lenient().when(container.getDefaultValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+        Mockito.lenient().when(container.isDefaultAutoCommit()).thenReturn(true);
+
+        dataSource = new EmbeddedH2DataSource(monitor, container);
+        Mockito.lenient().when(container.getDataSource()).thenReturn(dataSource);
+        dataSource.initialize(monitor);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        if (dataSource != null) {
+            dataSource.shutdown(monitor);
+        }
+        if (connection != null) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testCompareInSingleChunk() throws Exception {
+        CompareDataReport report = compare(CompareDataSettings.DEFAULT_RANGE_SIZE, 1, false);
+        assertDifferences(report);
+        // Each row of both tables is read exactly once
+        Assert.assertEquals(39, report.getReadRows());
+        Assert.assertFalse(report.isServerHashes());
+    }
+
+    @Test
+    public void testCompareInParallelChunks() throws Exception {
+        // Chunks are bounded by source keys, so target rows are matched across chunk boundaries
+        CompareDataReport report = compare(3, 4, false);
+        assertDifferences(report);
+        Assert.assertEquals(39, report.getReadRows());
+    }
+
+    @Test
+    public void testCompareWithServerHashes() throws Exception {
+        // All rows fit into one top level chunk, it is split until chunks hold at most 2 source rows
+        CompareDataReport report = compare(2, 4, true);
+        Assert.assertTrue(report.isServerHashes());
+        assertDifferences(report);
+        Assert.assertTrue(report.getSplitRanges() > 1);
+        Assert.assertTrue(report.getMatchedRanges() > 0);
+        // Rows of chunks with equal hashes are not read
+        Assert.assertTrue(report.getMatchedRows() > 0);
+        Assert.assertTrue(report.getReadRows() < 39);
+    }
+
+    @Test
+    public void testCompareEqualTables() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM TARGET_DATA");
+            statement.execute("INSERT INTO TARGET_DATA SELECT * FROM SOURCE_DATA");
+        }
+        CompareDataReport report = compare(4, 2, false);
+        Assert.assertFalse(report.hasDifferences());
+        Assert.assertEquals(38, report.getReadRows());
+
+        report = compare(4, 2, true);
+        Assert.assertFalse(report.hasDifferences());
+        Assert.assertEquals(1, report.getComparedRanges());
+        Assert.assertEquals(19, report.getMatchedRows());
+        Assert.assertEquals(0, report.getReadRows());
+    }
+
+    @Test
+    public void testNormalizeValue() {
+        Assert.assertNull(CompareDataExecutor.normalizeValue(null));
+        Assert.assertEquals(CompareDataExecutor.normalizeValue(10), CompareDataExecutor.normalizeValue(new BigDecimal("10.00")));
+        Assert.assertEquals(CompareDataExecutor.normalizeValue(10L), CompareDataExecutor.normalizeValue(new BigDecimal("1E+1")));
+        Assert.assertEquals(CompareDataExecutor.normalizeValue(0.1d), CompareDataExecutor.normalizeValue(0.1f));
+        Assert.assertEquals(CompareDataExecutor.normalizeValue(2.0d), CompareDataExecutor.normalizeValue(2));
+        Assert.assertEquals("NaN", CompareDataExecutor.normalizeValue(Float.NaN));
+        Assert.assertNotEquals(CompareDataExecutor.normalizeValue(0.1d), CompareDataExecutor.normalizeValue(0.10000001d));
+        LocalDateTime dateTime = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 500_000_000);
+        Assert.assertEquals(CompareDataExecutor.normalizeValue(dateTime), CompareDataExecutor.normalizeValue(Timestamp.valueOf(dateTime)));
+        Assert.assertEquals("0aff", CompareDataExecutor.normalizeValue(new byte[]{0x0a, (byte) 0xff}));
+    }
+
+    @NotNull
+    private CompareDataReport compare(int rangeSize, int parallelQueries, boolean serverHashes) throws Exception {
+        GenericTableBase sourceTable = findTable("SOURCE_DATA");
+        GenericTableBase targetTable = findTable("TARGET_DATA");
+        CompareDataSettings settings = new CompareDataSettings(sourceTable, targetTable);
+        settings.setRangeSize(rangeSize);
+        settings.setMaxParallelQueries(parallelQueries);
+        settings.setUseServerHashes(serverHashes);
+        return new CompareDataExecutor(settings).compareData(monitor);
+    }
+
+    @NotNull
+    private GenericTableBase findTable(@NotNull String name) throws Exception {
+        GenericTableBase table = dataSource.findTable(monitor, connection.getCatalog(), "PUBLIC", name);
+        Assert.assertNotNull("Table " + name + " not found", table);
+        return table;
+    }
+
+    private static void assertDifferences(@NotNull CompareDataReport report) {
+        Assert.assertFalse(report.isTruncated());
+        Assert.assertEquals(1, report.getDifferenceCount(CompareDataDifference.Type.INSERT));
+        Assert.assertEquals(3, report.getDifferenceCount(CompareDataDifference.Type.UPDATE));
+        Assert.assertEquals(2, report.getDifferenceCount(CompareDataDifference.Type.DELETE));
+        Assert.assertEquals(1, report.getSkippedAttributes().size());
+        Assert.assertEquals("NOTES", report.getSkippedAttributes().get(0).getName());
+    }
+
+    /**
+     * H2 data source which opens connections with the embedded driver directly, without driver libraries resolution
+     */
+    private static class EmbeddedH2DataSource extends H2DataSource {
+        EmbeddedH2DataSource(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSourceContainer container) throws Exception {
+            super(monitor, container, new H2MetaModel());
+        }
+
+        @Override
+        protected Connection openConnection(
+            @NotNull DBRProgressMonitor monitor,
+            @Nullable JDBCExecutionContext context,
+            @NotNull DBPConnectionConfiguration connectionInfo,
+            @NotNull String purpose
+        ) throws DBCException {
+            try {
+                return new org.h2.Driver().connect(connectionInfo.getUrl(), new Properties());
+            } catch (SQLException e) {
+                throw new DBCException(e, context);
+            }
+        }
+    }
+}
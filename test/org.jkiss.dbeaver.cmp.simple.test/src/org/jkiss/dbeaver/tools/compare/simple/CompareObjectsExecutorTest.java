@@ -0,0 +1,120 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.compare.simple;
+
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.compare.simple.CompareObjectsExecutor.NodeSnapshot;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+public class CompareObjectsExecutorTest extends DBeaverUnitTest {
+
+    private CompareObjectsExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new CompareObjectsExecutor(new CompareObjectsSettings(Collections.emptyList()));
+    }
+
+    @After
+    public void tearDown() {
+        executor.dispose();
+    }
+
+    @Test
+    public void testIdenticalSubtrees() {
+        NodeSnapshot[] group = {
+            folder("Tables", Map.of(), folder("A", Map.of()), folder("B", Map.of())),
+            folder("Tables", Map.of(), folder("A", Map.of()), folder("B", Map.of()))
+        };
+        Assert.assertTrue(CompareObjectsExecutor.isIdenticalSubtree(group));
+        Assert.assertTrue(CompareObjectsExecutor.isIdenticalSubtree(new NodeSnapshot[]{group[0].children.get(1), group[1].children.get(1)}));
+
+        // Identical subtree is reported by its root without descending
+        List<CompareReportLine> lines = executor.compareSnapshots(new VoidProgressMonitor(), group, 1);
+        Assert.assertEquals(1, lines.size());
+        Assert.assertFalse(lines.get(0).hasDifference);
+        Assert.assertEquals(2, lines.get(0).identicalDescendants);
+        Assert.assertSame(group[1].node, lines.get(0).nodes[1]);
+    }
+
+    @Test
+    public void testFingerprintIncludesValues() {
+        // "Aa" and "BB" have equal String.hashCode()
+        NodeSnapshot[] group = {
+            folder("Tables", Map.of(), folder("A", Map.of("comment", "Aa"))),
+            folder("Tables", Map.of(), folder("A", Map.of("comment", "BB")))
+        };
+        Assert.assertFalse(CompareObjectsExecutor.isIdenticalSubtree(group));
+
+        // Values of different types are compared property by property
+        NodeSnapshot[] typedGroup = {folder("A", Map.of("size", 10)), folder("A", Map.of("size", 10L))};
+        Assert.assertFalse(CompareObjectsExecutor.isIdenticalSubtree(typedGroup));
+    }
+
+    @Test
+    public void testPartialFingerprint() {
+        Object value = new Object();
+        NodeSnapshot[] group = {
+            folder("Tables", Map.of(), folder("A", Map.of("owner", value))),
+            folder("Tables", Map.of(), folder("A", Map.of("owner", value)))
+        };
+        Assert.assertTrue(group[0].partialFingerprint);
+        Assert.assertFalse(CompareObjectsExecutor.isIdenticalSubtree(group));
+    }
+
+    @Test
+    public void testDifferentChildren() {
+        NodeSnapshot[] group = {
+            folder("Tables", Map.of(), folder("A", Map.of()), folder("B", Map.of()), folder("C", Map.of(), folder("X", Map.of()))),
+            folder("Tables", Map.of(), folder("A", Map.of()), folder("C", Map.of(), folder("Y", Map.of())), folder("D", Map.of()))
+        };
+        Assert.assertFalse(CompareObjectsExecutor.isIdenticalSubtree(group));
+
+        List<String> differences = new ArrayList<>();
+        List<CompareReportLine> lines = executor.compareSnapshots(new VoidProgressMonitor(), group, 1);
+        for (CompareReportLine line : lines) {
+            if (line.hasDifference) {
+                differences.add(line.structure.getNodeDisplayName() + "@" + line.depth);
+            }
+        }
+        // Lines keep the order of the first tree, then new children of the second tree
+        Assert.assertEquals(List.of("B@2", "X@3", "Y@3", "D@2"), differences);
+        Assert.assertEquals(7, lines.size());
+    }
+
+    private static NodeSnapshot folder(String name, Map<String, Object> values, NodeSnapshot... children) {
+        DBNDatabaseFolder node = Mockito.mock(DBNDatabaseFolder.class);
+        Mockito.when(node.getNodeDisplayName()).thenReturn(name);
+        NodeSnapshot snapshot = new NodeSnapshot(node);
+        snapshot.values.putAll(values);
+        snapshot.children = List.of(children);
+        snapshot.childrenByName = new HashMap<>();
+        for (NodeSnapshot child : children) {
+            snapshot.childrenByName.putIfAbsent(child.name, child);
+        }
+        CompareObjectsExecutor.makeFingerprint(snapshot);
+        return snapshot;
+    }
+}
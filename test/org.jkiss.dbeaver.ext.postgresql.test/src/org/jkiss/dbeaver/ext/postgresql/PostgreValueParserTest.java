@@ -141,6 +141,16 @@ public class PostgreValueParserTest extends DBeaverUnitTest {
 //        Assert.assertArrayEquals(booleans, (Object[]) PostgreValueParser.convertStringToValue(session, arrayBooleanItemType,"{'on,'off'}", true));
     }
 
+    @Test
+    public void convertDecoratedArrayString() throws DBCException {
+        Assert.assertArrayEquals(new String[]{"x\"y", "a b", "c,d", ""},
+            (Object[]) PostgreValueParser.convertStringToValue(session, arrayStringItemType, "[0:3]={\"x\\\"y\", a b ,c\\,d,\"\"}"));
+        Assert.assertArrayEquals(new Integer[]{1, 22},
+            (Object[]) PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{ 1 , 22 }"));
+        Assert.assertEquals("{1,22}junk", PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{1,22}junk"));
+        Assert.assertEquals("{1,,22}", PostgreValueParser.convertStringToValue(session, arrayIntItemType, "{1,,22}"));
+    }
+
     @Test
     public void parseSingleObject() throws DBCException {
         Assert.assertArrayEquals(new String[]{}, PostgreValueParser.parseSingleObject(""));
@@ -148,6 +158,7 @@ public class PostgreValueParserTest extends DBeaverUnitTest {
         Assert.assertArrayEquals(new String[]{"A", " B"}, PostgreValueParser.parseSingleObject("A, B"));
         Assert.assertArrayEquals(new String[]{"A", null, "B", null}, PostgreValueParser.parseSingleObject("A,,B,"));
         Assert.assertArrayEquals(new String[]{"A a", "", "B", ""}, PostgreValueParser.parseSingleObject("\"A a\",\"\",B,\"\""));
+        Assert.assertArrayEquals(new String[]{"a\"b\\c", "x"}, PostgreValueParser.parseSingleObject("\"a\"\"b\\\\c\",x"));
     }
 
     @Test
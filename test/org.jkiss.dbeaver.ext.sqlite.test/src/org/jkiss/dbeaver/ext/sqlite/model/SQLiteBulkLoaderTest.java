@@ -0,0 +1,232 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.sqlite.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.generic.model.GenericTableBase;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.registry.DataSourceNavigatorSettings;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+
+public class SQLiteBulkLoaderTest extends DBeaverUnitTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private Path databaseFile;
+    private SQLiteDataSource dataSource;
+
+    @Before
+    public void setUp() throws Exception {
+        databaseFile = Files.createTempFile("bulk_load", ".db");
+        try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE LOAD_DATA (ID INTEGER PRIMARY KEY, NAME TEXT, AMOUNT REAL)");
+            statement.execute("CREATE INDEX LOAD_DATA_NAME ON LOAD_DATA (NAME)");
+        }
+
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        connectionConfiguration.setUrl(getDatabaseUrl());
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.lenient().when(container.getId()).thenReturn("bulk-load-sqlite");
+        Mockito.lenient().when(container.getName()).thenReturn("Bulk load SQLite");
+        Mockito.lenient().when(container.getDriver()).thenReturn(
+            DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver("sqlite_jdbc"));
+        Mockito.lenient().when(container.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+        Mockito.lenient().when(container.getNavigatorSettings()).thenReturn(new DataSourceNavigatorSettings());
+        Mockito.lenient().when(container.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.lenient().when(container.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.lenient().when(container.getDataFormatterProfile()).thenReturn(
+            DBWorkbench.getPlatform().getDataFormatterRegistry().getGlobalProfile());
+        Mockito.lenient().when(container.getDefaultValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+        Mockito.lenient().when(container.isDefaultAutoCommit()).thenReturn(true);
+
+        dataSource = new EmbeddedSQLiteDataSource(monitor, container);
+        Mockito.lenient().when(container.getDataSource()).thenReturn(dataSource);
+        dataSource.initialize(monitor);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (dataSource != null) {
+            dataSource.shutdown(monitor);
+        }
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Test
+    public void testLoadInAutoCommitMode() throws Exception {
+        try (JDBCSession session = openSession()) {
+            String cacheSize = JDBCUtils.queryString(session, "PRAGMA cache_size");
+            DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(session);
+            addRows(session, loadManager, 0);
+            loadManager.finishBulkLoad(session);
+            loadManager.close();
+
+            Assert.assertTrue(session.getAutoCommit());
+            Assert.assertEquals(cacheSize, JDBCUtils.queryString(session, "PRAGMA cache_size"));
+        }
+        assertTableState(ROW_COUNT);
+    }
+
+    @Test
+    public void testLoadInManualCommitMode() throws Exception {
+        try (JDBCSession session = openSession()) {
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+            Assert.assertNotNull(txnManager);
+            txnManager.setAutoCommit(monitor, false);
+
+            String cacheSize = JDBCUtils.queryString(session, "PRAGMA cache_size");
+            DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(session);
+            addRows(session, loadManager, 0);
+            loadManager.finishBulkLoad(session);
+            loadManager.close();
+
+            // The commit mode of the connection is not changed by the load
+            Assert.assertFalse(txnManager.isAutoCommit());
+            Assert.assertEquals(cacheSize, JDBCUtils.queryString(session, "PRAGMA cache_size"));
+        }
+        // Rows are committed, they are visible to other connections
+        assertTableState(ROW_COUNT);
+    }
+
+    @Test
+    public void testFailedLoadRollsBack() throws Exception {
+        try (JDBCSession session = openSession()) {
+            String cacheSize = JDBCUtils.queryString(session, "PRAGMA cache_size");
+            DBSDataBulkLoader.BulkLoadManager loadManager = createBulkLoad(session);
+            addRows(session, loadManager, 0);
+            // Duplicate keys
+            addRows(session, loadManager, ROW_COUNT / 2);
+            Assert.assertThrows(DBCException.class, () -> loadManager.finishBulkLoad(session));
+            loadManager.close();
+
+            Assert.assertTrue(session.getAutoCommit());
+            Assert.assertEquals(cacheSize, JDBCUtils.queryString(session, "PRAGMA cache_size"));
+        }
+        // Data and the dropped index are rolled back
+        assertTableState(0);
+    }
+
+    @NotNull
+    private DBSDataBulkLoader.BulkLoadManager createBulkLoad(@NotNull JDBCSession session) throws Exception {
+        GenericTableBase table = dataSource.findTable(monitor, null, null, "LOAD_DATA");
+        Assert.assertNotNull(table);
+        DBSAttributeBase[] attributes = table.getAttributes(monitor).toArray(new DBSAttributeBase[0]);
+        return new SQLiteBulkLoader(dataSource).createBulkLoad(
+            session,
+            table,
+            attributes,
+            new AbstractExecutionSource(table, session.getExecutionContext(), this),
+            ROW_COUNT * 2,
+            Map.of(DBSDataBulkLoader.OPTION_DEFER_INDEXES, true));
+    }
+
+    private static void addRows(
+        @NotNull JDBCSession session,
+        @NotNull DBSDataBulkLoader.BulkLoadManager loadManager,
+        int firstId
+    ) throws DBCException {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            long id = firstId + i;
+            loadManager.addRow(session, new Object[]{id, "Name " + id, id / 10.0});
+        }
+    }
+
+    private void assertTableState(int expectedRows) throws SQLException {
+        try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM LOAD_DATA")) {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(expectedRows, resultSet.getInt(1));
+            }
+            try (ResultSet resultSet = statement.executeQuery(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'LOAD_DATA_NAME'"))
+            {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(1, resultSet.getInt(1));
+            }
+        }
+    }
+
+    @NotNull
+    private JDBCSession openSession() {
+        JDBCExecutionContext context = (JDBCExecutionContext) dataSource.getDefaultInstance().getDefaultContext(monitor, false);
+        return context.openSession(monitor, DBCExecutionPurpose.UTIL, "Bulk load test");
+    }
+
+    @NotNull
+    private Connection openConnection() throws SQLException {
+        return new org.sqlite.JDBC().connect(getDatabaseUrl(), new Properties());
+    }
+
+    @NotNull
+    private String getDatabaseUrl() {
+        return "jdbc:sqlite:" + databaseFile.toAbsolutePath();
+    }
+
+    /**
+     * SQLite data source which opens connections with the driver directly, without driver libraries resolution
+     */
+    private static class EmbeddedSQLiteDataSource extends SQLiteDataSource {
+        EmbeddedSQLiteDataSource(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSourceContainer container) throws Exception {
+            super(monitor, container, new SQLiteMetaModel());
+        }
+
+        @Override
+        protected Connection openConnection(
+            @NotNull DBRProgressMonitor monitor,
+            @Nullable JDBCExecutionContext context,
+            @NotNull DBPConnectionConfiguration connectionInfo,
+            @NotNull String purpose
+        ) throws DBCException {
+            try {
+                return new org.sqlite.JDBC().connect(connectionInfo.getUrl(), new Properties());
+            } catch (SQLException e) {
+                throw new DBCException(e, context);
+            }
+        }
+    }
+}
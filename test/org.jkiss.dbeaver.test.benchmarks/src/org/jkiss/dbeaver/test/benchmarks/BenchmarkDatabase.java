@@ -0,0 +1,352 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.generic.model.GenericDataSourceObjectContainer;
+import org.jkiss.dbeaver.ext.generic.model.GenericTable;
+import org.jkiss.dbeaver.ext.h2.model.H2DataSource;
+import org.jkiss.dbeaver.ext.h2.model.H2MetaModel;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.jkiss.dbeaver.registry.DataSourceNavigatorSettings;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark fixture: in-memory H2 database with a single table filled with generated rows.
+ * <p>
+ * DBeaver model objects (H2 data source, table, attribute bindings) are created over a mocked container,
+ * so the data source is never connected through the driver manager. Rows are read directly from the H2 connection.
+ * Data is generated with a fixed seed, so all runs process the same values.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+
+    public static final String TABLE_NAME = "BENCH_DATA";
+    public static final String SELECT_QUERY = "SELECT * FROM " + TABLE_NAME + " ORDER BY ID";
+
+    private static final String H2_DRIVER_ID = "h2_embedded_v2";
+    private static final String[] CATEGORIES = {"alpha", "beta", "gamma", "delta", "epsilon"};
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    private final int rowCount;
+    private final Connection connection;
+    private final H2DataSource dataSource;
+    private final GenericTable table;
+    private final BenchmarkSession session;
+    private final JDBCSession jdbcSession;
+    private final LocalResultSet<DBCStatement> metaResultSet;
+    private final DBDAttributeBinding[] bindings;
+    private final List<Object[]> rows;
+
+    public BenchmarkDatabase(int rowCount) throws Exception {
+        this.rowCount = rowCount;
+        this.connection = new org.h2.Driver().connect("jdbc:h2:mem:bench" + DATABASE_COUNTER.incrementAndGet(), new Properties());
+        if (connection == null) {
+            throw new SQLException("Can't open H2 in-memory database");
+        }
+        createTable();
+
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        Mockito.when(container.getId()).thenReturn("benchmark-h2");
+        Mockito.when(container.getName()).thenReturn("Benchmark H2");
+        Mockito.when(container.getDriver()).thenReturn(
+            DBWorkbench.getPlatform().getDataSourceProviderRegistry().findDriver(H2_DRIVER_ID));
+        Mockito.when(container.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+        Mockito.when(container.getNavigatorSettings()).thenReturn(new DataSourceNavigatorSettings());
+        Mockito.when(container.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(container.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(container.getDataFormatterProfile()).thenReturn(
+            DBWorkbench.getPlatform().getDataFormatterRegistry().getGlobalProfile());
+        Mockito.when(container.getDefaultValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+
+        this.dataSource = new H2DataSource(new VoidProgressMonitor(), container, new H2MetaModel());
+        Mockito.when(container.getDataSource()).thenReturn(dataSource);
+        this.table = new GenericTable(new GenericDataSourceObjectContainer(dataSource), TABLE_NAME, "TABLE", (JDBCResultSet) null);
+
+        DBCExecutionContext executionContext = Mockito.mock(DBCExecutionContext.class);
+        Mockito.when(executionContext.getDataSource()).thenReturn(dataSource);
+        this.session = new BenchmarkSession(dataSource, executionContext);
+
+        // Result set wrapper only needs session for logging and execution locks, which are disabled
+        this.jdbcSession = Mockito.mock(JDBCSession.class);
+        Mockito.when(jdbcSession.getDataSource()).thenReturn(dataSource);
+        Mockito.when(jdbcSession.getExecutionContext()).thenReturn(executionContext);
+        Mockito.when(jdbcSession.getProgressMonitor()).thenReturn(session.getProgressMonitor());
+
+        this.metaResultSet = new LocalResultSet<>(session, null);
+        this.bindings = createBindings();
+        this.rows = fetchRows();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @NotNull
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @NotNull
+    public H2DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @NotNull
+    public GenericTable getTable() {
+        return table;
+    }
+
+    @NotNull
+    public BenchmarkSession getSession() {
+        return session;
+    }
+
+    /**
+     * Result set which was used to create bindings. It has no rows.
+     */
+    @NotNull
+    public LocalResultSet<DBCStatement> getMetaResultSet() {
+        return metaResultSet;
+    }
+
+    @NotNull
+    public DBDAttributeBinding[] getBindings() {
+        return bindings;
+    }
+
+    @NotNull
+    public DBDValueHandler[] getValueHandlers() {
+        DBDValueHandler[] handlers = new DBDValueHandler[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            handlers[i] = bindings[i].getValueHandler();
+        }
+        return handlers;
+    }
+
+    /**
+     * All table rows, fetched with DBeaver value handlers
+     */
+    @NotNull
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    /**
+     * Executes {@link #SELECT_QUERY} and wraps JDBC result set. Statement is closed together with the result set.
+     */
+    @NotNull
+    public JDBCResultSet openResultSet() throws SQLException {
+        Statement statement = connection.createStatement();
+        return new FixtureResultSet(jdbcSession, statement, statement.executeQuery(SELECT_QUERY));
+    }
+
+    @Override
+    public void close() throws SQLException {
+        session.close();
+        connection.close();
+    }
+
+    private void createTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE_NAME + " (" +
+                "ID BIGINT PRIMARY KEY, " +
+                "NAME VARCHAR(64) NOT NULL, " +
+                "CATEGORY VARCHAR(16), " +
+                "AMOUNT DECIMAL(12,2), " +
+                "RATIO DOUBLE, " +
+                "CREATED TIMESTAMP, " +
+                "ACTIVE BOOLEAN, " +
+                "NOTE VARCHAR(200))");
+        }
+        Random random = new Random(42);
+        long baseTime = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + TABLE_NAME + " VALUES (?,?,?,?,?,?,?,?)")) {
+            for (int i = 0; i < rowCount; i++) {
+                statement.setLong(1, i + 1);
+                statement.setString(2, "Name " + Integer.toHexString(random.nextInt()));
+                statement.setString(3, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                statement.setBigDecimal(4, BigDecimal.valueOf(random.nextInt(100_000_000), 2));
+                statement.setDouble(5, random.nextDouble());
+                statement.setTimestamp(6, new Timestamp(baseTime + random.nextInt(365 * 24 * 3600) * 1000L));
+                statement.setBoolean(7, random.nextBoolean());
+                switch (i % 4) {
+                    case 0 -> statement.setNull(8, Types.VARCHAR);
+                    // Values which must be quoted or escaped by exporters
+                    case 1 -> statement.setString(8, "Note with \"quotes\", commas; and\na line feed #" + i);
+                    default -> statement.setString(8, "Plain note " + i);
+                }
+                statement.addBatch();
+                if (i % 1000 == 999) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private DBDAttributeBinding[] createBindings() throws SQLException {
+        List<DBDAttributeBinding> result = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM " + TABLE_NAME + " WHERE 1=0")) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                DBCAttributeMetaData metaAttribute = metaResultSet.addColumn(
+                    metaData.getColumnLabel(i),
+                    new ColumnType(
+                        metaData.getColumnTypeName(i),
+                        metaData.getColumnType(i),
+                        metaData.getPrecision(i),
+                        metaData.getScale(i)));
+                result.add(new DBDAttributeBindingMeta(table, session, metaAttribute));
+            }
+        }
+        return result.toArray(new DBDAttributeBinding[0]);
+    }
+
+    private List<Object[]> fetchRows() throws SQLException, DBCException {
+        DBDValueHandler[] handlers = getValueHandlers();
+        List<Object[]> result = new ArrayList<>(rowCount);
+        try (JDBCResultSet resultSet = openResultSet()) {
+            while (resultSet.next()) {
+                Object[] row = new Object[bindings.length];
+                for (int i = 0; i < bindings.length; i++) {
+                    row[i] = handlers[i].fetchValueObject(session, resultSet, bindings[i], i);
+                }
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private static class FixtureResultSet extends JDBCResultSetImpl {
+        private final Statement jdbcStatement;
+
+        FixtureResultSet(@NotNull JDBCSession session, @NotNull Statement jdbcStatement, @NotNull ResultSet original) {
+            super(session, null, original, null, true);
+            this.jdbcStatement = jdbcStatement;
+        }
+
+        @Override
+        protected void beforeFetch() {
+            // There is no real execution context to lock
+        }
+
+        @Override
+        protected void afterFetch() {
+            // There is no real execution context to unlock
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            try {
+                jdbcStatement.close();
+            } catch (SQLException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static class ColumnType implements DBSTypedObject {
+        private final String typeName;
+        private final int typeId;
+        private final DBPDataKind dataKind;
+        private final Integer precision;
+        private final Integer scale;
+
+        ColumnType(@NotNull String typeName, int typeId, int precision, int scale) {
+            this.typeName = typeName;
+            this.typeId = typeId;
+            this.dataKind = JDBCDataSource.getDataKind(typeName, typeId);
+            this.precision = precision;
+            this.scale = scale;
+        }
+
+        @NotNull
+        @Override
+        public String getTypeName() {
+            return typeName;
+        }
+
+        @NotNull
+        @Override
+        public String getFullTypeName() {
+            return typeName;
+        }
+
+        @Override
+        public int getTypeID() {
+            return typeId;
+        }
+
+        @NotNull
+        @Override
+        public DBPDataKind getDataKind() {
+            return dataKind;
+        }
+
+        @Nullable
+        @Override
+        public Integer getScale() {
+            return scale;
+        }
+
+        @Nullable
+        @Override
+        public Integer getPrecision() {
+            return precision;
+        }
+
+        @Override
+        public long getMaxLength() {
+            return precision == null ? 0 : precision;
+        }
+
+        @Override
+        public long getTypeModifiers() {
+            return 0;
+        }
+    }
+}
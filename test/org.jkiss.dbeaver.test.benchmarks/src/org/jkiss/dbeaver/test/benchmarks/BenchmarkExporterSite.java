@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Exporter site which encodes output the same way as stream transfer consumer does, but discards encoded bytes.
+ */
+class BenchmarkExporterSite implements IStreamDataExporterSite {
+
+    private final DBPNamedObject source;
+    private final DBDAttributeBinding[] attributes;
+    private final Map<String, Object> properties;
+    private final CountingOutputStream outputStream = new CountingOutputStream();
+    private final PrintWriter writer;
+
+    BenchmarkExporterSite(@NotNull DBPNamedObject source, @NotNull DBDAttributeBinding[] attributes, @NotNull Map<String, Object> properties) {
+        this.source = source;
+        this.attributes = attributes;
+        this.properties = properties;
+        this.writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Number of bytes written so far
+     */
+    long getBytesWritten() {
+        writer.flush();
+        return outputStream.count;
+    }
+
+    @Override
+    public DBPNamedObject getSource() {
+        return source;
+    }
+
+    @Override
+    public DBDDisplayFormat getExportFormat() {
+        return DBDDisplayFormat.UI;
+    }
+
+    @Override
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public DBDAttributeBinding[] getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Nullable
+    @Override
+    public Path getOutputFile() {
+        return null;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException {
+        try (InputStream stream = cs.getContentStream()) {
+            writer.flush();
+            stream.transferTo(outputStream);
+        }
+    }
+
+    @NotNull
+    @Override
+    public String getOutputEncoding() {
+        return GeneralUtils.UTF8_ENCODING;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+/**
+ * Runs JMH benchmarks of this bundle inside the test platform.
+ * <p>
+ * Benchmarks need a running platform (driver registry, SQL dialects, preferences), so they are executed
+ * in the test JVM and are not forked. Results are saved in JSON format.
+ * <p>
+ * Without forks all benchmarks share one JIT-compiled JVM: profiles collected by earlier benchmarks
+ * (e.g. megamorphic call sites in shared code) affect later ones. Compare results only between runs
+ * of the same benchmark set, and use benchmark.include to measure a single benchmark in isolation.
+ * <p>
+ * System properties:
+ * <ul>
+ *     <li>benchmark.include - regular expression of benchmarks to run</li>
+ *     <li>benchmark.profile - "quick" runs fewer and shorter iterations (for smoke checks)</li>
+ *     <li>benchmark.result - result file path</li>
+ * </ul>
+ */
+public class BenchmarkLauncher extends DBeaverUnitTest {
+
+    private static final String PROP_INCLUDE = "benchmark.include";
+    private static final String PROP_PROFILE = "benchmark.profile";
+    private static final String PROP_RESULT = "benchmark.result";
+
+    private static final String PROFILE_QUICK = "quick";
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(BenchmarkLauncher.class.getPackageName() + ".*" + System.getProperty(PROP_INCLUDE, ".*"))
+            .forks(0)
+            .shouldFailOnError(true)
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty(PROP_RESULT, "target/jmh-result.json"));
+        if (PROFILE_QUICK.equals(System.getProperty(PROP_PROFILE))) {
+            options
+                .warmupIterations(1)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(2)
+                .measurementTime(TimeValue.seconds(1));
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        Assert.assertFalse("No benchmarks were run", results.isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterJSON;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterSQL;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export of fetched rows by stream exporters. Output is encoded but not written to disk.
+ * Returns number of written bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataExporterBenchmark {
+
+    @Param({"csv", "json", "sql"})
+    public String format;
+
+    @Param({"10000"})
+    public int rowCount;
+
+    private BenchmarkDatabase database;
+    private List<Object[]> rows;
+    private final Map<String, Object> properties = new HashMap<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase(rowCount);
+        rows = database.getRows();
+        switch (format) {
+            case "csv" -> {
+                properties.put("delimiter", ",");
+                properties.put("rowDelimiter", "default");
+                properties.put("header", "top");
+                properties.put("headerFormat", "label");
+            }
+            case "json" -> {
+                properties.put(DataExporterJSON.PROP_PRINT_TABLE_NAME, true);
+                properties.put(DataExporterJSON.PROP_FORMAT_DATE_ISO, true);
+            }
+            case "sql" -> {
+                properties.put("rowsInStatement", 10);
+                properties.put("omitSchema", true);
+                properties.put("nativeFormat", true);
+            }
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public long exportRows() throws DBException, IOException {
+        IStreamDataExporter exporter = switch (format) {
+            case "csv" -> new DataExporterCSV();
+            case "json" -> new DataExporterJSON();
+            default -> new DataExporterSQL();
+        };
+        BenchmarkExporterSite site = new BenchmarkExporterSite(database.getTable(), database.getBindings(), properties);
+        exporter.init(site);
+        try {
+            exporter.exportHeader(database.getSession());
+            for (Object[] row : rows) {
+                exporter.exportRow(database.getSession(), database.getMetaResultSet(), row);
+            }
+            exporter.exportFooter(database.getSession().getProgressMonitor());
+        } finally {
+            exporter.dispose();
+        }
+        return site.getBytesWritten();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzer;
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzerParameters;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.stm.STMSource;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LSM (ANTLR based) analyzer. Statements are parsed one by one, the same way as the SQL editor parses queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LSMAnalyzerBenchmark {
+
+    @Param({"500"})
+    public int statementCount;
+
+    private String[] statements;
+    private LSMAnalyzer analyzer;
+
+    @Setup
+    public void setUp() {
+        statements = SQLScriptGenerator.generateScript(statementCount).split(";\n");
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(BasicSQLDialect.INSTANCE, DBWorkbench.getPlatform().getPreferenceStore());
+        analyzer = new SQLStandardAnalyzer(LSMAnalyzerParameters.forDialect(BasicSQLDialect.INSTANCE, syntaxManager));
+    }
+
+    @Benchmark
+    public void parseStatements(Blackhole blackhole) {
+        for (String statement : statements) {
+            blackhole.consume(analyzer.parseSqlQueryTree(STMSource.fromString(statement), null));
+        }
+    }
+}
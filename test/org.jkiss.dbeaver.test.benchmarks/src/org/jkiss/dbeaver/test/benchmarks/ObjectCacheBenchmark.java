@@ -0,0 +1,108 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.dbeaver.ext.generic.model.GenericDataSourceObjectContainer;
+import org.jkiss.dbeaver.ext.generic.model.GenericTable;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.cache.SimpleObjectCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object cache lookups by name (the way metadata readers and the SQL editor resolve objects) and cache fill.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ObjectCacheBenchmark {
+
+    @Param({"100", "10000"})
+    public int objectCount;
+
+    private BenchmarkDatabase database;
+    private List<GenericTable> tables;
+    private String[] names;
+    private String[] lowerCaseNames;
+    private String[] missingNames;
+    private SimpleObjectCache<DBSObject, GenericTable> cache;
+    private SimpleObjectCache<DBSObject, GenericTable> caseInsensitiveCache;
+    private int position;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase(0);
+        GenericDataSourceObjectContainer container = new GenericDataSourceObjectContainer(database.getDataSource());
+        tables = new ArrayList<>(objectCount);
+        names = new String[objectCount];
+        lowerCaseNames = new String[objectCount];
+        missingNames = new String[objectCount];
+        for (int i = 0; i < objectCount; i++) {
+            names[i] = "TABLE_" + i;
+            lowerCaseNames[i] = names[i].toLowerCase(Locale.ENGLISH);
+            missingNames[i] = names[i] + "_MISSING";
+            tables.add(new GenericTable(container, names[i], "TABLE", (JDBCResultSet) null));
+        }
+        cache = new SimpleObjectCache<>();
+        cache.setCache(new ArrayList<>(tables));
+        caseInsensitiveCache = new SimpleObjectCache<>();
+        caseInsensitiveCache.setCaseSensitive(false);
+        caseInsensitiveCache.setCache(new ArrayList<>(tables));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public GenericTable lookupHit() {
+        return cache.getCachedObject(names[nextPosition()]);
+    }
+
+    @Benchmark
+    public GenericTable lookupMiss() {
+        return cache.getCachedObject(missingNames[nextPosition()]);
+    }
+
+    @Benchmark
+    public GenericTable lookupCaseInsensitive() {
+        return caseInsensitiveCache.getCachedObject(lowerCaseNames[nextPosition()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GenericTable fillAndLookup() {
+        SimpleObjectCache<DBSObject, GenericTable> newCache = new SimpleObjectCache<>();
+        newCache.setCache(new ArrayList<>(tables));
+        // The first lookup builds the name map
+        return newCache.getCachedObject(names[0]);
+    }
+
+    private int nextPosition() {
+        int result = position;
+        position = result + 1 == objectCount ? 0 : result + 1;
+        return result;
+    }
+}
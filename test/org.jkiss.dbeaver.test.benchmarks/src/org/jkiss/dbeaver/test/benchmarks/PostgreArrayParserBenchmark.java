@@ -0,0 +1,115 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.dbeaver.ext.postgresql.PostgreArrayParser;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataType;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Types;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostgreSQL array literal parser on flat and nested arrays of 1000 items.
+ * Data types are mocked, the same way as in PostgreSQL value parser tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PostgreArrayParserBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int dimensions;
+
+    @Param({"float8", "text"})
+    public String itemTypeName;
+
+    private BenchmarkDatabase database;
+    private PostgreArrayParser parser;
+    private String arrayText;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase(0);
+        boolean numeric = "float8".equals(itemTypeName);
+
+        PostgreDataType itemType = Mockito.mock(PostgreDataType.class);
+        Mockito.when(itemType.getTypeName()).thenReturn(itemTypeName);
+        Mockito.when(itemType.getFullTypeName()).thenReturn(itemTypeName);
+        Mockito.when(itemType.getDataKind()).thenReturn(numeric ? DBPDataKind.NUMERIC : DBPDataKind.STRING);
+        Mockito.when(itemType.getTypeID()).thenReturn(numeric ? Types.DOUBLE : Types.VARCHAR);
+
+        PostgreDataType arrayType = Mockito.mock(PostgreDataType.class);
+        Mockito.when(arrayType.getTypeName()).thenReturn("_" + itemTypeName);
+        Mockito.when(arrayType.getFullTypeName()).thenReturn(itemTypeName + "[]");
+        Mockito.when(arrayType.getDataKind()).thenReturn(DBPDataKind.ARRAY);
+        Mockito.when(arrayType.getComponentType(ArgumentMatchers.any(DBRProgressMonitor.class))).thenReturn(itemType);
+        Mockito.when(arrayType.getArrayDelimiter()).thenReturn(",");
+
+        parser = PostgreArrayParser.create(database.getSession(), arrayType);
+        if (parser == null) {
+            throw new IllegalStateException("Can't create array parser");
+        }
+        // 1000 items in total: 1000, 32x32 (1024) or 10x10x10
+        int size = switch (dimensions) {
+            case 1 -> 1000;
+            case 2 -> 32;
+            default -> 10;
+        };
+        StringBuilder text = new StringBuilder();
+        appendArray(text, new Random(42), numeric, size, dimensions);
+        arrayText = text.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Object[] parseArray() throws DBCException {
+        return parser.parse(database.getSession(), arrayText);
+    }
+
+    private static void appendArray(StringBuilder text, Random random, boolean numeric, int size, int depth) {
+        text.append('{');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            if (depth > 1) {
+                appendArray(text, random, numeric, size, depth - 1);
+            } else if (numeric) {
+                text.append(random.nextInt(1_000_000) / 1000.0);
+            } else if (i % 3 == 0) {
+                // Quoted item with escapes
+                text.append("\"item \\\"").append(random.nextInt(1000)).append("\\\", with comma\"");
+            } else {
+                text.append("item").append(random.nextInt(1000));
+            }
+        }
+        text.append('}');
+    }
+}
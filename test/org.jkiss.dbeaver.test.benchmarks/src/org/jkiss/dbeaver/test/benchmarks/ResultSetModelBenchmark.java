@@ -0,0 +1,74 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side sorting of result set viewer rows by a single column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultSetModelBenchmark {
+
+    @Param({"NAME", "AMOUNT", "CREATED"})
+    public String sortColumn;
+
+    @Param({"10000", "100000"})
+    public int rowCount;
+
+    private BenchmarkDatabase database;
+    private ResultSetModel model;
+    private DBDAttributeBinding sortBinding;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase(rowCount);
+        model = new ResultSetModel();
+        model.setMetaData(database.getMetaResultSet(), database.getBindings());
+        model.setData(database.getSession().getProgressMonitor(), database.getRows());
+
+        sortBinding = DBUtils.findObject(database.getBindings(), sortColumn);
+        if (sortBinding == null) {
+            throw new IllegalArgumentException("Column " + sortColumn + " not found");
+        }
+        DBDAttributeConstraint constraint = model.getDataFilter().getConstraint(sortBinding);
+        constraint.setOrderPosition(1);
+        constraint.setOrderDescending(true);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public int sortRows() {
+        // Restores original row order and sorts again
+        model.resetOrdering(sortBinding);
+        return model.getRowCount();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.code.NotNull;
+
+import java.util.Random;
+
+/**
+ * Generates SQL scripts for parser, formatter and analyzer benchmarks.
+ * Scripts are built with a fixed seed, so the same size always gives the same text.
+ */
+final class SQLScriptGenerator {
+
+    private static final String[] TABLES = {"customers", "orders", "order_items", "products", "invoices"};
+    private static final String[] COLUMNS = {"id", "name", "status", "amount", "created_at", "customer_id", "price"};
+
+    private SQLScriptGenerator() {
+    }
+
+    /**
+     * Script of the specified number of statements of different kinds, separated by ';'.
+     * Script includes comments, string literals, quoted identifiers and parameters.
+     */
+    @NotNull
+    static String generateScript(int statementCount) {
+        Random random = new Random(42);
+        StringBuilder script = new StringBuilder(statementCount * 120);
+        for (int i = 0; i < statementCount; i++) {
+            String table = TABLES[random.nextInt(TABLES.length)];
+            String column = COLUMNS[random.nextInt(COLUMNS.length)];
+            switch (i % 5) {
+                case 0 -> script
+                    .append("-- Query ").append(i).append('\n')
+                    .append("select t.id, t.").append(column).append(", count(*) as cnt from ").append(table)
+                    .append(" t join orders o on o.customer_id = t.id where t.status in ('new', 'it''s done') and o.amount > ")
+                    .append(random.nextInt(1000)).append(" group by t.id, t.").append(column).append(" order by cnt desc");
+                case 1 -> script
+                    .append("insert into ").append(table).append(" (id, name, amount, created_at) values (")
+                    .append(i).append(", 'Name ").append(random.nextInt(100000)).append("', ")
+                    .append(random.nextInt(100000) / 100.0).append(", '2024-01-01 10:00:00')");
+                case 2 -> script
+                    .append("update ").append(table).append(" set \"").append(column).append("\" = :value, amount = amount * 1.1")
+                    .append(" where id = ").append(i).append(" /* update ").append(i).append(" */");
+                case 3 -> script
+                    .append("select * from (select ").append(column).append(", row_number() over (partition by customer_id order by id) rn from ")
+                    .append(table).append(") x where x.rn <= ? and exists (select 1 from products p where p.id = x.").append(column).append(')');
+                default -> script
+                    .append("delete from ").append(table).append(" where created_at < current_date - 30 and status <> 'active'");
+            }
+            script.append(";\n");
+        }
+        return script.toString();
+    }
+}
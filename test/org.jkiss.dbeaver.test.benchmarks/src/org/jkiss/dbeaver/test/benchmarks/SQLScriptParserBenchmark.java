@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDialect;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.text.parser.TPRule;
+import org.jkiss.dbeaver.model.text.parser.TPRuleBasedScanner;
+import org.jkiss.dbeaver.model.text.parser.TPToken;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL script parsing: splitting a script into queries and raw token scanning.
+ * Scanning with the per-character rule table is compared with evaluation of all rules at each position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SQLScriptParserBenchmark {
+
+    @Param({"basic", "postgresql"})
+    public String dialectName;
+
+    @Param({"1000", "10000"})
+    public int statementCount;
+
+    private SQLDialect dialect;
+    private DBPPreferenceStore preferenceStore;
+    private String script;
+    private Document document;
+    private TPRuleBasedScanner ruleTableScanner;
+    private TPRuleBasedScanner allRulesScanner;
+
+    @Setup
+    public void setUp() {
+        dialect = "postgresql".equals(dialectName) ? new PostgreDialect() : BasicSQLDialect.INSTANCE;
+        preferenceStore = DBWorkbench.getPlatform().getPreferenceStore();
+        script = SQLScriptGenerator.generateScript(statementCount);
+        document = new Document(script);
+
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dialect, preferenceStore);
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules();
+
+        ruleTableScanner = new TPRuleBasedScanner();
+        ruleTableScanner.setRules(ruleManager.getAllRules());
+        // Wrapped rules don't declare start characters, so all of them are evaluated at each position
+        allRulesScanner = new TPRuleBasedScanner();
+        allRulesScanner.setRules(Arrays.stream(ruleManager.getAllRules())
+            .map(rule -> (TPRule) rule::evaluate)
+            .toArray(TPRule[]::new));
+    }
+
+    @Benchmark
+    public List<SQLScriptElement> parseScript() {
+        return SQLScriptParser.parseScript(null, dialect, preferenceStore, script);
+    }
+
+    @Benchmark
+    public int scanTokensRuleTable() {
+        return scanTokens(ruleTableScanner);
+    }
+
+    @Benchmark
+    public int scanTokensAllRules() {
+        return scanTokens(allRulesScanner);
+    }
+
+    private int scanTokens(TPRuleBasedScanner scanner) {
+        int tokenCount = 0;
+        scanner.setRange(document, 0, document.getLength());
+        for (TPToken token = scanner.nextToken(); !token.isEOF(); token = scanner.nextToken()) {
+            tokenCount++;
+        }
+        return tokenCount;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmarks;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value handlers: fetch of result set rows and formatting of fetched values.
+ * Plain JDBC fetch of the same rows is the baseline of the fetch benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValueHandlerBenchmark {
+
+    @Param({"10000"})
+    public int rowCount;
+
+    private BenchmarkDatabase database;
+    private DBDAttributeBinding[] bindings;
+    private DBDValueHandler[] valueHandlers;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase(rowCount);
+        bindings = database.getBindings();
+        valueHandlers = database.getValueHandlers();
+        rows = database.getRows();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public void fetchValues(Blackhole blackhole) throws SQLException, DBCException {
+        try (JDBCResultSet resultSet = database.openResultSet()) {
+            while (resultSet.next()) {
+                for (int i = 0; i < bindings.length; i++) {
+                    blackhole.consume(valueHandlers[i].fetchValueObject(database.getSession(), resultSet, bindings[i], i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void fetchValuesPlainJdbc(Blackhole blackhole) throws SQLException {
+        try (Statement statement = database.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(BenchmarkDatabase.SELECT_QUERY)) {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                for (int i = 1; i <= columnCount; i++) {
+                    blackhole.consume(resultSet.getObject(i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatValuesUI(Blackhole blackhole) {
+        formatValues(blackhole, DBDDisplayFormat.UI);
+    }
+
+    @Benchmark
+    public void formatValuesNative(Blackhole blackhole) {
+        formatValues(blackhole, DBDDisplayFormat.NATIVE);
+    }
+
+    private void formatValues(Blackhole blackhole, DBDDisplayFormat format) {
+        for (Object[] row : rows) {
+            for (int i = 0; i < bindings.length; i++) {
+                blackhole.consume(valueHandlers[i].getValueDisplayString(bindings[i], row[i], format));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+public class MetadataDescriptionCacheTest extends DBeaverUnitTest {
+
+    @Mock
+    private DBSEntity table;
+    @Mock
+    private DBSEntity otherTable;
+    @Mock
+    private DBSEntityAttribute column;
+
+    @After
+    public void cleanup() {
+        MetadataDescriptionCache.getInstance().clear();
+    }
+
+    @Test
+    public void testAttributeInvalidatesEntityFragment() {
+        Mockito.when(column.getParentObject()).thenReturn(table);
+        MetadataDescriptionCache cache = MetadataDescriptionCache.getInstance();
+        cache.putFragment(table, "sql", "CREATE TABLE t (id INT)");
+        cache.putFragment(column, "sql", "id INT");
+        cache.putFragment(otherTable, "sql", "CREATE TABLE o (id INT)");
+
+        cache.invalidate(column);
+
+        Assert.assertNull(cache.getFragment(column, "sql"));
+        Assert.assertNull(cache.getFragment(table, "sql"));
+        Assert.assertNotNull(cache.getFragment(otherTable, "sql"));
+    }
+
+    @Test
+    public void testEntityInvalidatesAttributeFragments() {
+        Mockito.when(column.getParentObject()).thenReturn(table);
+        MetadataDescriptionCache cache = MetadataDescriptionCache.getInstance();
+        cache.putFragment(table, "sql", "CREATE TABLE t (id INT)");
+        cache.putFragment(column, "sql", "id INT");
+
+        cache.invalidate(table);
+
+        Assert.assertNull(cache.getFragment(column, "sql"));
+        Assert.assertNull(cache.getFragment(table, "sql"));
+    }
+}
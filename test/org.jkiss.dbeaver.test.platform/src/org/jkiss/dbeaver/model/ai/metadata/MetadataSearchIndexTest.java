@@ -0,0 +1,65 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class MetadataSearchIndexTest extends DBeaverUnitTest {
+
+    private MetadataSearchIndex<String> index;
+
+    @Before
+    public void init() {
+        index = new MetadataSearchIndex<>();
+        index.addDocument("customers", "customers", "id first_name last_name email -- Registered shop customers");
+        index.addDocument("orders", "orders", "id customer_id order_date total_amount");
+        index.addDocument("orderItems", "orderItems", "order_id product_id quantity price");
+        index.addDocument("products", "products", "id name price");
+        index.addDocument("audit_log", "audit_log", "id event_time message");
+    }
+
+    @Test
+    public void testNameMatchRanksFirst() {
+        List<MetadataSearchIndex.Hit<String>> hits = index.search("show all products", 0);
+        Assert.assertFalse(hits.isEmpty());
+        Assert.assertEquals("products", hits.get(0).getObject());
+    }
+
+    @Test
+    public void testColumnAndCommentMatch() {
+        List<MetadataSearchIndex.Hit<String>> hits = index.search("emails of registered users", 0);
+        Assert.assertEquals(1, hits.size());
+        Assert.assertEquals("customers", hits.get(0).getObject());
+    }
+
+    @Test
+    public void testCamelCaseAndPluralTerms() {
+        List<MetadataSearchIndex.Hit<String>> hits = index.search("quantity of each order item", 0);
+        Assert.assertEquals("orderItems", hits.get(0).getObject());
+    }
+
+    @Test
+    public void testNoMatchAndLimit() {
+        Assert.assertTrue(index.search("weather forecast", 0).isEmpty());
+        Assert.assertEquals(2, index.search("id price", 2).size());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class DashboardTimeSeriesTest extends DBeaverUnitTest {
+
+    private static final long START_TIME = 1_700_000_000_000L - 1_700_000_000_000L % (60 * 60 * 1000);
+
+    @Test
+    public void testRawValuesAndReplace() {
+        DashboardTimeSeries series = new DashboardTimeSeries("test");
+        for (int i = 0; i < 10; i++) {
+            series.addValue(START_TIME + i * 1000L, i);
+        }
+        // Same timestamp replaces value, older one is ignored
+        series.addValue(START_TIME + 9000L, 100);
+        series.addValue(START_TIME, 200);
+
+        DashboardTimeSeries.Points points = series.getValues(START_TIME, START_TIME + 9000L, 0);
+        Assert.assertEquals(DashboardTimeSeries.Resolution.RAW, points.getResolution());
+        Assert.assertEquals(10, points.getSize());
+        Assert.assertEquals(0, points.getValue(0), 0);
+        Assert.assertEquals(100, points.getValue(9), 0);
+    }
+
+    @Test
+    public void testRingOverflowAndDownsampling() {
+        DashboardTimeSeries series = new DashboardTimeSeries("test");
+        int count = DashboardTimeSeries.RAW_CAPACITY * 4;
+        for (int i = 0; i < count; i++) {
+            series.addValue(START_TIME + i * 1000L, i % 60);
+        }
+        long endTime = START_TIME + (count - 1) * 1000L;
+
+        // Recent range fits into raw values
+        DashboardTimeSeries.Points recent = series.getValues(endTime - 59_000L, endTime, 300);
+        Assert.assertEquals(DashboardTimeSeries.Resolution.RAW, recent.getResolution());
+        Assert.assertEquals(60, recent.getSize());
+
+        // Raw values were overwritten, so the whole range comes from minute averages
+        DashboardTimeSeries.Points all = series.getValues(START_TIME, endTime, 300);
+        Assert.assertEquals(DashboardTimeSeries.Resolution.MINUTE, all.getResolution());
+        Assert.assertEquals(count / 60, all.getSize());
+        Assert.assertEquals(START_TIME, all.getTimestamp(0));
+        Assert.assertEquals(29.5, all.getValue(0), 0.0001);
+
+        DashboardTimeSeries.Points coarse = series.getValues(START_TIME, endTime, 10);
+        Assert.assertEquals(DashboardTimeSeries.Resolution.HOUR, coarse.getResolution());
+        Assert.assertEquals(2, coarse.getSize());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore();
+        DashboardTimeSeries series = store.getSeries("ds/dashboard", "value");
+        for (int i = 0; i < 100; i++) {
+            series.addValue(START_TIME + i * 1000L, i);
+        }
+        Path file = Files.createTempFile("dashboard-history", ".dat");
+        try {
+            store.save(file);
+
+            DashboardTimeSeriesStore loaded = new DashboardTimeSeriesStore();
+            loaded.load(file);
+            Assert.assertEquals(1, loaded.getDashboardSeries("ds/dashboard").size());
+            DashboardTimeSeries.Points points = loaded.getSeries("ds/dashboard", "value").getValues(START_TIME, START_TIME + 99_000L, 0);
+            Assert.assertEquals(100, points.getSize());
+            Assert.assertEquals(99, points.getValue(99), 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ExecuteInsertBatchImplTest extends DBeaverUnitTest {
+
+    @Mock
+    private DBCSession session;
+    @Mock
+    private DBCExecutionSource source;
+    @Mock
+    private DBSTable table;
+    @Mock
+    private DBDValueHandler handler;
+
+    private final DBSAttributeBase[] attributes = new DBSAttributeBase[3];
+    private final List<Object[]> preparedRows = new ArrayList<>();
+    private final List<DBCStatement> preparedStatements = new ArrayList<>();
+    private ExecuteInsertBatchImpl batch;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = Mockito.mock(DBSAttributeBase.class);
+        }
+        Mockito.lenient().when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+        batch = new ExecuteInsertBatchImpl(attributes, null, true, session, source, table, false) {
+            @NotNull
+            @Override
+            protected DBCStatement prepareStatement(
+                @NotNull DBCSession session,
+                DBDValueHandler[] handlers,
+                Object[] attributeValues,
+                Map<String, Object> options
+            ) {
+                DBCStatement statement = Mockito.mock(DBCStatement.class);
+                Mockito.lenient().when(statement.getSession()).thenReturn(session);
+                preparedRows.add(attributeValues);
+                preparedStatements.add(statement);
+                return statement;
+            }
+        };
+    }
+
+    @Test
+    public void testUsedParametersSkipNulls() {
+        Assert.assertArrayEquals(new boolean[]{true, false, true}, batch.getUsedParameters(new Object[]{1, null, "x"}));
+        // NULLs are listed in the statement if all values are NULLs
+        Assert.assertArrayEquals(new boolean[]{true, true, true}, batch.getUsedParameters(new Object[]{null, null, null}));
+    }
+
+    @Test
+    public void testBindSkipsNulls() throws DBCException {
+        DBCStatement statement = Mockito.mock(DBCStatement.class);
+        Mockito.when(statement.getSession()).thenReturn(session);
+        DBDValueHandler[] handlers = {handler, handler, handler};
+        batch.bindStatement(handlers, statement, new Object[]{1, null, "x"});
+
+        Mockito.verify(handler).bindValueObject(session, statement, attributes[0], 0, 1);
+        Mockito.verify(handler).bindValueObject(session, statement, attributes[2], 1, "x");
+        Mockito.verifyNoMoreInteractions(handler);
+    }
+
+    @Test
+    public void testStatementCache() throws DBCException {
+        batch.add(new Object[]{1, null, "a"});
+        batch.add(new Object[]{2, "b", null});
+        batch.add(new Object[]{3, null, "c"});
+        batch.add(new Object[]{4, "d", null});
+        batch.add(new Object[]{5, null, "e"});
+
+        DBDValueHandler[] handlers = {handler, handler, handler};
+        DBCStatistics statistics = batch.processBatchWithStatementCache(session, handlers, Map.of());
+        Assert.assertNotNull(statistics);
+
+        // One statement per NULL positions combination
+        Assert.assertEquals(2, preparedStatements.size());
+        Assert.assertEquals(2, statistics.getStatementsCount());
+        Assert.assertEquals(1, preparedRows.get(0)[0]);
+        Assert.assertEquals(2, preparedRows.get(1)[0]);
+        Mockito.verify(preparedStatements.get(0), Mockito.times(3)).addToBatch();
+        Mockito.verify(preparedStatements.get(1), Mockito.times(2)).addToBatch();
+        for (DBCStatement statement : preparedStatements) {
+            Mockito.verify(statement).executeStatementBatch();
+            Mockito.verify(statement).close();
+        }
+        Mockito.verify(handler).bindValueObject(session, preparedStatements.get(0), attributes[2], 1, "e");
+        Mockito.verify(handler).bindValueObject(session, preparedStatements.get(1), attributes[1], 1, "d");
+    }
+}
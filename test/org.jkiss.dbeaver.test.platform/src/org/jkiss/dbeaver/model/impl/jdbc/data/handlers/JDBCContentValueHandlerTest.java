@@ -0,0 +1,91 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data.handlers;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPContextWithAttributes;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Blob;
+
+public class JDBCContentValueHandlerTest extends DBeaverUnitTest {
+
+    @Mock(extraInterfaces = DBPContextWithAttributes.class)
+    private DBCSession session;
+    @Mock
+    private DBCExecutionContext executionContext;
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer container;
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+    @Mock
+    private DBSTypedObject type;
+    @Mock
+    private Blob blob;
+
+    @Before
+    public void init() throws Exception {
+        Mockito.lenient().when(session.getExecutionContext()).thenReturn(executionContext);
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(session.getPurpose()).thenReturn(DBCExecutionPurpose.UTIL);
+        Mockito.lenient().when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+        Mockito.lenient().when(executionContext.getDataSource()).thenReturn(dataSource);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(container.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.lenient().when(preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_BLOB)).thenReturn(true);
+        Mockito.lenient().when(preferenceStore.getLong(ModelPreferences.CONTENT_CACHE_MAX_SIZE)).thenReturn(1000L);
+        Mockito.lenient().when(blob.length()).thenReturn(3L);
+        Mockito.lenient().when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    public void batchedTransferPrecachesBlob() throws Exception {
+        JDBCContentValueHandler.INSTANCE.getValueFromObject(session, type, blob, false, false);
+        Mockito.verify(blob).getBinaryStream();
+    }
+
+    @Test
+    public void singleRowTransferStreamsBlob() throws Exception {
+        Mockito.when(((DBPContextWithAttributes) session).getContextAttribute(DBDContent.ATTR_STREAM_CONTENTS)).thenReturn(Boolean.TRUE);
+        JDBCContentValueHandler.INSTANCE.getValueFromObject(session, type, blob, false, false);
+        Mockito.verify(blob, Mockito.never()).getBinaryStream();
+    }
+
+    @Test
+    public void sharedContextDoesNotStreamBlob() throws Exception {
+        // Another transfer reading through the same execution context must not affect this session
+        Mockito.lenient().when(executionContext.getContextAttribute(DBDContent.ATTR_STREAM_CONTENTS)).thenReturn(Boolean.TRUE);
+        JDBCContentValueHandler.INSTANCE.getValueFromObject(session, type, blob, false, false);
+        Mockito.verify(blob).getBinaryStream();
+    }
+}
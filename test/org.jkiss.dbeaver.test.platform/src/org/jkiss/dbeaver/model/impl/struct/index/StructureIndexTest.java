@@ -0,0 +1,91 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.struct.index;
+
+import org.jkiss.dbeaver.model.impl.struct.RelationalObjectType;
+import org.jkiss.dbeaver.model.struct.DBSObjectType;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class StructureIndexTest extends DBeaverUnitTest {
+
+    private StructureIndex index;
+
+    @Before
+    public void init() {
+        index = new StructureIndex();
+        addTable("public", "customers", null);
+        addTable("public", "customer_orders", null);
+        addTable("sales", "orders", "All customer orders");
+        addTable("sales", "order_items", null);
+        index.addEntry(new StructureIndex.Entry(
+            new String[]{"public", "get_customer"}, RelationalObjectType.TYPE_PROCEDURE, null, "select * from customers", null));
+    }
+
+    private void addTable(String schema, String name, String description) {
+        index.addEntry(new StructureIndex.Entry(
+            new String[]{schema, name}, RelationalObjectType.TYPE_TABLE, description, null, null));
+    }
+
+    @Test
+    public void testExactAndPrefixMatchesRankFirst() {
+        List<StructureIndex.Entry> result = index.search(new StructureIndex.SearchParams("%customers%"));
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("customers", result.get(0).getName());
+
+        result = index.search(new StructureIndex.SearchParams("%customer%"));
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals("customers", result.get(0).getName());
+    }
+
+    @Test
+    public void testTypeParentAndCommentFilters() {
+        List<StructureIndex.Entry> result = index.search(new StructureIndex.SearchParams("%customer%")
+            .setObjectTypes(new DBSObjectType[]{RelationalObjectType.TYPE_TABLE})
+            .setSearchInComments(true));
+        Assert.assertEquals(3, result.size());
+        Assert.assertTrue(result.stream().anyMatch(e -> e.getName().equals("orders")));
+
+        result = index.search(new StructureIndex.SearchParams("%order%").setParentPath(new String[]{"sales"}));
+        Assert.assertEquals(2, result.size());
+    }
+
+    @Test
+    public void testDefinitionSearchAndRemoval() {
+        List<StructureIndex.Entry> result = index.search(new StructureIndex.SearchParams("%customers%").setSearchInDefinitions(true));
+        Assert.assertEquals(2, result.size());
+
+        index.removeEntries(new String[]{"sales"});
+        Assert.assertEquals(3, index.size());
+        Assert.assertEquals(1, index.search(new StructureIndex.SearchParams("%order%")).size());
+    }
+
+    @Test
+    public void testCaseSensitiveSearch() {
+        addTable("sales", "Customers", null);
+        List<StructureIndex.Entry> result = index.search(new StructureIndex.SearchParams("%Customers%").setCaseSensitive(true));
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("Customers", result.get(0).getName());
+
+        result = index.search(new StructureIndex.SearchParams("%customers%"));
+        Assert.assertEquals(2, result.size());
+    }
+}
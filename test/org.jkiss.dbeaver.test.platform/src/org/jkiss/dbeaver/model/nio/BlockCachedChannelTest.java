@@ -0,0 +1,194 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.nio;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.Set;
+
+public class BlockCachedChannelTest extends DBeaverUnitTest {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    private Path file;
+    private byte[] contents;
+
+    @Before
+    public void init() throws IOException {
+        file = Files.createTempFile("block-channel-test", ".bin");
+        contents = new byte[BLOCK_SIZE * 20 + 123];
+        new Random(42).nextBytes(contents);
+        Files.write(file, contents);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void sequentialReadFetchesBlocksAhead() throws IOException {
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.READ))) {
+            byte[] result = new byte[contents.length];
+            ByteBuffer buffer = ByteBuffer.allocate(100);
+            int offset = 0;
+            for (int n; (n = channel.read(buffer.clear())) > 0; offset += n) {
+                System.arraycopy(buffer.array(), 0, result, offset, n);
+            }
+            Assert.assertEquals(contents.length, offset);
+            Assert.assertArrayEquals(contents, result);
+            // 21 blocks are read with growing read-ahead: 1 + 2 + 4 + 8 + 6
+            Assert.assertEquals(5, channel.requestCount);
+        }
+    }
+
+    @Test
+    public void randomReadUsesBlockCache() throws IOException {
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.READ))) {
+            Random random = new Random(1);
+            ByteBuffer buffer = ByteBuffer.allocate(300);
+            for (int i = 0; i < 200; i++) {
+                // Positions within the first 6 blocks, they all fit into the cache
+                int position = random.nextInt(BLOCK_SIZE * 6 - 300);
+                channel.position(position);
+                int n = channel.read(buffer.clear());
+                Assert.assertEquals(300, n);
+                for (int k = 0; k < n; k++) {
+                    Assert.assertEquals(contents[position + k], buffer.get(k));
+                }
+            }
+            // Each block is requested once at most
+            Assert.assertTrue(channel.requestCount <= 6);
+            channel.position(contents.length);
+            Assert.assertEquals(-1, channel.read(buffer.clear()));
+        }
+    }
+
+    @Test
+    public void writeGoesThroughSpoolFile() throws IOException {
+        byte[] tail = "tail".getBytes();
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.WRITE))) {
+            channel.position(contents.length);
+            channel.write(ByteBuffer.wrap(tail));
+            Assert.assertEquals(contents.length + tail.length, channel.size());
+            // Target file is not modified until close
+            Assert.assertEquals(contents.length, Files.size(file));
+        }
+        byte[] result = Files.readAllBytes(file);
+        Assert.assertEquals(contents.length + tail.length, result.length);
+        Assert.assertEquals(contents[contents.length - 1], result[contents.length - 1]);
+        Assert.assertEquals('t', result[contents.length]);
+
+        try (LocalFileChannel channel = new LocalFileChannel(
+            file, Set.of(StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        ) {
+            channel.write(ByteBuffer.wrap(tail));
+        }
+        Assert.assertArrayEquals(tail, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void positionBeyondEnd() throws IOException {
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.READ))) {
+            channel.position(contents.length + 100);
+            Assert.assertEquals(contents.length + 100, channel.position());
+            Assert.assertEquals(-1, channel.read(ByteBuffer.allocate(10)));
+        }
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.WRITE))) {
+            channel.position(contents.length + 100);
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2}));
+            Assert.assertEquals(contents.length + 102, channel.size());
+        }
+        Assert.assertEquals(contents.length + 102, Files.size(file));
+    }
+
+    @Test
+    public void appendWritesAtEnd() throws IOException {
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.APPEND))) {
+            channel.write(ByteBuffer.wrap(new byte[] {1}));
+            channel.position(0);
+            channel.write(ByteBuffer.wrap(new byte[] {2}));
+            Assert.assertEquals(contents.length + 2, channel.position());
+        }
+        byte[] result = Files.readAllBytes(file);
+        Assert.assertEquals(contents.length + 2, result.length);
+        Assert.assertEquals(contents[0], result[0]);
+        Assert.assertEquals(1, result[contents.length]);
+        Assert.assertEquals(2, result[contents.length + 1]);
+    }
+
+    @Test
+    public void emptyRangeEndsRead() throws IOException {
+        try (LocalFileChannel channel = new LocalFileChannel(file, Set.of(StandardOpenOption.READ))) {
+            channel.emptyRanges = true;
+            Assert.assertEquals(-1, channel.read(ByteBuffer.allocate(10)));
+            Assert.assertEquals(1, channel.requestCount);
+        }
+    }
+
+    // Stand-in for a remote file system provider which reads file ranges from the local disk
+    private static class LocalFileChannel extends BlockCachedChannel {
+        private final Path file;
+        int requestCount;
+        boolean emptyRanges;
+
+        LocalFileChannel(Path file, Set<? extends OpenOption> options) throws IOException {
+            super(Files.size(file), options, BLOCK_SIZE, 8, 8);
+            this.file = file;
+        }
+
+        @Override
+        protected int readRange(long position, @NotNull byte[] buffer, int offset, int length) throws IOException {
+            requestCount++;
+            if (emptyRanges) {
+                return 0;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+            }
+        }
+
+        @Override
+        protected void createNewFile() throws IOException {
+            Files.createFile(file);
+        }
+
+        @Override
+        protected void writeToFile(@NotNull Path spoolFile) throws IOException {
+            Files.copy(spoolFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        protected void deleteFile() throws IOException {
+            Files.delete(file);
+        }
+    }
+}
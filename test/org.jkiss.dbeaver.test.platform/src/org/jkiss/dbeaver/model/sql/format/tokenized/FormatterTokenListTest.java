@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class FormatterTokenListTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldBehaveLikeArrayList() {
+        List<FormatterToken> expected = new ArrayList<>();
+        List<FormatterToken> actual = new FormatterTokenList(1);
+        Random random = new Random(42);
+        int position = 0;
+        for (int i = 0; i < 20000; i++) {
+            // Edits are mostly local, like in the formatter
+            position = Math.max(0, Math.min(expected.size(), position + random.nextInt(7) - 2));
+            int op = random.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                FormatterToken token = new FormatterToken(TokenType.SPACE, String.valueOf(i));
+                expected.add(position, token);
+                actual.add(position, token);
+            } else if (op < 9) {
+                int index = Math.min(position, expected.size() - 1);
+                Assert.assertSame(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                FormatterToken token = new FormatterToken(TokenType.NAME, "n" + i);
+                Assert.assertSame(expected.set(index, token), actual.set(index, token));
+            }
+        }
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldCheckBounds() {
+        List<FormatterToken> list = new FormatterTokenList();
+        list.add(new FormatterToken(TokenType.SPACE, " "));
+        list.get(1);
+    }
+}
@@ -32,7 +32,9 @@ import org.jkiss.dbeaver.model.sql.SQLDialectMetadataRegistry;
 import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
 import org.jkiss.dbeaver.model.sql.parser.tokens.SQLTokenType;
+import org.jkiss.dbeaver.model.text.parser.TPRule;
 import org.jkiss.dbeaver.model.text.parser.TPRuleBasedScanner;
+import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.junit.DBeaverUnitTest;
 import org.junit.Assert;
@@ -758,6 +760,38 @@ public class SQLScriptParserTest extends DBeaverUnitTest {
             WHERE 1=1""", element.getText());
     }
 
+    @Test
+    public void scannerRuleTableProducesSameTokensAsAllRules() throws DBException {
+        String query = """
+            -- line comment
+            select "quoted id", 'str''ing', 0x1F, 1.5e3, :param, ?, ${var} from tab /* block
+            comment */ where a <> b and c = $$dollar$$ and d = q'[quoted]';
+            @set x = 1
+            select Ünïcode_name from dual;
+            """;
+        for (String dialectName : List.of("postgresql", "oracle")) {
+            SQLParserContext context = createParserContext(setDialect(dialectName), query);
+            TPRuleBasedScanner scanner = context.getScanner();
+
+            // Reference scanner evaluates all rules at each position
+            TPRuleBasedScanner allRulesScanner = new TPRuleBasedScanner();
+            allRulesScanner.setRules(Arrays.stream(context.getRuleManager().getAllRules())
+                .map(rule -> (TPRule) rule::evaluate)
+                .toArray(TPRule[]::new));
+
+            Assert.assertEquals(dialectName, scanTokens(allRulesScanner, context), scanTokens(scanner, context));
+        }
+    }
+
+    private static List<String> scanTokens(TPRuleBasedScanner scanner, SQLParserContext context) {
+        List<String> tokens = new ArrayList<>();
+        scanner.setRange(context.getDocument(), 0, context.getDocument().getLength());
+        for (TPToken token = scanner.nextToken(); !token.isEOF(); token = scanner.nextToken()) {
+            tokens.add(scanner.getTokenOffset() + ":" + scanner.getTokenLength() + ":" + token.getData());
+        }
+        return tokens;
+    }
+
 
     private void assertParse(String dialectName, String[] expected) throws DBException {
         String source = Arrays.stream(expected).filter(Objects::nonNull).collect(Collectors.joining());
@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDictionary;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class DBVDictionaryCacheTest extends DBeaverUnitTest {
+
+    private static final Map<Long, String> DICTIONARY = Map.of(1L, "one", 2L, "two", 3L, "three");
+
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer container;
+    @Mock
+    private DBPDataSourceRegistry registry;
+    @Mock
+    private DBSEntityAttribute keyColumn;
+    @Mock
+    private DBRProgressMonitor monitor;
+
+    private final DBSEntity dictionary = Mockito.mock(DBSEntity.class, Mockito.withSettings().extraInterfaces(DBSDictionary.class));
+    private final List<List<Object>> queries = new ArrayList<>();
+
+    @Before
+    public void init() throws Exception {
+        DBVDictionaryCache.getInstance().clear();
+        Mockito.when(dictionary.getDataSource()).thenReturn(dataSource);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        Mockito.when(container.getRegistry()).thenReturn(registry);
+        Mockito.when(keyColumn.getName()).thenReturn("id");
+        Mockito.lenient().when(((DBSDictionary) dictionary).getDictionaryValues(
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean())
+        ).thenAnswer(invocation -> {
+            List<Object[]> keyValues = invocation.getArgument(2);
+            List<Object> query = new ArrayList<>();
+            List<DBDLabelValuePair> result = new ArrayList<>();
+            for (Object[] keyValue : keyValues) {
+                query.add(keyValue[0]);
+                // Dictionary returns keys of another numeric type
+                long key = ((Number) keyValue[0]).longValue();
+                if (DICTIONARY.containsKey(key)) {
+                    result.add(new DBDLabelValuePair(DICTIONARY.get(key), key));
+                }
+            }
+            queries.add(query);
+            return result;
+        });
+    }
+
+    @Test
+    public void testMissingKeysAreBatched() throws Exception {
+        List<DBDLabelValuePair> values = lookup(3, 1, 2);
+        Assert.assertEquals(List.of("one", "two", "three"), labels(values));
+        Assert.assertEquals(List.of(List.of(3, 1, 2)), queries);
+
+        // Cached and unknown keys are not read again, only new ones
+        values = lookup(2, 4, 1, 5);
+        Assert.assertEquals(List.of("one", "two"), labels(values));
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals(List.of(4, 5), queries.get(1));
+
+        lookup(4, 5, 3);
+        Assert.assertEquals(2, queries.size());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        lookup(1, 2);
+        DBVDictionaryCache.getInstance().invalidate(dictionary);
+        lookup(1, 2);
+        Assert.assertEquals(2, queries.size());
+
+        DBVDictionaryCache.getInstance().handleDataSourceEvent(new DBPEvent(DBPEvent.Action.AFTER_CONNECT, container));
+        lookup(1);
+        Assert.assertEquals(3, queries.size());
+    }
+
+    @Test
+    public void testRegistryDisposeDropsCache() throws Exception {
+        lookup(1);
+        DBVDictionaryCache.getInstance().invalidateRegistry(registry);
+        Mockito.verify(registry).removeDataSourceListener(DBVDictionaryCache.getInstance());
+        lookup(1);
+        Assert.assertEquals(2, queries.size());
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        DBVDictionaryCache cache = DBVDictionaryCache.getInstance();
+        long timeToLive = cache.getTimeToLive();
+        try {
+            cache.setTimeToLive(-1);
+            lookup(1);
+            lookup(1);
+            Assert.assertEquals(2, queries.size());
+        } finally {
+            cache.setTimeToLive(timeToLive);
+        }
+    }
+
+    @Test
+    public void testFoundKeysAreCachedIfDictionaryChangesKeys() throws Exception {
+        // Dictionary compares strings case-insensitively and returns keys in lower case
+        Mockito.doAnswer(invocation -> {
+            List<Object[]> keyValues = invocation.getArgument(2);
+            queries.add(keyValues.stream().map(keyValue -> keyValue[0]).toList());
+            return keyValues.stream()
+                .map(keyValue -> new DBDLabelValuePair("label", ((String) keyValue[0]).toLowerCase()))
+                .toList();
+        }).when((DBSDictionary) dictionary).getDictionaryValues(
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean());
+
+        lookup("a", "B");
+        lookup("a", "B");
+        Assert.assertEquals(List.of(List.of("a", "B"), List.of("B")), queries);
+    }
+
+    @Test
+    public void testValueEntryIsCached() throws Exception {
+        List<Object> loads = new ArrayList<>();
+        Assert.assertEquals(List.of("one"), labels(valueEntry(1, loads)));
+        Assert.assertEquals(List.of("one"), labels(valueEntry(1L, loads)));
+        Assert.assertEquals(1, loads.size());
+
+        // Missing key is cached too
+        Assert.assertTrue(valueEntry(7, loads).isEmpty());
+        Assert.assertTrue(valueEntry(7, loads).isEmpty());
+        Assert.assertEquals(2, loads.size());
+    }
+
+    @Test
+    public void testValueEntryWithDifferentKeyIsNotCached() throws Exception {
+        List<Object> loads = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            List<DBDLabelValuePair> values = DBVDictionaryCache.getInstance().getValueEntry(
+                monitor, dictionary, keyColumn, "ONE", "name", m -> {
+                    loads.add("ONE");
+                    return new ArrayList<>(List.of(new DBDLabelValuePair("one", "one")));
+                });
+            Assert.assertEquals(List.of("one"), labels(values));
+        }
+        Assert.assertEquals(2, loads.size());
+    }
+
+    private List<DBDLabelValuePair> valueEntry(Object key, List<Object> loads) throws Exception {
+        return DBVDictionaryCache.getInstance().getValueEntry(monitor, dictionary, keyColumn, key, "name", m -> {
+            loads.add(key);
+            long longKey = ((Number) key).longValue();
+            List<DBDLabelValuePair> result = new ArrayList<>();
+            if (DICTIONARY.containsKey(longKey)) {
+                result.add(new DBDLabelValuePair(DICTIONARY.get(longKey), longKey));
+            }
+            return result;
+        });
+    }
+
+    private List<DBDLabelValuePair> lookup(Object... keys) throws Exception {
+        List<Object[]> keyValues = new ArrayList<>();
+        for (Object key : keys) {
+            keyValues.add(new Object[] { key });
+        }
+        return DBVDictionaryCache.getInstance().getDictionaryValues(
+            monitor, dictionary, List.of(keyColumn), keyValues, "name", true, true);
+    }
+
+    private static List<String> labels(List<DBDLabelValuePair> values) {
+        return values.stream().map(DBDLabelValuePair::getLabel).toList();
+    }
+}
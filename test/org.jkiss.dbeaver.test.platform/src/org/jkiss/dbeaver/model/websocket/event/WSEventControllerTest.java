@@ -0,0 +1,206 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.websocket.event;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.websocket.WSEventHandler;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WSEventControllerTest extends DBeaverUnitTest {
+
+    private static final String TOPIC_1 = "test-topic-1";
+    private static final String TOPIC_2 = "test-topic-2";
+    private static final long WAIT_TIMEOUT = 5000;
+
+    private TestHandler handler;
+    private TestController controller;
+
+    @Before
+    public void init() {
+        handler = new TestHandler();
+        controller = new TestController(handler);
+    }
+
+    @Test
+    public void eventsAreDispatchedInBatches() throws Exception {
+        controller.setMaxBatchDelay(200);
+        controller.addEvent(new TestEvent(TOPIC_1, "a", null));
+        controller.scheduleCheckJob();
+        controller.addEvent(new TestEvent(TOPIC_1, "b", null));
+        controller.addEvent(new TestEvent(TOPIC_1, "c", null));
+        // Events wait for the batch delay
+        Assert.assertEquals(3, controller.getQueueDepth());
+        Assert.assertTrue(handler.getEvents().isEmpty());
+
+        waitForEvents(3);
+        Assert.assertEquals(List.of("a", "b", "c"), handler.getEvents());
+        Assert.assertEquals(0, controller.getQueueDepth());
+        Assert.assertEquals(3, controller.getMaxQueueDepth());
+        Assert.assertEquals(3, controller.getDispatchedEventCount());
+    }
+
+    @Test
+    public void coalescedEventReplacesQueuedOne() throws Exception {
+        controller.setMaxBatchDelay(200);
+        controller.scheduleCheckJob();
+        controller.addEvent(new TestEvent(TOPIC_1, "first", "object"));
+        controller.addEvent(new TestEvent(TOPIC_1, "other", null));
+        controller.addEvent(new TestEvent(TOPIC_1, "second", "object"));
+        Assert.assertEquals(2, controller.getQueueDepth());
+
+        waitForEvents(2);
+        Assert.assertEquals(List.of("second", "other"), handler.getEvents());
+        Assert.assertEquals(1, controller.getCoalescedEventCount());
+        Assert.assertEquals(2, controller.getDispatchedEventCount());
+    }
+
+    @Test
+    public void coalescingKeepsOrderOfObjectEvents() throws Exception {
+        controller.setMaxBatchDelay(200);
+        controller.scheduleCheckJob();
+        controller.addEvent(new TestEvent(TOPIC_1, "update", "update-1", "object"));
+        controller.addEvent(new TestEvent(TOPIC_1, "delete", "delete", "object"));
+        controller.addEvent(new TestEvent(TOPIC_1, "create", "create", "object"));
+        controller.addEvent(new TestEvent(TOPIC_1, "update", "update-2", "object"));
+        controller.addEvent(new TestEvent(TOPIC_1, "update", "update-3", "object"));
+
+        waitForEvents(4);
+        Assert.assertEquals(List.of("update-1", "delete", "create", "update-3"), handler.getEvents());
+        Assert.assertEquals(1, controller.getCoalescedEventCount());
+    }
+
+    @Test
+    public void handlerIsNotCalledConcurrently() throws Exception {
+        handler.handleTime = 20;
+        controller.setMaxBatchDelay(0);
+        controller.scheduleCheckJob();
+        for (int i = 0; i < 5; i++) {
+            controller.addEvent(new TestEvent(TOPIC_1, "t1-" + i, null));
+            controller.addEvent(new TestEvent(TOPIC_2, "t2-" + i, null));
+        }
+        waitForEvents(10);
+        Assert.assertEquals(1, handler.maxConcurrentCalls.get());
+        Assert.assertTrue(controller.getMaxHandlerLatency() >= 20);
+        Assert.assertTrue(controller.getAverageHandlerLatency() > 0);
+        Assert.assertTrue(controller.getAverageHandlerLatency() <= controller.getMaxHandlerLatency());
+    }
+
+    private void waitForEvents(int count) throws InterruptedException {
+        long endTime = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (handler.getEvents().size() < count && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, handler.getEvents().size());
+    }
+
+    private static class TestController extends WSEventController {
+        TestController(@NotNull WSEventHandler<?> handler) {
+            addEventHandler(TOPIC_1, handler);
+            addEventHandler(TOPIC_2, handler);
+        }
+    }
+
+    private static class TestHandler implements WSEventHandler<TestEvent> {
+        private final List<String> events = new ArrayList<>();
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+        private volatile long handleTime;
+
+        @Override
+        public void handleEvent(@NotNull TestEvent event) {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            try {
+                if (handleTime > 0) {
+                    Thread.sleep(handleTime);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (events) {
+                events.add(event.name);
+            }
+            concurrentCalls.decrementAndGet();
+        }
+
+        List<String> getEvents() {
+            synchronized (events) {
+                return new ArrayList<>(events);
+            }
+        }
+    }
+
+    private static class TestEvent implements WSEvent {
+        private final String topicId;
+        private final String id;
+        private final String name;
+        private final String coalescingKey;
+
+        TestEvent(@NotNull String topicId, @NotNull String name, @Nullable String coalescingKey) {
+            this(topicId, "test-event", name, coalescingKey);
+        }
+
+        TestEvent(@NotNull String topicId, @NotNull String id, @NotNull String name, @Nullable String coalescingKey) {
+            this.topicId = topicId;
+            this.id = id;
+            this.name = name;
+            this.coalescingKey = coalescingKey;
+        }
+
+        @NotNull
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Nullable
+        @Override
+        public String getSessionId() {
+            return null;
+        }
+
+        @NotNull
+        @Override
+        public String getTopicId() {
+            return topicId;
+        }
+
+        @Nullable
+        @Override
+        public String getUserId() {
+            return null;
+        }
+
+        @Override
+        public long getTimestamp() {
+            return 0;
+        }
+
+        @Nullable
+        @Override
+        public String getCoalescingKey() {
+            return coalescingKey;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DataSourceRegistryTest extends DBeaverUnitTest {
+
+    @Mock
+    private DBPProject project;
+    @Mock
+    private DataSourceConfigurationManager configurationManager;
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+    @Mock
+    private DataSourceDescriptor container;
+    @Mock
+    private DataSourceDescriptor otherContainer;
+    @Mock
+    private DBPDataSourceConfigurationStorage storage;
+    @Mock
+    private DBPDataSourceConfigurationStorage otherStorage;
+
+    private TestRegistry registry;
+
+    @Before
+    public void init() {
+        // Closed project, nothing is loaded
+        registry = new TestRegistry();
+    }
+
+    @Test
+    public void testPersistSavesOnlyModifiedStorages() {
+        Mockito.when(container.getStorage()).thenReturn(storage);
+        Mockito.when(otherContainer.getStorage()).thenReturn(otherStorage);
+
+        registry.persistUpdate(container);
+        Assert.assertNull(registry.getLastError());
+        Assert.assertEquals(List.of(Set.of(storage)), registry.savedStorages);
+
+        registry.savedStorages.clear();
+        registry.persistUpdate(container);
+        registry.persistDelete(otherContainer);
+        Assert.assertNull(registry.getLastError());
+        Set<DBPDataSourceConfigurationStorage> saved = new HashSet<>();
+        for (Set<DBPDataSourceConfigurationStorage> storages : registry.savedStorages) {
+            Assert.assertNotNull("Whole configuration must not be saved", storages);
+            saved.addAll(storages);
+        }
+        Assert.assertEquals(Set.of(storage, otherStorage), saved);
+    }
+
+    @Test
+    public void testPersistDoesNotWaitForSave() throws Exception {
+        Mockito.when(container.getStorage()).thenReturn(storage);
+        registry.saveDelay = 1000;
+        registry.saveError = new IOException("Disk is full");
+
+        long startTime = System.currentTimeMillis();
+        registry.persistUpdate(container);
+        Assert.assertTrue(System.currentTimeMillis() - startTime < registry.saveDelay);
+        Assert.assertEquals(0, registry.saveFinished.get());
+
+        // Error check waits for the save
+        DBException error = Assert.assertThrows(DBException.class, registry::checkForErrors);
+        Assert.assertEquals(1, registry.saveFinished.get());
+        Assert.assertEquals("Disk is full", error.getMessage());
+
+        registry.saveError = null;
+        registry.saveDelay = 0;
+        registry.persistDelete(container);
+        Assert.assertNull(registry.getLastError());
+        Assert.assertEquals(2, registry.saveCount.get());
+    }
+
+    @Test
+    public void testStoragesAreReadInParallel() throws Exception {
+        Mockito.when(project.isOpen()).thenReturn(true);
+        Mockito.when(storage.getStorageName()).thenReturn("data-sources.json");
+        Mockito.when(otherStorage.getStorageName()).thenReturn("data-sources-2.json");
+        CountDownLatch readers = new CountDownLatch(2);
+        AtomicBoolean parallelRead = new AtomicBoolean(true);
+        Mockito.when(configurationManager.readConfiguration(Mockito.anyString(), Mockito.any())).thenAnswer(invocation -> {
+            readers.countDown();
+            // Both configurations must be read at the same time
+            if (!readers.await(5, TimeUnit.SECONDS)) {
+                parallelRead.set(false);
+            }
+            return null;
+        });
+
+        registry.loadDataSources(List.of(storage, otherStorage), configurationManager, null, false, false);
+        Assert.assertTrue(parallelRead.get());
+        // Configurations are applied in the original order
+        Assert.assertEquals(List.of(storage, otherStorage), registry.parsedStorages);
+    }
+
+    @Test
+    public void testDisposeSavesPendingChanges() {
+        registry.flushConfig();
+        registry.dispose();
+        Assert.assertEquals(1, registry.saveCount.get());
+    }
+
+    @Test
+    public void testDisposeWaitsForRunningSave() throws Exception {
+        registry.saveDelay = 300;
+        registry.flushConfig();
+        Assert.assertTrue(registry.saveStarted.await(5, TimeUnit.SECONDS));
+        registry.dispose();
+        Assert.assertEquals(1, registry.saveFinished.get());
+        Assert.assertEquals(1, registry.saveCount.get());
+    }
+
+    private class TestRegistry extends DataSourceRegistry<DataSourceDescriptor> {
+        private final AtomicInteger saveCount = new AtomicInteger();
+        private final AtomicInteger saveFinished = new AtomicInteger();
+        private final CountDownLatch saveStarted = new CountDownLatch(1);
+        private final List<Set<DBPDataSourceConfigurationStorage>> savedStorages = Collections.synchronizedList(new ArrayList<>());
+        private final List<DBPDataSourceConfigurationStorage> parsedStorages = new ArrayList<>();
+        private volatile Throwable saveError;
+        private volatile long saveDelay;
+
+        TestRegistry() {
+            super(project, configurationManager, preferenceStore);
+        }
+
+        void persistUpdate(@NotNull DBPDataSourceContainer dataSource) {
+            persistDataSourceUpdate(dataSource);
+        }
+
+        void persistDelete(@NotNull DBPDataSourceContainer dataSource) {
+            persistDataSourceDelete(dataSource);
+        }
+
+        @Override
+        protected boolean isMultiUser() {
+            return true;
+        }
+
+        @Override
+        protected void saveDataSources(
+            @NotNull DBRProgressMonitor monitor,
+            @Nullable Collection<DBPDataSourceConfigurationStorage> storagesToSave
+        ) {
+            saveCount.incrementAndGet();
+            savedStorages.add(storagesToSave == null ? null : new HashSet<>(storagesToSave));
+            saveStarted.countDown();
+            if (saveDelay > 0) {
+                try {
+                    Thread.sleep(saveDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            lastError = saveError;
+            saveFinished.incrementAndGet();
+        }
+
+        @NotNull
+        @Override
+        protected DataSourceSerializer<DataSourceDescriptor> createModernSerializer() {
+            return new DataSourceSerializerModern<>(this) {
+                @Override
+                public boolean parseDataSources(
+                    @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+                    @NotNull DataSourceConfigurationManager configurationManager,
+                    @NotNull ParseResults parseResults,
+                    @Nullable Collection<String> dataSourceIds
+                ) {
+                    parsedStorages.add(configurationStorage);
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import com.google.gson.Gson;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+
+public class TaskRunHistoryTest extends DBeaverUnitTest {
+
+    private final Gson gson = new Gson();
+    private Path folder;
+
+    @Before
+    public void init() throws IOException {
+        folder = Files.createTempDirectory("task-history");
+    }
+
+    @Test
+    public void testAppendUpdateRemove() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson, 100);
+        for (int i = 0; i < 5; i++) {
+            history.addRun(new TestRun("run" + i));
+        }
+        TestRun updated = new TestRun("run2");
+        updated.setErrorMessage("Failed");
+        history.updateRun(updated);
+        Assert.assertTrue(history.removeRun("run0"));
+
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson, 100);
+        Assert.assertEquals(4, reloaded.getRunCount());
+        List<TaskRunImpl> page = reloaded.getRuns(1, 2);
+        Assert.assertEquals("run2", page.get(0).getId());
+        Assert.assertEquals("Failed", page.get(0).getErrorMessage());
+        Assert.assertEquals("run3", page.get(1).getId());
+        Assert.assertEquals("run4", reloaded.getLastRun().getId());
+    }
+
+    @Test
+    public void testRetentionAndCompaction() throws IOException {
+        TaskRunHistory history = new TaskRunHistory(folder, gson, 10);
+        for (int i = 0; i < 100; i++) {
+            TestRun run = new TestRun("run" + i);
+            history.addRun(run);
+            run.setRunDuration(i);
+            history.updateRun(run);
+        }
+        Assert.assertEquals(10, history.getRunCount());
+        Assert.assertTrue(Files.readAllLines(history.getHistoryFile()).size() <= 40);
+
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson, 10);
+        List<TaskRunImpl> runs = reloaded.getRuns(0, -1);
+        Assert.assertEquals(10, runs.size());
+        Assert.assertEquals("run90", runs.get(0).getId());
+        Assert.assertEquals(99, runs.get(9).getRunDuration());
+    }
+
+    @Test
+    public void testMetaFileMigration() throws IOException {
+        Files.writeString(
+            folder.resolve(TaskImpl.META_FILE_NAME),
+            gson.toJson(new RunStatistics(List.of(new TestRun("old1"), new TestRun("old2")))));
+
+        TaskRunHistory history = new TaskRunHistory(folder, gson, 100);
+        Assert.assertEquals(2, history.getRunCount());
+        // Legacy file is kept for older versions
+        Assert.assertTrue(Files.exists(folder.resolve(TaskImpl.META_FILE_NAME)));
+        Assert.assertEquals("old2", history.getLastRun().getId());
+
+        history.addRun(new TestRun("new1"));
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson, 100);
+        Assert.assertEquals(3, reloaded.getRunCount());
+    }
+
+    @Test
+    public void testIncompleteRecord() throws IOException {
+        TaskRunHistory history = new TaskRunHistory(folder, gson, 100);
+        history.addRun(new TestRun("run1"));
+        history.addRun(new TestRun("run2"));
+        // Interrupted write
+        Files.write(history.getHistoryFile(), "A\trun3\t{\"id\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson, 100);
+        Assert.assertEquals(2, reloaded.getRunCount());
+        reloaded.addRun(new TestRun("run4"));
+        Assert.assertEquals(3, Files.readAllLines(history.getHistoryFile()).size());
+
+        // Half-written record appeared after load must not be glued to the next record
+        Files.write(history.getHistoryFile(), "A\trun5".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        reloaded.addRun(new TestRun("run6"));
+
+        TaskRunHistory other = new TaskRunHistory(folder, gson, 100);
+        List<TaskRunImpl> runs = other.getRuns(0, -1);
+        Assert.assertEquals(List.of("run1", "run2", "run4", "run6"), runs.stream().map(TaskRunImpl::getId).toList());
+    }
+
+    @Test
+    public void testRefreshReadsAppendedRuns() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson, 100);
+        history.addRun(new TestRun("run1"));
+        TaskRunHistory other = new TaskRunHistory(folder, gson, 100);
+        Assert.assertEquals(1, other.getRunCount());
+
+        history.addRun(new TestRun("run2"));
+        history.removeRun("run1");
+        Assert.assertEquals(1, other.getRunCount());
+        other.refresh();
+        Assert.assertEquals(1, other.getRunCount());
+        Assert.assertEquals("run2", other.getLastRun().getId());
+
+        // Compaction replaces the file
+        history.compact();
+        history.addRun(new TestRun("run3"));
+        other.refresh();
+        Assert.assertEquals(List.of("run2", "run3"), other.getRuns(0, -1).stream().map(TaskRunImpl::getId).toList());
+    }
+
+    @Test
+    public void testWriteSyncsWithOtherProcessRecords() {
+        TaskRunHistory history = new TaskRunHistory(folder, gson, 100);
+        history.addRun(new TestRun("run1"));
+        history.addRun(new TestRun("run2"));
+        TaskRunHistory other = new TaskRunHistory(folder, gson, 100);
+        Assert.assertTrue(other.removeRun("run1"));
+        other.addRun(new TestRun("run3"));
+
+        // Removed run must not be resurrected by the stale index
+        TestRun updated = new TestRun("run1");
+        updated.setErrorMessage("Failed");
+        history.updateRun(updated);
+        Assert.assertFalse(history.removeRun("run1"));
+        history.addRun(new TestRun("run4"));
+        Assert.assertEquals(List.of("run2", "run3", "run4"), history.getRuns(0, -1).stream().map(TaskRunImpl::getId).toList());
+
+        TaskRunHistory reloaded = new TaskRunHistory(folder, gson, 100);
+        Assert.assertEquals(List.of("run2", "run3", "run4"), reloaded.getRuns(0, -1).stream().map(TaskRunImpl::getId).toList());
+    }
+
+    private static class TestRun extends TaskRunImpl {
+        TestRun(String id) {
+            super(id, new Date(), "user", "test", null, null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tasks.nativetool;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+public class ParallelGzipOutputStreamTest extends DBeaverUnitTest {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    @Test
+    public void testRandomDataRoundTrip() throws IOException {
+        byte[] data = new byte[3 * 1024 * 1024 + 123];
+        new Random(1).nextBytes(data);
+        Assert.assertArrayEquals(data, gunzip(gzip(data, 4, 8191)));
+    }
+
+    @Test
+    public void testRepetitiveDataRoundTrip() throws IOException {
+        byte[] data = new byte[2 * 1024 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + i % 17);
+        }
+        Assert.assertArrayEquals(data, gunzip(gzip(data, 3, BLOCK_SIZE * 3 + 1)));
+    }
+
+    @Test
+    public void testSingleByteWrites() throws IOException {
+        byte[] data = new byte[BLOCK_SIZE * 2 + 7];
+        new Random(2).nextBytes(data);
+        Assert.assertArrayEquals(data, gunzip(gzip(data, 2, 1)));
+    }
+
+    @Test
+    public void testEmptyStream() throws IOException {
+        Assert.assertArrayEquals(new byte[0], gunzip(gzip(new byte[0], 2, 1)));
+    }
+
+    private static byte[] gzip(byte[] data, int threads, int chunkSize) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(buffer, threads, BLOCK_SIZE)) {
+            for (int offset = 0; offset < data.length; offset += chunkSize) {
+                int length = Math.min(chunkSize, data.length - offset);
+                if (length == 1) {
+                    out.write(data[offset]);
+                } else {
+                    out.write(data, offset, length);
+                }
+                if (offset % (BLOCK_SIZE * 5) == 0) {
+                    out.flush();
+                }
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        if (data.length == 0) {
+            return data;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.grouping;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.sql.SQLGroupingAttribute;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+public class GroupingLocalProcessorTest extends DBeaverUnitTest {
+
+    @Mock
+    private ResultSetModel model;
+    @Mock
+    private DBCSession session;
+
+    private DBDAttributeBinding idAttr;
+    private DBDAttributeBinding nameAttr;
+    private DBDAttributeBinding amountAttr;
+    private final Map<ResultSetRow, Object[]> rowValues = new HashMap<>();
+    private final List<ResultSetRow> rows = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        idAttr = mockAttribute("GROUP_ID", DBPDataKind.NUMERIC, 0);
+        nameAttr = mockAttribute("NAME", DBPDataKind.STRING, 1);
+        amountAttr = mockAttribute("AMOUNT", DBPDataKind.NUMERIC, 2);
+        Mockito.lenient().when(model.getAttributes()).thenReturn(new DBDAttributeBinding[]{idAttr, nameAttr, amountAttr});
+        Mockito.lenient().when(model.getAllRows()).thenReturn(rows);
+
+        addRow(new BigDecimal("1.0"), "a", 10);
+        addRow(new BigDecimal("1.00"), "A", 20);
+        addRow(new BigDecimal(2), "b", null);
+        addRow(new BigDecimal(2), null, 5);
+        addRow(new BigDecimal(3), "c ", 7);
+    }
+
+    @Test
+    public void testAggregates() throws DBCException {
+        GroupingLocalProcessor processor = createProcessor(
+            List.of(idAttr),
+            List.of("COUNT(*)", "SUM(AMOUNT)", "MIN(AMOUNT)", "COUNT(NAME)"),
+            false);
+        Assert.assertNotNull(processor);
+        DBDDataFilter dataFilter = new DBDDataFilter();
+        dataFilter.setOrder("GROUP_ID DESC");
+        List<Object[]> result = readResult(processor, dataFilter);
+        Assert.assertEquals(3, result.size());
+        assertRow(result.get(0), 3, 1L, 7, 7, 1L);
+        assertRow(result.get(1), 2, 2L, 5, 5, 1L);
+        // Decimals of different scale are in the same group
+        assertRow(result.get(2), 1, 2L, 30, 10, 2L);
+    }
+
+    @Test
+    public void testDuplicatesOnly() throws DBCException {
+        GroupingLocalProcessor processor = createProcessor(List.of(idAttr), List.of("COUNT(*)"), true);
+        Assert.assertNotNull(processor);
+        List<Object[]> result = readResult(processor, null);
+        Assert.assertEquals(2, result.size());
+        for (Object[] row : result) {
+            Assert.assertEquals(2L, row[1]);
+        }
+    }
+
+    @Test
+    public void testCollationDependentGrouping() {
+        // Case sensitivity and trailing spaces depend on the database collation
+        Assert.assertNull(createProcessor(List.of(nameAttr), List.of("COUNT(*)"), false));
+        Assert.assertNull(createProcessor(List.of(idAttr), List.of("MIN(NAME)"), false));
+        Assert.assertNull(createProcessor(List.of(idAttr), List.of("COUNT(DISTINCT NAME)"), false));
+        Assert.assertNotNull(createProcessor(List.of(idAttr), List.of("COUNT(NAME)"), false));
+    }
+
+    @Test
+    public void testNullOrdering() throws DBCException {
+        GroupingLocalProcessor processor = createProcessor(List.of(idAttr), List.of("SUM(AMOUNT)"), false);
+        Assert.assertNotNull(processor);
+        // Sum of the second group is null, its position depends on the database
+        DBDDataFilter dataFilter = new DBDDataFilter();
+        dataFilter.setOrder("SUM");
+        Assert.assertNull(processor.createResultSet(session, "", dataFilter));
+
+        rowValues.values().forEach(values -> {
+            if (values[2] == null) {
+                values[2] = 1;
+            }
+        });
+        processor = createProcessor(List.of(idAttr), List.of("SUM(AMOUNT)"), false);
+        Assert.assertNotNull(processor);
+        List<Object[]> result = readResult(processor, dataFilter);
+        assertRow(result.get(0), 2, 6);
+        assertRow(result.get(1), 3, 7);
+        assertRow(result.get(2), 1, 30);
+    }
+
+    @Test
+    public void testUnsupportedGrouping() {
+        Assert.assertNull(createProcessor(List.of(idAttr), List.of("MEDIAN(AMOUNT)"), false));
+        Assert.assertNull(createProcessor(List.of(idAttr), List.of("SUM(AMOUNT * 2)"), false));
+        Mockito.when(model.isDirty()).thenReturn(true);
+        Assert.assertNull(createProcessor(List.of(idAttr), List.of("COUNT(*)"), false));
+    }
+
+    @Nullable
+    private GroupingLocalProcessor createProcessor(
+        @NotNull List<DBDAttributeBinding> groupBy,
+        @NotNull List<String> functions,
+        boolean duplicatesOnly
+    ) {
+        List<SQLGroupingAttribute> attributes = new ArrayList<>();
+        for (DBDAttributeBinding binding : groupBy) {
+            attributes.add(new SQLGroupingAttribute.BoundAttribute(binding));
+        }
+        String[] aliases = new String[functions.size()];
+        for (int i = 0; i < aliases.length; i++) {
+            String function = functions.get(i);
+            aliases[i] = function.substring(0, function.indexOf('('));
+        }
+        return GroupingLocalProcessor.create(model, attributes, functions, aliases, duplicatesOnly);
+    }
+
+    @NotNull
+    private List<Object[]> readResult(
+        @NotNull GroupingLocalProcessor processor,
+        @Nullable DBDDataFilter dataFilter
+    ) throws DBCException {
+        LocalResultSet<LocalStatement> resultSet = processor.createResultSet(session, "", dataFilter);
+        Assert.assertNotNull(resultSet);
+        int columnCount = resultSet.getMeta().getAttributes().size();
+        List<Object[]> result = new ArrayList<>();
+        while (resultSet.nextRow()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = resultSet.getAttributeValue(i);
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    private static void assertRow(@NotNull Object[] row, @NotNull Object... expected) {
+        Assert.assertEquals(expected.length, row.length);
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] instanceof Integer value) {
+                Assert.assertEquals(0, BigDecimal.valueOf(value).compareTo(new BigDecimal(row[i].toString())));
+            } else {
+                Assert.assertEquals(expected[i], row[i]);
+            }
+        }
+    }
+
+    private void addRow(@NotNull Object... values) {
+        ResultSetRow row = Mockito.mock(ResultSetRow.class);
+        rowValues.put(row, values);
+        rows.add(row);
+    }
+
+    @NotNull
+    private DBDAttributeBinding mockAttribute(@NotNull String name, @NotNull DBPDataKind dataKind, int index) {
+        DBDAttributeBinding binding = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.lenient().when(binding.getName()).thenReturn(name);
+        Mockito.lenient().when(binding.getLabel()).thenReturn(name);
+        Mockito.lenient().when(binding.getDataKind()).thenReturn(dataKind);
+        Mockito.lenient().when(model.getCellValue(Mockito.eq(binding), Mockito.any(ResultSetRow.class)))
+            .thenAnswer(invocation -> rowValues.get(invocation.<ResultSetRow>getArgument(1))[index]);
+        return binding;
+    }
+}